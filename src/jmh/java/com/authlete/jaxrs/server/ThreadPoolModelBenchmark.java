@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server;
+
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * A synthetic comparison of the two thread models behind the execution
+ * modes of the Jetty deployment: a fixed pool of 200 platform threads (the
+ * default {@code maxThreads} of Jetty's {@code QueuedThreadPool}) and a
+ * virtual thread per task.
+ *
+ * <p>
+ * Each operation is a burst of {@link #TASKS} concurrent tasks submitted to
+ * a plain {@link ExecutorService}. A task burns a fixed amount of CPU and
+ * then sleeps for {@code blockMillis}, standing in for a request that waits
+ * on an Authlete API call. With {@code blockMillis = 0} only the cost of
+ * dispatching the tasks is measured.
+ * </p>
+ *
+ * <p>
+ * No server is involved. Jetty, Jersey, {@code jetty/jetty-http.xml} and
+ * {@code jetty/jetty-virtual-threads.xml} are not exercised, so the numbers
+ * say how the two thread models behave under blocking, not what throughput
+ * the deployment reaches in either mode. That takes a load generator run
+ * against {@code mvn jetty:run} and {@code mvn -Pvirtual-threads jetty:run}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadPoolModelBenchmark
+{
+    /**
+     * Concurrent tasks per operation.
+     */
+    private static final int TASKS = 2000;
+
+
+    /**
+     * The default {@code maxThreads} of Jetty's {@code QueuedThreadPool}.
+     */
+    private static final int PLATFORM_THREADS = 200;
+
+
+    @Param({ "platform", "virtual" })
+    String mode;
+
+
+    @Param({ "0", "10" })
+    int blockMillis;
+
+
+    private ExecutorService executor;
+
+
+    @Setup
+    public void setUp()
+    {
+        executor = "virtual".equals(mode)
+                 ? Executors.newVirtualThreadPerTaskExecutor()
+                 : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+
+    @TearDown
+    public void tearDown()
+    {
+        executor.close();
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void tasks() throws InterruptedException
+    {
+        CountDownLatch done = new CountDownLatch(TASKS);
+
+        for (int i = 0; i < TASKS; i++)
+        {
+            executor.execute(() -> {
+                work();
+                done.countDown();
+            });
+        }
+
+        done.await();
+    }
+
+
+    private void work()
+    {
+        // A stand-in for parsing a request and building its response.
+        Blackhole.consumeCPU(1000);
+
+        if (blockMillis > 0)
+        {
+            try
+            {
+                Thread.sleep(blockMillis);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
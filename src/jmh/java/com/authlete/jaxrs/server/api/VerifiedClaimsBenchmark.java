@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.api;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.authlete.common.ida.DatasetExtractor;
+import com.authlete.jaxrs.server.db.DatasetDao;
+import com.authlete.jaxrs.server.util.JsonCodec;
+
+
+/**
+ * Building {@code "verified_claims"} for a subject with 2 and 16 datasets,
+ * for a request of three elements that filter on the trust framework and
+ * on the evidence type.
+ *
+ * <p>
+ * {@link #fullScan()} runs {@link DatasetExtractor} over every dataset, as
+ * done before the datasets were indexed, and is kept as the baseline.
+ * {@link #indexed()} uses {@link VerifiedClaimsBuilder}, and
+ * {@link #cached()} goes through {@link VerifiedClaimsCache}, which hits
+ * after the first call.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifiedClaimsBenchmark
+{
+    private static final String[] TRUST_FRAMEWORKS = {
+            "nist_800_63A", "uk_tfida", "eidas", "de_aml",
+            "jp_aml", "it_spid", "fr_ficam", "se_bankid" };
+
+
+    private static final String REQUEST =
+            "[{\"verification\":{\"trust_framework\":{\"value\":\"uk_tfida\"},"
+          + "\"evidence\":[{\"type\":{\"value\":\"document\"},\"check_details\":null}]},"
+          + "\"claims\":{\"given_name\":null,\"family_name\":null,\"birthdate\":null,\"address\":null}},"
+          + "{\"verification\":{\"trust_framework\":{\"values\":[\"se_bankid\",\"it_spid\"]}},"
+          + "\"claims\":{\"given_name\":null,\"place_of_birth\":null}},"
+          + "{\"verification\":{\"trust_framework\":{\"value\":\"none\"}},"
+          + "\"claims\":{\"given_name\":null}}]";
+
+
+    @Param({ "2", "16" })
+    int datasets;
+
+
+    private String                    subject;
+    private List<Map<String, Object>> list;
+    private List<Object>              request;
+    private VerifiedClaimsCache       cache;
+
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp()
+    {
+        // The two sample datasets of user 1004, copied with a different
+        // trust framework each.
+        List<Map<String, Object>> samples = DatasetDao.get("1004");
+
+        subject = "benchmark-" + datasets;
+        list    = new ArrayList<>(datasets);
+
+        for (int i = 0; i < datasets; i++)
+        {
+            Map<String, Object> dataset =
+                    JsonCodec.readMap(JsonCodec.toJson(samples.get(i % samples.size())));
+
+            ((Map<String, Object>)dataset.get("verification"))
+                    .put("trust_framework", TRUST_FRAMEWORKS[i % TRUST_FRAMEWORKS.length]);
+
+            list.add(dataset);
+        }
+
+        DatasetDao.put(subject, list);
+
+        request = JsonCodec.readList(REQUEST);
+        cache   = new VerifiedClaimsCache(10000);
+    }
+
+
+    @TearDown
+    public void tearDown()
+    {
+        DatasetDao.remove(subject);
+    }
+
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object fullScan()
+    {
+        DatasetExtractor extractor = new DatasetExtractor();
+        List<Object>     result    = new ArrayList<>();
+
+        for (Object element : request)
+        {
+            Object extracted = extractor.extract((Map<String, Object>)element, list);
+
+            if (extracted != null)
+            {
+                result.add(extracted);
+            }
+        }
+
+        return result;
+    }
+
+
+    @Benchmark
+    public Object indexed()
+    {
+        return new VerifiedClaimsBuilder(request, DatasetDao.getDatasets(subject)).build();
+    }
+
+
+    @Benchmark
+    public Object cached()
+    {
+        return cache.build(subject, request);
+    }
+}
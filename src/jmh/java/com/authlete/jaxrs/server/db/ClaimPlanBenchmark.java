@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.authlete.common.dto.Address;
+import com.authlete.common.types.User;
+
+
+/**
+ * The claims of a typical userinfo request read from a user one by one
+ * through {@link User#getClaim(String, String)}, as the handlers did, and
+ * through a {@link ClaimPlan}, for a {@link UserEntity} and a
+ * {@link MappedUser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClaimPlanBenchmark
+{
+    private static final String[] CLAIM_NAMES = {
+            "sub", "name", "given_name", "family_name", "email", "email_verified",
+            "phone_number", "address", "birthdate", "locale", "updated_at", "txn" };
+
+
+    @Param({ "entity", "mapped" })
+    String source;
+
+
+    private Path            directory;
+    private MappedUserStore store;
+    private User            user;
+
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        if (source.equals("entity"))
+        {
+            user = new UserEntity("1001", "john", "password", "John Smith", "john@example.com",
+                    new Address().setCountry("USA").setRegion("CA"), "+1 555 0100", null);
+            return;
+        }
+
+        directory = Files.createTempDirectory("claim-plan");
+
+        Path input  = directory.resolve("users.jsonl");
+        Path output = directory.resolve("users.bin");
+
+        Files.write(input, List.of(
+                "{\"sub\":\"1001\",\"password\":\"password\",\"name\":\"John Smith\","
+              + "\"given_name\":\"John\",\"family_name\":\"Smith\",\"email\":\"john@example.com\","
+              + "\"email_verified\":true,\"phone_number\":\"+1 555 0100\","
+              + "\"address\":{\"country\":\"USA\",\"region\":\"CA\"},\"birthdate\":\"1970-01-01\","
+              + "\"locale\":\"en\",\"updated_at\":1638057600,\"zoneinfo\":\"UTC\"}"));
+
+        MappedUserStoreBuilder.build(input, output);
+
+        store = MappedUserStore.open(output);
+        user  = store.getBySubject("1001");
+    }
+
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        if (store == null)
+        {
+            return;
+        }
+
+        store.close();
+
+        Files.delete(directory.resolve("users.jsonl"));
+        Files.delete(directory.resolve("users.bin"));
+        Files.delete(directory);
+    }
+
+
+    @Benchmark
+    public void perClaim(Blackhole bh)
+    {
+        for (String claimName : CLAIM_NAMES)
+        {
+            bh.consume(user.getClaim(claimName, null));
+        }
+    }
+
+
+    @Benchmark
+    public void plan(Blackhole bh)
+    {
+        // Looked up per request, as the handlers do.
+        ClaimPlan.Claims claims = ClaimPlan.of(CLAIM_NAMES).bind(user);
+
+        for (String claimName : CLAIM_NAMES)
+        {
+            bh.consume(claims.get(claimName, null));
+        }
+    }
+}
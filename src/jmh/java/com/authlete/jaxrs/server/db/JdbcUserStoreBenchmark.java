@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.authlete.common.types.User;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+
+/**
+ * Throughput of the user lookups of the authorization and userinfo paths
+ * against {@link JdbcUserStore} on an in-memory H2 database of 10k users,
+ * read directly ({@code jdbc}) and through {@link CachingUserStore}
+ * ({@code caching}), from 4 threads.
+ *
+ * <p>
+ * {@link #authorization()} is the login of the authorization decision
+ * endpoint. {@link #userInfo()} is the lookup by subject of the userinfo
+ * endpoint followed by the claims of a {@code profile email phone} scope.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class JdbcUserStoreBenchmark
+{
+    private static final int USERS = 10_000;
+
+
+    private static final String[] CLAIM_NAMES = {
+            "name", "email", "email_verified", "phone_number", "updated_at" };
+
+
+    @Param({ "jdbc", "caching" })
+    String store;
+
+
+    private HikariDataSource dataSource;
+    private UserStore        users;
+
+    // Keys are built in advance so that only the lookups are measured.
+    private String[]         subjects;
+    private String[]         loginIds;
+
+
+    @Setup
+    public void setUp()
+    {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(10);
+
+        dataSource = new HikariDataSource(config);
+
+        JdbcUserStore jdbc = new JdbcUserStore(dataSource);
+        jdbc.createSchema();
+
+        subjects = new String[USERS];
+        loginIds = new String[USERS];
+
+        for (int i = 0; i < USERS; i++)
+        {
+            subjects[i] = Integer.toString(1_000_000 + i);
+            loginIds[i] = "user" + i;
+
+            jdbc.add(new UserEntity(subjects[i], loginIds[i], "password",
+                    "User " + i, "user" + i + "@example.com", null, "+81-90-" + i, null));
+        }
+
+        // The defaults of users.cache.ttl and users.cache.max_entries.
+        users = store.equals("caching")
+              ? new CachingUserStore(jdbc, 30_000L, 10_000) : jdbc;
+    }
+
+
+    @TearDown
+    public void tearDown()
+    {
+        dataSource.close();
+    }
+
+
+    private int next()
+    {
+        return ThreadLocalRandom.current().nextInt(USERS);
+    }
+
+
+    @Benchmark
+    public User authorization()
+    {
+        return users.getByCredentials(loginIds[next()], "password");
+    }
+
+
+    @Benchmark
+    public void userInfo(Blackhole bh)
+    {
+        User user = users.getBySubject(subjects[next()]);
+
+        ClaimPlan.Claims claims = ClaimPlan.of(CLAIM_NAMES).bind(user);
+
+        for (String claimName : CLAIM_NAMES)
+        {
+            bh.consume(claims.get(claimName, null));
+        }
+    }
+}
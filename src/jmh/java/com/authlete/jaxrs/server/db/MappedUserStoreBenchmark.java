@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Lookup latency of {@link MappedUserStore}, with and without decoding a
+ * claim, against the same users held on the heap in a {@link UserIndex}.
+ *
+ * <p>
+ * The users are written as JSON Lines and built into a store file once per
+ * trial. The file is in the page cache by the time the measurement starts,
+ * so the numbers do not include disk reads.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MappedUserStoreBenchmark
+{
+    @Param({ "100000", "1000000" })
+    int users;
+
+
+    private Path            directory;
+    private MappedUserStore store;
+    private UserIndex       heap;
+
+    // Keys are built in advance so that only the lookups are measured.
+    private String[]        subjects;
+    private String[]        emails;
+
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("mapped-user-store");
+
+        Path input  = directory.resolve("users.jsonl");
+        Path output = directory.resolve("users.bin");
+
+        subjects = new String[users];
+        emails   = new String[users];
+        heap     = new UserIndex();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(input))
+        {
+            for (int i = 0; i < users; i++)
+            {
+                subjects[i] = Integer.toString(1_000_000 + i);
+                emails[i]   = "user" + i + "@example.com";
+
+                writer.write(String.format(
+                        "{\"sub\":\"%s\",\"login_id\":\"user%d\",\"password\":\"pw%d\","
+                      + "\"name\":\"User Number %d\",\"email\":\"%s\",\"email_verified\":true,"
+                      + "\"locale\":\"en\",\"zoneinfo\":\"Europe/Berlin\"}%n",
+                        subjects[i], i, i, i, emails[i]));
+
+                heap.put(new UserEntity(subjects[i], "user" + i, "pw" + i,
+                        "User Number " + i, emails[i], null, null, null));
+            }
+        }
+
+        MappedUserStoreBuilder.build(input, output);
+
+        store = MappedUserStore.open(output);
+    }
+
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        store.close();
+
+        try (var files = Files.list(directory))
+        {
+            for (Path file : (Iterable<Path>)files::iterator)
+            {
+                Files.delete(file);
+            }
+        }
+
+        Files.delete(directory);
+    }
+
+
+    private int next()
+    {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+
+
+    @Benchmark
+    public MappedUser mappedGetBySubject()
+    {
+        return store.getBySubject(subjects[next()]);
+    }
+
+
+    @Benchmark
+    public Object mappedGetBySubjectAndName()
+    {
+        return store.getBySubject(subjects[next()]).getClaim("name", null);
+    }
+
+
+    @Benchmark
+    public MappedUser mappedGetByEmail()
+    {
+        return store.getByEmail(emails[next()]);
+    }
+
+
+    @Benchmark
+    public Object heapGetBySubjectAndName()
+    {
+        return heap.getBySubject(subjects[next()]).getClaim("name", null);
+    }
+}
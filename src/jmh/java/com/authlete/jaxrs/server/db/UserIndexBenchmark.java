@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Lookups in {@link UserIndex} by each key, at 10k and 1M users, as done on
+ * login ({@code getByLoginId}) and CIBA {@code login_hint} resolution
+ * ({@code getByEmail}, {@code getByPhoneNumber}).
+ *
+ * <p>
+ * {@link #scanByEmail()} is the linear scan {@code UserDao} did before the
+ * index, kept as the baseline.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserIndexBenchmark
+{
+    @Param({ "10000", "1000000" })
+    int users;
+
+
+    private UserIndex        index;
+    private List<UserEntity> entities;
+
+    // Keys are built in advance so that only the lookups are measured.
+    private String[]         subjects;
+    private String[]         loginIds;
+    private String[]         emails;
+    private String[]         phoneNumbers;
+
+
+    @Setup
+    public void setUp()
+    {
+        index    = new UserIndex();
+        entities = new ArrayList<>(users);
+
+        subjects     = new String[users];
+        loginIds     = new String[users];
+        emails       = new String[users];
+        phoneNumbers = new String[users];
+
+        for (int i = 0; i < users; i++)
+        {
+            subjects[i]     = Integer.toString(1_000_000 + i);
+            loginIds[i]     = "user" + i;
+            emails[i]       = "user" + i + "@example.com";
+            phoneNumbers[i] = "+81-90-" + i;
+
+            UserEntity ue = new UserEntity(subjects[i], loginIds[i], "password",
+                    null, emails[i], null, phoneNumbers[i], null);
+
+            index.put(ue);
+            entities.add(ue);
+        }
+    }
+
+
+    private int next()
+    {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+
+
+    @Benchmark
+    public UserEntity getBySubject()
+    {
+        return index.getBySubject(subjects[next()]);
+    }
+
+
+    @Benchmark
+    public UserEntity getByLoginId()
+    {
+        return index.getByLoginId(loginIds[next()]);
+    }
+
+
+    @Benchmark
+    public UserEntity getByEmail()
+    {
+        return index.getByEmail(emails[next()]);
+    }
+
+
+    @Benchmark
+    public UserEntity getByPhoneNumber()
+    {
+        return index.getByPhoneNumber(phoneNumbers[next()]);
+    }
+
+
+    @Benchmark
+    public UserEntity scanByEmail()
+    {
+        String email = emails[next()];
+
+        for (UserEntity ue : entities)
+        {
+            if (email.equals(ue.getClaim("email", null)))
+            {
+                return ue;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import org.eclipse.persistence.jaxb.rs.MOXyJsonProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.authlete.common.util.Utils;
+import com.authlete.jaxrs.server.obb.model.AccountData;
+import com.authlete.jaxrs.server.obb.model.Consent;
+import com.authlete.jaxrs.server.obb.model.Links;
+import com.authlete.jaxrs.server.obb.model.Meta;
+import com.authlete.jaxrs.server.obb.model.ResponseAccountList;
+import com.authlete.jaxrs.server.obb.model.ResponseConsent;
+
+
+/**
+ * Writing and reading the Open Banking Brasil consent and account list
+ * payloads through {@link DtoJsonProvider} ({@code provider}), through MOXy
+ * ({@code moxy}), which served them before, and through the pattern of the
+ * OBB endpoints before the provider: pretty-printed {@code Utils.toJson()}
+ * written as a string, and {@code Utils.fromJson()} ({@code gson}).
+ *
+ * <p>
+ * Run with {@code -prof gc} for the allocation per operation. The account
+ * list holds ten accounts. The input of the reads is the output of the
+ * provider.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoJsonProviderBenchmark
+{
+    private static final Annotation[] ANNOTATIONS = new Annotation[0];
+    private static final MediaType    JSON        = MediaType.APPLICATION_JSON_TYPE;
+
+
+    @Param({ "consent", "accounts" })
+    String payload;
+
+
+    @Param({ "provider", "moxy", "gson" })
+    String path;
+
+
+    private Class<Object>                 type;
+    private Object                        entity;
+    private byte[]                        json;
+    private MessageBodyWriter<Object>     writer;
+    private MessageBodyReader<Object>     reader;
+    private final ByteArrayOutputStream   out = new ByteArrayOutputStream(8192);
+
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException
+    {
+        entity = payload.equals("consent") ? consent() : accounts();
+        type   = (Class<Object>)entity.getClass();
+
+        DtoJsonProvider provider = new DtoJsonProvider();
+
+        if (path.equals("provider"))
+        {
+            writer = provider;
+            reader = provider;
+        }
+        else if (path.equals("moxy"))
+        {
+            MOXyJsonProvider moxy = new MOXyJsonProvider();
+
+            writer = moxy;
+            reader = moxy;
+        }
+
+        provider.writeTo(entity, type, type, ANNOTATIONS, JSON, new MultivaluedHashMap<>(), out);
+        json = out.toByteArray();
+    }
+
+
+    private static ResponseConsent consent()
+    {
+        return ResponseConsent.create(new Consent()
+                .setConsentId("urn:bancoex:C1DD33123")
+                .setPermissions(new String[] {
+                        "ACCOUNTS_READ", "ACCOUNTS_BALANCES_READ", "RESOURCES_READ" })
+                .setStatus("AUTHORISED")
+                .setCreationDateTime("2026-10-19T10:00:00Z")
+                .setExpirationDateTime("2027-10-19T10:00:00Z")
+                .setStatusUpdateDateTime("2026-10-19T10:00:00Z"));
+    }
+
+
+    private static ResponseAccountList accounts()
+    {
+        AccountData[] data = new AccountData[10];
+
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = new AccountData()
+                    .setBrandName("Organizacao A")
+                    .setCompanyCnpj("21128159000166")
+                    .setType("CONTA_DEPOSITO_A_VISTA")
+                    .setCompeCode("001")
+                    .setBranchCode("6272")
+                    .setNumber("9438521" + i)
+                    .setCheckDigit("4")
+                    .setAccountId("291e5a29-49ed-401f-a583-193caa7aceb" + i);
+        }
+
+        return new ResponseAccountList(data,
+                new Links().setSelf("/open-banking/accounts/v1/accounts"),
+                new Meta(data.length, 1, "2026-10-19T10:00:00Z"));
+    }
+
+
+    @Benchmark
+    public int write() throws IOException
+    {
+        out.reset();
+
+        if (writer == null)
+        {
+            writeString(Utils.toJson(entity, true), out);
+        }
+        else
+        {
+            writer.writeTo(entity, type, type, ANNOTATIONS, JSON, new MultivaluedHashMap<>(), out);
+        }
+
+        return out.size();
+    }
+
+
+    private static void writeString(String json, OutputStream out) throws IOException
+    {
+        // What the String entity provider of Jersey does.
+        out.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    @Benchmark
+    public Object read() throws IOException
+    {
+        InputStream in = new ByteArrayInputStream(json);
+
+        if (reader == null)
+        {
+            return Utils.fromJson(new String(in.readAllBytes(), StandardCharsets.UTF_8), type);
+        }
+
+        return reader.readFrom(type, type, ANNOTATIONS, JSON, new MultivaluedHashMap<>(), in);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.obb.database;
+
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.authlete.jaxrs.server.obb.model.Consent;
+
+
+/**
+ * Consents created and read concurrently, one creating thread to four
+ * reading threads, as a consent is read by several token and resource
+ * requests after it is created. Reads pick one of the 1024 most recently
+ * created consents.
+ *
+ * <p>
+ * {@code synchronized} is a {@code LinkedHashMap} behind one lock, as the
+ * store was before {@link ConsentStore}, with the same capacity. It is kept
+ * as the baseline. The point of {@link ConsentStore} is that readers do not
+ * wait on each other or on the creator, which only shows with more than one
+ * core; change the thread counts with {@code -tg}, e.g.
+ * {@code -tg 2,16}.
+ * </p>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsentStoreBenchmark
+{
+    private static final int CAPACITY = 100_000;
+    private static final int RECENT   = 1024;
+
+
+    private interface Store
+    {
+        void put(Consent consent);
+        Consent get(String consentId);
+    }
+
+
+    @Param({ "synchronized", "concurrent" })
+    String store;
+
+
+    private Store                         consents;
+    private AtomicLong                    sequence;
+    private AtomicReferenceArray<String>  recent;
+
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        consents = store.equals("concurrent") ? concurrent() : synchronizedMap();
+        sequence = new AtomicLong();
+        recent   = new AtomicReferenceArray<>(RECENT);
+
+        for (int i = 0; i < RECENT; i++)
+        {
+            add();
+        }
+    }
+
+
+    private static Store concurrent()
+    {
+        ConsentStore cs = new ConsentStore(CAPACITY);
+
+        return new Store()
+        {
+            @Override
+            public void put(Consent consent)
+            {
+                cs.put(consent);
+            }
+
+
+            @Override
+            public Consent get(String consentId)
+            {
+                return cs.get(consentId);
+            }
+        };
+    }
+
+
+    private static Store synchronizedMap()
+    {
+        Map<String, Consent> map = new LinkedHashMap<String, Consent>()
+        {
+            private static final long serialVersionUID = 1L;
+
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Consent> eldest)
+            {
+                return size() > CAPACITY;
+            }
+        };
+
+        return new Store()
+        {
+            @Override
+            public synchronized void put(Consent consent)
+            {
+                map.put(consent.getConsentId(), consent);
+            }
+
+
+            @Override
+            public synchronized Consent get(String consentId)
+            {
+                return map.get(consentId);
+            }
+        };
+    }
+
+
+    private void add()
+    {
+        long   n  = sequence.getAndIncrement();
+        String id = "urn:bancoex:C1DD33123" + n;
+
+        consents.put(new Consent()
+                .setConsentId(id)
+                .setClientId(n % 16)
+                .setExpirationDateTime("2099-01-01T00:00:00Z"));
+
+        recent.set((int)(n % RECENT), id);
+    }
+
+
+    @Benchmark
+    @Group("consents")
+    @GroupThreads(1)
+    public void create()
+    {
+        add();
+    }
+
+
+    @Benchmark
+    @Group("consents")
+    @GroupThreads(4)
+    public Consent read()
+    {
+        return consents.get(recent.get(ThreadLocalRandom.current().nextInt(RECENT)));
+    }
+}
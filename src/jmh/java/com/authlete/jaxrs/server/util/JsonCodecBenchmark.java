@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.util;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.authlete.common.util.Utils;
+import com.google.gson.Gson;
+
+
+/**
+ * Parsing and writing an eKYC dataset (a 2 KB JSON document, as read by
+ * {@code DatasetDao}) through {@link JsonCodec}, and through the patterns it
+ * replaced: a {@code new Gson()} per call and
+ * {@code Utils.fromJson(json, Map.class)}.
+ *
+ * <p>
+ * Run with {@code -prof gc} for the allocation per operation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark
+{
+    private static final String DOCUMENT = "/ekyc-ida/examples/response/document_800_63A.json";
+
+
+    private String              json;
+    private Map<String, Object> map;
+
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        try (InputStream in = JsonCodecBenchmark.class.getResourceAsStream(DOCUMENT))
+        {
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        map = JsonCodec.readMap(json);
+    }
+
+
+    @Benchmark
+    public Object readNewGson()
+    {
+        return new Gson().fromJson(json, Map.class);
+    }
+
+
+    @Benchmark
+    public Object readUtils()
+    {
+        return Utils.fromJson(json, Map.class);
+    }
+
+
+    @Benchmark
+    public Object readCodec()
+    {
+        return JsonCodec.readMap(json);
+    }
+
+
+    @Benchmark
+    public String writeNewGson()
+    {
+        return new Gson().toJson(map);
+    }
+
+
+    @Benchmark
+    public String writeCodec()
+    {
+        return JsonCodec.toJson(map);
+    }
+}
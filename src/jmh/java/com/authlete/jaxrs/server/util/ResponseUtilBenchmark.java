@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.util;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import org.glassfish.jersey.message.internal.ByteArrayProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Allocation per response of a JSON body of about 800 bytes, built and
+ * written the way Jersey does.
+ *
+ * <p>
+ * {@link #stringEntity()} is the pattern before {@link ResponseUtil} encoded
+ * entities: a {@code String} entity written by Jersey's
+ * {@code StringMessageProvider}. {@link #bytesEntity()} is
+ * {@link ResponseUtil#okJson(String)}, whose {@code byte[]} entity is written
+ * by {@link ByteArrayProvider}. {@link #buildOnly()} and
+ * {@link #buildNoStore()} build the response without writing it, and
+ * {@link #buildFromTemplate()} builds the same no-store response from a
+ * prebuilt one with {@code Response.fromResponse()}.
+ * </p>
+ *
+ * <p>
+ * Run with {@code -prof gc} for the allocation per operation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseUtilBenchmark
+{
+    private static final Annotation[] ANNOTATIONS = new Annotation[0];
+    private static final MediaType    JSON        = MediaType.APPLICATION_JSON_TYPE.withCharset("UTF-8");
+
+
+    private String                      entity;
+    private Response                    template;
+    private MessageBodyWriter<Object>   stringWriter;
+    private ByteArrayProvider           bytesWriter;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws ReflectiveOperationException
+    {
+        StringBuilder sb = new StringBuilder("{\"keys\":[");
+
+        for (int i = 0; i < 4; i++)
+        {
+            sb.append(i == 0 ? "" : ",")
+              .append("{\"kty\":\"EC\",\"crv\":\"P-256\",\"kid\":\"key-").append(i)
+              .append("\",\"x\":\"MKBCTNIcKUSDii11ySs3526iDZ8AiTo7Tu6KPAqv7D4\"")
+              .append(",\"y\":\"4Etl6SRW2YiLUrN5vfvVHuhp7x8PxltmWWlbbM4IFyM\"}");
+        }
+
+        entity   = sb.append("]}").toString();
+        template = ResponseUtil.noStoreJson(Status.OK, null, null);
+
+        // Package-private in Jersey.
+        Constructor<?> constructor = Class.forName(
+                "org.glassfish.jersey.message.internal.StringMessageProvider")
+                .getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        stringWriter = (MessageBodyWriter<Object>)constructor.newInstance();
+        bytesWriter  = new ByteArrayProvider();
+    }
+
+
+    @Benchmark
+    public int stringEntity() throws IOException
+    {
+        Response response = Response.status(Status.OK).entity(entity).type(JSON).build();
+
+        out.reset();
+        stringWriter.writeTo(response.getEntity(), String.class, String.class,
+                ANNOTATIONS, JSON, new MultivaluedHashMap<>(), out);
+
+        return out.size();
+    }
+
+
+    @Benchmark
+    public int bytesEntity() throws IOException
+    {
+        Response response = ResponseUtil.okJson(entity);
+
+        out.reset();
+        bytesWriter.writeTo((byte[])response.getEntity(), byte[].class, byte[].class,
+                ANNOTATIONS, JSON, new MultivaluedHashMap<>(), out);
+
+        return out.size();
+    }
+
+
+    @Benchmark
+    public Response buildOnly()
+    {
+        return ResponseUtil.okJson(entity);
+    }
+
+
+    @Benchmark
+    public Response buildNoStore()
+    {
+        return ResponseUtil.noStoreJson(Status.OK, entity, null);
+    }
+
+
+    @Benchmark
+    public Response buildFromTemplate()
+    {
+        return Response.fromResponse(template)
+                .entity(entity.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
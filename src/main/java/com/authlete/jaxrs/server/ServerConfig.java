@@ -51,6 +51,37 @@ public class ServerConfig
     private static final String AUTHLETE_AD_POLL_MAX_COUNT_KEY               = "authlete.ad.poll.max_count";
     private static final String AUTHLETE_AD_POLL_INTERVAL_KEY                = "authlete.ad.poll.interval";
     private static final String AUTHLETE_AD_AUTH_TIMEOUT_RATIO_KEY           = "authlete.ad.auth_timeout_ratio";
+    private static final String INTROSPECTION_BATCH_MAX_TOKENS_KEY           = "introspection.batch.max_tokens";
+    private static final String INTROSPECTION_BATCH_PARALLELISM_KEY          = "introspection.batch.parallelism";
+    private static final String USERINFO_CACHE_TTL_KEY                       = "userinfo.cache.ttl";
+    private static final String USERINFO_CACHE_MAX_ENTRIES_KEY               = "userinfo.cache.max_entries";
+    private static final String COMPRESSION_ENABLED_KEY                      = "compression.enabled";
+    private static final String COMPRESSION_MIN_SIZE_KEY                     = "compression.min_size";
+    private static final String COMPRESSION_LEVEL_KEY                        = "compression.level";
+    private static final String METRICS_TOKEN_KEY                            = "metrics.token";
+    private static final String TRACING_ENABLED_KEY                          = "tracing.enabled";
+    private static final String TRACING_SERVER_TIMING_KEY                    = "tracing.server_timing";
+    private static final String SESSION_STATE_STORE_KEY                      = "session_state.store";
+    private static final String SESSION_STATE_FILE_KEY                       = "session_state.file";
+    private static final String SESSION_STATE_SLOTS_KEY                      = "session_state.slots";
+    private static final String SESSION_STATE_CACHE_TTL_KEY                  = "session_state.cache.ttl";
+    private static final String SESSION_STATE_CACHE_MAX_ENTRIES_KEY          = "session_state.cache.max_entries";
+    private static final String AUTHORIZATION_STATELESS_KEY                  = "authorization.stateless";
+    private static final String AUTHORIZATION_STATE_KEY_KEY                  = "authorization.state_key";
+    private static final String AUTHORIZATION_STATE_TTL_KEY                  = "authorization.state_ttl";
+    private static final String USERS_FILE_KEY                               = "users.file";
+    private static final String USERS_STORE_KEY                              = "users.store";
+    private static final String USERS_JDBC_URL_KEY                           = "users.jdbc.url";
+    private static final String USERS_JDBC_USERNAME_KEY                      = "users.jdbc.username";
+    private static final String USERS_JDBC_PASSWORD_KEY                      = "users.jdbc.password";
+    private static final String USERS_JDBC_POOL_SIZE_KEY                     = "users.jdbc.pool_size";
+    private static final String USERS_JDBC_CREATE_SCHEMA_KEY                 = "users.jdbc.create_schema";
+    private static final String USERS_CACHE_TTL_KEY                          = "users.cache.ttl";
+    private static final String USERS_CACHE_MAX_ENTRIES_KEY                  = "users.cache.max_entries";
+    private static final String VERIFIED_CLAIMS_CACHE_MAX_ENTRIES_KEY        = "verified_claims.cache.max_entries";
+    private static final String RESOURCE_SERVERS_FILE_KEY                    = "resource_servers.file";
+    private static final String OBB_CONSENTS_CAPACITY_KEY                    = "obb.consents.capacity";
+    private static final String OBB_CONSENTS_SWEEP_INTERVAL_KEY              = "obb.consents.sweep_interval";
 
 
     /**
@@ -69,6 +100,30 @@ public class ServerConfig
     private static final int DEFAULT_AUTHLETE_AD_POLL_MAX_COUNT               = 10;
     private static final int DEFAULT_AUTHLETE_AD_POLL_INTERVAL                = 5000; // 5000 milliseconds.
     private static final float DEFALUT_AUTHLETE_AD_AUTH_TIMEOUT_RATIO         = 0.8f;
+    private static final int DEFAULT_INTROSPECTION_BATCH_MAX_TOKENS           = 100;
+    private static final int DEFAULT_INTROSPECTION_BATCH_PARALLELISM          = 8;
+    private static final int DEFAULT_USERINFO_CACHE_TTL                       = 30; // 30 seconds.
+    private static final int DEFAULT_USERINFO_CACHE_MAX_ENTRIES               = 10000;
+    private static final boolean DEFAULT_COMPRESSION_ENABLED                  = true;
+    private static final int DEFAULT_COMPRESSION_MIN_SIZE                     = 1024; // 1024 bytes.
+    private static final int DEFAULT_COMPRESSION_LEVEL                        = 6;
+    private static final boolean DEFAULT_TRACING_ENABLED                      = true;
+    private static final boolean DEFAULT_TRACING_SERVER_TIMING                = false;
+    private static final String DEFAULT_SESSION_STATE_STORE                   = "memory";
+    private static final String DEFAULT_SESSION_STATE_FILE                    = System.getProperty("java.io.tmpdir") + "/java-oauth-server-session-state";
+    private static final int DEFAULT_SESSION_STATE_SLOTS                      = 16384;
+    private static final int DEFAULT_SESSION_STATE_CACHE_TTL                  = 1000; // 1000 milliseconds.
+    private static final int DEFAULT_SESSION_STATE_CACHE_MAX_ENTRIES          = 10000;
+    private static final boolean DEFAULT_AUTHORIZATION_STATELESS              = false;
+    private static final int DEFAULT_AUTHORIZATION_STATE_TTL                  = 600; // 600 seconds.
+    private static final String DEFAULT_USERS_STORE                           = "memory";
+    private static final int DEFAULT_USERS_JDBC_POOL_SIZE                     = 10;
+    private static final boolean DEFAULT_USERS_JDBC_CREATE_SCHEMA             = false;
+    private static final int DEFAULT_USERS_CACHE_TTL                          = 30; // 30 seconds.
+    private static final int DEFAULT_USERS_CACHE_MAX_ENTRIES                  = 10000;
+    private static final int DEFAULT_VERIFIED_CLAIMS_CACHE_MAX_ENTRIES        = 10000;
+    private static final int DEFAULT_OBB_CONSENTS_CAPACITY                    = 100000;
+    private static final int DEFAULT_OBB_CONSENTS_SWEEP_INTERVAL              = 60; // 60 seconds.
 
 
     /**
@@ -88,6 +143,37 @@ public class ServerConfig
     private static final int AUTHLETE_AD_POLL_MAX_COUNT               = sProperties.getInt(AUTHLETE_AD_POLL_MAX_COUNT_KEY, DEFAULT_AUTHLETE_AD_POLL_MAX_COUNT);
     private static final int AUTHLETE_AD_POLL_INTERVAL                = sProperties.getInt(AUTHLETE_AD_POLL_INTERVAL_KEY, DEFAULT_AUTHLETE_AD_POLL_INTERVAL);
     private static final float AUTHLETE_AD_AUTH_TIMEOUT_RATIO         = sProperties.getFloat(AUTHLETE_AD_AUTH_TIMEOUT_RATIO_KEY, DEFALUT_AUTHLETE_AD_AUTH_TIMEOUT_RATIO);
+    private static final int INTROSPECTION_BATCH_MAX_TOKENS           = sProperties.getInt(INTROSPECTION_BATCH_MAX_TOKENS_KEY, DEFAULT_INTROSPECTION_BATCH_MAX_TOKENS);
+    private static final int INTROSPECTION_BATCH_PARALLELISM          = sProperties.getInt(INTROSPECTION_BATCH_PARALLELISM_KEY, DEFAULT_INTROSPECTION_BATCH_PARALLELISM);
+    private static final int USERINFO_CACHE_TTL                       = sProperties.getInt(USERINFO_CACHE_TTL_KEY, DEFAULT_USERINFO_CACHE_TTL);
+    private static final int USERINFO_CACHE_MAX_ENTRIES               = sProperties.getInt(USERINFO_CACHE_MAX_ENTRIES_KEY, DEFAULT_USERINFO_CACHE_MAX_ENTRIES);
+    private static final boolean COMPRESSION_ENABLED                  = sProperties.getBoolean(COMPRESSION_ENABLED_KEY, DEFAULT_COMPRESSION_ENABLED);
+    private static final int COMPRESSION_MIN_SIZE                     = sProperties.getInt(COMPRESSION_MIN_SIZE_KEY, DEFAULT_COMPRESSION_MIN_SIZE);
+    private static final int COMPRESSION_LEVEL                        = sProperties.getInt(COMPRESSION_LEVEL_KEY, DEFAULT_COMPRESSION_LEVEL);
+    private static final String METRICS_TOKEN                         = sProperties.getString(METRICS_TOKEN_KEY);
+    private static final boolean TRACING_ENABLED                      = sProperties.getBoolean(TRACING_ENABLED_KEY, DEFAULT_TRACING_ENABLED);
+    private static final boolean TRACING_SERVER_TIMING                = TRACING_ENABLED && sProperties.getBoolean(TRACING_SERVER_TIMING_KEY, DEFAULT_TRACING_SERVER_TIMING);
+    private static final String SESSION_STATE_STORE                   = sProperties.getString(SESSION_STATE_STORE_KEY, DEFAULT_SESSION_STATE_STORE);
+    private static final String SESSION_STATE_FILE                    = sProperties.getString(SESSION_STATE_FILE_KEY, DEFAULT_SESSION_STATE_FILE);
+    private static final int SESSION_STATE_SLOTS                      = sProperties.getInt(SESSION_STATE_SLOTS_KEY, DEFAULT_SESSION_STATE_SLOTS);
+    private static final int SESSION_STATE_CACHE_TTL                  = sProperties.getInt(SESSION_STATE_CACHE_TTL_KEY, DEFAULT_SESSION_STATE_CACHE_TTL);
+    private static final int SESSION_STATE_CACHE_MAX_ENTRIES          = sProperties.getInt(SESSION_STATE_CACHE_MAX_ENTRIES_KEY, DEFAULT_SESSION_STATE_CACHE_MAX_ENTRIES);
+    private static final boolean AUTHORIZATION_STATELESS              = sProperties.getBoolean(AUTHORIZATION_STATELESS_KEY, DEFAULT_AUTHORIZATION_STATELESS);
+    private static final String AUTHORIZATION_STATE_KEY               = sProperties.getString(AUTHORIZATION_STATE_KEY_KEY);
+    private static final int AUTHORIZATION_STATE_TTL                  = sProperties.getInt(AUTHORIZATION_STATE_TTL_KEY, DEFAULT_AUTHORIZATION_STATE_TTL);
+    private static final String USERS_FILE                            = sProperties.getString(USERS_FILE_KEY);
+    private static final String USERS_STORE                           = sProperties.getString(USERS_STORE_KEY, DEFAULT_USERS_STORE);
+    private static final String USERS_JDBC_URL                        = sProperties.getString(USERS_JDBC_URL_KEY);
+    private static final String USERS_JDBC_USERNAME                   = sProperties.getString(USERS_JDBC_USERNAME_KEY);
+    private static final String USERS_JDBC_PASSWORD                   = sProperties.getString(USERS_JDBC_PASSWORD_KEY);
+    private static final int USERS_JDBC_POOL_SIZE                     = sProperties.getInt(USERS_JDBC_POOL_SIZE_KEY, DEFAULT_USERS_JDBC_POOL_SIZE);
+    private static final boolean USERS_JDBC_CREATE_SCHEMA             = sProperties.getBoolean(USERS_JDBC_CREATE_SCHEMA_KEY, DEFAULT_USERS_JDBC_CREATE_SCHEMA);
+    private static final int USERS_CACHE_TTL                          = sProperties.getInt(USERS_CACHE_TTL_KEY, DEFAULT_USERS_CACHE_TTL);
+    private static final int USERS_CACHE_MAX_ENTRIES                  = sProperties.getInt(USERS_CACHE_MAX_ENTRIES_KEY, DEFAULT_USERS_CACHE_MAX_ENTRIES);
+    private static final int VERIFIED_CLAIMS_CACHE_MAX_ENTRIES        = sProperties.getInt(VERIFIED_CLAIMS_CACHE_MAX_ENTRIES_KEY, DEFAULT_VERIFIED_CLAIMS_CACHE_MAX_ENTRIES);
+    private static final String RESOURCE_SERVERS_FILE                 = sProperties.getString(RESOURCE_SERVERS_FILE_KEY);
+    private static final int OBB_CONSENTS_CAPACITY                    = sProperties.getInt(OBB_CONSENTS_CAPACITY_KEY, DEFAULT_OBB_CONSENTS_CAPACITY);
+    private static final int OBB_CONSENTS_SWEEP_INTERVAL              = sProperties.getInt(OBB_CONSENTS_SWEEP_INTERVAL_KEY, DEFAULT_OBB_CONSENTS_SWEEP_INTERVAL);
 
 
     private static Mode determineAuthleteAdMode()
@@ -436,4 +522,429 @@ public class ServerConfig
     {
         return AUTHLETE_AD_AUTH_TIMEOUT_RATIO;
     }
+
+
+    /**
+     * Get the maximum number of tokens that a resource server can send in one
+     * request to the batch introspection endpoint
+     * ({@code /api/introspection/batch}). The default value is 100.
+     *
+     * @return
+     *         The maximum number of tokens in a batch introspection request.
+     */
+    public static int getIntrospectionBatchMaxTokens()
+    {
+        return INTROSPECTION_BATCH_MAX_TOKENS;
+    }
+
+
+    /**
+     * Get the maximum number of tokens of one batch introspection request
+     * that are introspected concurrently. The default value is 8.
+     *
+     * @return
+     *         The number of concurrent introspections per batch.
+     */
+    public static int getIntrospectionBatchParallelism()
+    {
+        return INTROSPECTION_BATCH_PARALLELISM;
+    }
+
+
+    /**
+     * Get the time (in seconds) for which a userinfo response is cached. The
+     * default value is 30. 0 disables the userinfo response cache.
+     *
+     * @return
+     *         The lifetime of a cached userinfo response in seconds.
+     */
+    public static int getUserInfoCacheTtl()
+    {
+        return USERINFO_CACHE_TTL;
+    }
+
+
+    /**
+     * Get the maximum number of cached userinfo responses. The default value
+     * is 10000.
+     *
+     * @return
+     *         The maximum number of cached userinfo responses.
+     */
+    public static int getUserInfoCacheMaxEntries()
+    {
+        return USERINFO_CACHE_MAX_ENTRIES;
+    }
+
+
+    /**
+     * Get the flag indicating whether large response bodies are
+     * gzip-compressed for clients that accept it. The default value is
+     * {@code true}.
+     *
+     * @return
+     *         {@code true} if response compression is enabled.
+     */
+    public static boolean isCompressionEnabled()
+    {
+        return COMPRESSION_ENABLED;
+    }
+
+
+    /**
+     * Get the minimum size (in bytes) of a response body to be compressed.
+     * Smaller bodies are sent as is. The default value is 1024.
+     *
+     * @return
+     *         The compression threshold in bytes.
+     */
+    public static int getCompressionMinSize()
+    {
+        return COMPRESSION_MIN_SIZE;
+    }
+
+
+    /**
+     * Get the deflate compression level (1-9) of compressed responses. The
+     * default value is 6.
+     *
+     * @return
+     *         The compression level.
+     */
+    public static int getCompressionLevel()
+    {
+        return COMPRESSION_LEVEL;
+    }
+
+
+    /**
+     * Get the bearer token that scrapers must present to the metrics
+     * endpoint ({@code /api/metrics}). There is no default value; the
+     * endpoint is disabled while the token is not configured.
+     *
+     * @return
+     *         The token, or {@code null} if not configured.
+     */
+    public static String getMetricsToken()
+    {
+        return METRICS_TOKEN;
+    }
+
+
+    /**
+     * Get the flag indicating whether the processing time of each request is
+     * traced and logged, broken down into Authlete, federation, CIBA and SPI
+     * time. The default value is {@code true}.
+     *
+     * @return
+     *         {@code true} if request tracing is enabled.
+     */
+    public static boolean isTracingEnabled()
+    {
+        return TRACING_ENABLED;
+    }
+
+
+    /**
+     * Get the flag indicating whether the timing breakdown of each request
+     * is returned in the {@code Server-Timing} response header. Always
+     * {@code false} when tracing is disabled. The default value is
+     * {@code false}, because the header tells any client how long the
+     * server spent in each backend.
+     *
+     * @return
+     *         {@code true} if the {@code Server-Timing} header is added.
+     */
+    public static boolean isServerTimingEnabled()
+    {
+        return TRACING_SERVER_TIMING;
+    }
+
+
+    /**
+     * Get the type of the store that holds the native SSO session state:
+     * {@code memory} (the default) for this process only, or {@code mmap}
+     * for a memory-mapped file shared by the server processes on this
+     * machine.
+     *
+     * @return
+     *         The type of the session state store.
+     */
+    public static String getSessionStateStore()
+    {
+        return SESSION_STATE_STORE;
+    }
+
+
+    /**
+     * Get the path of the memory-mapped file used when the session state
+     * store is {@code mmap}. The default value is
+     * {@code java-oauth-server-session-state} in the temporary directory.
+     *
+     * @return
+     *         The path of the session state file.
+     */
+    public static String getSessionStateFile()
+    {
+        return SESSION_STATE_FILE;
+    }
+
+
+    /**
+     * Get the number of entries (sessions plus device secrets) that a new
+     * session state file can hold. Each takes 512 bytes. The default value
+     * is 16384.
+     *
+     * @return
+     *         The number of slots of a new session state file.
+     */
+    public static int getSessionStateSlots()
+    {
+        return SESSION_STATE_SLOTS;
+    }
+
+
+    /**
+     * Get how long a session found alive in a shared session state store is
+     * trusted without asking the store again, in milliseconds. The default
+     * value is 1000.
+     *
+     * @return
+     *         The TTL of the local session state cache.
+     */
+    public static int getSessionStateCacheTtl()
+    {
+        return SESSION_STATE_CACHE_TTL;
+    }
+
+
+    /**
+     * Get the maximum number of entries of the local session state cache.
+     * The default value is 10000.
+     *
+     * @return
+     *         The maximum number of cached sessions or device secrets.
+     */
+    public static int getSessionStateCacheMaxEntries()
+    {
+        return SESSION_STATE_CACHE_MAX_ENTRIES;
+    }
+
+
+    /**
+     * Get the flag indicating whether the authorization flow keeps its
+     * state in the browser instead of the HTTP session. When {@code true},
+     * the authorization page carries the ticket and the minimal data of the
+     * request in an encrypted form field, and ID federation carries its
+     * state and PKCE verifier in an encrypted cookie. The default value is
+     * {@code false}.
+     *
+     * @return
+     *         {@code true} if the authorization flow state is stateless.
+     */
+    public static boolean isAuthorizationStateless()
+    {
+        return AUTHORIZATION_STATELESS;
+    }
+
+
+    /**
+     * Get the key that encrypts the authorization flow state, a 256-bit
+     * value encoded in base64url. Every server node behind the same load
+     * balancer must be given the same key. When this is not set, a random
+     * key is generated at startup, which only works with a single process.
+     *
+     * @return
+     *         The base64url-encoded key, or {@code null} if not configured.
+     */
+    public static String getAuthorizationStateKey()
+    {
+        return AUTHORIZATION_STATE_KEY;
+    }
+
+
+    /**
+     * Get how long an encrypted authorization flow state is accepted, in
+     * seconds. The default value is 600.
+     *
+     * @return
+     *         The lifetime of an authorization flow state.
+     */
+    public static int getAuthorizationStateTtl()
+    {
+        return AUTHORIZATION_STATE_TTL;
+    }
+
+
+    /**
+     * Get the path of a user store file built by {@code
+     * MappedUserStoreBuilder}. When set and the user store is {@code
+     * memory}, users not found among the built-in and federated users are
+     * looked up in it. Not set by default.
+     *
+     * @return
+     *         The path of the user store file, or {@code null}.
+     */
+    public static String getUsersFile()
+    {
+        return USERS_FILE;
+    }
+
+
+    /**
+     * Get the type of the user store: {@code memory} (the default) for the
+     * built-in users (plus {@code users.file}), or {@code jdbc} for a
+     * database given by {@code users.jdbc.*}.
+     *
+     * @return
+     *         The type of the user store.
+     */
+    public static String getUsersStore()
+    {
+        return USERS_STORE;
+    }
+
+
+    /**
+     * Get the JDBC URL of the user database.
+     *
+     * @return
+     *         The JDBC URL, or {@code null} if not configured.
+     */
+    public static String getUsersJdbcUrl()
+    {
+        return USERS_JDBC_URL;
+    }
+
+
+    /**
+     * Get the user name to connect to the user database.
+     *
+     * @return
+     *         The user name, or {@code null} if not configured.
+     */
+    public static String getUsersJdbcUsername()
+    {
+        return USERS_JDBC_USERNAME;
+    }
+
+
+    /**
+     * Get the password to connect to the user database.
+     *
+     * @return
+     *         The password, or {@code null} if not configured.
+     */
+    public static String getUsersJdbcPassword()
+    {
+        return USERS_JDBC_PASSWORD;
+    }
+
+
+    /**
+     * Get the maximum number of pooled connections to the user database.
+     * The default value is 10.
+     *
+     * @return
+     *         The size of the connection pool.
+     */
+    public static int getUsersJdbcPoolSize()
+    {
+        return USERS_JDBC_POOL_SIZE;
+    }
+
+
+    /**
+     * Get the flag indicating whether the user tables are created (and the
+     * built-in users added) at startup. The default value is {@code false}.
+     *
+     * @return
+     *         {@code true} if the user tables are created at startup.
+     */
+    public static boolean isUsersJdbcCreateSchema()
+    {
+        return USERS_JDBC_CREATE_SCHEMA;
+    }
+
+
+    /**
+     * Get how long a user read from the database is cached, in seconds.
+     * The default value is 30.
+     *
+     * @return
+     *         The TTL of the user cache.
+     */
+    public static int getUsersCacheTtl()
+    {
+        return USERS_CACHE_TTL;
+    }
+
+
+    /**
+     * Get the maximum number of cached users. The default value is 10000.
+     *
+     * @return
+     *         The maximum number of entries of the user cache.
+     */
+    public static int getUsersCacheMaxEntries()
+    {
+        return USERS_CACHE_MAX_ENTRIES;
+    }
+
+
+    /**
+     * Get the maximum number of built {@code "verified_claims"} kept for
+     * reuse by requests of the same subject with the same content of
+     * {@code "verified_claims"}. 0 disables the cache. The default value
+     * is 10000.
+     *
+     * @return
+     *         The maximum number of cached {@code "verified_claims"}.
+     */
+    public static int getVerifiedClaimsCacheMaxEntries()
+    {
+        return VERIFIED_CLAIMS_CACHE_MAX_ENTRIES;
+    }
+
+
+    /**
+     * Get the path of a file that holds the resource servers, in the format
+     * of {@code resource_servers.json}. When set, the file is used instead
+     * of the built-in resource servers and is reloaded whenever it changes.
+     * Not set by default.
+     *
+     * @return
+     *         The path of the resource servers file, or {@code null}.
+     */
+    public static String getResourceServersFile()
+    {
+        return RESOURCE_SERVERS_FILE;
+    }
+
+
+    /**
+     * Get the maximum number of Open Banking Brasil consents kept in memory.
+     * When it is exceeded, the consents that expire soonest are evicted.
+     * The default value is 100000.
+     *
+     * @return
+     *         The capacity of the consent store.
+     */
+    public static int getObbConsentsCapacity()
+    {
+        return OBB_CONSENTS_CAPACITY;
+    }
+
+
+    /**
+     * Get the interval in seconds at which expired Open Banking Brasil
+     * consents are removed. The default value is 60.
+     *
+     * @return
+     *         The interval of the consent sweeper in seconds.
+     */
+    public static int getObbConsentsSweepInterval()
+    {
+        return OBB_CONSENTS_SWEEP_INTERVAL;
+    }
 }
@@ -32,6 +32,9 @@ import com.authlete.jaxrs.server.ad.dto.PollAuthenticationResultRequest;
 import com.authlete.jaxrs.server.ad.dto.PollAuthenticationResultResponse;
 import com.authlete.jaxrs.server.ad.dto.SyncAuthenticationRequest;
 import com.authlete.jaxrs.server.ad.dto.SyncAuthenticationResponse;
+import com.authlete.jaxrs.server.http.DtoJsonProvider;
+import com.authlete.jaxrs.server.trace.Span;
+import com.authlete.jaxrs.server.trace.SpanKind;
 
 
 /**
@@ -91,6 +94,9 @@ public class AuthenticationDevice
         // Connect timeout.
         config.property(CONNECT_TIMEOUT, connectTimeout);
 
+        // JSON binding of the request and response classes.
+        config.register(DtoJsonProvider.class);
+
         // The client that synchronously communicates with the authentication device simulator.
         return ClientBuilder.newClient(config);
     }
@@ -252,7 +258,7 @@ public class AuthenticationDevice
     private static <TRequest, TResponse> TResponse post(Client client, String path,
             TRequest request, Class<TResponse> responseClass)
     {
-        try
+        try (Span span = Span.start(SpanKind.CIBA, path))
         {
             // Send the request to the authentication device as a HTTP Post request.
             return client
@@ -18,8 +18,8 @@ package com.authlete.jaxrs.server.ad.dto;
 
 
 import java.io.Serializable;
-import jakarta.xml.bind.annotation.XmlElement;
 import com.authlete.jaxrs.server.ad.type.Result;
+import com.google.gson.annotations.SerializedName;
 
 
 /**
@@ -49,7 +49,7 @@ public class AsyncAuthenticationCallbackRequest implements Serializable
     private static final long serialVersionUID = 1L;
 
 
-    @XmlElement(name = "request_id")
+    @SerializedName("request_id")
     private String requestId;
     private Result result;
     private String state;
@@ -18,7 +18,7 @@ package com.authlete.jaxrs.server.ad.dto;
 
 
 import java.io.Serializable;
-import jakarta.xml.bind.annotation.XmlElement;
+import com.google.gson.annotations.SerializedName;
 
 
 /**
@@ -39,7 +39,7 @@ public class AsyncAuthenticationResponse implements Serializable
     private static final long serialVersionUID = 1L;
 
 
-    @XmlElement(name = "request_id")
+    @SerializedName("request_id")
     private String requestId;
 
 
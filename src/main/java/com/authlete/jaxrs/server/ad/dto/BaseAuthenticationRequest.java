@@ -18,7 +18,7 @@ package com.authlete.jaxrs.server.ad.dto;
 
 
 import java.io.Serializable;
-import jakarta.xml.bind.annotation.XmlElement;
+import com.google.gson.annotations.SerializedName;
 
 
 /**
@@ -43,7 +43,7 @@ public class BaseAuthenticationRequest<T extends BaseAuthenticationRequest<T>> i
     private String message;
     private int timeout;
 
-    @XmlElement(name = "actionize_token")
+    @SerializedName("actionize_token")
     private String actionizeToken;
 
 
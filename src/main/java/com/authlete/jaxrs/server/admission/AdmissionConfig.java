@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.admission;
+
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Typed, defaulted access to the admission control configuration defined in
+ * {@code admission.properties} (overridable via JVM system properties).
+ *
+ * <p>
+ * Values are read once when the instance is created. The defaults only shed
+ * traffic under clear overload, so the controller stays out of the way when
+ * {@code admission.properties} is absent.
+ * </p>
+ */
+public final class AdmissionConfig
+{
+    private static final AdmissionProperties PROPS = new AdmissionProperties();
+
+
+    /**
+     * Built-in tiers of the resource classes, keyed by simple class name.
+     * Classes not listed here are {@link AdmissionTier#STANDARD}.
+     */
+    private static final Map<String, AdmissionTier> DEFAULT_TIERS = new HashMap<>();
+
+
+    static
+    {
+        DEFAULT_TIERS.put("TokenEndpoint",                  AdmissionTier.CRITICAL);
+        DEFAULT_TIERS.put("IntrospectionEndpoint",          AdmissionTier.CRITICAL);
+        DEFAULT_TIERS.put("RevocationEndpoint",             AdmissionTier.CRITICAL);
+        DEFAULT_TIERS.put("ConfigurationEndpoint",          AdmissionTier.CRITICAL);
+        DEFAULT_TIERS.put("JwksEndpoint",                   AdmissionTier.CRITICAL);
+
+        DEFAULT_TIERS.put("ClientRegistrationEndpoint",     AdmissionTier.LOW);
+        DEFAULT_TIERS.put("FederationRegistrationEndpoint", AdmissionTier.LOW);
+        DEFAULT_TIERS.put("CredentialOfferEndpoint",        AdmissionTier.LOW);
+        DEFAULT_TIERS.put("CredentialOfferIssueEndpoint",   AdmissionTier.LOW);
+        DEFAULT_TIERS.put("AppleAppSiteAssociation",        AdmissionTier.LOW);
+        DEFAULT_TIERS.put("TestEndpoint",                   AdmissionTier.LOW);
+    }
+
+
+    // Master switch.
+    private final boolean enabled;
+
+    // Shedding response.
+    private final int retryAfterSeconds;
+
+    // Latency signal.
+    private final long latencyStaleMillis;
+
+    // Limits per sheddable tier.
+    private final int  standardMaxInFlight;
+    private final long standardMaxLatencyMillis;
+    private final int  lowMaxInFlight;
+    private final long lowMaxLatencyMillis;
+
+
+    /**
+     * Build a configuration snapshot from {@code admission.properties} and
+     * system properties.
+     */
+    public AdmissionConfig()
+    {
+        enabled = PROPS.getBoolean("admission.enabled", true);
+
+        retryAfterSeconds  = PROPS.getInt("admission.retryAfterSeconds", 5);
+        latencyStaleMillis = PROPS.getLong("admission.latency.staleSeconds", 10) * 1000L;
+
+        standardMaxInFlight      = PROPS.getInt("admission.standard.maxInFlight", 180);
+        standardMaxLatencyMillis = PROPS.getLong("admission.standard.maxLatencyMillis", 10000);
+        lowMaxInFlight           = PROPS.getInt("admission.low.maxInFlight", 100);
+        lowMaxLatencyMillis      = PROPS.getLong("admission.low.maxLatencyMillis", 3000);
+    }
+
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+
+    public int getRetryAfterSeconds()
+    {
+        return retryAfterSeconds;
+    }
+
+
+    public long getLatencyStaleMillis()
+    {
+        return latencyStaleMillis;
+    }
+
+
+    /**
+     * Get the maximum number of requests allowed in flight (across all
+     * tiers) when a request of the given tier is admitted.
+     *
+     * @return
+     *         The limit, or {@link Integer#MAX_VALUE} for
+     *         {@link AdmissionTier#CRITICAL}.
+     */
+    public int getMaxInFlight(AdmissionTier tier)
+    {
+        switch (tier)
+        {
+            case LOW:
+                return lowMaxInFlight;
+
+            case STANDARD:
+                return standardMaxInFlight;
+
+            case CRITICAL:
+            default:
+                return Integer.MAX_VALUE;
+        }
+    }
+
+
+    /**
+     * Get the average request latency above which requests of the given
+     * tier are shed.
+     *
+     * @return
+     *         The limit in milliseconds, or {@link Long#MAX_VALUE} for
+     *         {@link AdmissionTier#CRITICAL}.
+     */
+    public long getMaxLatencyMillis(AdmissionTier tier)
+    {
+        switch (tier)
+        {
+            case LOW:
+                return lowMaxLatencyMillis;
+
+            case STANDARD:
+                return standardMaxLatencyMillis;
+
+            case CRITICAL:
+            default:
+                return Long.MAX_VALUE;
+        }
+    }
+
+
+    /**
+     * Get the tier of a resource class. A {@code admission.tier.{SimpleName}}
+     * property overrides the built-in assignment.
+     */
+    public AdmissionTier getTier(Class<?> resourceClass)
+    {
+        String name = resourceClass.getSimpleName();
+
+        AdmissionTier configured =
+                AdmissionTier.parse(PROPS.getString("admission.tier." + name, null));
+
+        if (configured != null)
+        {
+            return configured;
+        }
+
+        return DEFAULT_TIERS.getOrDefault(name, AdmissionTier.STANDARD);
+    }
+}
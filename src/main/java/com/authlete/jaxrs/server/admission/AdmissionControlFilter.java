@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.admission;
+
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.authlete.jaxrs.server.decorator.DecoratorPriorities;
+import com.authlete.jaxrs.server.util.ResponseUtil;
+
+
+/**
+ * A filter that sheds requests of low-priority resource classes with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} header while the
+ * server is overloaded, so that the core token paths keep their throughput.
+ *
+ * <p>
+ * The tier of each resource class is resolved once through
+ * {@link AdmissionConfig#getTier(Class)} and the decision itself is made by
+ * {@link AdmissionController}. An admitted request is released by
+ * {@link AdmissionReleaseListener} when Jersey finishes processing it, which
+ * also covers requests that end with an unmapped exception.
+ * </p>
+ */
+@Provider
+@Priority(DecoratorPriorities.ADMISSION_CONTROL_REQUEST_FILTER)
+public class AdmissionControlFilter implements ContainerRequestFilter
+{
+    /**
+     * The request property holding the {@link System#nanoTime()} at which
+     * the request was admitted. Its presence means that the request has to
+     * be released.
+     */
+    static final String ADMITTED_AT = AdmissionControlFilter.class.getName() + ".admittedAt";
+
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+
+    private static final String SHED_RESPONSE =
+            "{\n  \"error\":\"temporarily_unavailable\",\n" +
+            "  \"error_description\":\"The server is temporarily overloaded. Retry later.\"\n}\n";
+
+
+    private final AdmissionController controller = AdmissionController.getInstance();
+
+    private final ConcurrentHashMap<Class<?>, AdmissionTier> tiers = new ConcurrentHashMap<>();
+
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException
+    {
+        AdmissionConfig config = controller.getConfig();
+
+        if (!config.isEnabled())
+        {
+            return;
+        }
+
+        AdmissionTier tier = resolveTier(config);
+
+        if (!controller.tryAcquire(tier))
+        {
+            if (logger.isDebugEnabled())
+            {
+                logger.debug("Shedding a {} request to {} ({} in flight).",
+                        tier, requestContext.getUriInfo().getPath(), controller.getInFlight());
+            }
+
+            requestContext.abortWith(
+                    ResponseUtil.serviceUnavailableJson(SHED_RESPONSE, config.getRetryAfterSeconds()));
+            return;
+        }
+
+        requestContext.setProperty(ADMITTED_AT, System.nanoTime());
+    }
+
+
+    private AdmissionTier resolveTier(AdmissionConfig config)
+    {
+        Class<?> resourceClass = resourceInfo.getResourceClass();
+
+        if (resourceClass == null)
+        {
+            return AdmissionTier.STANDARD;
+        }
+
+        return tiers.computeIfAbsent(resourceClass, config::getTier);
+    }
+}
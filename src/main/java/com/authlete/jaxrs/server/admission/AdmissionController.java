@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.admission;
+
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Decides whether a request may enter the server, based on its
+ * {@link AdmissionTier} and two load signals:
+ *
+ * <ul>
+ *   <li><b>Queue depth</b> &mdash; the number of requests currently in flight
+ *       (admitted but not finished), across all tiers. Each sheddable tier
+ *       has its own ceiling, so lower tiers stop being admitted well before
+ *       the worker threads are exhausted, leaving the headroom to the
+ *       critical tier.</li>
+ *   <li><b>Latency</b> &mdash; an exponentially weighted moving average of the
+ *       duration of admitted requests. When Authlete slows down, this rises
+ *       before the in-flight count does.</li>
+ * </ul>
+ *
+ * <p>
+ * {@link AdmissionTier#CRITICAL} requests are always admitted; they are still
+ * counted so that they consume the headroom of the lower tiers. A latency
+ * average that has not been updated for a while is ignored, so a tier shed
+ * because of latency is admitted again once the server has been idle.
+ * </p>
+ *
+ * <p>
+ * All state is held in atomics; the controller is safe for concurrent use
+ * and takes no locks.
+ * </p>
+ */
+public class AdmissionController
+{
+    /**
+     * Weight of a new sample in the latency average.
+     */
+    private static final double EWMA_ALPHA = 0.2;
+
+
+    private static final class Holder
+    {
+        private static final AdmissionController INSTANCE =
+                new AdmissionController(new AdmissionConfig());
+    }
+
+
+    private final AdmissionConfig config;
+    private final LongSupplier    clock;
+
+    private final AtomicInteger   inFlight     = new AtomicInteger();
+    private final AtomicLong      latencyBits  = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final AtomicLong      lastSampleAt = new AtomicLong();
+    private final AtomicLongArray shedCounts   = new AtomicLongArray(AdmissionTier.values().length);
+
+
+    AdmissionController(AdmissionConfig config)
+    {
+        this(config, System::currentTimeMillis);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    AdmissionController(AdmissionConfig config, LongSupplier clock)
+    {
+        this.config = config;
+        this.clock  = clock;
+    }
+
+
+    /**
+     * Get the shared instance configured from {@code admission.properties}.
+     */
+    public static AdmissionController getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    public AdmissionConfig getConfig()
+    {
+        return config;
+    }
+
+
+    /**
+     * Try to admit a request of the given tier. When this returns
+     * {@code true}, the caller must call {@link #release(long)} once the
+     * request has finished.
+     *
+     * @return
+     *         {@code true} if the request is admitted, {@code false} if it
+     *         must be shed.
+     */
+    public boolean tryAcquire(AdmissionTier tier)
+    {
+        if (tier != AdmissionTier.CRITICAL &&
+            getAverageLatencyMillis() > config.getMaxLatencyMillis(tier))
+        {
+            shedCounts.incrementAndGet(tier.ordinal());
+            return false;
+        }
+
+        if (inFlight.incrementAndGet() > config.getMaxInFlight(tier))
+        {
+            inFlight.decrementAndGet();
+            shedCounts.incrementAndGet(tier.ordinal());
+            return false;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Record the end of an admitted request.
+     *
+     * @param elapsedMillis
+     *         How long the request took.
+     */
+    public void release(long elapsedMillis)
+    {
+        inFlight.decrementAndGet();
+
+        recordLatency(elapsedMillis);
+    }
+
+
+    private void recordLatency(long elapsedMillis)
+    {
+        long now      = clock.getAsLong();
+        long previous = lastSampleAt.getAndSet(now);
+
+        // After a quiet period the old average says nothing about the
+        // current state of the server, so restart from this sample.
+        boolean restart = (now - previous) > config.getLatencyStaleMillis();
+
+        while (true)
+        {
+            long   bits    = latencyBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double updated = restart ? elapsedMillis
+                           : current + EWMA_ALPHA * (elapsedMillis - current);
+
+            if (latencyBits.compareAndSet(bits, Double.doubleToRawLongBits(updated)))
+            {
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Get the number of admitted requests that have not finished yet.
+     */
+    public int getInFlight()
+    {
+        return inFlight.get();
+    }
+
+
+    /**
+     * Get the moving average of request latency in milliseconds, or 0 when
+     * no request has finished recently.
+     */
+    public double getAverageLatencyMillis()
+    {
+        long now = clock.getAsLong();
+
+        if (now - lastSampleAt.get() > config.getLatencyStaleMillis())
+        {
+            return 0.0;
+        }
+
+        return Double.longBitsToDouble(latencyBits.get());
+    }
+
+
+    /**
+     * Get the number of requests of the given tier shed so far.
+     */
+    public long getShedCount(AdmissionTier tier)
+    {
+        return shedCounts.get(tier.ordinal());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.admission;
+
+
+import java.util.concurrent.TimeUnit;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+
+/**
+ * Releases requests admitted by {@link AdmissionControlFilter}.
+ *
+ * <p>
+ * A response filter is not enough for this: Jersey skips response filters
+ * when an exception has no mapper, and every such request would then stay
+ * counted as in flight forever. The {@link RequestEvent.Type#FINISHED
+ * FINISHED} event is raised for every request, however it ends.
+ * </p>
+ */
+@Provider
+public class AdmissionReleaseListener implements ApplicationEventListener
+{
+    private static final RequestEventListener RELEASER = new RequestEventListener()
+    {
+        @Override
+        public void onEvent(RequestEvent event)
+        {
+            if (event.getType() == RequestEvent.Type.FINISHED)
+            {
+                release(event.getContainerRequest());
+            }
+        }
+    };
+
+
+    @Override
+    public void onEvent(ApplicationEvent event)
+    {
+    }
+
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent)
+    {
+        return AdmissionController.getInstance().getConfig().isEnabled() ? RELEASER : null;
+    }
+
+
+    private static void release(ContainerRequest request)
+    {
+        if (request == null)
+        {
+            return;
+        }
+
+        Object admittedAt = request.getProperty(AdmissionControlFilter.ADMITTED_AT);
+
+        // Not admitted (shed, or never reached the filter).
+        if (!(admittedAt instanceof Long))
+        {
+            return;
+        }
+
+        request.removeProperty(AdmissionControlFilter.ADMITTED_AT);
+
+        long elapsed = System.nanoTime() - (Long)admittedAt;
+
+        AdmissionController.getInstance().release(TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.admission;
+
+
+/**
+ * Priority tiers used by the admission controller to decide which requests
+ * are shed first when the server is under pressure.
+ *
+ * @see AdmissionController
+ */
+public enum AdmissionTier
+{
+    /**
+     * Core token paths (token, introspection, revocation, discovery and
+     * JWKS). Never shed.
+     */
+    CRITICAL,
+
+
+    /**
+     * Regular interactive and API traffic. Shed only when the limits for
+     * this tier are crossed.
+     */
+    STANDARD,
+
+
+    /**
+     * Low-value traffic such as dynamic client registration, credential
+     * offer pages and test endpoints. Shed first.
+     */
+    LOW;
+
+
+    /**
+     * Parse a tier name case-insensitively.
+     *
+     * @return
+     *         The tier, or {@code null} if the name is not recognized.
+     */
+    public static AdmissionTier parse(String name)
+    {
+        if (name == null)
+        {
+            return null;
+        }
+
+        for (AdmissionTier tier : values())
+        {
+            if (tier.name().equalsIgnoreCase(name.trim()))
+            {
+                return tier;
+            }
+        }
+
+        return null;
+    }
+}
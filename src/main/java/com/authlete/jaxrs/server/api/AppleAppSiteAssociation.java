@@ -18,9 +18,12 @@ package com.authlete.jaxrs.server.api;
 
 
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import com.authlete.jaxrs.server.http.RepresentationCache;
 
 
 /**
@@ -35,25 +38,36 @@ import jakarta.ws.rs.core.Response;
 @Path("/.well-known/apple-app-site-association")
 public class AppleAppSiteAssociation
 {
+    /**
+     * The apple-app-site-association document.
+     */
+    private static final String JSON =
+            "{\n" +
+            "    \"applinks\": {\n" +
+            "        \"apps\": [],\n" +
+            "        \"details\": [{\n" +
+            "            \"appID\": \"337ZW7BQW9.com.authlete.fapidev-app2app\",\n" +
+            "            \"paths\": [\"/api/authorization\"]\n" +
+            "        }]\n" +
+            "    }\n" +
+            "}\n";
+
+
+    /**
+     * HTTP caching of the document.
+     */
+    private static final RepresentationCache CACHE = new RepresentationCache("apple_app_site_association");
+
+
     /**
      * OpenID Provider configuration endpoint.
      */
     @GET
-    public Response get()
+    public Response get(
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding)
     {
-        String json =
-                "{\n" +
-                "    \"applinks\": {\n" +
-                "        \"apps\": [],\n" +
-                "        \"details\": [{\n" +
-                "            \"appID\": \"337ZW7BQW9.com.authlete.fapidev-app2app\",\n" +
-                "            \"paths\": [\"/api/authorization\"]\n" +
-                "        }]\n" +
-                "    }\n" +
-                "}\n";
-        return Response
-                .status(Response.Status.OK)
-                .entity(json).type(MediaType.APPLICATION_JSON_TYPE)
-                .build();
+        return CACHE.respond(
+                JSON, MediaType.APPLICATION_JSON_TYPE, ifNoneMatch, acceptEncoding);
     }
 }
@@ -34,8 +34,12 @@ import com.authlete.common.dto.Client;
 import com.authlete.common.types.User;
 import com.authlete.jakarta.AuthorizationDecisionHandler.Params;
 import com.authlete.jakarta.BaseAuthorizationDecisionEndpoint;
+import com.authlete.jaxrs.server.flow.AuthorizationFlowState;
+import com.authlete.jaxrs.server.flow.FlowStates;
+import com.authlete.jaxrs.server.util.ExceptionUtil;
 import com.authlete.jaxrs.server.util.ProcessingUtil;
 import com.authlete.jakarta.spi.AuthorizationDecisionHandlerSpi;
+import com.authlete.jaxrs.server.trace.TracingProxy;
 
 
 /**
@@ -90,6 +94,11 @@ public class AuthorizationDecisionEndpoint extends BaseAuthorizationDecisionEndp
             @Context HttpServletRequest request,
             MultivaluedMap<String, String> parameters)
     {
+        if (FlowStates.isStateless())
+        {
+            return postStateless(request, parameters);
+        }
+
         // Get the existing session.
         HttpSession session = ProcessingUtil.getSession(request);
 
@@ -98,22 +107,69 @@ public class AuthorizationDecisionEndpoint extends BaseAuthorizationDecisionEndp
         Params params = (Params)  takeAttribute(session, "params");
         String[] acrs = (String[])takeAttribute(session, "acrs");
         Client client = (Client)  takeAttribute(session, "client");
+
+        return decide(session, parameters, params, acrs, client);
+    }
+
+
+    /**
+     * Process a request from the form in the authorization page when the
+     * authorization flow is stateless. The parameters, the ACRs and the
+     * client are restored from the sealed flow state in the form instead
+     * of the session. The flow state must be bound to the session that the
+     * browser presents, or else another site could make the browser submit
+     * a flow state of its own.
+     */
+    private Response postStateless(
+            HttpServletRequest request, MultivaluedMap<String, String> parameters)
+    {
+        AuthorizationFlowState state = FlowStates.getCodec().open(
+                FlowStates.AUTHORIZATION, parameters.getFirst(FlowStates.PARAMETER),
+                AuthorizationFlowState.class);
+
+        if (state == null || !state.isBoundTo(request.getRequestedSessionId()))
+        {
+            throw ExceptionUtil.badRequestException("The authorization flow state is invalid or has expired.");
+        }
+
+        // The client is not in the flow state. It is usually served from
+        // the response cache of the resilient Authlete API.
+        Client client = ResilientAuthleteApiFactory.getDefaultApi().getClient(state.getClientId());
+
+        Params params = Params.from(state.toAuthorizationResponse(client));
+
+        // The session holds only the login state of the end-user.
+        HttpSession session = request.getSession(true);
+
+        return decide(session, parameters, params, state.getAcrs(), client);
+    }
+
+
+    private Response decide(
+            HttpSession session, MultivaluedMap<String, String> parameters,
+            Params params, String[] acrs, Client client)
+    {
         User user     = ProcessingUtil.getUser(session, parameters);
-        Date authTime = (Date)    session.getAttribute("authTime");
+        Date authTime = (Date)session.getAttribute("authTime");
 
         addTxnToClaimNames(params);
 
         // Claims requested to be embedded in the ID token.
         String idTokenClaims = (params != null) ? params.getIdTokenClaims() : null;
 
+        // Names of the requested claims.
+        String[] claimNames = (params != null) ? params.getClaimNames() : null;
+
         // Implementation of AuthorizationDecisionHandlerSpi.
         AuthorizationDecisionHandlerSpi spi =
             new AuthorizationDecisionHandlerSpiImpl(
                 parameters, user, authTime, idTokenClaims, acrs, client,
-                session.getId());
+                session.getId(), claimNames);
 
-        // Handle the end-user's decision.
-        return handle(ResilientAuthleteApiFactory.getDefaultApi(), spi, params);
+        // Handle the end-user's decision. The SPI calls are timed as part
+        // of the request's trace.
+        return handle(ResilientAuthleteApiFactory.getDefaultApi(),
+                TracingProxy.wrap(AuthorizationDecisionHandlerSpi.class, spi), params);
     }
 
 }
@@ -32,9 +32,9 @@ import com.authlete.common.dto.Client;
 import com.authlete.common.dto.Property;
 import com.authlete.common.types.SubjectType;
 import com.authlete.common.types.User;
-import com.authlete.common.util.Utils;
-import com.authlete.jaxrs.server.db.DatasetDao;
+import com.authlete.jaxrs.server.db.ClaimPlan;
 import com.authlete.jaxrs.server.db.VerifiedClaimsDao;
+import com.authlete.jaxrs.server.util.JsonCodec;
 import com.authlete.jaxrs.server.util.ResponseUtil;
 import com.authlete.jakarta.spi.AuthorizationDecisionHandlerSpiAdapter;
 
@@ -72,6 +72,12 @@ class AuthorizationDecisionHandlerSpiImpl extends AuthorizationDecisionHandlerSp
     private User mUser;
 
 
+    /**
+     * The requested claims of the authenticated user.
+     */
+    private ClaimPlan.Claims mClaims;
+
+
     /**
      * The time when the user was authenticated in seconds since Unix epoch.
      */
@@ -117,11 +123,17 @@ class AuthorizationDecisionHandlerSpiImpl extends AuthorizationDecisionHandlerSp
      * This implementation uses {@code authorized}, {@code loginId} and
      * {@code password} in {@code parameters}.
      * </p>
+     *
+     * <p>
+     * {@code claimNames} are the names of the claims requested by the
+     * authorization request, which are read from the user at once when the
+     * first of them is asked for.
+     * </p>
      */
     public AuthorizationDecisionHandlerSpiImpl(
             MultivaluedMap<String, String> parameters, User user,
             Date userAuthenticatedAt, String idTokenClaims, String[] acrs,
-            Client client, String sessionId)
+            Client client, String sessionId, String[] claimNames)
     {
         // If the end-user clicked the "Authorize" button, "authorized"
         // is contained in the request.
@@ -155,6 +167,9 @@ class AuthorizationDecisionHandlerSpiImpl extends AuthorizationDecisionHandlerSp
         // The subject (= unique identifier) of the end-user.
         mUserSubject = mUser.getSubject();
 
+        // The requested claims of the end-user.
+        mClaims = ClaimPlan.of(claimNames).bind(mUser);
+
         // The value of the "id_token" property in the "claims" request parameter
         // (or in the "claims" property in the request object) contained in the
         // original authorization request. See '5.5. Requesting Claims using the
@@ -211,8 +226,8 @@ class AuthorizationDecisionHandlerSpiImpl extends AuthorizationDecisionHandlerSp
         }
 
         // getUserClaim() is called only when getUserSubject() has returned
-        // a non-null value. So, mUser is not null when the flow reaches here.
-        return mUser.getClaim(claimName, languageTag);
+        // a non-null value. So, mClaims is not null when the flow reaches here.
+        return mClaims.get(claimName, languageTag);
     }
 
 
@@ -255,7 +270,6 @@ class AuthorizationDecisionHandlerSpiImpl extends AuthorizationDecisionHandlerSp
     }
 
 
-    @SuppressWarnings("unchecked")
     private static Map<String, Object> parseJson(String json)
     {
         if (json == null)
@@ -265,7 +279,7 @@ class AuthorizationDecisionHandlerSpiImpl extends AuthorizationDecisionHandlerSp
 
         try
         {
-            return Utils.fromJson(json, Map.class);
+            return JsonCodec.readMap(json);
         }
         catch (Exception e)
         {
@@ -486,12 +500,10 @@ class AuthorizationDecisionHandlerSpiImpl extends AuthorizationDecisionHandlerSp
     @Override
     public Object getVerifiedClaims(String subject, Object verifiedClaimsRequest)
     {
-        // The list of available datasets of the subject.
-        List<Map<String, Object>> datasets = DatasetDao.get(subject);
-
         // Build the content of "verified_claims" which meets conditions
-        // of the request from the available datasets.
-        return new VerifiedClaimsBuilder(verifiedClaimsRequest, datasets).build();
+        // of the request from the available datasets of the subject, or
+        // reuse the content built for the same request before.
+        return VerifiedClaimsCache.getInstance().build(subject, verifiedClaimsRequest);
     }
 
 
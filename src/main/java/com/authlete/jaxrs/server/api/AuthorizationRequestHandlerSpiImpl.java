@@ -32,6 +32,8 @@ import com.authlete.common.types.SubjectType;
 import com.authlete.common.types.User;
 import com.authlete.jakarta.AuthorizationDecisionHandler.Params;
 import com.authlete.jaxrs.server.federation.FederationManager;
+import com.authlete.jaxrs.server.flow.AuthorizationFlowState;
+import com.authlete.jaxrs.server.flow.FlowStates;
 import com.authlete.jakarta.spi.AuthorizationRequestHandlerSpiAdapter;
 
 
@@ -96,11 +98,23 @@ class AuthorizationRequestHandlerSpiImpl extends AuthorizationRequestHandlerSpiA
         // Create an HTTP session.
         HttpSession session = mRequest.getSession(true);
 
-        // Store some variables into the session so that they can be
-        // referred to later in AuthorizationDecisionEndpoint.
-        session.setAttribute("params", Params.from(info));
-        session.setAttribute("acrs",   info.getAcrs());
-        session.setAttribute("client", info.getClient());
+        // The sealed flow state embedded in the page instead of the session
+        // when the authorization flow is stateless.
+        String flowState = null;
+
+        if (FlowStates.isStateless())
+        {
+            flowState = FlowStates.getCodec().seal(FlowStates.AUTHORIZATION,
+                    AuthorizationFlowState.from(info, session.getId()), FlowStates.getTtlMillis());
+        }
+        else
+        {
+            // Store some variables into the session so that they can be
+            // referred to later in AuthorizationDecisionEndpoint.
+            session.setAttribute("params", Params.from(info));
+            session.setAttribute("acrs",   info.getAcrs());
+            session.setAttribute("client", info.getClient());
+        }
 
         mClient = info.getClient(); // update the client in case we need it with a no-interaction response
 
@@ -114,13 +128,17 @@ class AuthorizationRequestHandlerSpiImpl extends AuthorizationRequestHandlerSpiA
         // render the authorization page.
         AuthzPageModel model = new AuthzPageModel(info, user,
                 FederationManager.getInstance().getConfigurations());
+        model.setFlowState(flowState);
 
-        // Prepare another model object which contains information only
-        // from the AuthorizationResponse instance. This model will be
-        // used in FederationEndpoint if the end-user chooses to use an
-        // external OpenID Provider at the authorization page.
-        AuthzPageModel model2 = new AuthzPageModel(info, null, null);
-        session.setAttribute("authzPageModel", model2);
+        if (flowState == null)
+        {
+            // Prepare another model object which contains information only
+            // from the AuthorizationResponse instance. This model will be
+            // used in FederationEndpoint if the end-user chooses to use an
+            // external OpenID Provider at the authorization page.
+            AuthzPageModel model2 = new AuthzPageModel(info, null, null);
+            session.setAttribute("authzPageModel", model2);
+        }
 
         // Create a Viewable instance that represents the authorization
         // page. Viewable is a class provided by Jersey for MVC.
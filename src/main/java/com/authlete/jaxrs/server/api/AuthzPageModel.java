@@ -32,6 +32,7 @@ public class AuthzPageModel extends AuthorizationPageModel
 
     private FederationConfig[] federations;
     private String federationMessage;
+    private String flowState;
 
 
     public AuthzPageModel(
@@ -91,4 +92,31 @@ public class AuthzPageModel extends AuthorizationPageModel
 
         return this;
     }
+
+
+    /**
+     * Get the sealed authorization flow state.
+     *
+     * <p>
+     * If this method returns a non-null value (which happens only when
+     * {@code authorization.stateless} is {@code true}), the value will be
+     * embedded in the authorization page so that the form and the links
+     * for ID federation carry it.
+     * </p>
+     */
+    public String getFlowState()
+    {
+        return flowState;
+    }
+
+
+    /**
+     * Set the sealed authorization flow state.
+     */
+    public AuthzPageModel setFlowState(String flowState)
+    {
+        this.flowState = flowState;
+
+        return this;
+    }
 }
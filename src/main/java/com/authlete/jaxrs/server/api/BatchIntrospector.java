@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.api;
+
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.authlete.common.api.AuthleteApi;
+import com.authlete.common.dto.StandardIntrospectionRequest;
+import com.authlete.common.dto.StandardIntrospectionResponse;
+import com.authlete.jaxrs.server.db.ResourceServerEntity;
+import com.authlete.jaxrs.server.trace.RequestTrace;
+
+
+/**
+ * Introspects the tokens of one batch introspection request.
+ *
+ * <p>
+ * Each token is introspected with Authlete's standard introspection API, as
+ * {@code /api/introspection} does, so every result goes through the
+ * resilience layer: a token introspected recently is served from its cache,
+ * and concurrent misses for the same token share one Authlete call. Up to
+ * {@code parallelism} tokens are introspected at a time, each on its own
+ * virtual thread, so a batch takes roughly as long as its slowest token
+ * rather than the sum of all of them.
+ * </p>
+ *
+ * <p>
+ * The outcome of each token is kept separately. A token whose introspection
+ * fails is reported with status 500 in its own slot, and the other tokens
+ * are still returned.
+ * </p>
+ */
+class BatchIntrospector
+{
+    private static final Logger logger = LoggerFactory.getLogger(BatchIntrospector.class);
+
+
+    private static final String SERVER_ERROR =
+            "{\"error\":\"server_error\",\"error_description\":\"Failed to introspect the token.\"}";
+
+
+    /**
+     * The outcome of the introspection of one token: the HTTP status that
+     * {@code /api/introspection} would have returned, and its JSON body.
+     */
+    static final class Result
+    {
+        final int    status;
+        final String content;
+
+        Result(int status, String content)
+        {
+            this.status  = status;
+            this.content = content;
+        }
+    }
+
+
+    private final AuthleteApi          authleteApi;
+    private final ResourceServerEntity rsEntity;
+    private final int                  parallelism;
+
+
+    BatchIntrospector(AuthleteApi authleteApi, ResourceServerEntity rsEntity, int parallelism)
+    {
+        this.authleteApi = authleteApi;
+        this.rsEntity    = rsEntity;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+
+    /**
+     * Introspect the tokens.
+     *
+     * @param tokens
+     *         The tokens to introspect.
+     *
+     * @param tokenTypeHint
+     *         The {@code token_type_hint} applied to every token, or
+     *         {@code null}.
+     *
+     * @return
+     *         The results, in the order of the tokens.
+     */
+    Result[] introspect(List<String> tokens, String tokenTypeHint)
+    {
+        int           count   = tokens.size();
+        Result[]      results = new Result[count];
+        AtomicInteger next    = new AtomicInteger();
+
+        // The workers add their Authlete calls to the trace of this request.
+        Runnable worker = RequestTrace.propagate(() -> {
+            for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement())
+            {
+                results[i] = introspect(tokens.get(i), tokenTypeHint);
+            }
+        });
+
+        // Closing the executor waits for every worker to finish.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int w = Math.min(parallelism, count); w > 0; w--)
+            {
+                executor.execute(worker);
+            }
+        }
+
+        // A slot left empty means its worker died of an unexpected error.
+        for (int i = 0; i < count; i++)
+        {
+            if (results[i] == null)
+            {
+                results[i] = new Result(500, SERVER_ERROR);
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Check the tokens of a batch introspection request.
+     *
+     * @param tokens
+     *         The values of the {@code token} parameters, or {@code null}.
+     *
+     * @param maxTokens
+     *         The maximum number of tokens accepted.
+     *
+     * @return
+     *         The JSON body of the error response, or {@code null} if the
+     *         tokens are acceptable.
+     */
+    static String checkTokens(List<String> tokens, int maxTokens)
+    {
+        if (tokens == null || tokens.isEmpty())
+        {
+            return error("invalid_request", "The request does not contain 'token'.");
+        }
+
+        if (tokens.size() > maxTokens)
+        {
+            return error("invalid_request",
+                    "The request contains more than " + maxTokens + " tokens.");
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Build the body of the batch introspection response.
+     */
+    static String toJson(Result[] results)
+    {
+        StringBuilder sb = new StringBuilder("{\"results\":[");
+
+        for (int i = 0; i < results.length; i++)
+        {
+            if (i > 0)
+            {
+                sb.append(',');
+            }
+
+            // The response content of each result is a JSON object built by
+            // Authlete, so it is embedded as is.
+            sb.append("{\"status\":").append(results[i].status)
+              .append(",\"response\":").append(results[i].content)
+              .append('}');
+        }
+
+        return sb.append("]}").toString();
+    }
+
+
+    private static String error(String code, String description)
+    {
+        return String.format(
+                "{\"error\":\"%s\",\"error_description\":\"%s\"}", code, description);
+    }
+
+
+    private Result introspect(String token, String tokenTypeHint)
+    {
+        try
+        {
+            StandardIntrospectionResponse response =
+                    authleteApi.standardIntrospection(buildRequest(token, tokenTypeHint));
+
+            return toResult(response);
+        }
+        catch (RuntimeException e)
+        {
+            logger.warn("Batch introspection of a token failed: {}", e.getMessage());
+
+            return new Result(500, SERVER_ERROR);
+        }
+    }
+
+
+    private StandardIntrospectionRequest buildRequest(String token, String tokenTypeHint)
+    {
+        StringBuilder parameters = new StringBuilder("token=").append(encode(token));
+
+        if (tokenTypeHint != null)
+        {
+            parameters.append("&token_type_hint=").append(encode(tokenTypeHint));
+        }
+
+        // Results are always returned as plain JSON, so the settings of
+        // the resource server for JWT responses are not used here.
+        return new StandardIntrospectionRequest()
+                .setParameters(parameters.toString())
+                .setRsUri(rsEntity.getUri());
+    }
+
+
+    private static Result toResult(StandardIntrospectionResponse response)
+    {
+        String content = response.getResponseContent();
+
+        switch (response.getAction())
+        {
+            case OK:
+                return new Result(200, content);
+
+            case BAD_REQUEST:
+                return new Result(400, content);
+
+            case INTERNAL_SERVER_ERROR:
+            default:
+                return new Result(500, (content != null) ? content : SERVER_ERROR);
+        }
+    }
+
+
+    private static String encode(String value)
+    {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -18,13 +18,16 @@ package com.authlete.jaxrs.server.api;
 
 
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
 import com.authlete.common.dto.ServiceConfigurationRequest;
 import com.authlete.jakarta.BaseConfigurationEndpoint;
+import com.authlete.jaxrs.server.http.RepresentationCache;
 
 
 /**
@@ -77,6 +80,12 @@ import com.authlete.jakarta.BaseConfigurationEndpoint;
 @Path("/.well-known/{path : openid-configuration|oauth-authorization-server}")
 public class ConfigurationEndpoint extends BaseConfigurationEndpoint
 {
+    /**
+     * HTTP caching of the document.
+     */
+    private static final RepresentationCache CACHE = new RepresentationCache("configuration");
+
+
     /**
      * OpenID Provider configuration endpoint.
      *
@@ -97,11 +106,19 @@ public class ConfigurationEndpoint extends BaseConfigurationEndpoint
      * AFTER they receive a response from the Authlete API, so API callers do
      * not necessarily need to use the {@code patch} request parameter.
      * </p>
+     *
+     * <p>
+     * The configuration returned without these request parameters is served
+     * with an {@code ETag} and {@code Cache-Control} (see
+     * {@link RepresentationCache}), because clients and CDNs poll it.
+     * </p>
      */
     @GET
     public Response get(
             @QueryParam("pretty") String pretty,
-            @QueryParam("patch") String patch
+            @QueryParam("patch") String patch,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding
             )
     {
         // An AuthleteApi instance to access Authlete APIs.
@@ -118,7 +135,7 @@ public class ConfigurationEndpoint extends BaseConfigurationEndpoint
         }
 
         // Call the /service/configuration API with HTTP GET.
-        return handle(api);
+        return CACHE.respond(handle(api), ifNoneMatch, acceptEncoding);
     }
 
 
@@ -22,21 +22,32 @@ import java.net.URI;
 import java.util.Date;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.CookieParam;
+import jakarta.ws.rs.FormParam;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.NewCookie;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
 import org.glassfish.jersey.server.mvc.Viewable;
+import com.authlete.common.dto.Client;
 import com.authlete.common.types.User;
 import com.authlete.jakarta.BaseEndpoint;
 import com.authlete.jaxrs.server.db.UserDao;
 import com.authlete.jaxrs.server.db.UserEntity;
 import com.authlete.jaxrs.server.federation.Federation;
 import com.authlete.jaxrs.server.federation.FederationManager;
+import com.authlete.jaxrs.server.flow.AuthorizationFlowState;
+import com.authlete.jaxrs.server.flow.FederationFlowState;
+import com.authlete.jaxrs.server.flow.FlowStates;
+import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
 import com.authlete.jaxrs.server.util.ResponseUtil;
 import com.nimbusds.oauth2.sdk.id.State;
 import com.nimbusds.oauth2.sdk.pkce.CodeVerifier;
@@ -54,12 +65,39 @@ public class FederationEndpoint extends BaseEndpoint
     private static final String KEY_STATE    = "state";
     private static final String KEY_VERIFIER = "codeVerifier";
 
+    private static final String COOKIE_NAME  = "federation_state";
+    private static final String COOKIE_PATH  = "/api/federation";
+
 
     @GET
     @Path("initiation/{federationId}")
     public Response initiation(
             @Context HttpServletRequest req,
             @PathParam("federationId") String federationId)
+    {
+        return initiate(req, federationId, null);
+    }
+
+
+    /**
+     * Start ID federation from the form of the authorization page when the
+     * authorization flow is stateless. The sealed flow state comes in the
+     * form, so that it does not end up in URLs (browser history, access
+     * logs, the {@code Referer} header).
+     */
+    @POST
+    @Path("initiation/{federationId}")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    public Response initiation(
+            @Context HttpServletRequest req,
+            @PathParam("federationId") String federationId,
+            @FormParam(FlowStates.PARAMETER) String flowState)
+    {
+        return initiate(req, federationId, flowState);
+    }
+
+
+    private Response initiate(HttpServletRequest req, String federationId, String flowState)
     {
         // Get the Federation instance that corresponds to the federation ID.
         Federation federation = getFederation(federationId);
@@ -68,9 +106,28 @@ public class FederationEndpoint extends BaseEndpoint
         String state    = new State().getValue();
         String verifier = new CodeVerifier().getValue();
 
-        // Put them in the session so that callback() can use them later.
-        putToSession(req, KEY_STATE,    state);
-        putToSession(req, KEY_VERIFIER, verifier);
+        // The cookie that carries them when the authorization flow is
+        // stateless.
+        NewCookie cookie = null;
+
+        if (FlowStates.isStateless())
+        {
+            // Ensure that the form was submitted from an authorization page
+            // sent to this browser.
+            openAuthorizationFlowState(req, flowState);
+
+            String sealed = FlowStates.getCodec().seal(FlowStates.FEDERATION,
+                    new FederationFlowState(state, verifier, flowState),
+                    FlowStates.getTtlMillis());
+
+            cookie = federationCookie(req, sealed, (int)(FlowStates.getTtlMillis() / 1000L));
+        }
+        else
+        {
+            // Put them in the session so that callback() can use them later.
+            putToSession(req, KEY_STATE,    state);
+            putToSession(req, KEY_VERIFIER, verifier);
+        }
 
         // Build an authentication request that conforms to OpenID Connect.
         URI authenticationRequest =
@@ -79,7 +136,7 @@ public class FederationEndpoint extends BaseEndpoint
         // Redirect the web browser to the authorization endpoint of the
         // OpenID Provider. As a result, the web browser will send the
         // authentication request to the authorization endpoint.
-        return redirectTo(authenticationRequest);
+        return redirectTo(authenticationRequest, cookie);
     }
 
 
@@ -87,8 +144,14 @@ public class FederationEndpoint extends BaseEndpoint
     @Path("callback/{federationId}")
     public Response callback(
             @Context HttpServletRequest req,
-            @PathParam("federationId") String federationId)
+            @PathParam("federationId") String federationId,
+            @CookieParam(COOKIE_NAME) String federationState)
     {
+        if (FlowStates.isStateless())
+        {
+            return callbackStateless(req, federationId, federationState);
+        }
+
         // Authentication response from the OpenID Provider.
         URI authenticationResponse = getFullUri(req);
 
@@ -120,6 +183,99 @@ public class FederationEndpoint extends BaseEndpoint
     }
 
 
+    private Response callbackStateless(
+            HttpServletRequest req, String federationId, String federationState)
+    {
+        // Authentication response from the OpenID Provider.
+        URI authenticationResponse = getFullUri(req);
+
+        // Get the Federation instance that corresponds to the federation ID.
+        Federation federation = getFederation(federationId);
+
+        // "state", "code_verifier" and the authorization flow state which
+        // were put in the cookie in initiation().
+        FederationFlowState flow = FlowStates.getCodec().open(
+                FlowStates.FEDERATION, federationState, FederationFlowState.class);
+
+        if (flow == null)
+        {
+            // 400 Bad Request
+            throw badRequest("Not in the context of an authorization flow.");
+        }
+
+        // Ensure that 'state' is available.
+        ensureState(flow.getState());
+
+        // Data used to render the authorization page, rebuilt from the
+        // authorization flow state.
+        AuthzPageModel model = getAuthzPageModel(req, flow.getAuthorization());
+
+        // Communicate with the OpenID Provider to get information about the user.
+        UserInfo userInfo = getUserInfo(
+                federation, authenticationResponse, flow.getState(), flow.getCodeVerifier(), model);
+
+        // Register the user into this server (or overwrite the existing info).
+        User user = registerUser(federation, userInfo);
+
+        // Make the user login.
+        makeUserLogin(req, user);
+
+        // Go back to the authorization page, dropping the cookie which
+        // must not be used again.
+        return Response.fromResponse(authorizationPage(model, user, null))
+                .cookie(federationCookie(req, "", 0))
+                .build();
+    }
+
+
+    private AuthorizationFlowState openAuthorizationFlowState(
+            HttpServletRequest req, String flowState) throws WebApplicationException
+    {
+        AuthorizationFlowState state = FlowStates.getCodec().open(
+                FlowStates.AUTHORIZATION, flowState, AuthorizationFlowState.class);
+
+        if (state == null || !state.isBoundTo(req.getRequestedSessionId()))
+        {
+            // 400 Bad Request
+            throw badRequest("Not in the context of an authorization flow.");
+        }
+
+        return state;
+    }
+
+
+    private AuthzPageModel getAuthzPageModel(
+            HttpServletRequest req, String flowState) throws WebApplicationException
+    {
+        AuthorizationFlowState state = openAuthorizationFlowState(req, flowState);
+
+        // The client is not in the flow state. It is usually served from
+        // the response cache of the resilient Authlete API.
+        Client client = ResilientAuthleteApiFactory.getDefaultApi().getClient(state.getClientId());
+
+        AuthzPageModel model = new AuthzPageModel(state.toAuthorizationResponse(client), null, null);
+
+        // The authorization page rendered after the federation must carry
+        // the flow state again.
+        model.setFlowState(flowState);
+
+        return model;
+    }
+
+
+    private static NewCookie federationCookie(HttpServletRequest req, String value, int maxAge)
+    {
+        return new NewCookie.Builder(COOKIE_NAME)
+                .value(value)
+                .path(COOKIE_PATH)
+                .maxAge(maxAge)
+                .httpOnly(true)
+                .secure(req.isSecure())
+                .sameSite(NewCookie.SameSite.LAX)
+                .build();
+    }
+
+
     private Federation getFederation(String federationId) throws WebApplicationException
     {
         // Get the Federation instance that corresponds to the federation ID.
@@ -151,11 +307,18 @@ public class FederationEndpoint extends BaseEndpoint
     }
 
 
-    private Response redirectTo(URI location)
+    private Response redirectTo(URI location, NewCookie cookie)
     {
         // 302 Found
         // Location: {location}
-        return Response.status(Status.FOUND).location(location).build();
+        ResponseBuilder builder = Response.status(Status.FOUND).location(location);
+
+        if (cookie != null)
+        {
+            builder.cookie(cookie);
+        }
+
+        return builder.build();
     }
 
 
@@ -17,21 +17,28 @@
 package com.authlete.jaxrs.server.api;
 
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
+import com.authlete.jaxrs.server.ServerConfig;
+import com.authlete.jaxrs.server.api.BatchIntrospector.Result;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
 import com.authlete.common.web.BasicCredentials;
 import com.authlete.jakarta.BaseIntrospectionEndpoint;
 import com.authlete.jakarta.IntrospectionRequestHandler.Params;
 import com.authlete.jaxrs.server.db.ResourceServerDao;
 import com.authlete.jaxrs.server.db.ResourceServerEntity;
+import com.authlete.jaxrs.server.util.ResponseUtil;
 
 
 /**
@@ -47,6 +54,13 @@ import com.authlete.jaxrs.server.db.ResourceServerEntity;
 @Path("/api/introspection")
 public class IntrospectionEndpoint extends BaseIntrospectionEndpoint
 {
+    /**
+     * Headers of the response from the batch introspection endpoint.
+     */
+    private static final Map<String, Object> NO_STORE =
+            Collections.singletonMap(HttpHeaders.CACHE_CONTROL, "no-store");
+
+
     /**
      * The introspection endpoint.
      *
@@ -108,6 +122,80 @@ public class IntrospectionEndpoint extends BaseIntrospectionEndpoint
     }
 
 
+    /**
+     * The batch introspection endpoint.
+     *
+     * <p>
+     * This is not defined by any specification. It lets a resource server
+     * (typically an API gateway) introspect several tokens with one request,
+     * authenticating itself once. The request takes one or more {@code token}
+     * form parameters and an optional {@code token_type_hint} that applies to
+     * all of them. At most {@link ServerConfig#getIntrospectionBatchMaxTokens()}
+     * tokens are accepted.
+     * </p>
+     *
+     * <p>
+     * The response is a JSON object whose {@code results} array holds one
+     * entry per token, in the order of the {@code token} parameters. Each
+     * entry has the HTTP {@code status} that {@code /api/introspection} would
+     * have returned for the token alone and the JSON {@code response} it would
+     * have returned as the body. A failure of one token does not affect the
+     * others.
+     * </p>
+     *
+     * <pre style="border: solid 1px black; padding: 0.5em;">
+     * {
+     *   "results": [
+     *     { "status": 200, "response": { "active": true, ... } },
+     *     { "status": 200, "response": { "active": false } },
+     *     { "status": 500, "response": { "error": "server_error", ... } }
+     *   ]
+     * }
+     * </pre>
+     */
+    @POST
+    @Path("batch")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response batch(
+            @HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
+            MultivaluedMap<String, String> parameters)
+    {
+        BasicCredentials credentials = BasicCredentials.parse(authorization);
+
+        // Fetch the information about the resource server from DB.
+        ResourceServerEntity rsEntity = getResourceServer(credentials);
+
+        // The resource server is authenticated once for the whole batch,
+        // in the same way as post().
+        if (authenticateResourceServer(rsEntity, credentials) == false)
+        {
+            // Return "401 Unauthorized".
+            return Response.status(Status.UNAUTHORIZED).build();
+        }
+
+        List<String> tokens = parameters.get("token");
+
+        // Check the number of tokens.
+        String error = BatchIntrospector.checkTokens(
+                tokens, ServerConfig.getIntrospectionBatchMaxTokens());
+
+        if (error != null)
+        {
+            return ResponseUtil.badRequestJson(error);
+        }
+
+        BatchIntrospector introspector = new BatchIntrospector(
+                ResilientAuthleteApiFactory.getDefaultApi(), rsEntity,
+                ServerConfig.getIntrospectionBatchParallelism());
+
+        Result[] results = introspector.introspect(
+                tokens, parameters.getFirst("token_type_hint"));
+
+        return ResponseUtil.okJson(BatchIntrospector.toJson(results), NO_STORE);
+    }
+
+
     private Params buildParams(
             MultivaluedMap<String, String> parameters, String accept, ResourceServerEntity rsEntity)
     {
@@ -138,7 +226,8 @@ public class IntrospectionEndpoint extends BaseIntrospectionEndpoint
     private boolean authenticateResourceServer(
             ResourceServerEntity rsEntity, BasicCredentials credentials)
     {
+        // The secret is compared in constant time.
         return rsEntity != null &&
-               rsEntity.getSecret().equals(credentials.getPassword());
+               rsEntity.hasSecret(credentials.getPassword());
     }
 }
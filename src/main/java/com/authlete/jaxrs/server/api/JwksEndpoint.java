@@ -18,10 +18,13 @@ package com.authlete.jaxrs.server.api;
 
 
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
 import com.authlete.jakarta.BaseJwksEndpoint;
+import com.authlete.jaxrs.server.http.RepresentationCache;
 
 
 /**
@@ -53,13 +56,23 @@ import com.authlete.jakarta.BaseJwksEndpoint;
 @Path("/api/jwks")
 public class JwksEndpoint extends BaseJwksEndpoint
 {
+    /**
+     * HTTP caching of the document.
+     */
+    private static final RepresentationCache CACHE = new RepresentationCache("jwks");
+
+
     /**
      * JWK Set endpoint.
      */
     @GET
-    public Response get()
+    public Response get(
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding)
     {
         // Handle the JWK Set request.
-        return handle(ResilientAuthleteApiFactory.getDefaultApi());
+        Response response = handle(ResilientAuthleteApiFactory.getDefaultApi());
+
+        return CACHE.respond(response, ifNoneMatch, acceptEncoding);
     }
 }
@@ -20,16 +20,14 @@ package com.authlete.jaxrs.server.api;
 import java.util.Map;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.WebApplicationException;
-import jakarta.ws.rs.core.CacheControl;
-import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.common.dto.TokenCreateRequest;
 import com.authlete.common.dto.TokenCreateResponse;
 import com.authlete.common.dto.TokenResponse;
 import com.authlete.common.types.GrantType;
+import com.authlete.jaxrs.server.util.ResponseUtil;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTParser;
 import com.nimbusds.jwt.SignedJWT;
@@ -331,33 +329,7 @@ class JwtAuthzGrantProcessor
 
     private Response toJsonResponse(Status status, String content)
     {
-        CacheControl cacheControl = new CacheControl();
-        cacheControl.setNoCache(true);
-        cacheControl.setNoStore(true);
-
-        ResponseBuilder builder = Response.status(status)
-                .type(MediaType.APPLICATION_JSON_TYPE)
-                .cacheControl(cacheControl)
-                .entity(content)
-                ;
-
-        addResponseHeaders(builder, mHeaders);
-
-        return builder.build();
-    }
-
-
-    private static void addResponseHeaders(ResponseBuilder builder, Map<String, Object> headers)
-    {
-        if (headers == null)
-        {
-            return;
-        }
-
-        for (Map.Entry<String, Object> header : headers.entrySet())
-        {
-            builder.header(header.getKey(), header.getValue());
-        }
+        return ResponseUtil.noStoreJson(status, content, mHeaders);
     }
 
 
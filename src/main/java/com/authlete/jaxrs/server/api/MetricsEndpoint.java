@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.api;
+
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import com.authlete.jaxrs.server.ServerConfig;
+import com.authlete.jaxrs.server.metrics.MetricsRegistry;
+import com.authlete.jaxrs.server.util.ResponseUtil;
+
+
+/**
+ * An endpoint that exposes the metrics of the server in the Prometheus text
+ * exposition format.
+ *
+ * <p>
+ * The metrics reveal which endpoints are used and how the server is doing,
+ * so the endpoint requires the bearer token configured as
+ * {@code metrics.token} (see {@link ServerConfig#getMetricsToken()}) and
+ * responds with {@code 404 Not Found} while no token is configured. A
+ * Prometheus scrape job passes the token with its {@code authorization}
+ * setting.
+ * </p>
+ *
+ * @see MetricsRegistry
+ */
+@Path("/api/metrics")
+public class MetricsEndpoint
+{
+    /**
+     * The media type of the text exposition format.
+     */
+    private static final MediaType PROMETHEUS_TEXT =
+            MediaType.valueOf("text/plain; version=0.0.4; charset=utf-8");
+
+
+    private static final String CHALLENGE = "Bearer realm=\"metrics\"";
+
+
+    /**
+     * Metrics endpoint.
+     */
+    @GET
+    public Response get(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization)
+    {
+        String token = ServerConfig.getMetricsToken();
+
+        if (token == null || token.isEmpty())
+        {
+            return ResponseUtil.notFound("Not Found");
+        }
+
+        if (!isAuthorized(authorization, token))
+        {
+            return ResponseUtil.unauthorized("Unauthorized", CHALLENGE);
+        }
+
+        byte[] body = MetricsRegistry.getInstance().scrape().getBytes(StandardCharsets.UTF_8);
+
+        return Response.ok(body, PROMETHEUS_TEXT)
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .build();
+    }
+
+
+    private static boolean isAuthorized(String authorization, String token)
+    {
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7))
+        {
+            return false;
+        }
+
+        byte[] presented = authorization.substring(7).trim().getBytes(StandardCharsets.UTF_8);
+        byte[] expected  = token.getBytes(StandardCharsets.UTF_8);
+
+        // Constant-time comparison.
+        return MessageDigest.isEqual(presented, expected);
+    }
+}
@@ -40,8 +40,8 @@ import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
-import com.authlete.common.util.Utils;
 import com.authlete.jaxrs.server.obb.util.ObbUtils;
+import com.authlete.jaxrs.server.util.JsonCodec;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSVerifier;
@@ -94,7 +94,6 @@ public class OBBDCRProcessor
     }
 
 
-    @SuppressWarnings("unchecked")
     private Map<String, Object> parseRequestBody(String body)
     {
         // If the request has no body.
@@ -120,7 +119,7 @@ public class OBBDCRProcessor
             //
             //     https://github.com/OpenBanking-Brasil/specs-seguranca/issues/86
             //
-            params = Utils.fromJson(body, Map.class);
+            params = JsonCodec.readMap(body);
         }
         catch (Exception e)
         {
@@ -1,7 +1,8 @@
 package com.authlete.jaxrs.server.api;
 
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.StringReader;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
@@ -11,25 +12,66 @@ import jakarta.ws.rs.core.Response.Status;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.jaxrs.server.obb.database.ConsentDao;
 import com.authlete.jaxrs.server.obb.model.Consent;
-import com.authlete.jaxrs.server.obb.util.ObbUtils;
-
-
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+
+/**
+ * A task specific to Open Banking Brasil, run after a token request.
+ *
+ * <p>
+ * Most token responses are not related to Open Banking Brasil, so this task
+ * decides whether it applies before parsing the token response. It looks at
+ * the status of the response, the grant type of the request and the raw
+ * response body, and only when the body may contain a consent scope and a
+ * refresh token does it read the body, with a streaming scan that picks the
+ * three members it needs ({@code access_token}, {@code refresh_token} and
+ * {@code scope}) and skips the rest.
+ * </p>
+ */
 public class OBBTokenTask
 {
+    /**
+     * The prefix of the scope that carries a consent ID.
+     */
+    private static final String CONSENT_SCOPE_PREFIX = "consent:";
+
+
+    /**
+     * The members of the token response that this task uses.
+     */
+    private static final class TokenResponseFields
+    {
+        String accessToken;
+        String refreshToken;
+        String scope;
+    }
+
+
     public void process(
             AuthleteApi authleteApi, HttpServletRequest request,
-            MultivaluedMap<String, String> requestParams,
-            Response response, Map<String, Object> responseParams)
+            MultivaluedMap<String, String> requestParams, Response response)
     {
         // If further processing is not needed.
-        if (!needsProcessing(requestParams, response, responseParams))
+        if (!needsProcessing(requestParams, response))
+        {
+            // Nothing to do.
+            return;
+        }
+
+        // Read the members needed below from the token response.
+        TokenResponseFields responseFields = scan((String)response.getEntity());
+
+        // If the token response could not be read or no refresh token has
+        // been issued.
+        if (responseFields == null || responseFields.refreshToken == null)
         {
             // Nothing to do.
             return;
         }
 
         // Get the consent ID associated with the access token.
-        String consentId = extractConsentId(responseParams);
+        String consentId = extractConsentId(responseFields.scope);
 
         // If no consent ID is associated with the access token.
         if (consentId == null)
@@ -45,7 +87,7 @@ public class OBBTokenTask
         if (consent == null)
         {
             // Delete the access token (and the refresh token).
-            deleteAccessToken(authleteApi, responseParams);
+            deleteAccessToken(authleteApi, responseFields.accessToken);
 
             // Return an error response to the client application.
             throw badRequestException("invalid_request", String.format(
@@ -53,13 +95,12 @@ public class OBBTokenTask
         }
 
         // Task on a refresh token.
-        doConsentTaskOnRefreshToken(authleteApi, responseParams, consent);
+        doConsentTaskOnRefreshToken(authleteApi, responseFields.refreshToken, consent);
     }
 
 
     private static boolean needsProcessing(
-            MultivaluedMap<String, String> requestParams,
-            Response response, Map<String, Object> responseParams)
+            MultivaluedMap<String, String> requestParams, Response response)
     {
         // If the token request failed.
         if (response.getStatus() != Status.OK.getStatusCode())
@@ -88,54 +129,131 @@ public class OBBTokenTask
             return false;
         }
 
-        // If no refresh token has been issued.
-        if (!responseParams.containsKey("refresh_token"))
+        // The entity conforms to the token response defined in RFC 6749.
+        Object entity = response.getEntity();
+
+        if (!(entity instanceof String))
         {
             // Nothing to do.
             return false;
         }
 
-        // There are some tasks to be done for the newly issued refresh token.
-        return true;
+        String body = (String)entity;
+
+        // Only tokens issued with a "consent:{consentId}" scope and with a
+        // refresh token need the task. These substring checks may report
+        // false positives (e.g. a scope named "my-consent:x"), which the
+        // scan of the body rules out, but never false negatives, so the
+        // body of a token response unrelated to Open Banking Brasil is
+        // never parsed.
+        return body.contains(CONSENT_SCOPE_PREFIX) && body.contains("\"refresh_token\"");
     }
 
 
-    private static String extractConsentId(Map<String, Object> responseParams)
+    /**
+     * Read {@code access_token}, {@code refresh_token} and {@code scope}
+     * from a token response without building a map of the whole response.
+     *
+     * @return
+     *         The members read, or {@code null} if the response is not a
+     *         JSON object.
+     */
+    private static TokenResponseFields scan(String body)
     {
-        // Get the value of the "scope" response parameter.
-        String scope = (String)responseParams.get("scope");
+        TokenResponseFields fields = new TokenResponseFields();
 
-        // If the token response does not contain "scope".
-        if (scope == null)
+        try (JsonReader reader = new JsonReader(new StringReader(body)))
         {
-            // Nothing to do.
+            reader.beginObject();
+
+            while (reader.hasNext())
+            {
+                String name = reader.nextName();
+
+                if (reader.peek() != JsonToken.STRING)
+                {
+                    reader.skipValue();
+                    continue;
+                }
+
+                switch (name)
+                {
+                    case "access_token":
+                        fields.accessToken = reader.nextString();
+                        break;
+
+                    case "refresh_token":
+                        fields.refreshToken = reader.nextString();
+                        break;
+
+                    case "scope":
+                        fields.scope = reader.nextString();
+                        break;
+
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+        }
+        catch (IOException | IllegalStateException e)
+        {
+            // The token response from Authlete is always a JSON object.
             return null;
         }
 
-        // The value of "scope" is a space-delimited scope names.
-        String[] scopes = scope.split(" +");
+        return fields;
+    }
 
-        // Extract a "consent:{consentId}" scope from the scope list.
-        String consentScope = ObbUtils.extractConsentScope(scopes);
 
-        // If the scope list does not contain "consent:{consentId}".
-        if (consentScope == null)
+    /**
+     * Extract the "{consentId}" part of a "consent:{consentId}" scope from
+     * the value of the "scope" response parameter, which is a list of
+     * space-delimited scope names.
+     */
+    static String extractConsentId(String scope)
+    {
+        // If the token response does not contain "scope".
+        if (scope == null)
         {
-            // Consent ID is not available.
+            // Nothing to do.
             return null;
         }
 
-        // Extract the "{consentId}" part from "consent:{consentId}".
-        return consentScope.substring(8);
+        int from = 0;
+
+        while (true)
+        {
+            int index = scope.indexOf(CONSENT_SCOPE_PREFIX, from);
+
+            // If the scope list does not contain "consent:{consentId}".
+            if (index < 0)
+            {
+                // Consent ID is not available.
+                return null;
+            }
+
+            int end = scope.indexOf(' ', index);
+
+            if (end < 0)
+            {
+                end = scope.length();
+            }
+
+            // Only a match at the start of a scope name counts.
+            if (index == 0 || scope.charAt(index - 1) == ' ')
+            {
+                return scope.substring(index + CONSENT_SCOPE_PREFIX.length(), end);
+            }
+
+            from = end;
+        }
     }
 
 
     private static void deleteAccessToken(
-            AuthleteApi authleteApi, Map<String, Object> responseParams)
+            AuthleteApi authleteApi, String accessToken)
     {
-        // The access token issued for the token request.
-        String accessToken = (String)responseParams.get("access_token");
-
         // If the token response does not contain "access_token".
         if (accessToken == null)
         {
@@ -153,15 +271,15 @@ public class OBBTokenTask
         {
             // Ignore the error.
         }
+
+        // Drop any userinfo response cached for the access token.
+        UserInfoCache.getInstance().evict(accessToken);
     }
 
 
     private static void doConsentTaskOnRefreshToken(
-            AuthleteApi authleteApi, Map<String, Object> responseParams, Consent consent)
+            AuthleteApi authleteApi, String refreshToken, Consent consent)
     {
-        // The refresh token issued for the token request.
-        String refreshToken = (String)responseParams.get("refresh_token");
-
         // Open Banking Brasil Financial-grade API Security Profile 1.0
         // 7.2.2. Authorization server
         //
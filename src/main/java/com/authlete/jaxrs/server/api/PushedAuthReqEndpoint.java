@@ -11,6 +11,7 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import com.authlete.common.api.AuthleteApi;
+import com.authlete.jaxrs.server.ratelimit.ClientRateLimiter;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
 import com.authlete.jakarta.BasePushedAuthReqEndpoint;
 import com.authlete.jakarta.PushedAuthReqHandler.Params;
@@ -39,6 +40,10 @@ public class PushedAuthReqEndpoint extends BasePushedAuthReqEndpoint
             @Context HttpServletRequest request,
             MultivaluedMap<String, String> parameters)
     {
+        // Reject the request before calling Authlete if the client has
+        // exceeded its rate limit.
+        ClientRateLimiter.getInstance().enforce(request, parameters);
+
         // Authlete API
         AuthleteApi authleteApi = ResilientAuthleteApiFactory.getDefaultApi();
 
@@ -26,6 +26,7 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
 import com.authlete.jakarta.BaseRevocationEndpoint;
@@ -63,7 +64,16 @@ public class RevocationEndpoint extends BaseRevocationEndpoint
         Params params = buildParams(request, parameters);
 
         // Handle the revocation request.
-        return handle(authleteApi, params);
+        Response response = handle(authleteApi, params);
+
+        // If the token has been revoked, stop serving a cached userinfo
+        // response for it.
+        if (response.getStatus() == Status.OK.getStatusCode())
+        {
+            UserInfoCache.getInstance().evict(parameters.getFirst("token"));
+        }
+
+        return response;
     }
 
 
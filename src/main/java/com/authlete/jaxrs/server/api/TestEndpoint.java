@@ -14,8 +14,7 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.authlete.jaxrs.server.util.JsonCodec;
 
 
 @Path("/api/test")
@@ -104,8 +103,7 @@ public class TestEndpoint
 
     private static Response toResponse(Map<String, Object> map)
     {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        String json = gson.toJson(map);
+        String json = JsonCodec.toJson(map, true);
 
         return Response.ok(json).type(MediaType.APPLICATION_JSON).build();
     }
@@ -17,7 +17,6 @@
 package com.authlete.jaxrs.server.api;
 
 
-import java.util.Map;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
@@ -28,8 +27,8 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import com.authlete.common.api.AuthleteApi;
+import com.authlete.jaxrs.server.ratelimit.ClientRateLimiter;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
-import com.authlete.common.util.Utils;
 import com.authlete.jakarta.BaseTokenEndpoint;
 import com.authlete.jakarta.TokenRequestHandler.Params;
 import com.authlete.jakarta.spi.TokenRequestHandlerSpi;
@@ -79,6 +78,10 @@ public class TokenEndpoint extends BaseTokenEndpoint
             @Context HttpServletRequest request,
             MultivaluedMap<String, String> parameters)
     {
+        // Reject the request before calling Authlete if the client has
+        // exceeded its rate limit.
+        ClientRateLimiter.getInstance().enforce(request, parameters);
+
         // Authlete API
         AuthleteApi authleteApi = ResilientAuthleteApiFactory.getDefaultApi();
 
@@ -152,17 +155,13 @@ public class TokenEndpoint extends BaseTokenEndpoint
     }
 
 
-    @SuppressWarnings("unchecked")
     private void doTasks(
             AuthleteApi authleteApi, HttpServletRequest request,
             MultivaluedMap<String, String> requestParams, Response response)
     {
-        // The entity conforms to the token response defined in RFC 6749.
-        Map<String, Object> responseParams =
-                Utils.fromJson((String)response.getEntity(), Map.class);
-
-        // A task specific to Open Banking Brasil.
+        // A task specific to Open Banking Brasil. The task reads the token
+        // response only when the response may concern it.
         new OBBTokenTask().process(
-                authleteApi, request, requestParams, response, responseParams);
+                authleteApi, request, requestParams, response);
     }
 }
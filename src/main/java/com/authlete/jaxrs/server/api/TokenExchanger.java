@@ -21,10 +21,7 @@ import java.net.URI;
 import java.util.Map;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.WebApplicationException;
-import jakarta.ws.rs.core.CacheControl;
-import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.core.Response.Status;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.common.dto.TokenCreateRequest;
@@ -33,6 +30,7 @@ import com.authlete.common.dto.TokenInfo;
 import com.authlete.common.dto.TokenResponse;
 import com.authlete.common.types.GrantType;
 import com.authlete.common.types.TokenType;
+import com.authlete.jaxrs.server.util.ResponseUtil;
 import com.nimbusds.jwt.EncryptedJWT;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTParser;
@@ -351,33 +349,7 @@ class TokenExchanger
 
     private Response toJsonResponse(Status status, String content)
     {
-        CacheControl cacheControl = new CacheControl();
-        cacheControl.setNoCache(true);
-        cacheControl.setNoStore(true);
-
-        ResponseBuilder builder = Response.status(status)
-                .type(MediaType.APPLICATION_JSON_TYPE)
-                .cacheControl(cacheControl)
-                .entity(content)
-                ;
-
-        addResponseHeaders(builder, mHeaders);
-
-        return builder.build();
-    }
-
-
-    private static void addResponseHeaders(ResponseBuilder builder, Map<String, Object> headers)
-    {
-        if (headers == null)
-        {
-            return;
-        }
-
-        for (Map.Entry<String, Object> header : headers.entrySet())
-        {
-            builder.header(header.getKey(), header.getValue());
-        }
+        return ResponseUtil.noStoreJson(status, content, mHeaders);
     }
 
 
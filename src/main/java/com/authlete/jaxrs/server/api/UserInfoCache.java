@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.api;
+
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+import com.authlete.jaxrs.server.ServerConfig;
+import com.authlete.jaxrs.server.http.RepresentationCache;
+
+
+/**
+ * A short-lived cache of userinfo responses.
+ *
+ * <p>
+ * A userinfo response is fully determined by the access token: the subject
+ * and the claims to return are bound to the token when it is issued. An
+ * entry is therefore keyed by a SHA-256 hash of the access token (the token
+ * itself is not kept in memory), and a hit skips both Authlete calls
+ * ({@code /auth/userinfo} and {@code /auth/userinfo/issue}) and the user
+ * lookup. For a certificate-bound access token (RFC 8705) the hash of the
+ * client certificate is stored with the entry and must match, so a request
+ * presenting another certificate goes to Authlete and is rejected there.
+ * </p>
+ *
+ * <p>
+ * Each entry carries a strong ETag of its body. A request whose
+ * {@code If-None-Match} matches gets {@code 304 Not Modified} without a
+ * body. The response tells clients to revalidate every time
+ * ({@code Cache-Control: private, no-cache}), and never allows shared
+ * caches to store it.
+ * </p>
+ *
+ * <p>
+ * Requests that are bound to a per-request proof (DPoP, HTTP message
+ * signatures) are never cached, because the proof must be verified by
+ * Authlete each time. An entry lives for {@link ServerConfig#getUserInfoCacheTtl()}
+ * seconds at most, and never past the expiry of its access token, which
+ * the caller takes from Authlete's introspection API.
+ * </p>
+ *
+ * <p>
+ * Entries are evicted when this server invalidates their access token: on
+ * revocation of the token ({@link #evict(String)}), on its deletion by the
+ * Open Banking Brasil token task, and on the deletion of a consent, which
+ * deletes the tokens of its client ({@link #evictClient(long)}). Other
+ * invalidations cannot be matched to an access token here and become
+ * visible when the entry expires: revocation on another server instance,
+ * revocation or use of a refresh token (Authlete invalidates the access
+ * token coupled with it), and changes made through Authlete's APIs
+ * directly. This is why the TTL is short.
+ * </p>
+ */
+public class UserInfoCache
+{
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+
+    static final class Entry
+    {
+        final String    certificateHash;
+        final String    body;
+        final MediaType type;
+        final String    etag;
+        final long      expiresAt;
+        final long      clientId;
+
+        Entry(String certificateHash, String body, MediaType type, long expiresAt, long clientId)
+        {
+            this.certificateHash = certificateHash;
+            this.body            = body;
+            this.type            = type;
+            this.etag            = "\"" + hash(body) + "\"";
+            this.expiresAt       = expiresAt;
+            this.clientId        = clientId;
+        }
+
+
+        /**
+         * Build the response to a request with the given {@code If-None-Match}.
+         */
+        Response toResponse(String ifNoneMatch)
+        {
+            if (RepresentationCache.matches(ifNoneMatch, etag))
+            {
+                return Response.notModified()
+                        .header(HttpHeaders.ETAG, etag)
+                        .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+                        .build();
+            }
+
+            return Response.ok(body, type)
+                    .header(HttpHeaders.ETAG, etag)
+                    .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+                    .build();
+        }
+    }
+
+
+    private static final class Holder
+    {
+        private static final UserInfoCache INSTANCE = new UserInfoCache(
+                ServerConfig.getUserInfoCacheTtl() * 1000L,
+                ServerConfig.getUserInfoCacheMaxEntries(),
+                System::currentTimeMillis);
+    }
+
+
+    private final ConcurrentHashMap<String, Entry> map = new ConcurrentHashMap<>();
+    private final long         ttlMillis;
+    private final int          maxEntries;
+    private final LongSupplier clock;
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    UserInfoCache(long ttlMillis, int maxEntries, LongSupplier clock)
+    {
+        this.ttlMillis  = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.clock      = clock;
+    }
+
+
+    public static UserInfoCache getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    /**
+     * Tell whether a userinfo request may be served from the cache.
+     *
+     * @param accessToken
+     *         The access token of the request.
+     *
+     * @param headers
+     *         The request headers used for proofs of possession: the values
+     *         of {@code DPoP}, {@code Signature} and {@code Signature-Input}.
+     */
+    boolean isCacheable(String accessToken, String... headers)
+    {
+        if (ttlMillis <= 0 || accessToken == null || accessToken.isEmpty())
+        {
+            return false;
+        }
+
+        for (String header : headers)
+        {
+            if (header != null)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Get the cached response for an access token.
+     *
+     * @param accessToken
+     *         The access token.
+     *
+     * @param certificate
+     *         The client certificate in PEM format, or {@code null}.
+     *
+     * @return
+     *         The entry, or {@code null} if none is cached or it has expired
+     *         or was stored for another certificate.
+     */
+    Entry get(String accessToken, String certificate)
+    {
+        String key   = hash(accessToken);
+        Entry  entry = map.get(key);
+
+        if (entry == null)
+        {
+            return null;
+        }
+
+        if (clock.getAsLong() >= entry.expiresAt)
+        {
+            map.remove(key, entry);
+            return null;
+        }
+
+        if (!hashOrNull(certificate).equals(entry.certificateHash))
+        {
+            return null;
+        }
+
+        return entry;
+    }
+
+
+    /**
+     * Tell whether a userinfo response can be cached.
+     */
+    static boolean isStorable(Response response)
+    {
+        return response.getStatus() == Status.OK.getStatusCode() &&
+               response.getEntity() instanceof String &&
+               response.getHeaderString("Signature") == null;
+    }
+
+
+    /**
+     * Cache a successful userinfo response.
+     *
+     * @param tokenExpiresAt
+     *         The expiry of the access token in milliseconds since the epoch.
+     *         The entry does not outlive it.
+     *
+     * @param clientId
+     *         The ID of the client the access token was issued to.
+     *
+     * @return
+     *         The entry created, or {@code null} if the response cannot be
+     *         cached.
+     */
+    Entry put(String accessToken, String certificate, Response response,
+              long tokenExpiresAt, long clientId)
+    {
+        if (!isStorable(response))
+        {
+            return null;
+        }
+
+        long now       = clock.getAsLong();
+        long expiresAt = Math.min(now + ttlMillis, tokenExpiresAt);
+
+        // The token has expired, or its expiry is unknown.
+        if (expiresAt <= now)
+        {
+            return null;
+        }
+
+        if (map.size() >= maxEntries)
+        {
+            purgeExpired(now);
+
+            if (map.size() >= maxEntries)
+            {
+                return null;
+            }
+        }
+
+        MediaType type = response.getMediaType();
+
+        Entry entry = new Entry(hashOrNull(certificate), (String)response.getEntity(),
+                (type != null) ? type : MediaType.APPLICATION_JSON_TYPE, expiresAt, clientId);
+
+        map.put(hash(accessToken), entry);
+
+        return entry;
+    }
+
+
+    /**
+     * Evict the cached response for an access token, if any.
+     */
+    public void evict(String accessToken)
+    {
+        if (accessToken != null)
+        {
+            map.remove(hash(accessToken));
+        }
+    }
+
+
+    /**
+     * Evict the cached responses for the access tokens of a client.
+     */
+    public void evictClient(long clientId)
+    {
+        map.values().removeIf(entry -> entry.clientId == clientId);
+    }
+
+
+    int size()
+    {
+        return map.size();
+    }
+
+
+    private void purgeExpired(long now)
+    {
+        for (Iterator<Entry> it = map.values().iterator(); it.hasNext(); )
+        {
+            if (now >= it.next().expiresAt)
+            {
+                it.remove();
+            }
+        }
+    }
+
+
+    private static String hashOrNull(String value)
+    {
+        return (value == null) ? "" : hash(value);
+    }
+
+
+    private static String hash(String value)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            // SHA-256 is available on every Java platform.
+            throw new IllegalStateException(e);
+        }
+    }
+}
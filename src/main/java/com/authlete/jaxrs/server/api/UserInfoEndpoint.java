@@ -27,9 +27,14 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
+import com.authlete.common.api.AuthleteApiException;
+import com.authlete.common.dto.IntrospectionRequest;
+import com.authlete.common.dto.IntrospectionResponse;
 import com.authlete.jakarta.BaseUserInfoEndpoint;
 import com.authlete.jakarta.UserInfoRequestHandler.Params;
 import com.authlete.jakarta.util.JaxRsUtils;
+import com.authlete.jakarta.spi.UserInfoRequestHandlerSpi;
+import com.authlete.jaxrs.server.trace.TracingProxy;
 
 
 /**
@@ -53,6 +58,7 @@ public class UserInfoEndpoint extends BaseUserInfoEndpoint
     public Response get(
             @HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
             @HeaderParam("DPoP") String dpop,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
             @Context HttpServletRequest request)
     {
         // Select either the access token embedded in the Authorization header
@@ -60,7 +66,7 @@ public class UserInfoEndpoint extends BaseUserInfoEndpoint
         String accessToken = extractAccessToken(authorization, null);
 
         // Handle the userinfo request.
-        return handle(request, /*body*/null, accessToken, dpop);
+        return handle(request, /*body*/null, accessToken, dpop, ifNoneMatch);
     }
 
 
@@ -74,6 +80,7 @@ public class UserInfoEndpoint extends BaseUserInfoEndpoint
     public Response post(
             @HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
             @HeaderParam("DPoP") String dpop,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
             @Context HttpServletRequest request, String body)
     {
         // '@Consumes(MediaType.APPLICATION_FORM_URLENCODED)' and
@@ -97,7 +104,7 @@ public class UserInfoEndpoint extends BaseUserInfoEndpoint
         accessToken = extractAccessToken(authorization, accessToken);
 
         // Handle the userinfo request.
-        return handle(request, body, accessToken, dpop);
+        return handle(request, body, accessToken, dpop, ifNoneMatch);
     }
 
 
@@ -115,6 +122,78 @@ public class UserInfoEndpoint extends BaseUserInfoEndpoint
     }
 
 
+    /**
+     * Handle the userinfo request, serving it from {@link UserInfoCache}
+     * when possible.
+     */
+    private Response handle(
+            HttpServletRequest request, String body,
+            String accessToken, String dpop, String ifNoneMatch)
+    {
+        UserInfoCache cache = UserInfoCache.getInstance();
+
+        // Requests carrying a per-request proof are always sent to Authlete.
+        if (!cache.isCacheable(accessToken, dpop,
+                request.getHeader("Signature"), request.getHeader("Signature-Input")))
+        {
+            return handle(request, body, accessToken, dpop);
+        }
+
+        String certificate = extractClientCertificate(request);
+
+        UserInfoCache.Entry entry = cache.get(accessToken, certificate);
+
+        if (entry == null)
+        {
+            Response response = handle(request, body, accessToken, dpop);
+
+            // The entry must not outlive the access token.
+            IntrospectionResponse token = UserInfoCache.isStorable(response)
+                    ? introspect(accessToken, certificate) : null;
+
+            entry = (token == null) ? null : cache.put(accessToken, certificate,
+                    response, token.getExpiresAt(), token.getClientId());
+
+            // If the response cannot be cached, e.g. because it is an error.
+            if (entry == null)
+            {
+                return response;
+            }
+        }
+
+        return entry.toResponse(ifNoneMatch);
+    }
+
+
+    /**
+     * Introspect the access token of a userinfo request that has succeeded,
+     * to learn its expiry and client.
+     *
+     * @return
+     *         The response from Authlete's introspection API, or {@code null}
+     *         if the token is no longer usable or the call failed.
+     */
+    private static IntrospectionResponse introspect(String accessToken, String certificate)
+    {
+        IntrospectionRequest request = new IntrospectionRequest()
+                .setToken(accessToken)
+                .setClientCertificate(certificate);
+
+        try
+        {
+            IntrospectionResponse response =
+                    ResilientAuthleteApiFactory.getDefaultApi().introspection(request);
+
+            return (response.getAction() == IntrospectionResponse.Action.OK) ? response : null;
+        }
+        catch (AuthleteApiException e)
+        {
+            // The response is still returned; it is just not cached.
+            return null;
+        }
+    }
+
+
     /**
      * Handle the userinfo request.
      */
@@ -125,7 +204,8 @@ public class UserInfoEndpoint extends BaseUserInfoEndpoint
         Params params = buildParams(request, body, accessToken, dpop);
 
         return handle(ResilientAuthleteApiFactory.getDefaultApi(),
-                new UserInfoRequestHandlerSpiImpl(), params);
+                TracingProxy.wrap(UserInfoRequestHandlerSpi.class,
+                        new UserInfoRequestHandlerSpiImpl()), params);
     }
 
 
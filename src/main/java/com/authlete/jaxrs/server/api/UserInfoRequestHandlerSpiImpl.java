@@ -18,12 +18,11 @@ package com.authlete.jaxrs.server.api;
 
 
 import java.util.List;
-import java.util.Map;
 import com.authlete.common.assurance.VerifiedClaims;
 import com.authlete.common.assurance.constraint.VerifiedClaimsConstraint;
-import com.authlete.common.types.User;
-import com.authlete.jaxrs.server.db.DatasetDao;
-import com.authlete.jaxrs.server.db.UserDao;
+import com.authlete.jaxrs.server.db.ClaimPlan;
+import com.authlete.jaxrs.server.db.UserStore;
+import com.authlete.jaxrs.server.db.UserStores;
 import com.authlete.jaxrs.server.db.VerifiedClaimsDao;
 import com.authlete.jakarta.spi.UserInfoRequestHandlerSpiAdapter;
 
@@ -36,29 +35,44 @@ import com.authlete.jakarta.spi.UserInfoRequestHandlerSpiAdapter;
  */
 public class UserInfoRequestHandlerSpiImpl extends UserInfoRequestHandlerSpiAdapter
 {
-    private User mUser;
+    private final UserStore mUserStore;
+    private ClaimPlan.Claims mClaims;
+
+
+    public UserInfoRequestHandlerSpiImpl()
+    {
+        this(UserStores.getInstance());
+    }
+
+
+    public UserInfoRequestHandlerSpiImpl(UserStore userStore)
+    {
+        mUserStore = userStore;
+    }
 
 
     @Override
     public void prepareUserClaims(String subject, String[] claimNames)
     {
-        // Look up a user who has the subject.
-        mUser = UserDao.getBySubject(subject);
+        // Look up a user who has the subject. The requested claims are
+        // read from the user at once when the first of them is asked for.
+        mClaims = ClaimPlan.of(claimNames).bind(mUserStore.getBySubject(subject));
     }
 
 
     @Override
     public Object getUserClaim(String claimName, String languageTag)
     {
-        // If looking up a user has failed in prepareUserClaims().
-        if (mUser == null)
+        // If prepareUserClaims() has not been called.
+        if (mClaims == null)
         {
             // No claim is available.
             return null;
         }
 
-        // Get the value of the claim.
-        return mUser.getClaim(claimName, languageTag);
+        // Get the value of the claim. It is null if looking up a user
+        // has failed in prepareUserClaims().
+        return mClaims.get(claimName, languageTag);
     }
 
 
@@ -89,11 +103,9 @@ public class UserInfoRequestHandlerSpiImpl extends UserInfoRequestHandlerSpiAdap
     @Override
     public Object getVerifiedClaims(String subject, Object verifiedClaimsRequest)
     {
-        // The list of available datasets of the subject.
-        List<Map<String, Object>> datasets = DatasetDao.get(subject);
-
         // Build the content of "verified_claims" which meets conditions
-        // of the request from the available datasets.
-        return new VerifiedClaimsBuilder(verifiedClaimsRequest, datasets).build();
+        // of the request from the available datasets of the subject, or
+        // reuse the content built for the same request before.
+        return VerifiedClaimsCache.getInstance().build(subject, verifiedClaimsRequest);
     }
 }
@@ -17,12 +17,15 @@
 package com.authlete.jaxrs.server.api;
 
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import org.slf4j.LoggerFactory;
 import com.authlete.common.ida.DatasetExtractor;
+import com.authlete.jaxrs.server.db.Datasets;
 
 
 /**
@@ -46,6 +49,12 @@ import com.authlete.common.ida.DatasetExtractor;
  * >OpenID Connect for Identity Assurance 1.0</a>.
  * </p>
  *
+ * <p>
+ * Datasets that cannot satisfy a request because of its filters on the
+ * trust framework or on the evidence types are skipped, using the indexes
+ * of {@link Datasets}, before the {@code DatasetExtractor} looks at them.
+ * </p>
+ *
  * @see <a href="https://openid.net/specs/openid-connect-4-identity-assurance-1_0.html"
  *      >OpenID Connect for Identity Assurance 1.0</a>
  */
@@ -55,10 +64,10 @@ class VerifiedClaimsBuilder
     private final Object mRequest;
 
     // Available datasets of a particular subject.
-    private List<Map<String, Object>> mDatasets;
+    private final Datasets mDatasets;
 
 
-    public VerifiedClaimsBuilder(Object request, List<Map<String, Object>> datasets)
+    public VerifiedClaimsBuilder(Object request, Datasets datasets)
     {
         mRequest  = request;
         mDatasets = datasets;
@@ -69,7 +78,7 @@ class VerifiedClaimsBuilder
     public Object build()
     {
         // If no dataset is available.
-        if (mDatasets == null || mDatasets.size() == 0)
+        if (mDatasets == null || mDatasets.getAll().size() == 0)
         {
             // The content of "verified_claims" cannot be built.
             return null;
@@ -80,13 +89,13 @@ class VerifiedClaimsBuilder
         // LIST: "verified_claims": [ { ... }, ... ]
         if (mRequest instanceof List)
         {
-            return buildList((List<Map<String, Object>>)mRequest, mDatasets);
+            return buildList((List<Map<String, Object>>)mRequest);
         }
 
         // MAP: "verified_claims": { ... }
         if (mRequest instanceof Map)
         {
-            return buildMap((Map<String, Object>)mRequest, mDatasets);
+            return buildMap((Map<String, Object>)mRequest);
         }
 
         // The flow reaches here when the "claims" request parameter of the
@@ -97,8 +106,7 @@ class VerifiedClaimsBuilder
     }
 
 
-    private List<Map<String, Object>> buildList(
-            List<Map<String, Object>> requests, List<Map<String, Object>> datasets)
+    private List<Map<String, Object>> buildList(List<Map<String, Object>> requests)
     {
         // Utility to build a new dataset that meets conditions of a
         // "verified_claims" request from one of available datasets.
@@ -106,7 +114,7 @@ class VerifiedClaimsBuilder
 
         // Build a new dataset for each element in the 'requests' array.
         List<Map<String, Object>> results = requests.stream()
-                .map(request -> extractor.extract(request, datasets))
+                .map(request -> extract(extractor, request))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList())
                 ;
@@ -124,12 +132,119 @@ class VerifiedClaimsBuilder
     }
 
 
-    private Map<String, Object> buildMap(
-            Map<String, Object> request, List<Map<String, Object>> datasets)
+    private Map<String, Object> buildMap(Map<String, Object> request)
     {
         // Build a new dataset that meets conditions of the request
         // from one of the available datasets.
-        return createDatasetExtractor().extract(request, datasets);
+        return extract(createDatasetExtractor(), request);
+    }
+
+
+    private Map<String, Object> extract(DatasetExtractor extractor, Map<String, Object> request)
+    {
+        // The datasets that may satisfy the request. The others are
+        // known not to by the filters of the request on the trust
+        // framework and on the evidence types.
+        List<Map<String, Object>> candidates = selectDatasets(request);
+
+        if (candidates.size() == 0)
+        {
+            return null;
+        }
+
+        return extractor.extract(request, candidates);
+    }
+
+
+    private List<Map<String, Object>> selectDatasets(Map<String, Object> request)
+    {
+        Object verification = (request != null) ? request.get("verification") : null;
+
+        if (!(verification instanceof Map))
+        {
+            return mDatasets.getAll();
+        }
+
+        Map<?, ?> map = (Map<?, ?>)verification;
+
+        return mDatasets.select(
+                getFilterValues(map.get("trust_framework")),
+                getEvidenceTypes(map.get("evidence")));
+    }
+
+
+    /**
+     * Get the values that the "type" of one of the requested evidence
+     * must have, or null if any evidence may satisfy the request.
+     */
+    private static List<String> getEvidenceTypes(Object evidence)
+    {
+        if (!(evidence instanceof List) || ((List<?>)evidence).size() == 0)
+        {
+            return null;
+        }
+
+        List<String> types = new ArrayList<>();
+
+        for (Object element : (List<?>)evidence)
+        {
+            List<String> values = (element instanceof Map)
+                    ? getFilterValues(((Map<?, ?>)element).get("type")) : null;
+
+            // An element that does not filter on the type may be
+            // satisfied by evidence of any type.
+            if (values == null)
+            {
+                return null;
+            }
+
+            types.addAll(values);
+        }
+
+        return types;
+    }
+
+
+    /**
+     * Get the values of the "value" or "values" filter of a requested
+     * element, or null if the element does not filter on string values.
+     */
+    private static List<String> getFilterValues(Object element)
+    {
+        if (!(element instanceof Map))
+        {
+            return null;
+        }
+
+        Map<?, ?> map = (Map<?, ?>)element;
+
+        Object value = map.get("value");
+
+        if (value instanceof String)
+        {
+            return Collections.singletonList((String)value);
+        }
+
+        Object values = map.get("values");
+
+        if (!(values instanceof List))
+        {
+            return null;
+        }
+
+        List<String> strings = new ArrayList<>();
+
+        for (Object v : (List<?>)values)
+        {
+            if (!(v instanceof String))
+            {
+                return null;
+            }
+
+            strings.add((String)v);
+        }
+
+        return strings;
     }
 
 
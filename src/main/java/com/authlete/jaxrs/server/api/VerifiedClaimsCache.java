@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.api;
+
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import com.authlete.jaxrs.server.ServerConfig;
+import com.authlete.jaxrs.server.db.DatasetDao;
+import com.authlete.jaxrs.server.db.Datasets;
+import com.authlete.jaxrs.server.util.JsonCodec;
+
+
+/**
+ * Built {@code "verified_claims"}, kept for reuse.
+ *
+ * <p>
+ * The content of {@code "verified_claims"} built by {@link
+ * VerifiedClaimsBuilder} is determined by the datasets of the subject and
+ * the {@code "verified_claims"} request. An entry is keyed by a SHA-256 hash
+ * of the subject and of the request in a normalized form (object members
+ * sorted by name), and remembers the {@linkplain Datasets#getVersion()
+ * version} of the datasets it was built from. When the datasets of the
+ * subject are replaced through {@link DatasetDao}, the entry no longer
+ * matches and the claims are built again.
+ * </p>
+ *
+ * <p>
+ * Requests that contain {@code "max_age"} are always built anew, as the
+ * result depends on the current time. Results are copied in and out of the
+ * cache, so callers may modify them. The cache is cleared when it is full.
+ * </p>
+ */
+class VerifiedClaimsCache
+{
+    private static final class Entry
+    {
+        final long   version;
+        final Object result;
+
+        Entry(long version, Object result)
+        {
+            this.version = version;
+            this.result  = result;
+        }
+    }
+
+
+    private static final class Holder
+    {
+        private static final VerifiedClaimsCache INSTANCE =
+                new VerifiedClaimsCache(ServerConfig.getVerifiedClaimsCacheMaxEntries());
+    }
+
+
+    private final ConcurrentHashMap<String, Entry> map = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+
+    VerifiedClaimsCache(int maxEntries)
+    {
+        this.maxEntries = maxEntries;
+    }
+
+
+    static VerifiedClaimsCache getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    /**
+     * Build the content of {@code "verified_claims"} for the subject, or
+     * get it from the cache.
+     *
+     * @param subject
+     *         The subject of a user.
+     *
+     * @param request
+     *         The content of the {@code "verified_claims"} request. List or
+     *         Map.
+     *
+     * @return
+     *         The content of {@code "verified_claims"}, or {@code null} if
+     *         none of the datasets of the subject satisfies the request.
+     */
+    Object build(String subject, Object request)
+    {
+        Datasets datasets = DatasetDao.getDatasets(subject);
+
+        if (datasets == null)
+        {
+            return null;
+        }
+
+        if (maxEntries <= 0 || request == null || containsKey(request, "max_age"))
+        {
+            return new VerifiedClaimsBuilder(request, datasets).build();
+        }
+
+        String key   = key(subject, request);
+        Entry  entry = map.get(key);
+
+        if (entry != null && entry.version == datasets.getVersion())
+        {
+            return copy(entry.result);
+        }
+
+        Object result = new VerifiedClaimsBuilder(request, datasets).build();
+
+        if (map.size() >= maxEntries)
+        {
+            map.clear();
+        }
+
+        map.put(key, new Entry(datasets.getVersion(), copy(result)));
+
+        return result;
+    }
+
+
+    int size()
+    {
+        return map.size();
+    }
+
+
+    private static boolean containsKey(Object value, String name)
+    {
+        if (value instanceof Map)
+        {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>)value).entrySet())
+            {
+                if (name.equals(entry.getKey()) || containsKey(entry.getValue(), name))
+                {
+                    return true;
+                }
+            }
+        }
+        else if (value instanceof List)
+        {
+            for (Object element : (List<?>)value)
+            {
+                if (containsKey(element, name))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Copy the maps and lists of a JSON value. Other values are immutable.
+     */
+    private static Object copy(Object value)
+    {
+        if (value instanceof Map)
+        {
+            Map<String, Object> copy = new LinkedHashMap<>();
+
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>)value).entrySet())
+            {
+                copy.put((String)entry.getKey(), copy(entry.getValue()));
+            }
+
+            return copy;
+        }
+
+        if (value instanceof List)
+        {
+            List<Object> copy = new ArrayList<>();
+
+            for (Object element : (List<?>)value)
+            {
+                copy.add(copy(element));
+            }
+
+            return copy;
+        }
+
+        return value;
+    }
+
+
+    /**
+     * Sort the members of the objects in a JSON value by name.
+     */
+    private static Object normalize(Object value)
+    {
+        if (value instanceof Map)
+        {
+            Map<String, Object> sorted = new TreeMap<>();
+
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>)value).entrySet())
+            {
+                sorted.put(String.valueOf(entry.getKey()), normalize(entry.getValue()));
+            }
+
+            return sorted;
+        }
+
+        if (value instanceof List)
+        {
+            List<Object> list = new ArrayList<>();
+
+            for (Object element : (List<?>)value)
+            {
+                list.add(normalize(element));
+            }
+
+            return list;
+        }
+
+        return value;
+    }
+
+
+    private static String key(String subject, Object request)
+    {
+        String json = JsonCodec.toJson(normalize(request));
+
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            // The length keeps the boundary between the two unambiguous.
+            digest.update((subject.length() + ":" + subject).getBytes(StandardCharsets.UTF_8));
+            digest.update(json.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            // SHA-256 is available on every Java platform.
+            throw new IllegalStateException(e);
+        }
+    }
+}
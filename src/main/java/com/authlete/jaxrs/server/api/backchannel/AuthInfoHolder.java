@@ -94,4 +94,16 @@ public class AuthInfoHolder
     {
         return sHolder.remove(requestId);
     }
+
+
+    /**
+     * Get the number of request IDs that have information associated.
+     *
+     * @return
+     *         The number of entries in the holder.
+     */
+    public static int size()
+    {
+        return sHolder.size();
+    }
 }
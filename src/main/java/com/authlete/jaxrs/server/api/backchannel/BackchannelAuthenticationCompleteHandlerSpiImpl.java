@@ -32,6 +32,8 @@ import com.authlete.common.dto.BackchannelAuthenticationCompleteRequest.Result;
 import com.authlete.common.dto.BackchannelAuthenticationCompleteResponse;
 import com.authlete.common.types.User;
 import com.authlete.jakarta.spi.BackchannelAuthenticationCompleteRequestHandlerSpiAdapter;
+import com.authlete.jaxrs.server.trace.Span;
+import com.authlete.jaxrs.server.trace.SpanKind;
 
 
 /**
@@ -226,7 +228,7 @@ public class BackchannelAuthenticationCompleteHandlerSpiImpl extends Backchannel
         // endpoint.
         Client webClient = createClient();
 
-        try
+        try (Span span = Span.start(SpanKind.CIBA, "notification"))
         {
             // Send the notification to the consumption device.
             return webClient.target(clientNotificationEndpointUri).request()
@@ -26,7 +26,10 @@ import com.authlete.common.types.User;
 import com.authlete.common.types.UserIdentificationHintType;
 import com.authlete.jaxrs.server.ServerConfig;
 import com.authlete.jaxrs.server.ad.type.Mode;
-import com.authlete.jaxrs.server.db.UserDao;
+import com.authlete.jaxrs.server.db.UserStore;
+import com.authlete.jaxrs.server.db.UserStores;
+import com.authlete.jaxrs.server.jfr.AuthenticationDeviceEvent;
+import com.authlete.jaxrs.server.trace.RequestTrace;
 import com.authlete.jakarta.spi.BackchannelAuthenticationRequestHandlerSpiAdapter;
 
 
@@ -39,6 +42,24 @@ public class BackchannelAuthenticationRequestHandlerSpiImpl extends BackchannelA
     private boolean communicationWithAuthenticationDeviceStarted = false;
 
 
+    /**
+     * The store in which users are looked up by hints.
+     */
+    private final UserStore mUserStore;
+
+
+    public BackchannelAuthenticationRequestHandlerSpiImpl()
+    {
+        this(UserStores.getInstance());
+    }
+
+
+    public BackchannelAuthenticationRequestHandlerSpiImpl(UserStore userStore)
+    {
+        mUserStore = userStore;
+    }
+
+
     @Override
     public User getUserByHint(UserIdentificationHintType hintType, String hint, String sub)
     {
@@ -76,7 +97,7 @@ public class BackchannelAuthenticationRequestHandlerSpiImpl extends BackchannelA
         // address and phone number can be a login hint.
 
         // First, find a user assuming the login hint value is a subject.
-        User user = UserDao.getBySubject(hint);
+        User user = mUserStore.getBySubject(hint);
 
         if (user != null)
         {
@@ -85,7 +106,7 @@ public class BackchannelAuthenticationRequestHandlerSpiImpl extends BackchannelA
         }
 
         // Second, find a user assuming the login hint value is an email address.
-        user = UserDao.getByEmail(hint);
+        user = mUserStore.getByEmail(hint);
 
         if (user != null)
         {
@@ -94,7 +115,7 @@ public class BackchannelAuthenticationRequestHandlerSpiImpl extends BackchannelA
         }
 
         // Lastly, find a user assuming the login hint value is a phone number.
-        return UserDao.getByPhoneNumber(hint);
+        return mUserStore.getByPhoneNumber(hint);
     }
 
 
@@ -113,7 +134,7 @@ public class BackchannelAuthenticationRequestHandlerSpiImpl extends BackchannelA
         // the value of 'sub' parameter to find a user but you may use the value
         // of 'hint' parameter (, which is equivalent to the value of the payload
         // of the 'id_token_hint' request parameter).
-        return UserDao.getBySubject(sub);
+        return mUserStore.getBySubject(sub);
     }
 
 
@@ -248,8 +269,27 @@ public class BackchannelAuthenticationRequestHandlerSpiImpl extends BackchannelA
         AuthenticationDeviceProcessor processor = AuthenticationDeviceProcessorFactory.create(
                 mode, ticket, user, clientName, acrs, scopes, claimNames, bindingMessage, authReqId, expiresIn);
 
-        // Start executing the process in the background.
-        Executors.newSingleThreadExecutor().execute(new AuthTask(processor));
+        // Start executing the process in the background. The task outlives
+        // this request, so it is traced and logged on its own under the same
+        // interaction ID.
+        startInBackground(RequestTrace.detach("ciba-auth-device", new AuthTask(processor, mode)));
+    }
+
+
+    private static void startInBackground(Runnable task)
+    {
+        // When this request is being handled on a virtual thread (see
+        // jetty/jetty-virtual-threads.xml), run the task on a virtual thread
+        // too. Processors such as SyncAuthenticationDeviceProcessor block for
+        // up to the authentication timeout while waiting for the device, and
+        // a virtual thread does not hold a platform thread while it waits.
+        if (Thread.currentThread().isVirtual())
+        {
+            Thread.ofVirtual().name("ciba-auth-device").start(task);
+            return;
+        }
+
+        Executors.newSingleThreadExecutor().execute(task);
     }
 
 
@@ -260,17 +300,25 @@ public class BackchannelAuthenticationRequestHandlerSpiImpl extends BackchannelA
     private static class AuthTask implements Runnable
     {
         private final AuthenticationDeviceProcessor mProcessor;
+        private final Mode mMode;
+        private final long mQueuedAt;
 
 
-        private AuthTask(AuthenticationDeviceProcessor processor)
+        private AuthTask(AuthenticationDeviceProcessor processor, Mode mode)
         {
             mProcessor = processor;
+            mMode      = mode;
+            mQueuedAt  = System.nanoTime();
         }
 
 
         @Override
         public void run()
         {
+            // Null unless a JFR recording has the event enabled.
+            AuthenticationDeviceEvent event =
+                    AuthenticationDeviceEvent.beginIfEnabled(mMode.name(), mQueuedAt);
+
             try
             {
                 // Execute the processor.
@@ -279,10 +327,28 @@ public class BackchannelAuthenticationRequestHandlerSpiImpl extends BackchannelA
             catch (WebApplicationException e)
             {
                 // Do something.
+                failed(event);
             }
             catch (Throwable t)
             {
                 // Do something.
+                failed(event);
+            }
+            finally
+            {
+                if (event != null)
+                {
+                    event.commit();
+                }
+            }
+        }
+
+
+        private static void failed(AuthenticationDeviceEvent event)
+        {
+            if (event != null)
+            {
+                event.failed = true;
             }
         }
     }
@@ -31,6 +31,7 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.common.api.AuthleteApiException;
+import com.authlete.jaxrs.server.api.UserInfoCache;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
 import com.authlete.common.dto.IntrospectionResponse;
 import com.authlete.jaxrs.server.obb.database.ConsentDao;
@@ -143,6 +144,10 @@ public class ConsentsEndpoint
         // Delete the consent.
         ConsentDao.getInstance().delete(consentId);
 
+        // The access tokens of the client lose the consent, too. Drop the
+        // userinfo responses cached for them.
+        UserInfoCache.getInstance().evictClient(consent.getClientId());
+
         // Build a successful response.
         return ObbUtils.noContent(outgoingInteractionId);
     }
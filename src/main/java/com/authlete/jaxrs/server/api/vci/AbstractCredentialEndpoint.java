@@ -33,12 +33,12 @@ import com.authlete.common.dto.IntrospectionResponse;
 import com.authlete.common.types.ErrorCode;
 import com.authlete.jakarta.BaseResourceEndpoint;
 import com.authlete.jaxrs.server.util.ExceptionUtil;
+import com.authlete.jaxrs.server.util.JsonCodec;
 import com.authlete.jaxrs.server.vc.InvalidCredentialRequestException;
 import com.authlete.jaxrs.server.vc.OrderContext;
 import com.authlete.jaxrs.server.vc.OrderFormat;
 import com.authlete.jaxrs.server.vc.UnsupportedCredentialFormatException;
 import com.authlete.jaxrs.server.vc.UnsupportedCredentialTypeException;
-import com.google.gson.Gson;
 
 
 public abstract class AbstractCredentialEndpoint extends BaseResourceEndpoint
@@ -93,7 +93,6 @@ public abstract class AbstractCredentialEndpoint extends BaseResourceEndpoint
      * @return
      *         The credential issuer metadata.
      */
-    @SuppressWarnings("unchecked")
     private Map<String, Object> getCredentialIssuerMetadata(AuthleteApi api)
     {
         // Call the /vci/metadata API to get the metadata of the credential issuer.
@@ -111,7 +110,7 @@ public abstract class AbstractCredentialEndpoint extends BaseResourceEndpoint
         }
 
         // Convert the credential issuer metadata into a Map instance.
-        return new Gson().fromJson(content, Map.class);
+        return JsonCodec.readMap(content);
     }
 
 
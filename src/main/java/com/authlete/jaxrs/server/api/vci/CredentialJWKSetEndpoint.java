@@ -18,8 +18,10 @@ package com.authlete.jaxrs.server.api.vci;
 
 
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
@@ -27,17 +29,26 @@ import com.authlete.common.dto.CredentialIssuerJwksRequest;
 import com.authlete.common.dto.CredentialIssuerJwksResponse;
 import com.authlete.jaxrs.server.util.ExceptionUtil;
 import com.authlete.jaxrs.server.util.ResponseUtil;
+import com.authlete.jaxrs.server.http.RepresentationCache;
 
 
 @Path("/api/vci/jwks")
 public class CredentialJWKSetEndpoint extends AbstractCredentialEndpoint
 {
+    /**
+     * HTTP caching of the document.
+     */
+    private static final RepresentationCache CACHE = new RepresentationCache("credential_issuer_jwks");
+
+
     @GET
-    public Response get()
+    public Response get(
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding)
     {
         final AuthleteApi api = ResilientAuthleteApiFactory.getDefaultApi();
 
-        return process(api);
+        return CACHE.respond(process(api), ifNoneMatch, acceptEncoding);
     }
 
 
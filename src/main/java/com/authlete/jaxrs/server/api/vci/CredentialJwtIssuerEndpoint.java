@@ -18,19 +18,30 @@ package com.authlete.jaxrs.server.api.vci;
 
 
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
 import com.authlete.common.dto.CredentialJwtIssuerMetadataRequest;
 import com.authlete.jakarta.BaseCredentialJwtIssuerMetadataEndpoint;
+import com.authlete.jaxrs.server.http.RepresentationCache;
 
 
 @Path("/.well-known/{path : jwt-issuer|jwt-vc-issuer}")
 public class CredentialJwtIssuerEndpoint extends BaseCredentialJwtIssuerMetadataEndpoint
 {
+    /**
+     * HTTP caching of the document.
+     */
+    private static final RepresentationCache CACHE = new RepresentationCache("jwt_issuer");
+
+
     @GET
-    public Response get()
+    public Response get(
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding)
     {
         // Authlete API interface
         AuthleteApi api = ResilientAuthleteApiFactory.getDefaultApi();
@@ -41,6 +52,6 @@ public class CredentialJwtIssuerEndpoint extends BaseCredentialJwtIssuerMetadata
                         .setPretty(true);
 
         // Process the request.
-        return handle(api, request);
+        return CACHE.respond(handle(api, request), ifNoneMatch, acceptEncoding);
     }
 }
@@ -18,19 +18,30 @@ package com.authlete.jaxrs.server.api.vci;
 
 
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
 import com.authlete.common.dto.CredentialIssuerMetadataRequest;
 import com.authlete.jakarta.BaseCredentialIssuerMetadataEndpoint;
+import com.authlete.jaxrs.server.http.RepresentationCache;
 
 
 @Path("/.well-known/openid-credential-issuer")
 public class CredentialMetadataEndpoint extends BaseCredentialIssuerMetadataEndpoint
 {
+    /**
+     * HTTP caching of the document.
+     */
+    private static final RepresentationCache CACHE = new RepresentationCache("credential_issuer_metadata");
+
+
     @GET
-    public Response get()
+    public Response get(
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding)
     {
         // Authlete API interface
         AuthleteApi api = ResilientAuthleteApiFactory.getDefaultApi();
@@ -41,6 +52,6 @@ public class CredentialMetadataEndpoint extends BaseCredentialIssuerMetadataEndp
                         .setPretty(true);
 
         // Process the request.
-        return handle(api, request);
+        return CACHE.respond(handle(api, request), ifNoneMatch, acceptEncoding);
     }
 }
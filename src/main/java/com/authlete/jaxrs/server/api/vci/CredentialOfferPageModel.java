@@ -29,12 +29,9 @@ import com.authlete.common.dto.CredentialOfferInfo;
 import com.authlete.common.types.User;
 import com.authlete.jakarta.AuthorizationPageModel;
 import com.authlete.jaxrs.server.util.ExceptionUtil;
+import com.authlete.jaxrs.server.util.JsonCodec;
 import com.authlete.jaxrs.server.util.ProcessingUtil;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
@@ -157,9 +154,7 @@ public class CredentialOfferPageModel extends AuthorizationPageModel
 
     private String prettifyJson(final String json)
     {
-        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        final JsonElement je = JsonParser.parseString(json);
-        return gson.toJson(je);
+        return JsonCodec.prettify(json);
     }
 
 
@@ -211,7 +206,7 @@ public class CredentialOfferPageModel extends AuthorizationPageModel
         try
         {
             // Parse as a JSON array.
-            return new Gson().fromJson(json, List.class);
+            return JsonCodec.readList(json);
         }
         catch (Exception cause)
         {
@@ -21,6 +21,7 @@ import java.security.Provider;
 import java.security.Security;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
+import com.authlete.jaxrs.server.db.ResourceServerDao;
 import com.nimbusds.jose.crypto.bc.BouncyCastleProviderSingleton;
 
 
@@ -38,5 +39,7 @@ public class AppContextListener implements ServletContextListener
     @Override
     public void contextDestroyed(ServletContextEvent context)
     {
+        // Stop the thread that reloads the resource servers.
+        ResourceServerDao.stopWatching();
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.core;
+
+
+/**
+ * What {@link SessionRegistry} knows about an HTTP session.
+ */
+public final class SessionInfo
+{
+    private final String sessionId;
+    private final long   createdAt;
+    private final long   maxInactiveMillis;
+    private volatile long lastAccessedAt;
+    private volatile long publishedExpiresAt;
+
+
+    SessionInfo(String sessionId, long createdAt, long maxInactiveMillis)
+    {
+        this.sessionId         = sessionId;
+        this.createdAt         = createdAt;
+        this.maxInactiveMillis = maxInactiveMillis;
+        this.lastAccessedAt    = createdAt;
+    }
+
+
+    SessionInfo(SessionInfo source, String sessionId)
+    {
+        this.sessionId         = sessionId;
+        this.createdAt         = source.createdAt;
+        this.maxInactiveMillis = source.maxInactiveMillis;
+        this.lastAccessedAt    = source.lastAccessedAt;
+    }
+
+
+    public String getSessionId()
+    {
+        return sessionId;
+    }
+
+
+    /**
+     * Get the time at which the session was registered, in milliseconds
+     * since the Unix epoch.
+     */
+    public long getCreatedAt()
+    {
+        return createdAt;
+    }
+
+
+    /**
+     * Get the time of the last request made in the session, in milliseconds
+     * since the Unix epoch.
+     */
+    public long getLastAccessedAt()
+    {
+        return lastAccessedAt;
+    }
+
+
+    /**
+     * Get the maximum time between two requests after which the container
+     * invalidates the session, in milliseconds. 0 or a negative value means
+     * the session never times out.
+     */
+    public long getMaxInactiveMillis()
+    {
+        return maxInactiveMillis;
+    }
+
+
+    /**
+     * Tell whether the expiration time last published to the shared
+     * session state should be pushed forward. It is republished once half
+     * of the session timeout has passed, not on every request.
+     */
+    boolean needsPublishing(long now)
+    {
+        return maxInactiveMillis > 0 && publishedExpiresAt - now < maxInactiveMillis / 2;
+    }
+
+
+    /**
+     * Get the expiration time to publish, and remember it as published.
+     *
+     * @return
+     *         The time after which the session is gone unless touched, or 0
+     *         if the session never times out.
+     */
+    long publish(long now)
+    {
+        long expiresAt = (maxInactiveMillis > 0) ? now + maxInactiveMillis : 0;
+
+        publishedExpiresAt = expiresAt;
+
+        return expiresAt;
+    }
+
+
+    void touch(long now)
+    {
+        // Only moves forward; concurrent requests may touch out of order.
+        if (now > lastAccessedAt)
+        {
+            lastAccessedAt = now;
+        }
+    }
+
+
+    /**
+     * Tell whether the container must have invalidated the session by now,
+     * even though no destroy callback was received.
+     */
+    boolean isExpired(long now, long graceMillis)
+    {
+        return maxInactiveMillis > 0 && now - lastAccessedAt > maxInactiveMillis + graceMillis;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.core;
+
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Thread-safe registry of the HTTP sessions of this server, fed by
+ * {@link SessionTracker}.
+ *
+ * <p>
+ * Sessions are spread over a fixed number of shards, each a
+ * {@link ConcurrentHashMap}, so a lookup is a single hash lookup. Each entry
+ * records the time of the last request in the session. An entry whose
+ * session has been inactive for longer than the session timeout (plus a
+ * grace period) is treated as gone even if the container never called
+ * {@code sessionDestroyed}. It is removed when it is looked up, or by the
+ * sweep that registrations and touches run on one shard at a time.
+ * </p>
+ */
+public class SessionRegistry
+{
+    private static final int SHARDS = 16;
+
+
+    /**
+     * How long after the session timeout an entry is kept, so that the
+     * container's own invalidation, which may run late, comes first.
+     */
+    private static final long GRACE_MILLIS = 60_000L;
+
+
+    /**
+     * Minimum interval between two sweeps of a shard.
+     */
+    private static final long SWEEP_INTERVAL_MILLIS = 10_000L;
+
+
+    private static final class Holder
+    {
+        private static final SessionRegistry INSTANCE = new SessionRegistry();
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, SessionInfo>[] shards = new ConcurrentHashMap[SHARDS];
+
+    private final LongSupplier  clock;
+    private final AtomicLong    nextSweepAt = new AtomicLong();
+    private final AtomicInteger sweepCursor = new AtomicInteger();
+    private final LongAdder     created     = new LongAdder();
+    private final LongAdder     destroyed   = new LongAdder();
+    private final LongAdder     evicted     = new LongAdder();
+
+
+    SessionRegistry()
+    {
+        this(System::currentTimeMillis);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    SessionRegistry(LongSupplier clock)
+    {
+        this.clock = clock;
+
+        for (int i = 0; i < SHARDS; i++)
+        {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+
+    /**
+     * Get the registry shared by the whole server.
+     */
+    public static SessionRegistry getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    private ConcurrentHashMap<String, SessionInfo> shardOf(String sessionId)
+    {
+        int h = sessionId.hashCode();
+
+        return shards[(h ^ (h >>> 16)) & (SHARDS - 1)];
+    }
+
+
+    /**
+     * Register a session that has just been created.
+     *
+     * @param maxInactiveMillis
+     *         The session timeout; 0 or a negative value means none.
+     *
+     * @return
+     *         The entry of the session.
+     */
+    public SessionInfo register(String sessionId, long maxInactiveMillis)
+    {
+        long now = clock.getAsLong();
+        SessionInfo info = new SessionInfo(sessionId, now, maxInactiveMillis);
+
+        if (shardOf(sessionId).put(sessionId, info) == null)
+        {
+            created.increment();
+        }
+
+        sweepIfDue(now);
+
+        return info;
+    }
+
+
+    /**
+     * Record a request made in a session. A session that is not registered,
+     * e.g. because its entry was evicted while the container still kept it,
+     * is registered again.
+     *
+     * @return
+     *         The entry of the session.
+     */
+    public SessionInfo touch(String sessionId, long maxInactiveMillis)
+    {
+        long now = clock.getAsLong();
+        ConcurrentHashMap<String, SessionInfo> shard = shardOf(sessionId);
+        SessionInfo info = shard.get(sessionId);
+
+        if (info != null)
+        {
+            info.touch(now);
+        }
+        else
+        {
+            SessionInfo added = new SessionInfo(sessionId, now, maxInactiveMillis);
+            info = shard.putIfAbsent(sessionId, added);
+
+            if (info == null)
+            {
+                created.increment();
+                info = added;
+            }
+        }
+
+        sweepIfDue(now);
+
+        return info;
+    }
+
+
+    /**
+     * Remove a session that has been destroyed.
+     */
+    public void remove(String sessionId)
+    {
+        if (shardOf(sessionId).remove(sessionId) != null)
+        {
+            destroyed.increment();
+        }
+    }
+
+
+    /**
+     * Move a session to a new ID, after {@code HttpServletRequest.changeSessionId()}.
+     *
+     * @return
+     *         The entry under the new ID, or {@code null} if the old ID was
+     *         not registered.
+     */
+    public SessionInfo rename(String oldSessionId, String newSessionId)
+    {
+        SessionInfo info = shardOf(oldSessionId).remove(oldSessionId);
+
+        if (info == null)
+        {
+            return null;
+        }
+
+        SessionInfo renamed = new SessionInfo(info, newSessionId);
+
+        shardOf(newSessionId).put(newSessionId, renamed);
+
+        return renamed;
+    }
+
+
+    /**
+     * Get the information about an active session.
+     *
+     * @return
+     *         The information, or {@code null} if the session is unknown or
+     *         has expired.
+     */
+    public SessionInfo get(String sessionId)
+    {
+        if (sessionId == null)
+        {
+            return null;
+        }
+
+        ConcurrentHashMap<String, SessionInfo> shard = shardOf(sessionId);
+        SessionInfo info = shard.get(sessionId);
+
+        if (info == null || !info.isExpired(clock.getAsLong(), GRACE_MILLIS))
+        {
+            return info;
+        }
+
+        if (shard.remove(sessionId, info))
+        {
+            evicted.increment();
+        }
+
+        return null;
+    }
+
+
+    private void sweepIfDue(long now)
+    {
+        long due = nextSweepAt.get();
+
+        // One caller per interval wins the sweep.
+        if (now < due || !nextSweepAt.compareAndSet(due, now + SWEEP_INTERVAL_MILLIS / SHARDS))
+        {
+            return;
+        }
+
+        ConcurrentHashMap<String, SessionInfo> shard =
+                shards[Math.floorMod(sweepCursor.getAndIncrement(), SHARDS)];
+
+        shard.values().removeIf(info -> {
+            if (info.isExpired(now, GRACE_MILLIS))
+            {
+                evicted.increment();
+                return true;
+            }
+
+            return false;
+        });
+    }
+
+
+    /**
+     * Get the number of registered sessions, including expired ones that
+     * have not been removed yet.
+     */
+    public int size()
+    {
+        int size = 0;
+
+        for (ConcurrentHashMap<String, SessionInfo> shard : shards)
+        {
+            size += shard.size();
+        }
+
+        return size;
+    }
+
+
+    /**
+     * Get the number of sessions registered so far.
+     */
+    public long getCreatedCount()
+    {
+        return created.sum();
+    }
+
+
+    /**
+     * Get the number of sessions removed by {@code sessionDestroyed}.
+     */
+    public long getDestroyedCount()
+    {
+        return destroyed.sum();
+    }
+
+
+    /**
+     * Get the number of sessions removed because they expired without a
+     * {@code sessionDestroyed} callback.
+     */
+    public long getEvictedCount()
+    {
+        return evicted.sum();
+    }
+}
@@ -1,13 +1,19 @@
 package com.authlete.jaxrs.server.core;
 
 
-import java.util.HashSet;
-import java.util.Set;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletRequestEvent;
+import jakarta.servlet.ServletRequestListener;
 import jakarta.servlet.annotation.WebListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionIdListener;
 import jakarta.servlet.http.HttpSessionListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.authlete.jaxrs.server.nativesso.SessionStateStore;
+import com.authlete.jaxrs.server.nativesso.SessionStateStores;
 
 
 /**
@@ -39,6 +45,14 @@ import org.slf4j.LoggerFactory;
  * </p>
  *
  * <p>
+ * The sessions are held in {@link SessionRegistry}. This listener also sees
+ * every request, so that the registry knows when each session was last used
+ * and can drop a session whose {@code sessionDestroyed} callback was missed.
+ * The sessions are also published to the {@link SessionStateStore}, so that
+ * a token request reaching another node can check them.
+ * </p>
+ *
+ * <p>
  * Support for the Native SSO specification was introduced in Authlete 3.0.
  * </p>
  *
@@ -46,22 +60,27 @@ import org.slf4j.LoggerFactory;
  *      >OpenID Connect Native SSO for Mobile Apps 1.0</a>
  */
 @WebListener
-public class SessionTracker implements HttpSessionListener
+public class SessionTracker implements HttpSessionListener, HttpSessionIdListener, ServletRequestListener
 {
-    private static final Set<String> activeSessionIds = new HashSet<>();
     private static final Logger logger = LoggerFactory.getLogger(SessionTracker.class);
 
 
     @Override
     public void sessionCreated(HttpSessionEvent se)
     {
+        HttpSession session = se.getSession();
+
         // The session ID.
-        String sessionId = retrieveSessionId(se);
+        String sessionId = session.getId();
 
-        logger.debug("A session with the session ID '{}' was created.", sessionId);
+        if (logger.isDebugEnabled())
+        {
+            logger.debug("A session with the session ID '{}' was created.", sessionId);
+        }
 
-        // Add the session ID to the list of active session IDs.
-        activeSessionIds.add(sessionId);
+        // Add the session ID to the registry of active sessions, and make
+        // it known to the other nodes.
+        publish(registry().register(sessionId, maxInactiveMillis(session)));
     }
 
 
@@ -69,18 +88,82 @@ public class SessionTracker implements HttpSessionListener
     public void sessionDestroyed(HttpSessionEvent se)
     {
         // The session ID.
-        String sessionId = retrieveSessionId(se);
+        String sessionId = se.getSession().getId();
+
+        if (logger.isDebugEnabled())
+        {
+            logger.debug("The session with the session ID '{}' was destroyed.", sessionId);
+        }
+
+        // Remove the session ID from the registry of active sessions.
+        registry().remove(sessionId);
+        store().removeSession(sessionId);
+    }
+
+
+    @Override
+    public void sessionIdChanged(HttpSessionEvent se, String oldSessionId)
+    {
+        SessionInfo info = registry().rename(oldSessionId, se.getSession().getId());
+
+        store().removeSession(oldSessionId);
+
+        if (info != null)
+        {
+            publish(info);
+        }
+    }
+
+
+    @Override
+    public void requestInitialized(ServletRequestEvent sre)
+    {
+        ServletRequest request = sre.getServletRequest();
+
+        if (!(request instanceof HttpServletRequest))
+        {
+            return;
+        }
+
+        // Does not create a session.
+        HttpSession session = ((HttpServletRequest)request).getSession(false);
+
+        if (session == null)
+        {
+            return;
+        }
+
+        SessionInfo info = registry().touch(session.getId(), maxInactiveMillis(session));
+
+        // Extend the lifetime seen by the other nodes now and then.
+        if (info.needsPublishing(System.currentTimeMillis()))
+        {
+            publish(info);
+        }
+    }
 
-        logger.debug("The session with the session ID '{}' was destroyed.", sessionId);
 
-        // Remove the session ID from the list of active session IDs.
-        activeSessionIds.remove(sessionId);
+    private static void publish(SessionInfo info)
+    {
+        store().putSession(info.getSessionId(), info.publish(System.currentTimeMillis()));
     }
 
 
-    private static String retrieveSessionId(HttpSessionEvent se)
+    private static SessionRegistry registry()
     {
-        return se.getSession().getId();
+        return SessionRegistry.getInstance();
+    }
+
+
+    private static SessionStateStore store()
+    {
+        return SessionStateStores.getInstance();
+    }
+
+
+    private static long maxInactiveMillis(HttpSession session)
+    {
+        return session.getMaxInactiveInterval() * 1000L;
     }
 
 
@@ -102,11 +185,45 @@ public class SessionTracker implements HttpSessionListener
             return false;
         }
 
-        // Whether the session with the specified session ID is active.
-        boolean active = activeSessionIds.contains(sessionId);
+        // Whether the session with the specified session ID is active, on
+        // this node or, when the session state is shared, on another node.
+        boolean active = registry().get(sessionId) != null
+                      || store().isSessionActive(sessionId);
 
-        logger.debug("The session with the session ID '{}' is {}active.", sessionId, active ? "" : "not ");
+        // Called for every authorization request; skip building the
+        // arguments unless the line is logged.
+        if (logger.isDebugEnabled())
+        {
+            logger.debug("The session with the session ID '{}' is {}active.", sessionId, active ? "" : "not ");
+        }
 
         return active;
     }
+
+
+    /**
+     * Get the information about an active session.
+     *
+     * @param sessionId
+     *         A session ID.
+     *
+     * @return
+     *         The information, or {@code null} if the session is not active.
+     */
+    public static SessionInfo getSession(String sessionId)
+    {
+        return registry().get(sessionId);
+    }
+
+
+    /**
+     * Get the number of active sessions.
+     *
+     * @return
+     *         The number of active sessions.
+     */
+    public static int getActiveSessionCount()
+    {
+        return registry().size();
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import com.authlete.common.types.User;
+
+
+/**
+ * A bounded local cache of users by subject in front of another
+ * {@link UserStore}, so that the userinfo endpoint and the ID token
+ * assembly do not query the database on every request.
+ *
+ * <ul>
+ *   <li>A user is cached for {@code ttlMillis}. A change made through
+ *       another node may therefore be seen here up to that long later.</li>
+ *   <li>Users found by credentials, email address or phone number are
+ *       cached by subject too, but those lookups always go to the
+ *       delegate.</li>
+ *   <li>Negative results are not cached, so a user added by another node
+ *       is found at once.</li>
+ * </ul>
+ *
+ * <p>
+ * {@link #add(UserEntity)} writes to the delegate and then drops the cached
+ * user, so this node reads the new data on the next lookup. A lookup that
+ * read the delegate while a write was in progress could otherwise cache
+ * the old user after it had been dropped. Every write therefore bumps a
+ * version, and a lookup that sees the version change between its read and
+ * its caching takes its entry out again. When the cache reaches
+ * {@code maxEntries}, it is cleared before a new user comes in.
+ * </p>
+ */
+public class CachingUserStore implements UserStore
+{
+    private static final class Entry
+    {
+        final User user;
+        final long expiresAt;
+
+
+        Entry(User user, long expiresAt)
+        {
+            this.user      = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+
+    private final UserStore                         delegate;
+    private final long                              ttlMillis;
+    private final int                               maxEntries;
+    private final LongSupplier                      clock;
+    private final ConcurrentHashMap<String, Entry>  users = new ConcurrentHashMap<>();
+    private final AtomicLong                        version = new AtomicLong();
+
+
+    public CachingUserStore(UserStore delegate, long ttlMillis, int maxEntries)
+    {
+        this(delegate, ttlMillis, maxEntries, System::currentTimeMillis);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    CachingUserStore(UserStore delegate, long ttlMillis, int maxEntries, LongSupplier clock)
+    {
+        this.delegate   = delegate;
+        this.ttlMillis  = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.clock      = clock;
+    }
+
+
+    @Override
+    public User getBySubject(String subject)
+    {
+        if (subject == null)
+        {
+            return null;
+        }
+
+        Entry entry = users.get(subject);
+
+        if (entry != null && clock.getAsLong() < entry.expiresAt)
+        {
+            return entry.user;
+        }
+
+        long read = version.get();
+
+        return remember(delegate.getBySubject(subject), read);
+    }
+
+
+    @Override
+    public User getByCredentials(String loginId, String password)
+    {
+        long read = version.get();
+
+        return remember(delegate.getByCredentials(loginId, password), read);
+    }
+
+
+    @Override
+    public User getByEmail(String email)
+    {
+        long read = version.get();
+
+        return remember(delegate.getByEmail(email), read);
+    }
+
+
+    @Override
+    public User getByPhoneNumber(String phoneNumber)
+    {
+        long read = version.get();
+
+        return remember(delegate.getByPhoneNumber(phoneNumber), read);
+    }
+
+
+    @Override
+    public void add(UserEntity entity)
+    {
+        delegate.add(entity);
+
+        // Bump the version before dropping the entry, so that a lookup
+        // which puts an old user after the removal sees the change.
+        version.incrementAndGet();
+
+        users.remove(entity.getSubject());
+    }
+
+
+    /**
+     * Cache a user read from the delegate.
+     *
+     * @param read
+     *         The version taken before the delegate was read.
+     */
+    private User remember(User user, long read)
+    {
+        if (user != null)
+        {
+            // Refreshing a cached user, as every login does, must not
+            // throw the others away.
+            if (users.size() >= maxEntries && !users.containsKey(user.getSubject()))
+            {
+                users.clear();
+            }
+
+            Entry entry = new Entry(user, clock.getAsLong() + ttlMillis);
+
+            users.put(user.getSubject(), entry);
+
+            // A write happened since the read; the user may be old.
+            if (version.get() != read)
+            {
+                users.remove(user.getSubject(), entry);
+            }
+        }
+
+        return user;
+    }
+}
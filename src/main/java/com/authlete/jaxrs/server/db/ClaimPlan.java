@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import com.authlete.common.types.User;
+
+
+/**
+ * A set of requested claims compiled for repeated projection of users.
+ *
+ * <p>
+ * The claims of a user are asked for one at a time by the handlers of the
+ * authorization decision and userinfo requests. A plan resolves each
+ * requested claim name once, to the accessor of the field of {@link
+ * UserEntity} that holds it, and {@link #bind(User)} then reads all of the
+ * claims of a user in one go: a {@link MappedUser} record, for example, is
+ * scanned once instead of once per claim.
+ * </p>
+ *
+ * <p>
+ * Plans are immutable and are shared by the requests that ask for the same
+ * claim names, which clients usually do.
+ * </p>
+ */
+public final class ClaimPlan
+{
+    /**
+     * The maximum number of cached plans. The cache is cleared when it is
+     * full, as the claim sets of well-behaved clients are few.
+     */
+    private static final int MAX_PLANS = 256;
+
+
+    private static final ClaimPlan EMPTY = new ClaimPlan(new String[0]);
+
+
+    private static final Map<List<String>, ClaimPlan> PLANS = new ConcurrentHashMap<>();
+
+
+    private final String[]                       claimNames;
+    private final Map<String, Integer>           indexes;
+    private final Function<UserEntity, Object>[] accessors;
+
+
+    @SuppressWarnings("unchecked")
+    private ClaimPlan(String[] claimNames)
+    {
+        this.claimNames = claimNames;
+        this.indexes    = new HashMap<>();
+        this.accessors  = new Function[claimNames.length];
+
+        for (int i = 0; i < claimNames.length; i++)
+        {
+            indexes.put(claimNames[i], i);
+            accessors[i] = UserEntity.getClaimAccessor(claimNames[i]);
+        }
+    }
+
+
+    /**
+     * Get the plan for the given claim names.
+     *
+     * @param claimNames
+     *         The names of the requested claims, which may be {@code null}.
+     *         Names with a language tag (e.g. {@code "name#ja"}) are not
+     *         part of the plan; they are resolved by the user on demand.
+     */
+    public static ClaimPlan of(String[] claimNames)
+    {
+        if (claimNames == null || claimNames.length == 0)
+        {
+            return EMPTY;
+        }
+
+        ClaimPlan plan = PLANS.get(Arrays.asList(claimNames));
+
+        if (plan != null)
+        {
+            return plan;
+        }
+
+        if (PLANS.size() >= MAX_PLANS)
+        {
+            PLANS.clear();
+        }
+
+        // The key of the cache must not change with the caller's array.
+        return PLANS.computeIfAbsent(Arrays.asList(claimNames.clone()), ClaimPlan::compile);
+    }
+
+
+    private static ClaimPlan compile(List<String> claimNames)
+    {
+        LinkedHashSet<String> names = new LinkedHashSet<>();
+
+        for (String name : claimNames)
+        {
+            if (name != null && name.indexOf('#') < 0)
+            {
+                names.add(name);
+            }
+        }
+
+        return new ClaimPlan(names.toArray(new String[0]));
+    }
+
+
+    /**
+     * Get the names of the claims in this plan.
+     */
+    public String[] getClaimNames()
+    {
+        return claimNames.clone();
+    }
+
+
+    /**
+     * Read the claims of this plan from the user.
+     *
+     * @return
+     *         The values, in the order of {@link #getClaimNames()}.
+     */
+    Object[] project(User user)
+    {
+        Object[] values = new Object[claimNames.length];
+
+        if (user instanceof UserEntity)
+        {
+            for (int i = 0; i < accessors.length; i++)
+            {
+                values[i] = accessors[i].apply((UserEntity)user);
+            }
+        }
+        else if (user instanceof MappedUser)
+        {
+            ((MappedUser)user).getClaims(claimNames, values);
+        }
+        else
+        {
+            for (int i = 0; i < claimNames.length; i++)
+            {
+                values[i] = user.getClaim(claimNames[i], null);
+            }
+        }
+
+        return values;
+    }
+
+
+    /**
+     * Bind this plan to a user. The claims of the plan are read from the
+     * user the first time one of them is asked for.
+     *
+     * @param user
+     *         The user, which may be {@code null}.
+     */
+    public Claims bind(User user)
+    {
+        return new Claims(this, user);
+    }
+
+
+    /**
+     * The claims of a user, as read through a {@link ClaimPlan}. An instance
+     * belongs to a single request and is not thread-safe.
+     */
+    public static final class Claims
+    {
+        private final ClaimPlan plan;
+        private final User      user;
+        private Object[]        values;
+
+
+        private Claims(ClaimPlan plan, User user)
+        {
+            this.plan = plan;
+            this.user = user;
+        }
+
+
+        /**
+         * Get the value of a claim. Claims that are not in the plan, and
+         * claims with a language tag, are asked for from the user.
+         */
+        public Object get(String claimName, String languageTag)
+        {
+            if (user == null)
+            {
+                return null;
+            }
+
+            Integer index = (languageTag == null) ? plan.indexes.get(claimName) : null;
+
+            if (index == null)
+            {
+                return user.getClaim(claimName, languageTag);
+            }
+
+            if (values == null)
+            {
+                values = plan.project(user);
+            }
+
+            return values[index];
+        }
+    }
+}
@@ -21,11 +21,11 @@ import java.io.IOException;
 import java.io.Reader;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import com.google.gson.Gson;
+import com.authlete.jaxrs.server.util.JsonCodec;
 
 
 /**
@@ -62,8 +62,8 @@ public class DatasetDao extends BaseDao
     {
         // Cache of datasets. Keys are subjects (user identifiers).
         // Values are contents of "verified_claims" objects loaded
-        // from JSON files.
-        private static final Map<String, List<Map<String, Object>>> INSTANCE =
+        // from JSON files, indexed when they are loaded.
+        private static final Map<String, Datasets> INSTANCE =
                 createSubjectDatasetsMap();
     }
 
@@ -71,9 +71,9 @@ public class DatasetDao extends BaseDao
     /**
      * Create the content of SubjectDatasetsMapHolder.INSTANCE.
      */
-    private static Map<String, List<Map<String, Object>>> createSubjectDatasetsMap()
+    private static Map<String, Datasets> createSubjectDatasetsMap()
     {
-        Map<String, List<Map<String, Object>>> map = new HashMap<>();
+        Map<String, Datasets> map = new ConcurrentHashMap<>();
 
         for (List<String> subjectResources : SUBJECT_RESOURCES_LIST)
         {
@@ -84,7 +84,7 @@ public class DatasetDao extends BaseDao
             List<Map<String, Object>> datasets = subjectResources.stream().skip(1)
                     .map(resource -> loadDataset(resource)).collect(Collectors.toList());
 
-            map.put(subject, datasets);
+            map.put(subject, new Datasets(datasets));
         }
 
         return map;
@@ -101,7 +101,7 @@ public class DatasetDao extends BaseDao
         try ( Reader reader = createReader(DatasetDao.class, resource) )
         {
             // Convert the JSON in the resource into a Map instance.
-            Map<String, Object> map = new Gson().fromJson(reader, Map.class);
+            Map<String, Object> map = JsonCodec.readMap(reader);
 
             // Return the content of "verified_claims".
             return (Map<String, Object>)map.get("verified_claims");
@@ -129,6 +129,58 @@ public class DatasetDao extends BaseDao
      */
     public static List<Map<String, Object>> get(String subject)
     {
+        Datasets datasets = getDatasets(subject);
+
+        return (datasets != null) ? datasets.getAll() : null;
+    }
+
+
+    /**
+     * Get the indexed datasets of the subject (user identifier).
+     *
+     * @param subject
+     *         The subject of a user.
+     *
+     * @return
+     *         The datasets, or null when datasets of the specified subject
+     *         are unavailable.
+     */
+    public static Datasets getDatasets(String subject)
+    {
+        if (subject == null)
+        {
+            return null;
+        }
+
         return SubjectDatasetsMapHolder.INSTANCE.get(subject);
     }
+
+
+    /**
+     * Set the datasets of the subject (user identifier), replacing the
+     * current ones.
+     *
+     * @param subject
+     *         The subject of a user.
+     *
+     * @param datasets
+     *         List of datasets. Each dataset corresponds to the content of
+     *         "verified_claims".
+     */
+    public static void put(String subject, List<Map<String, Object>> datasets)
+    {
+        SubjectDatasetsMapHolder.INSTANCE.put(subject, new Datasets(datasets));
+    }
+
+
+    /**
+     * Remove the datasets of the subject (user identifier).
+     *
+     * @param subject
+     *         The subject of a user.
+     */
+    public static void remove(String subject)
+    {
+        SubjectDatasetsMapHolder.INSTANCE.remove(subject);
+    }
 }
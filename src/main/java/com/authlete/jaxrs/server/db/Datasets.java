@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * The datasets (contents of {@code "verified_claims"}) of a subject,
+ * indexed by the trust framework and the evidence types of their
+ * verification.
+ *
+ * <p>
+ * A dataset can satisfy a {@code "verified_claims"} request whose
+ * {@code "trust_framework"} has a {@code "value"} or {@code "values"} filter
+ * only if its trust framework is one of them, and a request whose
+ * {@code "evidence"} elements filter on {@code "type"} only if it has
+ * evidence of one of those types. {@link #select(Collection, Collection)}
+ * uses the indexes to skip the other datasets.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable. Each one has a version that is distinct from the
+ * version of any other instance, so results built from the datasets of a
+ * subject can be told apart from results built from a replaced set.
+ * </p>
+ */
+public final class Datasets
+{
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+
+    private final List<Map<String, Object>> datasets;
+    private final Map<String, BitSet>       byTrustFramework = new HashMap<>();
+    private final Map<String, BitSet>       byEvidenceType   = new HashMap<>();
+    private final long                      version          = VERSIONS.incrementAndGet();
+
+
+    public Datasets(List<Map<String, Object>> datasets)
+    {
+        this.datasets = Collections.unmodifiableList(new ArrayList<>(datasets));
+
+        for (int i = 0; i < datasets.size(); i++)
+        {
+            Map<?, ?> verification = asMap(datasets.get(i).get("verification"));
+
+            if (verification == null)
+            {
+                continue;
+            }
+
+            Object trustFramework = verification.get("trust_framework");
+
+            if (trustFramework instanceof String)
+            {
+                byTrustFramework.computeIfAbsent((String)trustFramework, k -> new BitSet()).set(i);
+            }
+
+            Object evidence = verification.get("evidence");
+
+            if (!(evidence instanceof List))
+            {
+                continue;
+            }
+
+            for (Object element : (List<?>)evidence)
+            {
+                Map<?, ?> map = asMap(element);
+                Object    type = (map != null) ? map.get("type") : null;
+
+                if (type instanceof String)
+                {
+                    byEvidenceType.computeIfAbsent((String)type, k -> new BitSet()).set(i);
+                }
+            }
+        }
+    }
+
+
+    private static Map<?, ?> asMap(Object value)
+    {
+        return (value instanceof Map) ? (Map<?, ?>)value : null;
+    }
+
+
+    /**
+     * Get all the datasets, in the order they were given.
+     */
+    public List<Map<String, Object>> getAll()
+    {
+        return datasets;
+    }
+
+
+    /**
+     * Get the version of this set of datasets.
+     */
+    public long getVersion()
+    {
+        return version;
+    }
+
+
+    /**
+     * Get the datasets that may satisfy a request, in the order they were
+     * given.
+     *
+     * @param trustFrameworks
+     *         The trust frameworks one of which the dataset must have, or
+     *         {@code null} if the request does not filter on it.
+     *
+     * @param evidenceTypes
+     *         The evidence types one of which the dataset must have, or
+     *         {@code null} if the request does not filter on them.
+     */
+    public List<Map<String, Object>> select(
+            Collection<String> trustFrameworks, Collection<String> evidenceTypes)
+    {
+        if (trustFrameworks == null && evidenceTypes == null)
+        {
+            return datasets;
+        }
+
+        BitSet candidates = new BitSet();
+        candidates.set(0, datasets.size());
+
+        if (trustFrameworks != null)
+        {
+            candidates.and(union(byTrustFramework, trustFrameworks));
+        }
+
+        if (evidenceTypes != null)
+        {
+            candidates.and(union(byEvidenceType, evidenceTypes));
+        }
+
+        List<Map<String, Object>> selected = new ArrayList<>(candidates.cardinality());
+
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1))
+        {
+            selected.add(datasets.get(i));
+        }
+
+        return selected;
+    }
+
+
+    private static BitSet union(Map<String, BitSet> index, Collection<String> keys)
+    {
+        BitSet union = new BitSet();
+
+        for (String key : keys)
+        {
+            BitSet bits = index.get(key);
+
+            if (bits != null)
+            {
+                union.or(bits);
+            }
+        }
+
+        return union;
+    }
+}
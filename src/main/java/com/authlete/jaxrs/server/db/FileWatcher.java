@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Runs a task whenever a file is created or modified.
+ *
+ * <p>
+ * The directory of the file is watched by a {@link WatchService} on a daemon
+ * thread, so a file replaced by a rename (as editors and deployment tools
+ * often do) is noticed as well. A single change may run the task more than
+ * once, and the file may still be being written when the task runs; the task
+ * should therefore read the whole file and ignore content it cannot use.
+ * </p>
+ */
+final class FileWatcher implements Closeable
+{
+    private static final Logger logger = LoggerFactory.getLogger(FileWatcher.class);
+
+
+    private final Path         file;
+    private final Runnable     task;
+    private final WatchService service;
+    private final Thread       thread;
+
+
+    FileWatcher(Path file, Runnable task) throws IOException
+    {
+        this.file    = file.toAbsolutePath();
+        this.task    = task;
+        this.service = this.file.getFileSystem().newWatchService();
+
+        this.file.getParent().register(service, ENTRY_CREATE, ENTRY_MODIFY);
+
+        this.thread  = Thread.ofPlatform().daemon().name("watch-" + this.file.getFileName()).start(this::run);
+    }
+
+
+    private void run()
+    {
+        while (true)
+        {
+            WatchKey key;
+
+            try
+            {
+                key = service.take();
+            }
+            catch (InterruptedException | ClosedWatchServiceException e)
+            {
+                // Closed.
+                return;
+            }
+
+            boolean changed = false;
+
+            for (WatchEvent<?> event : key.pollEvents())
+            {
+                // Events may have been lost when the kind is OVERFLOW.
+                if (event.kind() == OVERFLOW || file.getFileName().equals(event.context()))
+                {
+                    changed = true;
+                }
+            }
+
+            boolean valid = key.reset();
+
+            if (changed)
+            {
+                runTask();
+            }
+
+            if (!valid)
+            {
+                logger.warn("{} can no longer be watched.", file.getParent());
+                return;
+            }
+        }
+    }
+
+
+    private void runTask()
+    {
+        try
+        {
+            task.run();
+        }
+        catch (RuntimeException e)
+        {
+            logger.warn("Failed to process a change of {}.", file, e);
+        }
+    }
+
+
+    /**
+     * Stop watching. The thread ends once a task that is running, if any,
+     * has finished; this method waits for that for a short while.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        service.close();
+
+        try
+        {
+            thread.join(1000);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Tell whether the thread of the watcher is still running.
+     */
+    boolean isRunning()
+    {
+        return thread.isAlive();
+    }
+}
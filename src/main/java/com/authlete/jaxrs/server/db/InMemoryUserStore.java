@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import com.authlete.common.types.User;
+
+
+/**
+ * A {@link UserStore} that holds its users in memory, optionally backed by
+ * a read-only {@link MappedUserStore} for users that are not held.
+ */
+public class InMemoryUserStore implements UserStore
+{
+    private final UserIndex       users = new UserIndex();
+    private final MappedUserStore bulk;
+
+
+    /**
+     * @param bulk
+     *         The store searched for users not held in memory, or
+     *         {@code null}.
+     */
+    public InMemoryUserStore(MappedUserStore bulk)
+    {
+        this.bulk = bulk;
+    }
+
+
+    @Override
+    public User getBySubject(String subject)
+    {
+        User user = users.getBySubject(subject);
+
+        return (user != null || bulk == null) ? user : bulk.getBySubject(subject);
+    }
+
+
+    @Override
+    public User getByCredentials(String loginId, String password)
+    {
+        UserEntity ue = users.getByLoginId(loginId);
+
+        if (ue == null)
+        {
+            // Look up the bulk user store, if any.
+            MappedUser mu = (bulk == null) ? null : bulk.getByLoginId(loginId);
+
+            return (mu != null && mu.hasPassword(password)) ? mu : null;
+        }
+
+        if (ue.getPassword() == null || password == null)
+        {
+            return null;
+        }
+
+        // Check if the user's password is the target one, in time that
+        // does not depend on where the passwords differ.
+        boolean matched = MessageDigest.isEqual(
+                ue.getPassword().getBytes(StandardCharsets.UTF_8),
+                password.getBytes(StandardCharsets.UTF_8));
+
+        return matched ? ue : null;
+    }
+
+
+    @Override
+    public User getByEmail(String email)
+    {
+        User user = users.getByEmail(email);
+
+        return (user != null || bulk == null) ? user : bulk.getByEmail(email);
+    }
+
+
+    @Override
+    public User getByPhoneNumber(String phoneNumber)
+    {
+        User user = users.getByPhoneNumber(phoneNumber);
+
+        return (user != null || bulk == null) ? user : bulk.getByPhoneNumber(phoneNumber);
+    }
+
+
+    @Override
+    public void add(UserEntity entity)
+    {
+        users.put(entity);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.util.Map;
+import com.authlete.common.types.User;
+import com.authlete.jaxrs.server.util.JsonCodec;
+
+
+/**
+ * A user loaded by {@link JdbcUserStore}.
+ *
+ * <p>
+ * Instances are immutable and may be shared through a cache. Objects and
+ * arrays are kept as JSON and decoded on each access, so a caller that
+ * modifies a returned map or list does not affect other callers.
+ * </p>
+ */
+final class JdbcUser implements User
+{
+    /**
+     * A claim or attribute value that is a JSON object or array.
+     */
+    static final class Json
+    {
+        final String text;
+
+
+        Json(String text)
+        {
+            this.text = text;
+        }
+    }
+
+
+    private final String              subject;
+    private final String              loginId;
+    private final String              password;
+    private final Map<String, Object> fields;
+
+
+    /**
+     * @param fields
+     *         Claims and attributes (prefixed with {@code "@"}), whose values
+     *         are strings, numbers, booleans or {@link Json}.
+     */
+    JdbcUser(String subject, String loginId, String password, Map<String, Object> fields)
+    {
+        this.subject  = subject;
+        this.loginId  = loginId;
+        this.password = password;
+        this.fields   = fields;
+    }
+
+
+    @Override
+    public String getSubject()
+    {
+        return subject;
+    }
+
+
+    String getLoginId()
+    {
+        return loginId;
+    }
+
+
+    String getPassword()
+    {
+        return password;
+    }
+
+
+    @Override
+    public Object getClaim(String claimName, String languageTag)
+    {
+        if (claimName == null || claimName.startsWith(MappedUserFormat.ATTRIBUTE_PREFIX))
+        {
+            return null;
+        }
+
+        return decode(fields.get(claimName));
+    }
+
+
+    @Override
+    public Object getAttribute(String attributeName)
+    {
+        if (attributeName == null)
+        {
+            return null;
+        }
+
+        return decode(fields.get(MappedUserFormat.ATTRIBUTE_PREFIX + attributeName));
+    }
+
+
+    private static Object decode(Object value)
+    {
+        if (value instanceof Json)
+        {
+            return JsonCodec.fromJson(((Json)value).text, Object.class);
+        }
+
+        return value;
+    }
+}
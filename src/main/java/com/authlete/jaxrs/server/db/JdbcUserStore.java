@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import com.authlete.common.types.User;
+import com.authlete.jaxrs.server.util.JsonCodec;
+
+
+/**
+ * A {@link UserStore} backed by a relational database.
+ *
+ * <p>
+ * The tables are defined in {@code users-schema.sql}. A user and all of its
+ * claims are loaded with one query (a join of {@code users} and
+ * {@code user_claims}), and {@link #add(UserEntity)} writes them in one
+ * transaction with the claims in a single batch. Connections come from the
+ * given {@link DataSource}, which is expected to pool them.
+ * </p>
+ */
+public class JdbcUserStore implements UserStore
+{
+    private static final String SCHEMA = "users-schema.sql";
+
+    private static final String SELECT =
+            "SELECT u.subject, u.login_id, u.password, c.name, c.claim_json " +
+            "FROM users u LEFT JOIN user_claims c ON c.subject = u.subject " +
+            "WHERE u.%s = ? ORDER BY u.subject";
+
+    private static final String SELECT_BY_SUBJECT      = String.format(SELECT, "subject");
+    private static final String SELECT_BY_LOGIN_ID     = String.format(SELECT, "login_id");
+    private static final String SELECT_BY_EMAIL        = String.format(SELECT, "email");
+    private static final String SELECT_BY_PHONE_NUMBER = String.format(SELECT, "phone_number");
+
+    private static final String DELETE_CLAIMS = "DELETE FROM user_claims WHERE subject = ?";
+    private static final String DELETE_USER   = "DELETE FROM users WHERE subject = ?";
+    private static final String INSERT_USER   =
+            "INSERT INTO users (subject, login_id, password, email, phone_number) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_CLAIM  =
+            "INSERT INTO user_claims (subject, name, claim_json) VALUES (?, ?, ?)";
+
+
+    private final DataSource dataSource;
+
+
+    public JdbcUserStore(DataSource dataSource)
+    {
+        this.dataSource = dataSource;
+    }
+
+
+    /**
+     * Create the tables and indexes that do not exist yet.
+     */
+    public void createSchema()
+    {
+        String script;
+
+        try (InputStream in = JdbcUserStore.class.getClassLoader().getResourceAsStream(SCHEMA))
+        {
+            if (in == null)
+            {
+                throw new IOException(SCHEMA + " is not found.");
+            }
+
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        catch (IOException e)
+        {
+            throw new UserStoreException("Failed to read the user schema: " + e.getMessage(), e);
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement())
+        {
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";"))
+            {
+                if (!sql.trim().isEmpty())
+                {
+                    statement.execute(sql);
+                }
+            }
+        }
+        catch (SQLException e)
+        {
+            throw new UserStoreException("Failed to create the user tables: " + e.getMessage(), e);
+        }
+    }
+
+
+    @Override
+    public User getBySubject(String subject)
+    {
+        return load(SELECT_BY_SUBJECT, subject);
+    }
+
+
+    @Override
+    public User getByCredentials(String loginId, String password)
+    {
+        JdbcUser user = load(SELECT_BY_LOGIN_ID, loginId);
+
+        if (user == null || user.getPassword() == null || password == null)
+        {
+            return null;
+        }
+
+        // Check if the user's password is the target one, in time that
+        // does not depend on where the passwords differ.
+        boolean matched = MessageDigest.isEqual(
+                user.getPassword().getBytes(StandardCharsets.UTF_8),
+                password.getBytes(StandardCharsets.UTF_8));
+
+        return matched ? user : null;
+    }
+
+
+    @Override
+    public User getByEmail(String email)
+    {
+        return load(SELECT_BY_EMAIL, email);
+    }
+
+
+    @Override
+    public User getByPhoneNumber(String phoneNumber)
+    {
+        return load(SELECT_BY_PHONE_NUMBER, phoneNumber);
+    }
+
+
+    /**
+     * Load the first user (in subject order) that the query finds.
+     */
+    private JdbcUser load(String sql, String key)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql))
+        {
+            statement.setString(1, key);
+
+            try (ResultSet rs = statement.executeQuery())
+            {
+                String              subject  = null;
+                String              loginId  = null;
+                String              password = null;
+                Map<String, Object> fields   = new HashMap<>();
+
+                while (rs.next())
+                {
+                    if (subject == null)
+                    {
+                        subject  = rs.getString(1);
+                        loginId  = rs.getString(2);
+                        password = rs.getString(3);
+                    }
+                    else if (!subject.equals(rs.getString(1)))
+                    {
+                        // The rows of another user with the same key.
+                        break;
+                    }
+
+                    String name = rs.getString(4);
+
+                    if (name != null)
+                    {
+                        fields.put(name, parse(rs.getString(5)));
+                    }
+                }
+
+                return (subject == null) ? null : new JdbcUser(subject, loginId, password, fields);
+            }
+        }
+        catch (SQLException e)
+        {
+            throw new UserStoreException("Failed to load a user: " + e.getMessage(), e);
+        }
+    }
+
+
+    private static Object parse(String json)
+    {
+        String trimmed = json.trim();
+
+        // Objects and arrays are decoded on access; see JdbcUser.
+        if (trimmed.startsWith("{") || trimmed.startsWith("["))
+        {
+            return new JdbcUser.Json(trimmed);
+        }
+
+        return JsonCodec.fromJson(trimmed, Object.class);
+    }
+
+
+    @Override
+    public void add(UserEntity entity)
+    {
+        Map<String, Object> fields = entity.toFields();
+
+        try (Connection connection = dataSource.getConnection())
+        {
+            connection.setAutoCommit(false);
+
+            try
+            {
+                write(connection, entity, fields);
+                connection.commit();
+            }
+            catch (SQLException | RuntimeException e)
+            {
+                connection.rollback();
+                throw e;
+            }
+            finally
+            {
+                connection.setAutoCommit(true);
+            }
+        }
+        catch (SQLException e)
+        {
+            throw new UserStoreException("Failed to add a user: " + e.getMessage(), e);
+        }
+    }
+
+
+    private static void write(
+            Connection connection, UserEntity entity, Map<String, Object> fields) throws SQLException
+    {
+        String subject = entity.getSubject();
+
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_CLAIMS))
+        {
+            statement.setString(1, subject);
+            statement.executeUpdate();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_USER))
+        {
+            statement.setString(1, subject);
+            statement.executeUpdate();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER))
+        {
+            statement.setString(1, subject);
+            statement.setString(2, entity.getLoginId());
+            statement.setString(3, entity.getPassword());
+            statement.setString(4, asString(fields.get("email")));
+            statement.setString(5, asString(fields.get("phone_number")));
+            statement.executeUpdate();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_CLAIM))
+        {
+            for (Map.Entry<String, Object> field : fields.entrySet())
+            {
+                statement.setString(1, subject);
+                statement.setString(2, field.getKey());
+                statement.setString(3, JsonCodec.toJson(field.getValue()));
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+        }
+    }
+
+
+    private static String asString(Object value)
+    {
+        return (value instanceof String) ? (String)value : null;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static com.authlete.jaxrs.server.db.MappedUserFormat.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import com.authlete.common.types.User;
+
+
+/**
+ * A user in a {@link MappedUserStore}.
+ *
+ * <p>
+ * This is a view of a record in the mapped file: it holds no copy of the
+ * user's data, and every call decodes only the value asked for.
+ * </p>
+ */
+public final class MappedUser implements User
+{
+    private final MappedUserStore store;
+    private final ByteBuffer      chunk;
+    private final int             offset;
+
+
+    MappedUser(MappedUserStore store, ByteBuffer chunk, int offset)
+    {
+        this.store  = store;
+        this.chunk  = chunk;
+        this.offset = offset;
+    }
+
+
+    @Override
+    public String getSubject()
+    {
+        return (String)get(TABLE_SUBJECT);
+    }
+
+
+    public String getLoginId()
+    {
+        Object value = get(TABLE_LOGIN_ID);
+
+        return (value instanceof String) ? (String)value : null;
+    }
+
+
+    /**
+     * Tell whether the password of this user is the given one, in time
+     * that does not depend on where the passwords differ.
+     */
+    public boolean hasPassword(String password)
+    {
+        Object registered = get(store.getFieldIndex(FIELD_PASSWORD));
+
+        if (!(registered instanceof String) || password == null)
+        {
+            return false;
+        }
+
+        return MessageDigest.isEqual(
+                ((String)registered).getBytes(StandardCharsets.UTF_8),
+                password.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    @Override
+    public Object getClaim(String claimName, String languageTag)
+    {
+        if (claimName == null || claimName.startsWith(ATTRIBUTE_PREFIX) ||
+            FIELD_SUBJECT.equals(claimName) || FIELD_LOGIN_ID.equals(claimName) ||
+            FIELD_PASSWORD.equals(claimName))
+        {
+            return null;
+        }
+
+        return get(store.getFieldIndex(claimName));
+    }
+
+
+    @Override
+    public Object getAttribute(String attributeName)
+    {
+        if (attributeName == null)
+        {
+            return null;
+        }
+
+        return get(store.getFieldIndex(ATTRIBUTE_PREFIX + attributeName));
+    }
+
+
+    /**
+     * Decode the values of the given claims in a single scan of the record.
+     * The claim names must be distinct.
+     */
+    void getClaims(String[] claimNames, Object[] values)
+    {
+        int[] fields = new int[claimNames.length];
+
+        for (int i = 0; i < claimNames.length; i++)
+        {
+            String name = claimNames[i];
+
+            fields[i] = (name == null || name.startsWith(ATTRIBUTE_PREFIX) ||
+                         FIELD_SUBJECT.equals(name) || FIELD_LOGIN_ID.equals(name) ||
+                         FIELD_PASSWORD.equals(name)) ? -1 : store.getFieldIndex(name);
+        }
+
+        int[] position = { offset };
+        int   count    = readVarint(chunk, position);
+
+        for (int i = 0; i < count; i++)
+        {
+            int  index = readVarint(chunk, position);
+            byte tag   = chunk.get(position[0]++);
+            int  slot  = indexOf(fields, index);
+
+            if (slot < 0)
+            {
+                MappedUserStore.skip(tag, chunk, position);
+                continue;
+            }
+
+            values[slot] = store.decode(index, tag, chunk, position);
+        }
+    }
+
+
+    private static int indexOf(int[] fields, int field)
+    {
+        for (int i = 0; i < fields.length; i++)
+        {
+            if (fields[i] == field)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Decode the value of a field, scanning the record up to it.
+     */
+    Object get(int field)
+    {
+        if (field < 0)
+        {
+            return null;
+        }
+
+        int[] position = { offset };
+        int   count    = readVarint(chunk, position);
+
+        for (int i = 0; i < count; i++)
+        {
+            int  index = readVarint(chunk, position);
+            byte tag   = chunk.get(position[0]++);
+
+            if (index == field)
+            {
+                return store.decode(field, tag, chunk, position);
+            }
+
+            MappedUserStore.skip(tag, chunk, position);
+        }
+
+        return null;
+    }
+}
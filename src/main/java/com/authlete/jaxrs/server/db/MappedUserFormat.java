@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Layout of the file read by {@link MappedUserStore} and written by
+ * {@link MappedUserStoreBuilder}.
+ *
+ * <pre>
+ * header       64 bytes (see the HEADER_* offsets)
+ * fields       varint count, then each field name (varint length, UTF-8)
+ * dictionaries for each field: varint count, then each value (see below)
+ * tables       one open-addressing table per indexed key, each
+ *              {@code capacity} slots of 8 bytes: the upper 24 bits hold
+ *              a fragment of the key's hash, the lower 40 bits the offset
+ *              of the record plus one (0 marks an empty slot)
+ * records      for each user: varint count, then each value as varint
+ *              field index, tag byte and payload
+ * </pre>
+ *
+ * <p>
+ * A value is tagged {@link #TAG_STRING} or {@link #TAG_JSON} (varint length
+ * and UTF-8), {@link #TAG_TRUE} or {@link #TAG_FALSE} (no payload),
+ * {@link #TAG_LONG} (zigzag varint), or {@link #TAG_DICT} (varint index
+ * into the dictionary of the field). Records never cross a
+ * {@link #CHUNK_SIZE} boundary relative to the start of the records, so
+ * each chunk can be mapped on its own.
+ * </p>
+ */
+final class MappedUserFormat
+{
+    static final int MAGIC   = 0x4A4F5355; // "JOSU"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE            = 64;
+    static final int HEADER_MAGIC           = 0;
+    static final int HEADER_VERSION         = 4;
+    static final int HEADER_USER_COUNT      = 8;
+    static final int HEADER_FIELDS          = 16;
+    static final int HEADER_TABLES          = 24;
+    static final int HEADER_TABLE_CAPACITY  = 32;
+    static final int HEADER_RECORDS         = 40;
+    static final int HEADER_LENGTH          = 48;
+
+    static final byte TAG_STRING = 0;
+    static final byte TAG_JSON   = 1;
+    static final byte TAG_TRUE   = 2;
+    static final byte TAG_FALSE  = 3;
+    static final byte TAG_LONG   = 4;
+    static final byte TAG_DICT   = 5;
+
+    /**
+     * Field names that are not claims.
+     */
+    static final String FIELD_SUBJECT  = "sub";
+    static final String FIELD_LOGIN_ID = "login_id";
+    static final String FIELD_PASSWORD = "password";
+
+    /**
+     * Prefix of field names that hold attributes instead of claims.
+     */
+    static final String ATTRIBUTE_PREFIX = "@";
+
+    /**
+     * The indexed keys, in the order of their tables.
+     */
+    static final String[] INDEXED_FIELDS = {
+            FIELD_SUBJECT, FIELD_LOGIN_ID, "email", "phone_number" };
+
+    static final int TABLE_SUBJECT      = 0;
+    static final int TABLE_LOGIN_ID     = 1;
+    static final int TABLE_EMAIL        = 2;
+    static final int TABLE_PHONE_NUMBER = 3;
+
+    static final long CHUNK_SIZE = 1L << 30;
+
+    static final long OFFSET_MASK = (1L << 40) - 1;
+
+
+    private MappedUserFormat()
+    {
+    }
+
+
+    /**
+     * Hash a key. The result is stable across processes.
+     */
+    static int hash(String key)
+    {
+        // Spread String.hashCode (which is specified) with the murmur3
+        // finalizer so that similar keys do not cluster.
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+
+        return h;
+    }
+
+
+    static long slot(int hash, long recordOffset)
+    {
+        return ((long)(hash >>> 8) << 40) | (recordOffset + 1);
+    }
+
+
+    static boolean slotMatches(long slot, int hash)
+    {
+        return (slot >>> 40) == (hash >>> 8);
+    }
+
+
+    static long slotOffset(long slot)
+    {
+        return (slot & OFFSET_MASK) - 1;
+    }
+
+
+    static long tableSize(int capacity)
+    {
+        return capacity * 8L;
+    }
+
+
+    /**
+     * The smallest power of two that keeps the tables at most half full.
+     */
+    static int tableCapacity(long userCount)
+    {
+        long capacity = Long.highestOneBit(Math.max(userCount * 2, 16) - 1) << 1;
+
+        if (capacity > (1 << 27))
+        {
+            throw new IllegalArgumentException("Too many users: " + userCount);
+        }
+
+        return (int)capacity;
+    }
+
+
+    static int readVarint(ByteBuffer buffer, int[] position)
+    {
+        int value = 0;
+        int shift = 0;
+
+        while (true)
+        {
+            byte b = buffer.get(position[0]++);
+            value |= (b & 0x7F) << shift;
+
+            if (b >= 0)
+            {
+                return value;
+            }
+
+            shift += 7;
+        }
+    }
+
+
+    static long readVarlong(ByteBuffer buffer, int[] position)
+    {
+        long value = 0;
+        int  shift = 0;
+
+        while (true)
+        {
+            byte b = buffer.get(position[0]++);
+            value |= (long)(b & 0x7F) << shift;
+
+            if (b >= 0)
+            {
+                return value;
+            }
+
+            shift += 7;
+        }
+    }
+
+
+    static String readString(ByteBuffer buffer, int[] position)
+    {
+        int length = readVarint(buffer, position);
+        byte[] bytes = new byte[length];
+        buffer.get(position[0], bytes);
+        position[0] += length;
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    static long zigzag(long value)
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+
+    static long unzigzag(long value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static com.authlete.jaxrs.server.db.MappedUserFormat.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import com.authlete.jaxrs.server.util.JsonCodec;
+
+
+/**
+ * A read-only user store backed by a memory-mapped file built by
+ * {@link MappedUserStoreBuilder}.
+ *
+ * <p>
+ * Opening the store maps the file and reads only the field names and the
+ * dictionaries, so startup time and heap use do not depend on the number
+ * of users. Users are found through hash tables in the file, and each
+ * returned {@link com.authlete.common.types.User User} decodes a claim only
+ * when it is asked for. Pages of the file are loaded by the operating
+ * system on first access and shared by every process that maps the file.
+ * </p>
+ *
+ * <p>
+ * Lookups take no lock and are safe for concurrent use.
+ * </p>
+ */
+public class MappedUserStore implements Closeable
+{
+    private final FileChannel          channel;
+    private final long                 userCount;
+    private final String[]             fieldNames;
+    private final Map<String, Integer> fieldIndexes;
+    private final byte[][]             dictionaryTags;
+    private final Object[][]           dictionaryValues;
+    private final int                  tableCapacity;
+    private final MappedByteBuffer[]   tables;
+    private final MappedByteBuffer[]   chunks;
+
+
+    private MappedUserStore(FileChannel channel) throws IOException
+    {
+        this.channel = channel;
+
+        ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+
+        if (header.getInt(HEADER_MAGIC) != MAGIC || header.getInt(HEADER_VERSION) != VERSION)
+        {
+            throw new IOException("Not a user store file of version " + VERSION + ".");
+        }
+
+        userCount     = header.getLong(HEADER_USER_COUNT);
+        tableCapacity = header.getInt(HEADER_TABLE_CAPACITY);
+
+        long fields  = header.getLong(HEADER_FIELDS);
+        long tables  = header.getLong(HEADER_TABLES);
+        long records = header.getLong(HEADER_RECORDS);
+        long end     = header.getLong(HEADER_LENGTH);
+
+        if (end > channel.size())
+        {
+            throw new IOException("The user store file is truncated.");
+        }
+
+        // Field names and dictionaries.
+        ByteBuffer meta = channel.map(MapMode.READ_ONLY, fields, tables - fields);
+        int[] position  = { 0 };
+
+        fieldNames   = new String[readVarint(meta, position)];
+        fieldIndexes = new HashMap<>();
+
+        for (int i = 0; i < fieldNames.length; i++)
+        {
+            fieldNames[i] = readString(meta, position);
+            fieldIndexes.put(fieldNames[i], i);
+        }
+
+        dictionaryTags   = new byte[fieldNames.length][];
+        dictionaryValues = new Object[fieldNames.length][];
+
+        for (int i = 0; i < fieldNames.length; i++)
+        {
+            int size = readVarint(meta, position);
+
+            dictionaryTags[i]   = new byte[size];
+            dictionaryValues[i] = new Object[size];
+
+            for (int j = 0; j < size; j++)
+            {
+                byte tag = meta.get(position[0]++);
+
+                dictionaryTags[i][j]   = tag;
+                dictionaryValues[i][j] = readRaw(meta, position, tag);
+            }
+        }
+
+        // Hash tables.
+        this.tables = new MappedByteBuffer[INDEXED_FIELDS.length];
+
+        for (int i = 0; i < this.tables.length; i++)
+        {
+            this.tables[i] = channel.map(MapMode.READ_ONLY,
+                    tables + i * tableSize(tableCapacity), tableSize(tableCapacity));
+        }
+
+        // Records, in chunks that fit in a buffer.
+        int count = (int)((end - records + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        chunks = new MappedByteBuffer[count];
+
+        for (int i = 0; i < count; i++)
+        {
+            long start = records + i * CHUNK_SIZE;
+            chunks[i] = channel.map(MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE, end - start));
+        }
+    }
+
+
+    /**
+     * Open a user store file.
+     */
+    public static MappedUserStore open(Path file) throws IOException
+    {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try
+        {
+            return new MappedUserStore(channel);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Get the number of users in the store.
+     */
+    public long size()
+    {
+        return userCount;
+    }
+
+
+    public MappedUser getBySubject(String subject)
+    {
+        return find(TABLE_SUBJECT, subject);
+    }
+
+
+    public MappedUser getByLoginId(String loginId)
+    {
+        return find(TABLE_LOGIN_ID, loginId);
+    }
+
+
+    public MappedUser getByEmail(String email)
+    {
+        return find(TABLE_EMAIL, email);
+    }
+
+
+    public MappedUser getByPhoneNumber(String phoneNumber)
+    {
+        return find(TABLE_PHONE_NUMBER, phoneNumber);
+    }
+
+
+    private MappedUser find(int table, String key)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        // The indexed fields are the first fields of the file.
+        int    field  = table;
+        int    hash   = hash(key);
+        int    mask   = tableCapacity - 1;
+        ByteBuffer slots = tables[table];
+
+        for (int i = hash & mask; ; i = (i + 1) & mask)
+        {
+            long slot = slots.getLong(i * 8);
+
+            if (slot == 0)
+            {
+                return null;
+            }
+
+            if (!slotMatches(slot, hash))
+            {
+                continue;
+            }
+
+            long       offset = slotOffset(slot);
+            MappedUser user   = new MappedUser(this,
+                    chunks[(int)(offset / CHUNK_SIZE)], (int)(offset % CHUNK_SIZE));
+
+            if (key.equals(user.get(field)))
+            {
+                return user;
+            }
+        }
+    }
+
+
+    int getFieldIndex(String name)
+    {
+        Integer index = fieldIndexes.get(name);
+
+        return (index != null) ? index : -1;
+    }
+
+
+    /**
+     * Decode a value of a record at the position, which is just after the
+     * tag.
+     */
+    Object decode(int field, byte tag, ByteBuffer buffer, int[] position)
+    {
+        if (tag == TAG_DICT)
+        {
+            int index = readVarint(buffer, position);
+            tag = dictionaryTags[field][index];
+            Object value = dictionaryValues[field][index];
+
+            // JSON values are decoded on each access, since the decoded
+            // maps and lists can be modified by the caller.
+            return (tag == TAG_JSON) ? JsonCodec.fromJson((String)value, Object.class) : value;
+        }
+
+        Object value = readRaw(buffer, position, tag);
+
+        return (tag == TAG_JSON) ? JsonCodec.fromJson((String)value, Object.class) : value;
+    }
+
+
+    /**
+     * Skip a value of a record at the position, which is just after the tag.
+     */
+    static void skip(byte tag, ByteBuffer buffer, int[] position)
+    {
+        switch (tag)
+        {
+            case TAG_STRING:
+            case TAG_JSON:
+                int length = readVarint(buffer, position);
+                position[0] += length;
+                break;
+
+            case TAG_LONG:
+                readVarlong(buffer, position);
+                break;
+
+            case TAG_DICT:
+                readVarint(buffer, position);
+                break;
+
+            default:
+                break;
+        }
+    }
+
+
+    /**
+     * Read a value other than a dictionary reference. JSON is returned as
+     * its text.
+     */
+    private static Object readRaw(ByteBuffer buffer, int[] position, byte tag)
+    {
+        switch (tag)
+        {
+            case TAG_STRING:
+            case TAG_JSON:
+                return readString(buffer, position);
+
+            case TAG_TRUE:
+                return Boolean.TRUE;
+
+            case TAG_FALSE:
+                return Boolean.FALSE;
+
+            case TAG_LONG:
+                return unzigzag(readVarlong(buffer, position));
+
+            default:
+                throw new IllegalStateException("Unknown value tag: " + tag);
+        }
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        // The mappings stay valid until they are garbage-collected.
+        channel.close();
+    }
+}
@@ -0,0 +1,646 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static com.authlete.jaxrs.server.db.MappedUserFormat.*;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import com.authlete.jaxrs.server.util.JsonCodec;
+
+
+/**
+ * Imports users from JSON Lines or CSV into the file read by
+ * {@link MappedUserStore}.
+ *
+ * <p>
+ * Each JSON line is an object whose {@code "sub"} is the subject. The
+ * optional {@code "login_id"} and {@code "password"} are the login
+ * credentials, members whose name starts with {@code "@"} are attributes
+ * (e.g. {@code "@code"}), and the other members are claims with any JSON
+ * value. A CSV file has a header row with the same names; a name may end
+ * with {@code :long}, {@code :boolean} or {@code :json} to give the type of
+ * its column (string otherwise), and an empty cell means no value.
+ * </p>
+ *
+ * <p>
+ * The input is read twice: first to find the fields and the values of
+ * fields with few distinct values, which are stored once in a dictionary,
+ * then to write the records and index them. Memory use does not grow with
+ * the number of users.
+ * </p>
+ *
+ * <pre>
+ * java -cp ... com.authlete.jaxrs.server.db.MappedUserStoreBuilder users.jsonl users.bin
+ * </pre>
+ */
+public class MappedUserStoreBuilder
+{
+    /**
+     * Fields with more distinct values than this are never put in a
+     * dictionary.
+     */
+    private static final int MAX_DICTIONARY_SIZE = 4096;
+
+
+    /**
+     * What the first pass learns about a field.
+     */
+    private static final class FieldStats
+    {
+        final Map<String, Integer> values = new LinkedHashMap<>();
+        final List<byte[]>         encoded = new ArrayList<>();
+        long    occurrences;
+        boolean overflow;
+
+
+        boolean isDictionary()
+        {
+            // Worth it only when values repeat.
+            return !overflow && values.size() * 2L <= occurrences;
+        }
+    }
+
+
+    private final Map<String, Integer> fieldIndexes = new LinkedHashMap<>();
+    private final List<FieldStats>     fieldStats   = new ArrayList<>();
+    private long userCount;
+
+
+    /**
+     * Build a user store file.
+     *
+     * @param input
+     *         A JSON Lines file, or a CSV file if the name ends with
+     *         {@code .csv}.
+     *
+     * @param output
+     *         The file to write. An existing file is replaced.
+     *
+     * @return
+     *         The number of users written.
+     */
+    public static long build(Path input, Path output) throws IOException
+    {
+        return new MappedUserStoreBuilder().run(input, output);
+    }
+
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 2)
+        {
+            System.err.println("Usage: MappedUserStoreBuilder {input.jsonl|input.csv} {output}");
+            System.exit(1);
+        }
+
+        long count = build(Paths.get(args[0]), Paths.get(args[1]));
+
+        System.out.println(count + " users written to " + args[1]);
+    }
+
+
+    private long run(Path input, Path output) throws IOException
+    {
+        // The indexed fields come first so their indexes are known.
+        for (String name : INDEXED_FIELDS)
+        {
+            fieldIndex(name);
+        }
+
+        read(input, this::collect);
+
+        Path temporary = output.resolveSibling(output.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            write(input, channel);
+        }
+
+        Files.move(temporary, output,
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return userCount;
+    }
+
+
+    private int fieldIndex(String name)
+    {
+        Integer index = fieldIndexes.get(name);
+
+        if (index == null)
+        {
+            index = fieldIndexes.size();
+            fieldIndexes.put(name, index);
+            fieldStats.add(new FieldStats());
+        }
+
+        return index;
+    }
+
+
+    private void collect(Map<String, Object> record)
+    {
+        requireSubject(record);
+
+        userCount++;
+
+        for (Map.Entry<String, Object> entry : record.entrySet())
+        {
+            if (entry.getValue() == null)
+            {
+                continue;
+            }
+
+            FieldStats stats = fieldStats.get(fieldIndex(entry.getKey()));
+            stats.occurrences++;
+
+            if (stats.overflow)
+            {
+                continue;
+            }
+
+            byte[] encoded = encode(entry.getValue());
+            String key     = new String(encoded, StandardCharsets.ISO_8859_1);
+
+            if (!stats.values.containsKey(key))
+            {
+                if (stats.values.size() == MAX_DICTIONARY_SIZE)
+                {
+                    // Too many distinct values; forget them.
+                    stats.overflow = true;
+                    stats.values.clear();
+                    stats.encoded.clear();
+                    continue;
+                }
+
+                stats.values.put(key, stats.encoded.size());
+                stats.encoded.add(encoded);
+            }
+        }
+    }
+
+
+    private static void requireSubject(Map<String, Object> record)
+    {
+        if (!(record.get(FIELD_SUBJECT) instanceof String))
+        {
+            throw new IllegalArgumentException("A user without a string \"sub\": " + record);
+        }
+    }
+
+
+    private void write(Path input, FileChannel channel) throws IOException
+    {
+        // Fields and dictionaries.
+        ByteArrayOutputStream meta = new ByteArrayOutputStream();
+        writeVarint(meta, fieldIndexes.size());
+
+        for (String name : fieldIndexes.keySet())
+        {
+            writeBytes(meta, name.getBytes(StandardCharsets.UTF_8));
+        }
+
+        for (FieldStats stats : fieldStats)
+        {
+            if (!stats.isDictionary())
+            {
+                writeVarint(meta, 0);
+                continue;
+            }
+
+            writeVarint(meta, stats.encoded.size());
+
+            for (byte[] encoded : stats.encoded)
+            {
+                meta.write(encoded);
+            }
+        }
+
+        long tables   = align(HEADER_SIZE + meta.size());
+        int  capacity = tableCapacity(userCount);
+        long records  = tables + INDEXED_FIELDS.length * tableSize(capacity);
+
+        channel.write(ByteBuffer.wrap(meta.toByteArray()), HEADER_SIZE);
+
+        // Extend the file so that the tables can be mapped.
+        channel.write(ByteBuffer.allocate(1), records - 1);
+
+        MappedByteBuffer[] tableBuffers = new MappedByteBuffer[INDEXED_FIELDS.length];
+
+        for (int i = 0; i < tableBuffers.length; i++)
+        {
+            tableBuffers[i] = channel.map(MapMode.READ_WRITE,
+                    tables + i * tableSize(capacity), tableSize(capacity));
+        }
+
+        // Records.
+        RecordWriter writer = new RecordWriter(channel, records, tableBuffers, capacity);
+        read(input, writer::write);
+        long end = writer.finish();
+
+        for (MappedByteBuffer buffer : tableBuffers)
+        {
+            buffer.force();
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt (HEADER_MAGIC,          MAGIC);
+        header.putInt (HEADER_VERSION,        VERSION);
+        header.putLong(HEADER_USER_COUNT,     userCount);
+        header.putLong(HEADER_FIELDS,         HEADER_SIZE);
+        header.putLong(HEADER_TABLES,         tables);
+        header.putInt (HEADER_TABLE_CAPACITY, capacity);
+        header.putLong(HEADER_RECORDS,        records);
+        header.putLong(HEADER_LENGTH,         end);
+        channel.write(header, 0);
+
+        channel.force(true);
+    }
+
+
+    /**
+     * Writes the records sequentially and puts them in the tables.
+     */
+    private final class RecordWriter
+    {
+        private final OutputStream          out;
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        private final MappedByteBuffer[]    tables;
+        private final int                   capacity;
+        private final long                  start;
+        private long                        offset;
+
+
+        RecordWriter(FileChannel channel, long start,
+                MappedByteBuffer[] tables, int capacity) throws IOException
+        {
+            this.out      = new BufferedOutputStream(Channels.newOutputStream(channel.position(start)), 1 << 16);
+            this.start    = start;
+            this.tables   = tables;
+            this.capacity = capacity;
+        }
+
+
+        void write(Map<String, Object> user)
+        {
+            record.reset();
+            int count = 0;
+
+            for (Object value : user.values())
+            {
+                count += (value != null) ? 1 : 0;
+            }
+
+            writeVarint(record, count);
+
+            for (Map.Entry<String, Object> entry : user.entrySet())
+            {
+                if (entry.getValue() == null)
+                {
+                    continue;
+                }
+
+                int        index = fieldIndexes.get(entry.getKey());
+                FieldStats stats = fieldStats.get(index);
+                byte[]     value = encode(entry.getValue());
+
+                writeVarint(record, index);
+
+                if (stats.isDictionary())
+                {
+                    record.write(TAG_DICT);
+                    writeVarint(record, stats.values.get(new String(value, StandardCharsets.ISO_8859_1)));
+                }
+                else
+                {
+                    record.write(value, 0, value.length);
+                }
+            }
+
+            try
+            {
+                // Keep the record in one chunk.
+                long room = CHUNK_SIZE - (offset % CHUNK_SIZE);
+
+                if (record.size() > room)
+                {
+                    out.write(new byte[(int)room]);
+                    offset += room;
+                }
+
+                out.write(record.toByteArray());
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+
+            for (int i = 0; i < INDEXED_FIELDS.length; i++)
+            {
+                Object key = user.get(INDEXED_FIELDS[i]);
+
+                if (key instanceof String)
+                {
+                    insert(tables[i], (String)key, offset);
+                }
+            }
+
+            offset += record.size();
+        }
+
+
+        private void insert(MappedByteBuffer table, String key, long recordOffset)
+        {
+            int hash = hash(key);
+            int mask = capacity - 1;
+
+            // The first free slot on the probe sequence, so that the first
+            // record with a key is the one found.
+            for (int i = hash & mask; ; i = (i + 1) & mask)
+            {
+                if (table.getLong(i * 8) == 0)
+                {
+                    table.putLong(i * 8, slot(hash, recordOffset));
+                    return;
+                }
+            }
+        }
+
+
+        long finish() throws IOException
+        {
+            out.flush();
+
+            return start + offset;
+        }
+    }
+
+
+    private static byte[] encode(Object value)
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        if (value instanceof String)
+        {
+            out.write(TAG_STRING);
+            writeBytes(out, ((String)value).getBytes(StandardCharsets.UTF_8));
+        }
+        else if (value instanceof Boolean)
+        {
+            out.write((Boolean)value ? TAG_TRUE : TAG_FALSE);
+        }
+        else if (value instanceof Long || value instanceof Integer)
+        {
+            out.write(TAG_LONG);
+            writeVarlong(out, zigzag(((Number)value).longValue()));
+        }
+        else
+        {
+            out.write(TAG_JSON);
+            writeBytes(out, JsonCodec.toJson(value).getBytes(StandardCharsets.UTF_8));
+        }
+
+        return out.toByteArray();
+    }
+
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes)
+    {
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+
+    private static void writeVarint(ByteArrayOutputStream out, int value)
+    {
+        writeVarlong(out, value & 0xFFFFFFFFL);
+    }
+
+
+    private static void writeVarlong(ByteArrayOutputStream out, long value)
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            out.write((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        out.write((int)value);
+    }
+
+
+    private static long align(long position)
+    {
+        return (position + 7) & ~7L;
+    }
+
+
+    private static void read(Path input, Consumer<Map<String, Object>> consumer) throws IOException
+    {
+        boolean csv = input.getFileName().toString().toLowerCase().endsWith(".csv");
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8))
+        {
+            if (csv)
+            {
+                readCsv(reader, consumer);
+            }
+            else
+            {
+                readJsonLines(reader, consumer);
+            }
+        }
+    }
+
+
+    private static void readJsonLines(BufferedReader reader, Consumer<Map<String, Object>> consumer) throws IOException
+    {
+        String line;
+
+        while ((line = reader.readLine()) != null)
+        {
+            if (!line.trim().isEmpty())
+            {
+                consumer.accept(JsonCodec.readMap(line));
+            }
+        }
+    }
+
+
+    private static void readCsv(BufferedReader reader, Consumer<Map<String, Object>> consumer) throws IOException
+    {
+        List<String> header = readCsvRow(reader);
+
+        if (header == null)
+        {
+            return;
+        }
+
+        String[] names = new String[header.size()];
+        String[] types = new String[header.size()];
+
+        for (int i = 0; i < names.length; i++)
+        {
+            String column = header.get(i).trim();
+            int    colon  = column.lastIndexOf(':');
+
+            names[i] = (colon < 0) ? column : column.substring(0, colon);
+            types[i] = (colon < 0) ? "string" : column.substring(colon + 1);
+        }
+
+        List<String> row;
+
+        while ((row = readCsvRow(reader)) != null)
+        {
+            Map<String, Object> record = new HashMap<>();
+
+            for (int i = 0; i < names.length && i < row.size(); i++)
+            {
+                String cell = row.get(i);
+
+                if (!cell.isEmpty())
+                {
+                    record.put(names[i], convert(cell, types[i]));
+                }
+            }
+
+            consumer.accept(record);
+        }
+    }
+
+
+    private static Object convert(String cell, String type)
+    {
+        switch (type)
+        {
+            case "long":
+                return Long.parseLong(cell.trim());
+
+            case "boolean":
+                return Boolean.parseBoolean(cell.trim());
+
+            case "json":
+                return JsonCodec.fromJson(cell, Object.class);
+
+            default:
+                return cell;
+        }
+    }
+
+
+    /**
+     * Read a row of RFC 4180 CSV. Quoted cells may contain commas, doubled
+     * quotes and line breaks.
+     *
+     * @return
+     *         The cells, or {@code null} at the end of the input.
+     */
+    private static List<String> readCsvRow(BufferedReader reader) throws IOException
+    {
+        String line = reader.readLine();
+
+        if (line == null)
+        {
+            return null;
+        }
+
+        List<String>  cells  = new ArrayList<>();
+        StringBuilder cell   = new StringBuilder();
+        boolean       quoted = false;
+
+        while (true)
+        {
+            for (int i = 0; i < line.length(); i++)
+            {
+                char c = line.charAt(i);
+
+                if (quoted)
+                {
+                    if (c != '"')
+                    {
+                        cell.append(c);
+                    }
+                    else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+                    {
+                        cell.append('"');
+                        i++;
+                    }
+                    else
+                    {
+                        quoted = false;
+                    }
+                }
+                else if (c == '"')
+                {
+                    quoted = true;
+                }
+                else if (c == ',')
+                {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                }
+                else
+                {
+                    cell.append(c);
+                }
+            }
+
+            if (!quoted)
+            {
+                break;
+            }
+
+            // A line break inside a quoted cell.
+            line = reader.readLine();
+
+            if (line == null)
+            {
+                throw new IOException("Unterminated quoted cell in CSV.");
+            }
+
+            cell.append('\n');
+        }
+
+        cells.add(cell.toString());
+
+        return cells;
+    }
+}
@@ -19,69 +19,200 @@ package com.authlete.jaxrs.server.db;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.authlete.jaxrs.server.ServerConfig;
 
 
 /**
  * Operations to access the resource server database.
+ *
+ * <p>
+ * The resource servers are read from {@code resource_servers.json} in the
+ * class path, or from the file of {@link ServerConfig#getResourceServersFile()}
+ * if it is set. That file is watched: when it changes, it is parsed into a
+ * new {@link ResourceServerSnapshot} which replaces the current one
+ * atomically, so resource servers can be added and their secrets and keys
+ * rotated without a restart. A request sees either the old or the new set
+ * as a whole. A file that cannot be parsed is ignored and the current set
+ * stays in use.
+ * </p>
  */
 public class ResourceServerDao extends BaseDao
 {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceServerDao.class);
+
+
     private static final String RESOURCE_SERVER = "/resource_servers.json";
 
 
     /**
-     * Holder of the cache of resource server entities.
+     * The watcher of the file of {@link ServerConfig#getResourceServersFile()},
+     * if any.
      */
-    private static final class ResourceServerEntityHolder
+    private static volatile FileWatcher watcher;
+
+
+    /**
+     * Holder of the current snapshot of resource server entities.
+     */
+    private static final class ResourceServerSnapshotHolder
+    {
+        private static final AtomicReference<ResourceServerSnapshot> INSTANCE =
+                new AtomicReference<>(loadInitialSnapshot());
+
+        static
+        {
+            watch();
+        }
+    }
+
+
+    /**
+     * Create the initial content of ResourceServerSnapshotHolder.INSTANCE.
+     */
+    private static ResourceServerSnapshot loadInitialSnapshot()
+    {
+        Path file = getFile();
+
+        try
+        {
+            if (file != null)
+            {
+                return load(file);
+            }
+
+            // Create a Reader to read the resource.
+            try ( Reader reader = createReader(ResourceServerDao.class, RESOURCE_SERVER) )
+            {
+                return ResourceServerSnapshot.parse(reader);
+            }
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            // Failed to read the resource servers.
+            logger.error("Failed to load the resource servers: {}", e.getMessage(), e);
+
+            return ResourceServerSnapshot.EMPTY;
+        }
+    }
+
+
+    private static Path getFile()
     {
-        // Cache of resource server entities. Keys are resource server
-        // IDs. Values are ResourceServerEntity objects loaded from JSON
-        // files.
-        private static final Map<String, ResourceServerEntity> INSTANCE =
-                createResourceServers();
+        String file = ServerConfig.getResourceServersFile();
+
+        return (file != null) ? Paths.get(file) : null;
     }
 
 
     /**
-     * Create the content of ResourceServersHolder.INSTANCE.
+     * Load resource servers from a file.
+     *
+     * @throws IllegalArgumentException
+     *         The content of the file is invalid.
      */
-    private static Map<String, ResourceServerEntity> createResourceServers()
+    static ResourceServerSnapshot load(Path file) throws IOException
+    {
+        try ( Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8) )
+        {
+            return ResourceServerSnapshot.parse(reader);
+        }
+    }
+
+
+    private static void watch()
     {
-        return loadResourceServers(RESOURCE_SERVER)
-                .stream()
-                .collect(Collectors.toMap(s -> s.getId(), s -> s));
+        Path file = getFile();
+
+        if (file == null)
+        {
+            return;
+        }
+
+        try
+        {
+            // Closed by stopWatching() when the web application stops.
+            watcher = new FileWatcher(file, ResourceServerDao::reload);
+        }
+        catch (IOException e)
+        {
+            logger.warn("Changes of {} will not be reloaded: {}", file, e.getMessage());
+        }
     }
 
 
     /**
-     * Load configurations of resource servers from the resource.
+     * Stop watching the file of {@link ServerConfig#getResourceServersFile()}.
+     * This is called when the web application stops, so that the thread of
+     * the watcher does not keep the class loader of the web application
+     * alive after it has been undeployed.
      */
-    private static List<ResourceServerEntity> loadResourceServers(String resource)
+    public static void stopWatching()
     {
-        // Create a Reader to read the resource.
-        try ( Reader reader = createReader(ResourceServerDao.class, resource) )
+        FileWatcher current = watcher;
+
+        if (current == null)
         {
-            // The type of the object to be loaded.
-            Type type = new TypeToken<ArrayList<ResourceServerEntity>>(){}.getType();
+            return;
+        }
+
+        watcher = null;
 
-            // Convert the JSON in the resource into a list of ResourceServerEntity.
-            return new Gson().fromJson(reader, type);
+        try
+        {
+            current.close();
         }
         catch (IOException e)
         {
-            // Failed to read the resource.
-            e.printStackTrace();
+            logger.warn("Failed to stop watching the resource servers: {}", e.getMessage());
+        }
+    }
+
+
+    /**
+     * Reload the resource servers from the file of {@link
+     * ServerConfig#getResourceServersFile()}. This is called when the file
+     * changes.
+     *
+     * @return
+     *         {@code true} if the resource servers have been replaced,
+     *         {@code false} if no file is configured or it could not be
+     *         loaded, in which case the current resource servers are kept.
+     */
+    public static boolean reload()
+    {
+        Path file = getFile();
+
+        if (file == null)
+        {
+            return false;
+        }
 
-            return Collections.emptyList();
+        ResourceServerSnapshot snapshot;
+
+        try
+        {
+            snapshot = load(file);
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            logger.warn("Kept the current resource servers; {} could not be loaded: {}",
+                    file, e.getMessage());
+
+            return false;
         }
+
+        ResourceServerSnapshotHolder.INSTANCE.set(snapshot);
+
+        logger.info("Loaded {} resource servers from {}.", snapshot.size(), file);
+
+        return true;
     }
 
 
@@ -97,6 +228,6 @@ public class ResourceServerDao extends BaseDao
      */
     public static ResourceServerEntity get(String rsId)
     {
-        return ResourceServerEntityHolder.INSTANCE.get(rsId);
+        return ResourceServerSnapshotHolder.INSTANCE.get().get(rsId);
     }
 }
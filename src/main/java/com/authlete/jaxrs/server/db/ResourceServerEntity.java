@@ -19,6 +19,8 @@ package com.authlete.jaxrs.server.db;
 
 import java.io.Serializable;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import com.authlete.common.types.JWEAlg;
 import com.authlete.common.types.JWEEnc;
 import com.authlete.common.types.JWSAlg;
@@ -108,6 +110,7 @@ public class ResourceServerEntity implements Serializable
         this.introspectionEncryptionEnc                  = introspectionEncryptionEnc;
         this.sharedKeyForIntrospectionResponseSign       = sharedKeyForIntrospectionResponseSign;
         this.sharedKeyForIntrospectionResponseEncryption = sharedKeyForIntrospectionResponseEncryption;
+        this.publicKeyForIntrospectionResponseEncryption = publicKeyForIntrospectionResponseEncryption;
     }
 
 
@@ -135,6 +138,29 @@ public class ResourceServerEntity implements Serializable
     }
 
 
+    /**
+     * Tell whether the secret of the resource server is the given one, in
+     * time that does not depend on where the secrets differ.
+     *
+     * @param secret
+     *         A secret presented by a resource server.
+     *
+     * @return
+     *         {@code true} if the secret is the one of the resource server.
+     */
+    public boolean hasSecret(String secret)
+    {
+        if (this.secret == null || secret == null)
+        {
+            return false;
+        }
+
+        return MessageDigest.isEqual(
+                this.secret.getBytes(StandardCharsets.UTF_8),
+                secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+
     /**
      * Get the URI of the resource server.
      *
@@ -223,4 +249,16 @@ public class ResourceServerEntity implements Serializable
     {
         return publicKeyForIntrospectionResponseEncryption;
     }
+
+
+    /**
+     * Replace the public key for encrypting introspection responses with
+     * the given one. {@link ResourceServerSnapshot} sets the public members
+     * of the configured key, so that the members of a private key which were
+     * put in the file by mistake are never sent anywhere.
+     */
+    void setPublicKeyForIntrospectionResponseEncryption(String key)
+    {
+        this.publicKeyForIntrospectionResponseEncryption = key;
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.authlete.jaxrs.server.util.JsonCodec;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.nimbusds.jose.jwk.JWK;
+
+
+/**
+ * An immutable set of resource servers, keyed by their IDs.
+ *
+ * <p>
+ * A snapshot is validated as a whole when it is parsed: every resource
+ * server must have an ID and a secret, IDs must be unique, and a public key
+ * for encrypting introspection responses must be an asymmetric JWK, of
+ * which only the public members are kept. A file that does not pass is
+ * rejected, so that a mistake made while editing it does not take the
+ * resource servers that work away.
+ * </p>
+ */
+final class ResourceServerSnapshot
+{
+    static final ResourceServerSnapshot EMPTY =
+            new ResourceServerSnapshot(Collections.emptyMap());
+
+
+    private final Map<String, ResourceServerEntity> servers;
+
+
+    private ResourceServerSnapshot(Map<String, ResourceServerEntity> servers)
+    {
+        this.servers = servers;
+    }
+
+
+    /**
+     * Parse a JSON array of resource servers.
+     *
+     * @throws IllegalArgumentException
+     *         The JSON is malformed or a resource server is invalid.
+     */
+    static ResourceServerSnapshot parse(Reader reader)
+    {
+        Type type = new TypeToken<ArrayList<ResourceServerEntity>>(){}.getType();
+
+        List<ResourceServerEntity> list;
+
+        try
+        {
+            list = JsonCodec.read(reader, type);
+        }
+        catch (JsonParseException e)
+        {
+            throw new IllegalArgumentException("The resource servers are not valid JSON: " + e.getMessage(), e);
+        }
+
+        if (list == null)
+        {
+            throw new IllegalArgumentException("The resource servers are not a JSON array.");
+        }
+
+        Map<String, ResourceServerEntity> servers = new HashMap<>();
+
+        for (ResourceServerEntity server : list)
+        {
+            validate(server);
+
+            if (servers.put(server.getId(), server) != null)
+            {
+                throw new IllegalArgumentException("Duplicate resource server ID: " + server.getId());
+            }
+        }
+
+        return new ResourceServerSnapshot(Collections.unmodifiableMap(servers));
+    }
+
+
+    private static void validate(ResourceServerEntity server)
+    {
+        if (server == null || server.getId() == null || server.getId().isEmpty())
+        {
+            throw new IllegalArgumentException("A resource server has no ID.");
+        }
+
+        if (server.getSecret() == null)
+        {
+            throw new IllegalArgumentException(
+                    "The resource server '" + server.getId() + "' has no secret.");
+        }
+
+        String key = server.getPublicKeyForIntrospectionResponseEncryption();
+
+        if (key == null)
+        {
+            return;
+        }
+
+        JWK jwk;
+
+        try
+        {
+            jwk = JWK.parse(key).toPublicJWK();
+        }
+        catch (ParseException e)
+        {
+            throw new IllegalArgumentException("The public key of the resource server '"
+                    + server.getId() + "' is not a valid JWK: " + e.getMessage(), e);
+        }
+
+        // A symmetric key has no public part.
+        if (jwk == null)
+        {
+            throw new IllegalArgumentException("The public key of the resource server '"
+                    + server.getId() + "' is not an asymmetric key.");
+        }
+
+        server.setPublicKeyForIntrospectionResponseEncryption(jwk.toJSONString());
+    }
+
+
+    ResourceServerEntity get(String rsId)
+    {
+        return (rsId != null) ? servers.get(rsId) : null;
+    }
+
+
+    int size()
+    {
+        return servers.size();
+    }
+}
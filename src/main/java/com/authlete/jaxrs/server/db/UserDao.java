@@ -22,7 +22,6 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,13 +33,19 @@ import com.authlete.mdoc.constants.MDLConstants;
 
 /**
  * Operations to access the user database.
+ *
+ * <p>
+ * The operations are shortcuts to the {@link UserStore} given by
+ * {@link UserStores#getInstance()}. This class also holds the dummy users
+ * added to a new store.
+ * </p>
  */
 public class UserDao
 {
     /**
-     * Dummy user database.
+     * Dummy users, added to the user store when it is created.
      */
-    private static final Map<String, UserEntity> sUserDB = new HashMap<>();
+    private static final List<UserEntity> sBuiltInUsers = new ArrayList<>();
 
     static
     {
@@ -168,42 +173,6 @@ public class UserDao
     }
 
 
-    /**
-     * Condition for user search.
-     */
-    private static interface SearchCondition
-    {
-        boolean check(UserEntity ue);
-    }
-
-
-    /**
-     * Get a user who meets the condition.
-     *
-     * @param condition
-     *         The condition for searching a user.
-     *
-     * @return
-     *         A user who meets the condition.
-     */
-    private static User get(SearchCondition condition)
-    {
-        // For each user.
-        for (UserEntity ue : sUserDB.values())
-        {
-            // If the condition is satisfied.
-            if (condition.check(ue))
-            {
-                // Found the user who meets the condition.
-                return ue;
-            }
-        }
-
-        // Not found any user who meets the condition.
-        return null;
-    }
-
-
     /**
      * Get a user entity by a pair of login ID and password.
      *
@@ -218,20 +187,9 @@ public class UserDao
      *         {@code null} is returned if there is no user who has
      *         the login credentials.
      */
-    public static User getByCredentials(final String loginId, final String password)
+    public static User getByCredentials(String loginId, String password)
     {
-        return get(new SearchCondition() {
-            @Override
-            public boolean check(UserEntity ue)
-            {
-                String registeredLoginId  = ue.getLoginId();
-                String registeredPassword = ue.getPassword();
-
-                // Check if the user's credentials are the target ones.
-                return ((registeredLoginId  != null) && registeredLoginId .equals(loginId )) &&
-                       ((registeredPassword != null) && registeredPassword.equals(password));
-            }
-        });
+        return UserStores.getInstance().getByCredentials(loginId, password);
     }
 
 
@@ -246,16 +204,9 @@ public class UserDao
      *         {@code null} is returned if there is no user who has
      *         the subject.
      */
-    public static User getBySubject(final String subject)
+    public static User getBySubject(String subject)
     {
-        return get(new SearchCondition() {
-            @Override
-            public boolean check(UserEntity ue)
-            {
-                // Check if the user's subject is the target one.
-                return ue.getSubject().equals(subject);
-            }
-        });
+        return UserStores.getInstance().getBySubject(subject);
     }
 
 
@@ -270,19 +221,9 @@ public class UserDao
      *         {@code null} is returned if there is no user who has
      *         the email address.
      */
-    public static User getByEmail(final String email)
+    public static User getByEmail(String email)
     {
-        return get(new SearchCondition() {
-            @Override
-            public boolean check(UserEntity ue)
-            {
-                // Get the user's "email" claim.
-                String e = (String)ue.getClaim("email", null);
-
-                // Check if the user's email is the target one.
-                return e != null && e.equals(email);
-            }
-        });
+        return UserStores.getInstance().getByEmail(email);
     }
 
 
@@ -297,36 +238,32 @@ public class UserDao
      *         {@code null} is returned if there is no user who has
      *         the phone number.
      */
-    public static User getByPhoneNumber(final String phoneNumber)
+    public static User getByPhoneNumber(String phoneNumber)
     {
-        return get(new SearchCondition() {
-            @Override
-            public boolean check(UserEntity ue)
-            {
-                // Get the user's "phone_number" claim.
-                String ph = (String)ue.getClaim("phone_number", null);
-
-                // Check if the user's phone number is the target one.
-                return ph != null && ph.equals(phoneNumber);
-            }
-        });
+        return UserStores.getInstance().getByPhoneNumber(phoneNumber);
     }
 
 
     /**
-     * Add a user.
+     * Add a user, or replace the user that has the same subject.
      */
     public static void add(UserEntity entity)
     {
-        sUserDB.put(entity.getSubject(), entity);
+        UserStores.getInstance().add(entity);
+    }
+
+
+    /**
+     * Get the dummy users, which {@link UserStores} adds to a new store.
+     */
+    static List<UserEntity> getBuiltInUsers()
+    {
+        return sBuiltInUsers;
     }
 
 
     private static void addAll(UserEntity... entities)
     {
-        for (UserEntity entity : entities)
-        {
-            add(entity);
-        }
+        sBuiltInUsers.addAll(Arrays.asList(entities));
     }
 }
@@ -21,12 +21,13 @@ import java.io.Serializable;
 import java.net.URI;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import com.authlete.common.dto.Address;
 import com.authlete.common.types.StandardClaims;
 import com.authlete.common.types.User;
-import com.google.gson.Gson;
 import com.nimbusds.openid.connect.sdk.claims.Gender;
 import com.nimbusds.openid.connect.sdk.claims.UserInfo;
 
@@ -116,6 +117,41 @@ public class UserEntity implements User, Serializable
     private Map<String, Object> extraClaims = new HashMap<>();
 
 
+    /**
+     * Accessors of the claims held in the fields above, in the order of
+     * "OpenID Connect Core 1.0, 5.1. Standard Claims".
+     */
+    private static final Map<String, Function<UserEntity, Object>> CLAIM_ACCESSORS = new LinkedHashMap<>();
+
+
+    static
+    {
+        // "name", "email", "address" and "phone_number" can be requested by
+        // including "profile", "email", "address" and "phone" respectively
+        // in the "scope" parameter of an authorization request.
+        CLAIM_ACCESSORS.put(StandardClaims.NAME,                  user -> user.name);
+        CLAIM_ACCESSORS.put(StandardClaims.GIVEN_NAME,            user -> user.givenName);
+        CLAIM_ACCESSORS.put(StandardClaims.FAMILY_NAME,           user -> user.familyName);
+        CLAIM_ACCESSORS.put(StandardClaims.MIDDLE_NAME,           user -> user.middleName);
+        CLAIM_ACCESSORS.put(StandardClaims.NICKNAME,              user -> user.nickName);
+        CLAIM_ACCESSORS.put(StandardClaims.PREFERRED_USERNAME,    user -> user.preferredUsername);
+        CLAIM_ACCESSORS.put(StandardClaims.PROFILE,               user -> user.profile);
+        CLAIM_ACCESSORS.put(StandardClaims.PICTURE,               user -> user.picture);
+        CLAIM_ACCESSORS.put(StandardClaims.WEBSITE,               user -> user.website);
+        CLAIM_ACCESSORS.put(StandardClaims.EMAIL,                 user -> user.email);
+        CLAIM_ACCESSORS.put(StandardClaims.EMAIL_VERIFIED,        user -> user.emailVerified);
+        CLAIM_ACCESSORS.put(StandardClaims.GENDER,                user -> user.gender);
+        CLAIM_ACCESSORS.put(StandardClaims.BIRTHDATE,             user -> user.birthdate);
+        CLAIM_ACCESSORS.put(StandardClaims.ZONEINFO,              user -> user.zoneinfo);
+        CLAIM_ACCESSORS.put(StandardClaims.LOCALE,                user -> user.locale);
+        CLAIM_ACCESSORS.put(StandardClaims.PHONE_NUMBER,          user -> user.phoneNumber);
+        CLAIM_ACCESSORS.put(StandardClaims.PHONE_NUMBER_VERIFIED, user -> user.phoneNumberVerified);
+        CLAIM_ACCESSORS.put(StandardClaims.ADDRESS,               user -> toMap(user.address));
+        CLAIM_ACCESSORS.put(StandardClaims.UPDATED_AT,            user -> toEpochSeconds(user.updatedAt));
+        CLAIM_ACCESSORS.put("nationalities",                      user -> user.nationalities);
+    }
+
+
     /**
      * Constructor with initial values.
      */
@@ -289,87 +325,32 @@ public class UserEntity implements User, Serializable
         }
 
         // See "OpenID Connect Core 1.0, 5. Claims".
-        switch (claimName)
-        {
-            case StandardClaims.NAME:
-                // "name" claim. This claim can be requested by including "profile"
-                // in "scope" parameter of an authorization request.
-                return name;
-
-            case StandardClaims.EMAIL:
-                // "email" claim. This claim can be requested by including "email"
-                // in "scope" parameter of an authorization request.
-                return email;
-
-            case StandardClaims.ADDRESS:
-                // "address" claim. This claim can be requested by including "address"
-                // in "scope" parameter of an authorization request.
-                return toMap(address);
-
-            case StandardClaims.PHONE_NUMBER:
-                // "phone_number" claim. This claim can be requested by including "phone"
-                // in "scope" parameter of an authorization request.
-                return phoneNumber;
-
-            case StandardClaims.PHONE_NUMBER_VERIFIED:
-                return phoneNumberVerified;
-
-            case StandardClaims.EMAIL_VERIFIED:
-                return emailVerified;
-
-            case StandardClaims.BIRTHDATE:
-                return birthdate;
-
-            case StandardClaims.GIVEN_NAME:
-                return givenName;
+        Function<UserEntity, Object> accessor = CLAIM_ACCESSORS.get(claimName);
 
-            case StandardClaims.FAMILY_NAME:
-                return familyName;
-
-            case StandardClaims.MIDDLE_NAME:
-                return middleName;
-
-            case StandardClaims.NICKNAME:
-                return nickName;
-
-            case StandardClaims.PROFILE:
-                return profile;
-
-            case StandardClaims.PICTURE:
-                return picture;
-
-            case StandardClaims.WEBSITE:
-                return website;
-
-            case StandardClaims.GENDER:
-                return gender;
-
-            case StandardClaims.ZONEINFO:
-                return zoneinfo;
-
-            case StandardClaims.LOCALE:
-                return locale;
-
-            case StandardClaims.UPDATED_AT:
-                return updatedAt.getTime() / 1000l;
+        if (accessor != null)
+        {
+            return accessor.apply(this);
+        }
 
-            case StandardClaims.PREFERRED_USERNAME:
-                return preferredUsername;
+        // Unsupported claims are null.
+        return extraClaims.get(claimName);
+    }
 
-            case "nationalities":
-                return nationalities;
 
-            default:
-                break;
-        }
+    /**
+     * Get the accessor of a claim, which can be resolved once and applied
+     * to many users. See {@link ClaimPlan}.
+     */
+    static Function<UserEntity, Object> getClaimAccessor(String claimName)
+    {
+        Function<UserEntity, Object> accessor = CLAIM_ACCESSORS.get(claimName);
 
-        if (extraClaims.containsKey(claimName))
+        if (accessor != null)
         {
-            return extraClaims.get(claimName);
+            return accessor;
         }
 
-        // Unsupported claim.
-        return null;
+        return user -> user.extraClaims.get(claimName);
     }
 
 
@@ -423,7 +404,41 @@ public class UserEntity implements User, Serializable
     }
 
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Get the claims and attributes of this user that have a value, keyed as
+     * in the files of {@link MappedUserStore} and the tables of {@link
+     * JdbcUserStore}: attribute names are prefixed with {@code "@"}.
+     */
+    Map<String, Object> toFields()
+    {
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Function<UserEntity, Object>> entry : CLAIM_ACCESSORS.entrySet())
+        {
+            Object value = entry.getValue().apply(this);
+
+            if (value != null)
+            {
+                fields.put(entry.getKey(), value);
+            }
+        }
+
+        fields.putAll(extraClaims);
+
+        if (code != null)
+        {
+            fields.put(MappedUserFormat.ATTRIBUTE_PREFIX + "code", code);
+        }
+
+        for (Map.Entry<String, Object> entry : attributes.entrySet())
+        {
+            fields.put(MappedUserFormat.ATTRIBUTE_PREFIX + entry.getKey(), entry.getValue());
+        }
+
+        return fields;
+    }
+
+
     private static Map<String, Object> toMap(Address address)
     {
         if (address == null)
@@ -431,9 +446,34 @@ public class UserEntity implements User, Serializable
             return null;
         }
 
-        // This Gson instance does not serialize properties with null values.
-        Gson gson = new Gson();
+        // The same map as JsonCodec.toMap(address) yields, built without
+        // the round trip through a JSON tree. Properties with null values
+        // are not included.
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        putIfNotNull(map, "formatted",      address.getFormatted());
+        putIfNotNull(map, "street_address", address.getStreetAddress());
+        putIfNotNull(map, "locality",       address.getLocality());
+        putIfNotNull(map, "region",         address.getRegion());
+        putIfNotNull(map, "postal_code",    address.getPostalCode());
+        putIfNotNull(map, "country",        address.getCountry());
+
+        return map;
+    }
+
 
-        return gson.fromJson(gson.toJson(address), Map.class);
+    private static void putIfNotNull(Map<String, Object> map, String key, Object value)
+    {
+        if (value != null)
+        {
+            map.put(key, value);
+        }
+    }
+
+
+    private static Long toEpochSeconds(Date date)
+    {
+        // "updated_at" is not always known.
+        return (date != null) ? date.getTime() / 1000L : null;
     }
 }
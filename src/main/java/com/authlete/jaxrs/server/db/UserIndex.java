@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+
+/**
+ * The users of {@link UserDao}, indexed by subject (the primary key) and by
+ * login ID, email address and phone number.
+ *
+ * <p>
+ * Every index is a {@link ConcurrentHashMap}, so lookups take no lock and
+ * see the latest completed {@link #put(UserEntity)}. Writers are serialized
+ * so that replacing a user moves its secondary keys without racing another
+ * writer. When two users share a secondary key, adding one never takes the
+ * key away from the other; one of them is found, as with a scan.
+ * </p>
+ */
+class UserIndex
+{
+    /**
+     * A secondary index: how its key is taken from a user, and the map.
+     */
+    private static final class Secondary
+    {
+        final Function<UserEntity, String> keyOf;
+        final Map<String, UserEntity>      map = new ConcurrentHashMap<>();
+
+
+        Secondary(Function<UserEntity, String> keyOf)
+        {
+            this.keyOf = keyOf;
+        }
+    }
+
+
+    private final Map<String, UserEntity> bySubject     = new ConcurrentHashMap<>();
+    private final Secondary               byLoginId     = new Secondary(UserEntity::getLoginId);
+    private final Secondary               byEmail       = new Secondary(ue -> claim(ue, "email"));
+    private final Secondary               byPhoneNumber = new Secondary(ue -> claim(ue, "phone_number"));
+    private final Secondary[]             secondaries   = { byLoginId, byEmail, byPhoneNumber };
+    private final ReentrantLock           writeLock     = new ReentrantLock();
+
+
+    private static String claim(UserEntity ue, String claimName)
+    {
+        Object value = ue.getClaim(claimName, null);
+
+        return (value instanceof String) ? (String)value : null;
+    }
+
+
+    /**
+     * Add a user, or replace the user that has the same subject.
+     */
+    void put(UserEntity entity)
+    {
+        writeLock.lock();
+
+        try
+        {
+            UserEntity previous = bySubject.put(entity.getSubject(), entity);
+
+            for (Secondary secondary : secondaries)
+            {
+                reindex(secondary, previous, entity);
+            }
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+
+    private void reindex(Secondary secondary, UserEntity previous, UserEntity entity)
+    {
+        String oldKey = (previous != null) ? secondary.keyOf.apply(previous) : null;
+        String newKey = secondary.keyOf.apply(entity);
+
+        if (oldKey != null && oldKey.equals(newKey))
+        {
+            // The key stays; point it to the new entity if it pointed to
+            // the old one.
+            secondary.map.replace(oldKey, previous, entity);
+            return;
+        }
+
+        if (oldKey != null && secondary.map.remove(oldKey, previous))
+        {
+            // Another user may have the key the replaced one gave up. This
+            // happens only when shared keys change, so a scan is acceptable.
+            for (UserEntity other : bySubject.values())
+            {
+                if (oldKey.equals(secondary.keyOf.apply(other)))
+                {
+                    secondary.map.putIfAbsent(oldKey, other);
+                    break;
+                }
+            }
+        }
+
+        if (newKey != null)
+        {
+            secondary.map.putIfAbsent(newKey, entity);
+        }
+    }
+
+
+    UserEntity getBySubject(String subject)
+    {
+        return (subject != null) ? bySubject.get(subject) : null;
+    }
+
+
+    UserEntity getByLoginId(String loginId)
+    {
+        return get(byLoginId, loginId);
+    }
+
+
+    UserEntity getByEmail(String email)
+    {
+        return get(byEmail, email);
+    }
+
+
+    UserEntity getByPhoneNumber(String phoneNumber)
+    {
+        return get(byPhoneNumber, phoneNumber);
+    }
+
+
+    private static UserEntity get(Secondary secondary, String key)
+    {
+        return (key != null) ? secondary.map.get(key) : null;
+    }
+
+
+    int size()
+    {
+        return bySubject.size();
+    }
+}
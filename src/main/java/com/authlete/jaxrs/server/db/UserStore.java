@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import com.authlete.common.types.User;
+
+
+/**
+ * Where the users of this server live.
+ *
+ * <p>
+ * The store used by the server is given by {@link UserStores#getInstance()};
+ * {@link UserDao} is a static shortcut to it. Implementations must be safe
+ * for concurrent use.
+ * </p>
+ */
+public interface UserStore
+{
+    /**
+     * Get a user by a subject.
+     *
+     * @return
+     *         The user, or {@code null} if there is no user who has the
+     *         subject.
+     */
+    User getBySubject(String subject);
+
+
+    /**
+     * Get a user by a pair of login ID and password.
+     *
+     * @return
+     *         The user, or {@code null} if there is no user who has the
+     *         login credentials.
+     */
+    User getByCredentials(String loginId, String password);
+
+
+    /**
+     * Get a user by an email address.
+     *
+     * @return
+     *         The user, or {@code null} if there is no user who has the
+     *         email address.
+     */
+    User getByEmail(String email);
+
+
+    /**
+     * Get a user by a phone number.
+     *
+     * @return
+     *         The user, or {@code null} if there is no user who has the
+     *         phone number.
+     */
+    User getByPhoneNumber(String phoneNumber);
+
+
+    /**
+     * Add a user, or replace the user that has the same subject.
+     */
+    void add(UserEntity entity);
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import com.authlete.jaxrs.server.ServerConfig;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+
+/**
+ * Provides the {@link UserStore} configured by {@code users.store}.
+ *
+ * <p>
+ * With {@code memory}, the built-in users of {@link UserDao} are held in
+ * an {@link InMemoryUserStore}, backed by the {@link MappedUserStore} of
+ * {@code users.file} if set. With {@code jdbc}, a {@link JdbcUserStore}
+ * reads the database through a HikariCP connection pool and is wrapped in
+ * a {@link CachingUserStore}. When the configured store cannot be opened,
+ * the first use fails instead of falling back to the built-in users.
+ * </p>
+ */
+public final class UserStores
+{
+    private static final class Holder
+    {
+        private static final UserStore INSTANCE = create();
+    }
+
+
+    private UserStores()
+    {
+    }
+
+
+    /**
+     * Get the store shared by the whole server.
+     */
+    public static UserStore getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    private static UserStore create()
+    {
+        if ("jdbc".equals(ServerConfig.getUsersStore()))
+        {
+            return createJdbcStore();
+        }
+
+        UserStore store = new InMemoryUserStore(openBulkStore());
+
+        for (UserEntity entity : UserDao.getBuiltInUsers())
+        {
+            store.add(entity);
+        }
+
+        return store;
+    }
+
+
+    private static MappedUserStore openBulkStore()
+    {
+        String file = ServerConfig.getUsersFile();
+
+        if (file == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return MappedUserStore.open(Paths.get(file));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(
+                    "Failed to open the user store file: " + e.getMessage(), e);
+        }
+    }
+
+
+    private static UserStore createJdbcStore()
+    {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("users");
+        config.setJdbcUrl(ServerConfig.getUsersJdbcUrl());
+        config.setUsername(ServerConfig.getUsersJdbcUsername());
+        config.setPassword(ServerConfig.getUsersJdbcPassword());
+        config.setMaximumPoolSize(ServerConfig.getUsersJdbcPoolSize());
+
+        JdbcUserStore store = new JdbcUserStore(new HikariDataSource(config));
+
+        if (ServerConfig.isUsersJdbcCreateSchema())
+        {
+            store.createSchema();
+
+            for (UserEntity entity : UserDao.getBuiltInUsers())
+            {
+                store.add(entity);
+            }
+        }
+
+        return new CachingUserStore(store,
+                ServerConfig.getUsersCacheTtl() * 1000L,
+                ServerConfig.getUsersCacheMaxEntries());
+    }
+}
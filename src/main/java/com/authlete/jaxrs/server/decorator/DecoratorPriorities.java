@@ -17,6 +17,9 @@
 package com.authlete.jaxrs.server.decorator;
 
 
+import jakarta.ws.rs.Priorities;
+
+
 /**
  * Filter and interceptor priorities that are used as a parameter of
  * the {@link jakarta.annotation.Priority Priority} annotation.
@@ -26,12 +29,42 @@ package com.authlete.jaxrs.server.decorator;
  */
 public class DecoratorPriorities
 {
+    /*
+     * Priorities for ContainerRequestFilter implementations.
+     *
+     * <p>
+     * The smaller the priority, the earlier the filter is executed.
+     * Pre-matching filters are executed before all the others.
+     * </p>
+     */
+    public static final int REQUEST_METRICS_REQUEST_FILTER   = 50;
+    public static final int TRACING_FILTER                   = 60;
+    public static final int ADMISSION_CONTROL_REQUEST_FILTER = 100;
+
+
     /*
      * Priorities for ContainerResponseFilter implementations.
      *
      * <p>
      * The smaller the priority, the later the filter is executed.
+     * TracingFilter is also a ContainerResponseFilter; with TRACING_FILTER
+     * above, it is executed after all of these, so its Server-Timing header
+     * covers their work too.
      * </p>
      */
     public static final int FAPI_INTERACTION_ID_RESPONSE_FILTER = 40200;
+    public static final int RATE_LIMIT_HEADERS_RESPONSE_FILTER  = 40300;
+
+
+    /*
+     * Priorities for WriterInterceptor implementations.
+     *
+     * <p>
+     * The smaller the priority, the earlier the interceptor is executed,
+     * i.e. the closer its output stream is to the network. The class also
+     * acts as a ContainerResponseFilter, where this value makes it run
+     * after the filters above.
+     * </p>
+     */
+    public static final int RESPONSE_COMPRESSION_INTERCEPTOR = Priorities.ENTITY_CODER;
 }
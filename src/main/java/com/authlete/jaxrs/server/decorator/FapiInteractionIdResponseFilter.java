@@ -26,6 +26,8 @@ import jakarta.ws.rs.container.ContainerResponseFilter;
 import jakarta.ws.rs.ext.Provider;
 import com.authlete.jaxrs.server.http.CustomHttpHeaders;
 import com.authlete.jaxrs.server.http.RequestUtility;
+import com.authlete.jaxrs.server.trace.RequestTrace;
+import com.authlete.jaxrs.server.trace.TracingFilter;
 
 
 /**
@@ -34,8 +36,9 @@ import com.authlete.jaxrs.server.http.RequestUtility;
  *
  * <p>
  * When the HTTP request contains the {@code x-fapi-interaction-id} HTTP header,
- * the same value is used. Otherwise, a random UUID is generated and used as the
- * value of the {@code x-fapi-interaction-id} HTTP header of the HTTP response.
+ * the same value is used. Otherwise, the ID of the request's {@link RequestTrace}
+ * is used, so that the value matches the server's logs, or a random UUID is
+ * generated when the request is not traced.
  * </p>
  *
  * @see <a href="https://bitbucket.org/openid/fapi/src/master/FAPI_2_0_Implementation_Advice.md">
@@ -63,8 +66,8 @@ public class FapiInteractionIdResponseFilter implements ContainerResponseFilter
         // If the request does not contain the x-fapi-interaction-id HTTP header.
         if (interactionId == null)
         {
-            // Generate a random x-fapi-interaction-id.
-            interactionId = generateInteractionId();
+            // The ID of the trace, or a random x-fapi-interaction-id.
+            interactionId = traceIdOrGenerate(requestContext);
         }
 
         // Add the x-fapi-interaction-id HTTP header to the HTTP response.
@@ -76,6 +79,19 @@ public class FapiInteractionIdResponseFilter implements ContainerResponseFilter
     }
 
 
+    private static String traceIdOrGenerate(ContainerRequestContext requestContext)
+    {
+        Object trace = requestContext.getProperty(TracingFilter.TRACE);
+
+        if (trace instanceof RequestTrace)
+        {
+            return ((RequestTrace)trace).getId();
+        }
+
+        return generateInteractionId();
+    }
+
+
     private static final String generateInteractionId()
     {
         return UUID.randomUUID().toString();
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.decorator;
+
+
+import java.io.IOException;
+import java.util.List;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import com.authlete.jaxrs.server.ServerConfig;
+import com.authlete.jaxrs.server.http.CompressionStats;
+import com.authlete.jaxrs.server.http.DeferredGzipOutputStream;
+import com.authlete.jaxrs.server.http.DeflaterPool;
+import com.authlete.jaxrs.server.http.RepresentationCache;
+
+
+/**
+ * Gzip-compresses response bodies larger than {@code compression.min_size}
+ * bytes when the client accepts gzip.
+ *
+ * <p>
+ * The bodies that benefit are the large JSON and JWT documents, such as the
+ * credential issuer metadata, batch credential responses and userinfo
+ * responses carrying {@code verified_claims}. The work is split in two:
+ * </p>
+ *
+ * <ul>
+ *   <li>As a {@link ContainerResponseFilter}, this class decides whether the
+ *       response is eligible: it has a textual media type (JSON, JWT, text),
+ *       no {@code Content-Encoding} yet (documents served by
+ *       {@link RepresentationCache} are already compressed),
+ *       no {@code Cache-Control: no-transform}, and the request's
+ *       {@code Accept-Encoding} allows gzip. {@code Vary: Accept-Encoding}
+ *       is added to every response whose encoding depends on that header.</li>
+ *   <li>As a {@link WriterInterceptor}, it writes an eligible body through a
+ *       {@link DeferredGzipOutputStream}, which only starts compressing once
+ *       the body exceeds the threshold. At that point {@code Content-Encoding:
+ *       gzip} is set, {@code Content-Length} is dropped and a strong
+ *       {@code ETag} is made weak, since the compressed bytes are a different
+ *       representation of the same content.</li>
+ * </ul>
+ *
+ * <p>
+ * Deflaters come from a {@link DeflaterPool} and the bytes saved are
+ * recorded in {@link CompressionStats#getInstance()}.
+ * </p>
+ */
+@Provider
+@Priority(DecoratorPriorities.RESPONSE_COMPRESSION_INTERCEPTOR)
+public class ResponseCompressionInterceptor implements ContainerResponseFilter, WriterInterceptor
+{
+    /**
+     * The request property set by the filter for an eligible response.
+     */
+    private static final String PROPERTY = ResponseCompressionInterceptor.class.getName() + ".eligible";
+
+
+    private static final boolean ENABLED  = ServerConfig.isCompressionEnabled();
+    private static final int     MIN_SIZE = ServerConfig.getCompressionMinSize();
+
+    private static final DeflaterPool POOL = new DeflaterPool(
+            ServerConfig.getCompressionLevel(), 2 * Runtime.getRuntime().availableProcessors());
+
+
+    @Override
+    public void filter(
+            ContainerRequestContext requestContext,
+            ContainerResponseContext responseContext) throws IOException
+    {
+        if (!ENABLED || !responseContext.hasEntity())
+        {
+            return;
+        }
+
+        MultivaluedMap<String, Object> headers = responseContext.getHeaders();
+
+        if (headers.containsKey(HttpHeaders.CONTENT_ENCODING) ||
+            isNoTransform(headers) ||
+            !isCompressible(responseContext.getMediaType()) ||
+            isSmall(responseContext.getEntity()))
+        {
+            return;
+        }
+
+        addVary(headers);
+
+        if (RepresentationCache.acceptsGzip(
+                requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING)))
+        {
+            requestContext.setProperty(PROPERTY, Boolean.TRUE);
+        }
+    }
+
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException
+    {
+        if (context.getProperty(PROPERTY) == null)
+        {
+            context.proceed();
+            return;
+        }
+
+        MultivaluedMap<String, Object> headers = context.getHeaders();
+
+        DeferredGzipOutputStream out = new DeferredGzipOutputStream(
+                context.getOutputStream(), MIN_SIZE, POOL, CompressionStats.getInstance(),
+                () -> markCompressed(headers));
+
+        context.setOutputStream(out);
+
+        try
+        {
+            context.proceed();
+
+            // Write the rest of the body (the buffer, or the gzip trailer).
+            // The underlying stream is closed by the JAX-RS runtime.
+            out.finish();
+        }
+        finally
+        {
+            // If writing failed (e.g. the client went away), the pooled
+            // deflater would otherwise never be returned.
+            out.abort();
+        }
+    }
+
+
+    private static void markCompressed(MultivaluedMap<String, Object> headers)
+    {
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+        Object etag = headers.getFirst(HttpHeaders.ETAG);
+
+        if (etag != null && etag.toString().startsWith("\""))
+        {
+            headers.putSingle(HttpHeaders.ETAG, "W/" + etag);
+        }
+    }
+
+
+    private static boolean isCompressible(MediaType type)
+    {
+        if (type == null)
+        {
+            return false;
+        }
+
+        if (type.getType().equalsIgnoreCase("text"))
+        {
+            return true;
+        }
+
+        if (!type.getType().equalsIgnoreCase("application"))
+        {
+            return false;
+        }
+
+        String subtype = type.getSubtype().toLowerCase();
+
+        return subtype.equals("json")       || subtype.endsWith("+json") ||
+               subtype.equals("jwt")        || subtype.endsWith("+jwt")  ||
+               subtype.equals("jose")       || subtype.equals("xml")     ||
+               subtype.endsWith("+xml")     || subtype.equals("javascript");
+    }
+
+
+    private static boolean isSmall(Object entity)
+    {
+        // A UTF-8 encoded string is at most three bytes per char.
+        if (entity instanceof String)
+        {
+            return ((String)entity).length() * 3L <= MIN_SIZE;
+        }
+
+        if (entity instanceof byte[])
+        {
+            return ((byte[])entity).length <= MIN_SIZE;
+        }
+
+        // The size is unknown until the body is written.
+        return false;
+    }
+
+
+    private static boolean isNoTransform(MultivaluedMap<String, Object> headers)
+    {
+        List<Object> values = headers.get(HttpHeaders.CACHE_CONTROL);
+
+        if (values == null)
+        {
+            return false;
+        }
+
+        for (Object value : values)
+        {
+            if (value != null && value.toString().toLowerCase().contains("no-transform"))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    private static void addVary(MultivaluedMap<String, Object> headers)
+    {
+        List<Object> values = headers.get(HttpHeaders.VARY);
+
+        if (values != null)
+        {
+            for (Object value : values)
+            {
+                if (value != null && value.toString().toLowerCase().contains("accept-encoding"))
+                {
+                    return;
+                }
+            }
+        }
+
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+}
@@ -24,6 +24,8 @@ import java.text.MessageFormat;
 import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.authlete.jaxrs.server.trace.Span;
+import com.authlete.jaxrs.server.trace.SpanKind;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.proc.BadJOSEException;
@@ -346,7 +348,7 @@ public class Federation
 
     private HTTPResponse sendRequest(AbstractRequest request) throws IOException
     {
-        try
+        try (Span span = Span.start(SpanKind.FEDERATION, request.getClass().getSimpleName()))
         {
             // Send the request to the endpoint.
             return request.toHTTPRequest().send();
@@ -22,7 +22,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import com.google.gson.Gson;
+import com.authlete.jaxrs.server.util.JsonCodec;
 
 
 /**
@@ -118,6 +118,6 @@ public class FederationsConfigLoader
 
     public static FederationsConfig load(Reader reader) throws IOException
     {
-        return new Gson().fromJson(reader, FederationsConfig.class);
+        return JsonCodec.read(reader, FederationsConfig.class);
     }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.flow;
+
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import com.authlete.common.dto.AuthorizationResponse;
+import com.authlete.common.dto.Client;
+import com.authlete.common.dto.Scope;
+import com.authlete.common.dto.Service;
+import com.authlete.common.dto.StringArray;
+
+
+/**
+ * The part of an {@link AuthorizationResponse} that the authorization page
+ * and the decision endpoint need, small enough to travel in a form field.
+ *
+ * <p>
+ * The state is bound to the HTTP session of the browser to which the
+ * authorization page was sent, by a hash of the session ID. The session ID
+ * that the browser presents is available on any node, even one that does
+ * not hold the session, so the binding keeps the flow stateless. It stops
+ * another site from making the browser submit a flow state that it did not
+ * receive (cross-site request forgery).
+ * </p>
+ *
+ * <p>
+ * The client is not included; only its ID is, and it is fetched again (from
+ * the Authlete response cache in most cases) when the flow resumes.
+ * </p>
+ */
+public class AuthorizationFlowState
+{
+    private String     ticket;
+    private long       clientId;
+    private String     serviceName;
+    private String[]   scopeNames;
+    private String[]   scopeDescriptions;
+    private String[]   acrs;
+    private String[]   claims;
+    private String[]   claimsLocales;
+    private String     idTokenClaims;
+    private String[]   requestedClaimsForTx;
+    private String[][] requestedVerifiedClaimsForTx;
+    private String     loginHint;
+    private String     sessionHash;
+
+
+    /**
+     * Extract the state from a response of Authlete's
+     * {@code /auth/authorization} API.
+     *
+     * @param sessionId
+     *         The ID of the HTTP session to which the state is bound.
+     */
+    public static AuthorizationFlowState from(AuthorizationResponse info, String sessionId)
+    {
+        AuthorizationFlowState state = new AuthorizationFlowState();
+
+        state.sessionHash          = hashSessionId(sessionId);
+
+        state.ticket               = info.getTicket();
+        state.clientId             = (info.getClient() != null) ? info.getClient().getClientId() : 0;
+        state.serviceName          = (info.getService() != null) ? info.getService().getServiceName() : null;
+        state.acrs                 = info.getAcrs();
+        state.claims               = info.getClaims();
+        state.claimsLocales        = info.getClaimsLocales();
+        state.idTokenClaims        = info.getIdTokenClaims();
+        state.requestedClaimsForTx = info.getRequestedClaimsForTx();
+        state.loginHint            = info.getLoginHint();
+
+        Scope[] scopes = info.getScopes();
+
+        if (scopes != null)
+        {
+            state.scopeNames        = new String[scopes.length];
+            state.scopeDescriptions = new String[scopes.length];
+
+            for (int i = 0; i < scopes.length; i++)
+            {
+                state.scopeNames[i]        = scopes[i].getName();
+                state.scopeDescriptions[i] = scopes[i].getDescription();
+            }
+        }
+
+        StringArray[] verified = info.getRequestedVerifiedClaimsForTx();
+
+        if (verified != null)
+        {
+            state.requestedVerifiedClaimsForTx = new String[verified.length][];
+
+            for (int i = 0; i < verified.length; i++)
+            {
+                state.requestedVerifiedClaimsForTx[i] =
+                        (verified[i] != null) ? verified[i].getArray() : null;
+            }
+        }
+
+        return state;
+    }
+
+
+    /**
+     * Rebuild an {@link AuthorizationResponse} holding the saved part.
+     *
+     * @param client
+     *         The client, fetched again by {@link #getClientId()}.
+     */
+    public AuthorizationResponse toAuthorizationResponse(Client client)
+    {
+        AuthorizationResponse info = new AuthorizationResponse();
+
+        info.setTicket(ticket);
+        info.setClient(client);
+        info.setService(new Service().setServiceName(serviceName));
+        info.setAcrs(acrs);
+        info.setClaims(claims);
+        info.setClaimsLocales(claimsLocales);
+        info.setIdTokenClaims(idTokenClaims);
+        info.setRequestedClaimsForTx(requestedClaimsForTx);
+        info.setLoginHint(loginHint);
+
+        if (scopeNames != null)
+        {
+            Scope[] scopes = new Scope[scopeNames.length];
+
+            for (int i = 0; i < scopes.length; i++)
+            {
+                scopes[i] = new Scope().setName(scopeNames[i]).setDescription(scopeDescriptions[i]);
+            }
+
+            info.setScopes(scopes);
+        }
+
+        if (requestedVerifiedClaimsForTx != null)
+        {
+            StringArray[] verified = new StringArray[requestedVerifiedClaimsForTx.length];
+
+            for (int i = 0; i < verified.length; i++)
+            {
+                verified[i] = (requestedVerifiedClaimsForTx[i] != null)
+                        ? new StringArray(requestedVerifiedClaimsForTx[i]) : null;
+            }
+
+            info.setRequestedVerifiedClaimsForTx(verified);
+        }
+
+        return info;
+    }
+
+
+    /**
+     * Tell whether the state is bound to an HTTP session.
+     *
+     * @param sessionId
+     *         The ID of the session that the browser presents, i.e.
+     *         {@code HttpServletRequest.getRequestedSessionId()}.
+     */
+    public boolean isBoundTo(String sessionId)
+    {
+        if (sessionHash == null || sessionId == null)
+        {
+            return false;
+        }
+
+        return MessageDigest.isEqual(
+                sessionHash.getBytes(StandardCharsets.US_ASCII),
+                hashSessionId(sessionId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+
+    private static String hashSessionId(String sessionId)
+    {
+        if (sessionId == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(sessionId.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            // SHA-256 is always available.
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    public String getTicket()
+    {
+        return ticket;
+    }
+
+
+    public long getClientId()
+    {
+        return clientId;
+    }
+
+
+    public String[] getAcrs()
+    {
+        return acrs;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.flow;
+
+
+/**
+ * The state of an ID federation round trip: what {@code FederationEndpoint}
+ * needs when the external OpenID Provider redirects the browser back.
+ */
+public class FederationFlowState
+{
+    private String state;
+    private String codeVerifier;
+    private String authorization;
+
+
+    public FederationFlowState()
+    {
+    }
+
+
+    /**
+     * @param authorization
+     *         The sealed {@link AuthorizationFlowState} of the authorization
+     *         page from which the federation was started.
+     */
+    public FederationFlowState(String state, String codeVerifier, String authorization)
+    {
+        this.state         = state;
+        this.codeVerifier  = codeVerifier;
+        this.authorization = authorization;
+    }
+
+
+    public String getState()
+    {
+        return state;
+    }
+
+
+    public String getCodeVerifier()
+    {
+        return codeVerifier;
+    }
+
+
+    public String getAuthorization()
+    {
+        return authorization;
+    }
+}
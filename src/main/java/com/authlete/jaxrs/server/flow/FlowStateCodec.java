@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.flow;
+
+
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import com.authlete.jaxrs.server.util.JsonCodec;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWEHeader;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.DirectDecrypter;
+import com.nimbusds.jose.crypto.DirectEncrypter;
+
+
+/**
+ * Seals the state of a browser flow into a compact string that the browser
+ * carries instead of the server's HTTP session, and opens it again.
+ *
+ * <p>
+ * The state is serialized to JSON together with a purpose and an expiration
+ * time and encrypted as a compact JWE with direct AES-256-GCM, so it can be
+ * neither read nor altered by the browser. A value sealed for one purpose
+ * is not accepted for another.
+ * </p>
+ *
+ * <p>
+ * The payload is not compressed: it mixes values chosen by the client (such
+ * as requested claims) with secrets (such as a PKCE verifier), and the
+ * length of a compressed ciphertext would leak information about them.
+ * </p>
+ */
+public class FlowStateCodec
+{
+    private static final JWEHeader HEADER =
+            new JWEHeader(JWEAlgorithm.DIR, EncryptionMethod.A256GCM);
+
+
+    private final SecretKey    key;
+    private final LongSupplier clock;
+
+
+    /**
+     * @param key
+     *         A 256-bit AES key shared by every node that may receive the
+     *         sealed values.
+     */
+    public FlowStateCodec(byte[] key)
+    {
+        this(key, System::currentTimeMillis);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    FlowStateCodec(byte[] key, LongSupplier clock)
+    {
+        if (key == null || key.length != 32)
+        {
+            throw new IllegalArgumentException("The flow state key must be 256 bits long.");
+        }
+
+        this.key   = new SecretKeySpec(key, "AES");
+        this.clock = clock;
+    }
+
+
+    /**
+     * Seal a state.
+     *
+     * @param purpose
+     *         What the value is for; {@link #open} must be given the same.
+     *
+     * @param state
+     *         The state, serialized with {@link JsonCodec}.
+     *
+     * @param ttlMillis
+     *         How long the sealed value can be opened.
+     */
+    public String seal(String purpose, Object state, long ttlMillis)
+    {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("typ",  purpose);
+        envelope.put("exp",  clock.getAsLong() + ttlMillis);
+        envelope.put("data", state);
+
+        try
+        {
+            JWEObject jwe = new JWEObject(HEADER, new Payload(JsonCodec.toJson(envelope)));
+            jwe.encrypt(new DirectEncrypter(key));
+
+            return jwe.serialize();
+        }
+        catch (JOSEException e)
+        {
+            throw new IllegalStateException("Failed to seal a flow state: " + e.getMessage(), e);
+        }
+    }
+
+
+    /**
+     * Open a sealed state.
+     *
+     * @return
+     *         The state, or {@code null} if the value is missing, has been
+     *         altered, was sealed with another key or for another purpose,
+     *         or has expired.
+     */
+    public <T> T open(String purpose, String sealed, Class<T> klass)
+    {
+        if (sealed == null || sealed.isEmpty())
+        {
+            return null;
+        }
+
+        JsonObject envelope;
+
+        try
+        {
+            JWEObject jwe = JWEObject.parse(sealed);
+            jwe.decrypt(new DirectDecrypter(key));
+
+            envelope = JsonCodec.fromJson(jwe.getPayload().toString(), JsonObject.class);
+        }
+        catch (ParseException | JOSEException | RuntimeException e)
+        {
+            return null;
+        }
+
+        JsonElement typ  = envelope.get("typ");
+        JsonElement exp  = envelope.get("exp");
+        JsonElement data = envelope.get("data");
+
+        if (typ == null || !purpose.equals(typ.getAsString()) ||
+            exp == null || clock.getAsLong() > exp.getAsLong() || data == null)
+        {
+            return null;
+        }
+
+        return JsonCodec.gson().fromJson(data, klass);
+    }
+}
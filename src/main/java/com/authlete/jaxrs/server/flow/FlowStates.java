@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.flow;
+
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.authlete.jaxrs.server.ServerConfig;
+
+
+/**
+ * Entry point to the stateless authorization flow configured by
+ * {@code authorization.stateless}.
+ *
+ * <p>
+ * In that mode, the authorization page carries a sealed
+ * {@link AuthorizationFlowState} in the {@value #PARAMETER} form field
+ * (which the ID federation buttons submit, too) instead of storing the
+ * request parameters, the ACRs, the client and the page model in the HTTP
+ * session, so any node can process the end-user's decision. The HTTP
+ * session is still used for the login state of the end-user.
+ * </p>
+ */
+public final class FlowStates
+{
+    /**
+     * The name of the form field that carries the sealed authorization flow
+     * state.
+     */
+    public static final String PARAMETER = "flowState";
+
+
+    /**
+     * The purpose of a sealed {@link AuthorizationFlowState}.
+     */
+    public static final String AUTHORIZATION = "authorization";
+
+
+    /**
+     * The purpose of a sealed {@link FederationFlowState}.
+     */
+    public static final String FEDERATION = "federation";
+
+
+    private static final class Holder
+    {
+        private static final FlowStateCodec INSTANCE = new FlowStateCodec(loadKey());
+    }
+
+
+    private FlowStates()
+    {
+    }
+
+
+    /**
+     * Tell whether the authorization flow keeps its state out of the HTTP
+     * session.
+     */
+    public static boolean isStateless()
+    {
+        return ServerConfig.isAuthorizationStateless();
+    }
+
+
+    /**
+     * Get the codec shared by the whole server.
+     */
+    public static FlowStateCodec getCodec()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    /**
+     * Get how long a sealed flow state is accepted, in milliseconds.
+     */
+    public static long getTtlMillis()
+    {
+        return ServerConfig.getAuthorizationStateTtl() * 1000L;
+    }
+
+
+    private static byte[] loadKey()
+    {
+        String encoded = ServerConfig.getAuthorizationStateKey();
+
+        if (encoded != null && !encoded.trim().isEmpty())
+        {
+            return Base64.getUrlDecoder().decode(encoded.trim());
+        }
+
+        Logger logger = LoggerFactory.getLogger(FlowStates.class);
+        logger.warn("authorization.state_key is not set. A random key is used, so "
+                  + "flow states issued by this process cannot be read by other nodes.");
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+
+        return key;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+import jakarta.ws.rs.core.MediaType;
+
+
+/**
+ * An immutable, ready-to-send representation of a document: its UTF-8 bytes,
+ * a gzip-compressed copy and a strong entity tag for each.
+ *
+ * <p>
+ * The entity tag is derived from a SHA-256 hash of the bytes, so it changes
+ * exactly when the document changes and is the same on every server
+ * instance. The gzip-encoded variant has its own entity tag (suffixed with
+ * {@code -gz}) because it is a different representation.
+ * </p>
+ */
+final class CachedRepresentation
+{
+    /**
+     * Documents smaller than this are not worth compressing.
+     */
+    static final int GZIP_MIN_BYTES = 256;
+
+
+    final String    source;   // null when built from bytes
+    final MediaType type;
+    final byte[]    identity;
+    final byte[]    gzip;
+    final String    etag;
+    final String    gzipEtag;
+
+
+    private CachedRepresentation(
+            String source, MediaType type, byte[] identity, byte[] gzip, String etag)
+    {
+        this.source   = source;
+        this.type     = type;
+        this.identity = identity;
+        this.gzip     = gzip;
+        this.etag     = "\"" + etag + "\"";
+        this.gzipEtag = "\"" + etag + "-gz\"";
+    }
+
+
+    /**
+     * Encode, compress and hash a document.
+     */
+    static CachedRepresentation build(String source, MediaType type)
+    {
+        return build(source, type, source.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Compress and hash a document that is already encoded, e.g. the entity
+     * of a response built by {@code ResponseUtil}.
+     */
+    static CachedRepresentation build(byte[] identity, MediaType type)
+    {
+        return build(null, type, identity);
+    }
+
+
+    private static CachedRepresentation build(String source, MediaType type, byte[] identity)
+    {
+        byte[] gzip     = (identity.length < GZIP_MIN_BYTES) ? null : gzip(identity);
+
+        // Keep the compressed copy only when it is actually smaller.
+        if (gzip != null && gzip.length >= identity.length)
+        {
+            gzip = null;
+        }
+
+        return new CachedRepresentation(source, type, identity, gzip, hash(identity));
+    }
+
+
+    /**
+     * Tell whether this representation was built from the given document.
+     * The identity check succeeds without comparing characters when the
+     * document comes from the same cached Authlete response.
+     */
+    boolean isBuiltFrom(String document, MediaType documentType)
+    {
+        return source != null &&
+               (source == document || source.equals(document)) && type.equals(documentType);
+    }
+
+
+    /**
+     * Tell whether this representation has the given bytes.
+     */
+    boolean isBuiltFrom(byte[] document, MediaType documentType)
+    {
+        return Arrays.equals(identity, document) && type.equals(documentType);
+    }
+
+
+    private static byte[] gzip(byte[] input)
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+
+        try (GZIPOutputStream gz = new GZIPOutputStream(out))
+        {
+            gz.write(input);
+        }
+        catch (IOException e)
+        {
+            // Writing to memory does not fail.
+            return null;
+        }
+
+        return out.toByteArray();
+    }
+
+
+    private static String hash(byte[] input)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(input);
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            // SHA-256 is available on every Java platform.
+            throw new IllegalStateException(e);
+        }
+    }
+}
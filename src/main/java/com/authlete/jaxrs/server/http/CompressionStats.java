@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Counters of the responses compressed by the server.
+ *
+ * <p>
+ * The counters are {@link LongAdder}s, so recording from many request
+ * threads at once does not contend on a single memory location.
+ * </p>
+ */
+public final class CompressionStats
+{
+    private static final class Holder
+    {
+        private static final CompressionStats INSTANCE = new CompressionStats();
+    }
+
+
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder bytesIn   = new LongAdder();
+    private final LongAdder bytesOut  = new LongAdder();
+
+
+    /**
+     * Package-private constructor; tests use their own counters.
+     */
+    CompressionStats()
+    {
+    }
+
+
+    /**
+     * Get the counters shared by the whole server.
+     */
+    public static CompressionStats getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    /**
+     * Record one compressed response.
+     *
+     * @param uncompressed
+     *         The size of the entity before compression.
+     *
+     * @param compressed
+     *         The size of the entity sent, including the gzip framing.
+     */
+    public void record(long uncompressed, long compressed)
+    {
+        responses.increment();
+        bytesIn.add(uncompressed);
+        bytesOut.add(compressed);
+    }
+
+
+    /**
+     * Get the number of responses compressed so far.
+     */
+    public long getResponses()
+    {
+        return responses.sum();
+    }
+
+
+    /**
+     * Get the total size of the compressed entities before compression.
+     */
+    public long getBytesIn()
+    {
+        return bytesIn.sum();
+    }
+
+
+    /**
+     * Get the total size of the compressed entities as sent.
+     */
+    public long getBytesOut()
+    {
+        return bytesOut.sum();
+    }
+
+
+    /**
+     * Get the number of bytes that compression kept off the wire.
+     */
+    public long getBytesSaved()
+    {
+        return getBytesIn() - getBytesOut();
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+
+/**
+ * An output stream that gzip-compresses what is written to it, but only
+ * once more than a threshold number of bytes have been written.
+ *
+ * <p>
+ * Up to the threshold, the bytes are held in a buffer and nothing reaches
+ * the underlying stream, so the HTTP response headers are still open. If
+ * the entity ends within the threshold, {@link #finish()} writes the buffer
+ * as is. Otherwise the {@code onCompress} callback runs just before the
+ * first compressed byte is written (which is where {@code Content-Encoding}
+ * is set), and the rest of the entity is deflated with a {@link Deflater}
+ * borrowed from a {@link DeflaterPool}. The gzip header and trailer
+ * (RFC 1952) are written by this class because
+ * {@link java.util.zip.GZIPOutputStream} cannot use a pooled deflater.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe; one is created per response.
+ * </p>
+ */
+public final class DeferredGzipOutputStream extends OutputStream
+{
+    private static final byte[] GZIP_HEADER = {
+            (byte)0x1f, (byte)0x8b,  // ID1, ID2
+            Deflater.DEFLATED,       // CM
+            0,                       // FLG
+            0, 0, 0, 0,              // MTIME
+            0,                       // XFL
+            (byte)0xff               // OS (unknown)
+    };
+
+
+    private static final int CHUNK_SIZE = 8192;
+
+
+    private final OutputStream     out;
+    private final int              threshold;
+    private final DeflaterPool     pool;
+    private final CompressionStats stats;
+    private final Runnable         onCompress;
+
+    private byte[]   buffer;
+    private int      count;
+    private Deflater deflater;
+    private CRC32    crc;
+    private byte[]   chunk;
+    private long     bytesIn;
+    private long     bytesOut;
+    private boolean  finished;
+
+
+    /**
+     * Constructor.
+     *
+     * @param out
+     *         The underlying stream.
+     *
+     * @param threshold
+     *         The entity size above which the entity is compressed.
+     *
+     * @param pool
+     *         The pool from which a deflater is borrowed.
+     *
+     * @param stats
+     *         The counters to which a compressed entity is recorded.
+     *
+     * @param onCompress
+     *         Called once, before the first compressed byte is written.
+     */
+    public DeferredGzipOutputStream(
+            OutputStream out, int threshold, DeflaterPool pool,
+            CompressionStats stats, Runnable onCompress)
+    {
+        this.out        = out;
+        this.threshold  = Math.max(0, threshold);
+        this.pool       = pool;
+        this.stats      = stats;
+        this.onCompress = onCompress;
+    }
+
+
+    /**
+     * Tell whether the entity is being compressed.
+     */
+    public boolean isCompressing()
+    {
+        return crc != null;
+    }
+
+
+    @Override
+    public void write(int b) throws IOException
+    {
+        write(new byte[] { (byte)b }, 0, 1);
+    }
+
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException
+    {
+        if (finished)
+        {
+            throw new IOException("The stream has already been finished.");
+        }
+
+        if (len == 0)
+        {
+            return;
+        }
+
+        if (crc == null)
+        {
+            // Still within the threshold.
+            if (count + len <= threshold)
+            {
+                if (buffer == null)
+                {
+                    buffer = new byte[threshold];
+                }
+
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+
+            startCompression();
+
+            if (count > 0)
+            {
+                deflate(buffer, 0, count);
+            }
+
+            buffer = null;
+        }
+
+        deflate(b, off, len);
+    }
+
+
+    @Override
+    public void flush() throws IOException
+    {
+        // While buffering, flushing would commit the response headers
+        // before it is known whether the entity is compressed.
+        if (crc != null)
+        {
+            out.flush();
+        }
+    }
+
+
+    /**
+     * Write whatever remains of the entity without closing the underlying
+     * stream. The buffered bytes are written as is if the threshold was
+     * never exceeded; otherwise the deflate stream and the gzip trailer are
+     * completed and the deflater is returned to the pool. Calling this
+     * method more than once has no effect.
+     */
+    public void finish() throws IOException
+    {
+        if (finished)
+        {
+            return;
+        }
+
+        finished = true;
+
+        if (crc == null)
+        {
+            if (count > 0)
+            {
+                out.write(buffer, 0, count);
+            }
+
+            buffer = null;
+            return;
+        }
+
+        try
+        {
+            deflater.finish();
+
+            while (!deflater.finished())
+            {
+                drain();
+            }
+
+            writeIntLE((int)crc.getValue());
+            writeIntLE((int)bytesIn);
+            bytesOut += 8;
+        }
+        finally
+        {
+            releaseDeflater();
+        }
+
+        stats.record(bytesIn, bytesOut);
+    }
+
+
+    /**
+     * Give up on the entity after writing it has failed, returning the
+     * deflater to the pool if one is held. Nothing more is written to the
+     * underlying stream. After {@link #finish()} has completed, this method
+     * has no effect.
+     */
+    public void abort()
+    {
+        finished = true;
+        buffer   = null;
+
+        releaseDeflater();
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            finish();
+        }
+        finally
+        {
+            // A deflater is still held only if finish() failed halfway.
+            releaseDeflater();
+            out.close();
+        }
+    }
+
+
+    private void startCompression() throws IOException
+    {
+        onCompress.run();
+
+        deflater = pool.acquire();
+        crc      = new CRC32();
+        chunk    = new byte[CHUNK_SIZE];
+
+        out.write(GZIP_HEADER);
+        bytesOut += GZIP_HEADER.length;
+    }
+
+
+    private void deflate(byte[] b, int off, int len) throws IOException
+    {
+        crc.update(b, off, len);
+        bytesIn += len;
+
+        deflater.setInput(b, off, len);
+
+        while (!deflater.needsInput())
+        {
+            drain();
+        }
+    }
+
+
+    private void drain() throws IOException
+    {
+        int n = deflater.deflate(chunk, 0, chunk.length, Deflater.NO_FLUSH);
+
+        if (n > 0)
+        {
+            out.write(chunk, 0, n);
+            bytesOut += n;
+        }
+    }
+
+
+    private void writeIntLE(int value) throws IOException
+    {
+        out.write(value         & 0xff);
+        out.write((value >>  8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+
+    private void releaseDeflater()
+    {
+        if (deflater != null)
+        {
+            pool.release(deflater);
+            deflater = null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Deflater;
+
+
+/**
+ * A bounded pool of raw ({@code nowrap}) {@link Deflater} instances.
+ *
+ * <p>
+ * A {@code Deflater} holds about 256 KB of native memory which is only
+ * released by {@link Deflater#end()} or by the cleaner after garbage
+ * collection. Creating one per response therefore costs far more than the
+ * compression itself on small JSON bodies; reusing them keeps the native
+ * footprint proportional to the number of concurrent compressions.
+ * </p>
+ *
+ * <p>
+ * When the pool is empty a new instance is created, and an instance
+ * returned to a full pool is ended immediately, so the pool never blocks.
+ * </p>
+ */
+public final class DeflaterPool
+{
+    private final int                          level;
+    private final ArrayBlockingQueue<Deflater> idle;
+
+
+    /**
+     * Constructor.
+     *
+     * @param level
+     *         The compression level (0-9, or -1 for the default level).
+     *
+     * @param capacity
+     *         The maximum number of idle instances kept.
+     */
+    public DeflaterPool(int level, int capacity)
+    {
+        this.level = level;
+        this.idle  = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+
+    /**
+     * Get a deflater ready for a new stream.
+     */
+    public Deflater acquire()
+    {
+        Deflater deflater = idle.poll();
+
+        return (deflater != null) ? deflater : new Deflater(level, true);
+    }
+
+
+    /**
+     * Give a deflater back to the pool. The caller must not use it
+     * afterwards.
+     */
+    public void release(Deflater deflater)
+    {
+        deflater.reset();
+
+        if (!idle.offer(deflater))
+        {
+            deflater.end();
+        }
+    }
+
+
+    /**
+     * Get the number of idle instances in the pool.
+     */
+    public int getIdleCount()
+    {
+        return idle.size();
+    }
+}
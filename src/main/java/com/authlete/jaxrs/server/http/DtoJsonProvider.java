@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import com.authlete.jaxrs.server.util.JsonCodec;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+
+/**
+ * JSON reader and writer for the classes in the {@code ad.dto} package (the
+ * messages exchanged with the CIBA authentication device simulator) and the
+ * {@code obb.model} package (the Open Banking Brasil request and response
+ * bodies).
+ *
+ * <p>
+ * Entities are parsed from and written to the entity streams directly with
+ * Gson's streaming {@link JsonReader} and {@link JsonWriter}, so neither an
+ * intermediate string nor a tree is built. UTF-8 output goes through a
+ * {@link Utf8StreamWriter}, which encodes the many short tokens of a JSON
+ * document without per-token allocation. The {@link TypeAdapter} of each
+ * class is looked up once and kept in a map, so a request only pays for the
+ * map lookup.
+ * </p>
+ *
+ * <p>
+ * The simulator messages use the shared {@link JsonCodec} configuration.
+ * The Open Banking Brasil bodies additionally serialize null properties,
+ * as they did when {@code ObbUtils} converted them to strings with
+ * {@code Utils.toJson()}.
+ * </p>
+ *
+ * <p>
+ * A malformed request body results in {@code 400 Bad Request}.
+ * </p>
+ */
+@Provider
+@Consumes({ MediaType.APPLICATION_JSON, "application/*+json" })
+@Produces({ MediaType.APPLICATION_JSON, "application/*+json" })
+public class DtoJsonProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object>
+{
+    private static final String AD_DTO_PACKAGE    = "com.authlete.jaxrs.server.ad.dto";
+    private static final String OBB_MODEL_PACKAGE = "com.authlete.jaxrs.server.obb.model";
+
+
+    private static final Gson AD_GSON  = JsonCodec.gson();
+    private static final Gson OBB_GSON = JsonCodec.gson().newBuilder().serializeNulls().create();
+
+
+    /**
+     * The Gson configuration and the type adapter used for one type.
+     */
+    private static final class Codec
+    {
+        final Gson                gson;
+        final TypeAdapter<Object> adapter;
+
+        @SuppressWarnings("unchecked")
+        Codec(Gson gson, Type type)
+        {
+            this.gson    = gson;
+            this.adapter = (TypeAdapter<Object>)gson.getAdapter(TypeToken.get(type));
+        }
+    }
+
+
+    private static final ConcurrentMap<Type, Codec> CODECS = new ConcurrentHashMap<>();
+
+
+    /**
+     * Tell whether instances of the given class are read and written by
+     * this provider.
+     */
+    public static boolean supports(Class<?> type)
+    {
+        Package pkg = type.getPackage();
+
+        if (pkg == null)
+        {
+            return false;
+        }
+
+        String name = pkg.getName();
+
+        return name.equals(AD_DTO_PACKAGE) || name.equals(OBB_MODEL_PACKAGE);
+    }
+
+
+    private static boolean supports(Class<?> type, MediaType mediaType)
+    {
+        if (!supports(type))
+        {
+            return false;
+        }
+
+        if (mediaType == null || mediaType.isWildcardType())
+        {
+            return true;
+        }
+
+        String subtype = mediaType.getSubtype();
+
+        return subtype.equalsIgnoreCase("json") || subtype.toLowerCase().endsWith("+json");
+    }
+
+
+    private static Codec codecFor(Class<?> type, Type genericType)
+    {
+        Type key = (genericType != null) ? genericType : type;
+
+        return CODECS.computeIfAbsent(key, t -> new Codec(
+                type.getPackage().getName().equals(OBB_MODEL_PACKAGE) ? OBB_GSON : AD_GSON, t));
+    }
+
+
+    private static Charset charsetOf(MediaType mediaType)
+    {
+        String name = (mediaType == null) ? null
+                    : mediaType.getParameters().get(MediaType.CHARSET_PARAMETER);
+
+        try
+        {
+            return (name == null) ? StandardCharsets.UTF_8 : Charset.forName(name);
+        }
+        catch (IllegalArgumentException e)
+        {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+
+    @Override
+    public boolean isReadable(
+            Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+    {
+        return supports(type, mediaType);
+    }
+
+
+    @Override
+    public Object readFrom(
+            Class<Object> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, String> httpHeaders,
+            InputStream entityStream) throws IOException
+    {
+        Codec codec = codecFor(type, genericType);
+
+        // The entity stream is closed by the JAX-RS runtime.
+        JsonReader in = codec.gson.newJsonReader(
+                new InputStreamReader(entityStream, charsetOf(mediaType)));
+
+        try
+        {
+            // An empty body is read as null, as Gson.fromJson() does.
+            if (in.peek() == JsonToken.END_DOCUMENT)
+            {
+                return null;
+            }
+        }
+        catch (EOFException e)
+        {
+            return null;
+        }
+        catch (MalformedJsonException e)
+        {
+            throw badRequest(e);
+        }
+
+        // Bad syntax is reported as MalformedJsonException, a truncated body
+        // as EOFException, and a mismatch between the JSON and the class as
+        // JsonParseException or IllegalStateException. Other IOExceptions
+        // are failures of the stream and are left to the runtime.
+        try
+        {
+            return codec.adapter.read(in);
+        }
+        catch (JsonParseException | IllegalStateException | MalformedJsonException | EOFException e)
+        {
+            throw badRequest(e);
+        }
+    }
+
+
+    private static BadRequestException badRequest(Exception cause)
+    {
+        return new BadRequestException("The request body is not valid JSON.", cause);
+    }
+
+
+    @Override
+    public boolean isWriteable(
+            Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType)
+    {
+        return supports(type, mediaType);
+    }
+
+
+    @Override
+    public void writeTo(
+            Object entity, Class<?> type, Type genericType, Annotation[] annotations,
+            MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+            OutputStream entityStream) throws IOException
+    {
+        Codec   codec   = codecFor(type, genericType);
+        Charset charset = charsetOf(mediaType);
+        Writer  writer  = charset.equals(StandardCharsets.UTF_8)
+                        ? new Utf8StreamWriter(entityStream)
+                        : new OutputStreamWriter(entityStream, charset);
+
+        // Flushed, but not closed; the entity stream belongs to the runtime.
+        JsonWriter out = codec.gson.newJsonWriter(writer);
+
+        codec.adapter.write(out, entity);
+        out.flush();
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import java.util.List;
+import java.util.Map;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.core.Response.Status;
+import com.authlete.jaxrs.server.util.ServerProperties;
+
+
+/**
+ * HTTP caching for an endpoint that serves a document which rarely changes,
+ * such as the discovery document or a JWK Set.
+ *
+ * <p>
+ * The endpoint still obtains the document in the usual way (through the
+ * resilient Authlete API, whose own cache keeps Authlete calls rare) and
+ * passes the resulting response to {@link #respond(Response, String, String)}.
+ * The cache keeps one {@link CachedRepresentation} of the document and
+ * rebuilds it only when the document differs from the one it was built
+ * from, so encoding, compression and hashing happen once per change of the
+ * Authlete data rather than once per request. The response then carries:
+ * </p>
+ *
+ * <ul>
+ *   <li>the precomputed bytes, gzip-compressed when the client accepts it;</li>
+ *   <li>a strong {@code ETag}, and {@code 304 Not Modified} without a body
+ *       when {@code If-None-Match} matches it;</li>
+ *   <li>{@code Cache-Control: public, max-age=N}, where N is configured by
+ *       {@code http.cache.max_age.{name}} or else {@code http.cache.max_age}
+ *       (default 300 seconds) in {@code java-oauth-server.properties}.</li>
+ * </ul>
+ *
+ * <p>
+ * Responses other than {@code 200 OK} are returned unchanged and never
+ * cached. Setting {@code http.cache.enabled} to {@code false} turns the
+ * whole mechanism off.
+ * </p>
+ */
+public final class RepresentationCache
+{
+    private static final ServerProperties PROPS = new ServerProperties();
+
+
+    private static final int DEFAULT_MAX_AGE = 300;
+
+
+    private final boolean enabled;
+    private final String  cacheControl;
+
+    private volatile CachedRepresentation current;
+
+
+    /**
+     * Create a cache for one endpoint.
+     *
+     * @param name
+     *         The name of the endpoint in the configuration keys, e.g.
+     *         {@code "jwks"} for {@code http.cache.max_age.jwks}.
+     */
+    public RepresentationCache(String name)
+    {
+        this(PROPS.getBoolean("http.cache.enabled", true),
+             PROPS.getInt("http.cache.max_age." + name,
+                     PROPS.getInt("http.cache.max_age", DEFAULT_MAX_AGE)));
+    }
+
+
+    /**
+     * Package-private constructor for testing.
+     */
+    RepresentationCache(boolean enabled, int maxAge)
+    {
+        this.enabled      = enabled;
+        this.cacheControl = (maxAge > 0) ? "public, max-age=" + maxAge : "no-cache";
+    }
+
+
+    /**
+     * Turn a response built by an endpoint into a cacheable one.
+     *
+     * @param upstream
+     *         The response built by the endpoint. Only a {@code 200 OK}
+     *         response with a string or byte array entity is processed.
+     *
+     * @param ifNoneMatch
+     *         The value of the {@code If-None-Match} request header, or
+     *         {@code null}.
+     *
+     * @param acceptEncoding
+     *         The value of the {@code Accept-Encoding} request header, or
+     *         {@code null}.
+     *
+     * @return
+     *         A {@code 200 OK} response with the cached bytes, a
+     *         {@code 304 Not Modified} response, or {@code upstream} as is.
+     */
+    public Response respond(Response upstream, String ifNoneMatch, String acceptEncoding)
+    {
+        Object entity = upstream.getEntity();
+
+        if (!enabled || upstream.getStatus() != Status.OK.getStatusCode() ||
+            !(entity instanceof String || entity instanceof byte[]))
+        {
+            return upstream;
+        }
+
+        MediaType type = upstream.getMediaType();
+
+        if (type == null)
+        {
+            type = MediaType.APPLICATION_JSON_TYPE;
+        }
+
+        CachedRepresentation rep = (entity instanceof String)
+                ? representationOf((String)entity, type)
+                : representationOf((byte[])entity, type);
+
+        return respond(rep, ifNoneMatch, acceptEncoding, upstream.getStringHeaders());
+    }
+
+
+    /**
+     * Serve a document that does not come from a response, e.g. a constant.
+     */
+    public Response respond(
+            String document, MediaType type, String ifNoneMatch, String acceptEncoding)
+    {
+        if (!enabled)
+        {
+            return Response.ok(document, type).build();
+        }
+
+        return respond(representationOf(document, type), ifNoneMatch, acceptEncoding, null);
+    }
+
+
+    private CachedRepresentation representationOf(String document, MediaType type)
+    {
+        CachedRepresentation rep = current;
+
+        if (rep != null && rep.isBuiltFrom(document, type))
+        {
+            return rep;
+        }
+
+        // Concurrent rebuilds after a change build equal representations,
+        // so the last write wins without harm.
+        rep = CachedRepresentation.build(document, type);
+        current = rep;
+
+        return rep;
+    }
+
+
+    private CachedRepresentation representationOf(byte[] document, MediaType type)
+    {
+        CachedRepresentation rep = current;
+
+        if (rep != null && rep.isBuiltFrom(document, type))
+        {
+            return rep;
+        }
+
+        rep = CachedRepresentation.build(document, type);
+        current = rep;
+
+        return rep;
+    }
+
+
+    private Response respond(
+            CachedRepresentation rep, String ifNoneMatch, String acceptEncoding,
+            Map<String, List<String>> upstreamHeaders)
+    {
+        boolean gzip = rep.gzip != null && acceptsGzip(acceptEncoding);
+        String  etag = gzip ? rep.gzipEtag : rep.etag;
+
+        ResponseBuilder builder;
+
+        if (matches(ifNoneMatch, etag))
+        {
+            builder = Response.notModified();
+        }
+        else
+        {
+            byte[] body = gzip ? rep.gzip : rep.identity;
+
+            builder = Response.ok(body, rep.type)
+                    .header(HttpHeaders.CONTENT_LENGTH, body.length);
+
+            if (gzip)
+            {
+                builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+        }
+
+        copyHeaders(builder, upstreamHeaders);
+
+        return builder
+                .header(HttpHeaders.ETAG, etag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+
+    private static void copyHeaders(ResponseBuilder builder, Map<String, List<String>> headers)
+    {
+        if (headers == null)
+        {
+            return;
+        }
+
+        for (Map.Entry<String, List<String>> header : headers.entrySet())
+        {
+            String name = header.getKey();
+
+            // Headers describing the body or its caching are replaced.
+            if (name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)     ||
+                name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)   ||
+                name.equalsIgnoreCase(HttpHeaders.CONTENT_ENCODING) ||
+                name.equalsIgnoreCase(HttpHeaders.CACHE_CONTROL)    ||
+                name.equalsIgnoreCase(HttpHeaders.ETAG)             ||
+                name.equalsIgnoreCase(HttpHeaders.VARY)             ||
+                name.equalsIgnoreCase("Pragma"))
+            {
+                continue;
+            }
+
+            for (String value : header.getValue())
+            {
+                builder.header(name, value);
+            }
+        }
+    }
+
+
+    /**
+     * Tell whether an {@code If-None-Match} header matches an entity tag.
+     * As RFC 9110 requires for {@code If-None-Match}, the weak comparison is
+     * used, i.e. a {@code W/} prefix is ignored.
+     *
+     * @param ifNoneMatch
+     *         The value of the {@code If-None-Match} request header, or
+     *         {@code null}.
+     *
+     * @param etag
+     *         A strong entity tag including the double quotes.
+     */
+    public static boolean matches(String ifNoneMatch, String etag)
+    {
+        if (ifNoneMatch == null)
+        {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(","))
+        {
+            String tag = candidate.trim();
+
+            if (tag.equals("*"))
+            {
+                return true;
+            }
+
+            if (tag.startsWith("W/"))
+            {
+                tag = tag.substring(2);
+            }
+
+            if (tag.equals(etag))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Tell whether an {@code Accept-Encoding} header allows gzip.
+     */
+    public static boolean acceptsGzip(String acceptEncoding)
+    {
+        if (acceptEncoding == null)
+        {
+            return false;
+        }
+
+        for (String element : acceptEncoding.split(","))
+        {
+            String[] parts  = element.split(";");
+            String   coding = parts[0].trim();
+
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equalsIgnoreCase("x-gzip"))
+            {
+                continue;
+            }
+
+            // "gzip;q=0" explicitly refuses gzip.
+            for (int i = 1; i < parts.length; i++)
+            {
+                String param = parts[i].trim();
+
+                if (param.startsWith("q=") && isZero(param.substring(2)))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+
+    private static boolean isZero(String qvalue)
+    {
+        try
+        {
+            return Double.parseDouble(qvalue.trim()) == 0.0;
+        }
+        catch (NumberFormatException e)
+        {
+            return false;
+        }
+    }
+}
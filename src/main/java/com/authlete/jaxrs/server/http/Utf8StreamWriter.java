@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+
+/**
+ * A {@link Writer} that encodes characters to UTF-8 into a fixed buffer and
+ * passes full buffers to an output stream.
+ *
+ * <p>
+ * A streaming JSON writer emits many short strings (names, punctuation,
+ * values). {@link java.io.OutputStreamWriter} wraps each of them in a new
+ * {@code CharBuffer} before encoding; this class encodes them in place, so
+ * the only allocation per stream is the buffer itself. Unpaired surrogates
+ * are written as {@code '?'}, as the standard encoder does.
+ * </p>
+ *
+ * <p>
+ * {@link #close()} flushes but does not close the underlying stream, which
+ * belongs to the caller. Instances are not thread-safe.
+ * </p>
+ */
+final class Utf8StreamWriter extends Writer
+{
+    private static final int DEFAULT_BUFFER_SIZE = 4096;
+
+
+    private final OutputStream out;
+    private final byte[]       buffer;
+    private int                count;
+    private char               highSurrogate;
+
+
+    Utf8StreamWriter(OutputStream out)
+    {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+
+    Utf8StreamWriter(OutputStream out, int bufferSize)
+    {
+        // Room for at least one 4-byte sequence.
+        this.out    = out;
+        this.buffer = new byte[Math.max(4, bufferSize)];
+    }
+
+
+    @Override
+    public void write(int c) throws IOException
+    {
+        encode((char)c);
+    }
+
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException
+    {
+        for (int i = off, end = off + len; i < end; i++)
+        {
+            encode(cbuf[i]);
+        }
+    }
+
+
+    @Override
+    public void write(String str, int off, int len) throws IOException
+    {
+        for (int i = off, end = off + len; i < end; i++)
+        {
+            encode(str.charAt(i));
+        }
+    }
+
+
+    private void encode(char c) throws IOException
+    {
+        if (buffer.length - count < 4)
+        {
+            drain();
+        }
+
+        if (highSurrogate != 0)
+        {
+            char high = highSurrogate;
+            highSurrogate = 0;
+
+            if (Character.isLowSurrogate(c))
+            {
+                int cp = Character.toCodePoint(high, c);
+
+                buffer[count++] = (byte)(0xF0 | (cp >> 18));
+                buffer[count++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+                buffer[count++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+                buffer[count++] = (byte)(0x80 | (cp & 0x3F));
+                return;
+            }
+
+            // The high surrogate was unpaired.
+            buffer[count++] = '?';
+
+            if (buffer.length - count < 4)
+            {
+                drain();
+            }
+        }
+
+        if (c < 0x80)
+        {
+            buffer[count++] = (byte)c;
+        }
+        else if (c < 0x800)
+        {
+            buffer[count++] = (byte)(0xC0 | (c >> 6));
+            buffer[count++] = (byte)(0x80 | (c & 0x3F));
+        }
+        else if (Character.isHighSurrogate(c))
+        {
+            highSurrogate = c;
+        }
+        else if (Character.isLowSurrogate(c))
+        {
+            buffer[count++] = '?';
+        }
+        else
+        {
+            buffer[count++] = (byte)(0xE0 | (c >> 12));
+            buffer[count++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte)(0x80 | (c & 0x3F));
+        }
+    }
+
+
+    private void drain() throws IOException
+    {
+        if (count > 0)
+        {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+
+    @Override
+    public void flush() throws IOException
+    {
+        drain();
+        out.flush();
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        if (highSurrogate != 0)
+        {
+            highSurrogate = 0;
+            write('?');
+        }
+
+        flush();
+    }
+}
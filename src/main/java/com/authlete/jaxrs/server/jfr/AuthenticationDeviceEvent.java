@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+
+/**
+ * A JFR event for one run of an {@code AuthenticationDeviceProcessor}, i.e.
+ * the background communication with the CIBA authentication device.
+ *
+ * <p>
+ * The duration of the event is the time spent communicating with (and
+ * waiting for) the device. The event is disabled by default; see
+ * {@code jfr/java-oauth-server.jfc}.
+ * </p>
+ */
+@Name("com.authlete.AuthenticationDevice")
+@Label("CIBA Authentication Device")
+@Category({ "Authlete", "CIBA" })
+@Description("A run of the processor communicating with the authentication device")
+@Enabled(false)
+@StackTrace(false)
+public class AuthenticationDeviceEvent extends Event
+{
+    private static final EventType TYPE = EventType.getEventType(AuthenticationDeviceEvent.class);
+
+
+    @Label("Mode")
+    @Description("The mode of communication with the device (SYNC, ASYNC or POLL)")
+    public String mode;
+
+    @Label("Queue Time")
+    @Description("Time from the backchannel authentication request to the start of the run")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueTime;
+
+    @Label("Failed")
+    @Description("Whether the run ended with an exception")
+    public boolean failed;
+
+
+    /**
+     * Create and begin an event if a recording has the event enabled.
+     *
+     * @param mode
+     *         The mode of communication with the device.
+     *
+     * @param queuedAt
+     *         The {@link System#nanoTime()} at which the run was scheduled.
+     *
+     * @return
+     *         The event, or {@code null} if the event is disabled.
+     */
+    public static AuthenticationDeviceEvent beginIfEnabled(String mode, long queuedAt)
+    {
+        if (!TYPE.isEnabled())
+        {
+            return null;
+        }
+
+        AuthenticationDeviceEvent event = new AuthenticationDeviceEvent();
+        event.mode      = mode;
+        event.queueTime = System.nanoTime() - queuedAt;
+        event.begin();
+
+        return event;
+    }
+}
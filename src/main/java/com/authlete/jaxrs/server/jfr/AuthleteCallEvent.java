@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * A JFR event for one call to an {@code AuthleteApi} method through the
+ * resilience layer, from the cache lookup to the last attempt.
+ *
+ * <p>
+ * The event is disabled by default; see {@code jfr/java-oauth-server.jfc}.
+ * Use {@link #beginIfEnabled(String)} to create it, so that no event object
+ * is created while no recording has it enabled.
+ * </p>
+ */
+@Name("com.authlete.AuthleteCall")
+@Label("Authlete API Call")
+@Category({ "Authlete", "Authlete API" })
+@Description("A call to the Authlete API, including retries and cache lookup")
+@Enabled(false)
+@StackTrace(false)
+public class AuthleteCallEvent extends Event
+{
+    private static final EventType TYPE = EventType.getEventType(AuthleteCallEvent.class);
+
+
+    /**
+     * The response was served from the cache.
+     */
+    public static final String CACHE_HIT = "hit";
+
+
+    /**
+     * The response was not cached and Authlete was called.
+     */
+    public static final String CACHE_MISS = "miss";
+
+
+    /**
+     * The response came from a call made by another thread for the same key.
+     */
+    public static final String CACHE_JOINED = "joined";
+
+
+    /**
+     * Authlete could not be reached and a stale cached response was served.
+     */
+    public static final String CACHE_STALE = "stale";
+
+
+    /**
+     * The method is not cacheable.
+     */
+    public static final String CACHE_NONE = "none";
+
+
+    @Label("Method")
+    public String method;
+
+    @Label("Attempts")
+    @Description("Calls made to Authlete; 0 when none was needed")
+    public int attempts;
+
+    @Label("Cache Outcome")
+    public String cacheOutcome;
+
+    @Label("Breaker State")
+    @Description("State of the method's circuit breaker after the call")
+    public String breakerState;
+
+    @Label("Status Code")
+    @Description("HTTP status of the Authlete error, 0 when the call succeeded")
+    public int statusCode;
+
+
+    /**
+     * Create and begin an event for the given method if a recording has the
+     * event enabled.
+     *
+     * @return
+     *         The event, or {@code null} if the event is disabled.
+     */
+    public static AuthleteCallEvent beginIfEnabled(String method)
+    {
+        if (!TYPE.isEnabled())
+        {
+            return null;
+        }
+
+        AuthleteCallEvent event = new AuthleteCallEvent();
+        event.method       = method;
+        event.cacheOutcome = CACHE_NONE;
+        event.begin();
+
+        return event;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * A JFR event for one certificate chain validation by {@code CertValidator}.
+ *
+ * <p>
+ * The event is disabled by default; see {@code jfr/java-oauth-server.jfc}.
+ * </p>
+ */
+@Name("com.authlete.CertValidation")
+@Label("Certificate Chain Validation")
+@Category({ "Authlete", "Security" })
+@Description("A PKIX validation of a client certificate chain")
+@Enabled(false)
+@StackTrace(false)
+public class CertValidationEvent extends Event
+{
+    private static final EventType TYPE = EventType.getEventType(CertValidationEvent.class);
+
+
+    @Label("Chain Length")
+    public int chainLength;
+
+    @Label("Subject")
+    @Description("Subject of the end-entity certificate")
+    public String subject;
+
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Failure Reason")
+    @Description("Why the validation failed, if it did")
+    public String failureReason;
+
+
+    /**
+     * Create and begin an event if a recording has the event enabled.
+     *
+     * @return
+     *         The event, or {@code null} if the event is disabled.
+     */
+    public static CertValidationEvent beginIfEnabled()
+    {
+        if (!TYPE.isEnabled())
+        {
+            return null;
+        }
+
+        CertValidationEvent event = new CertValidationEvent();
+        event.begin();
+
+        return event;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.logging;
+
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Marker;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+
+/**
+ * A logback {@link TurboFilter} that lets at most {@code maxPerSecond} events
+ * per logger and per second through, for events at or below {@code level}
+ * (DEBUG by default). Events above the level are never sampled.
+ *
+ * <p>
+ * A turbo filter runs before the event is created, so a dropped event costs
+ * neither message formatting nor a slot in the async appender's queue. Calls
+ * such as {@code isDebugEnabled()} are not counted against the budget; a line
+ * guarded by one is counted when it is actually logged.
+ * </p>
+ *
+ * <pre>
+ * &lt;turboFilter class="com.authlete.jaxrs.server.logging.RateSamplingTurboFilter"&gt;
+ *   &lt;level&gt;DEBUG&lt;/level&gt;
+ *   &lt;maxPerSecond&gt;20&lt;/maxPerSecond&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ *
+ * <p>
+ * The state of a logger is a single {@code long} holding the current second
+ * and the number of events let through in it, updated with compare-and-set,
+ * so the filter takes no locks.
+ * </p>
+ */
+public class RateSamplingTurboFilter extends TurboFilter
+{
+    /**
+     * Bits of the state holding the count; the rest hold the second.
+     */
+    private static final int  COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+
+    private final ConcurrentMap<String, AtomicLong> windows = new ConcurrentHashMap<>();
+    private final AtomicLong                        dropped = new AtomicLong();
+    private final LongSupplier                      clock;
+
+    private Level level        = Level.DEBUG;
+    private int   maxPerSecond = 20;
+
+
+    public RateSamplingTurboFilter()
+    {
+        this(System::currentTimeMillis);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    RateSamplingTurboFilter(LongSupplier clock)
+    {
+        this.clock = clock;
+    }
+
+
+    /**
+     * Set the most verbose level that is not sampled. Events at this level
+     * and below (e.g. DEBUG and TRACE) are sampled.
+     */
+    public void setLevel(String level)
+    {
+        this.level = Level.toLevel(level, Level.DEBUG);
+    }
+
+
+    /**
+     * Set the number of events per logger let through each second.
+     */
+    public void setMaxPerSecond(int maxPerSecond)
+    {
+        this.maxPerSecond = (int)Math.min(Math.max(maxPerSecond, 0), COUNT_MASK);
+    }
+
+
+    /**
+     * Get the number of events dropped so far.
+     */
+    public long getDroppedCount()
+    {
+        return dropped.get();
+    }
+
+
+    @Override
+    public FilterReply decide(
+            Marker marker, Logger logger, Level level, String format,
+            Object[] params, Throwable t)
+    {
+        // An isXxxEnabled() call, a level that is not sampled, or a level
+        // the logger drops anyway.
+        if (format == null || !isStarted() ||
+            level.toInt() > this.level.toInt() ||
+            !level.isGreaterOrEqual(logger.getEffectiveLevel()))
+        {
+            return FilterReply.NEUTRAL;
+        }
+
+        if (tryAcquire(windows.computeIfAbsent(logger.getName(), name -> new AtomicLong())))
+        {
+            return FilterReply.NEUTRAL;
+        }
+
+        dropped.incrementAndGet();
+
+        return FilterReply.DENY;
+    }
+
+
+    private boolean tryAcquire(AtomicLong window)
+    {
+        long second = clock.getAsLong() / 1000L;
+
+        while (true)
+        {
+            long state = window.get();
+            long count = (state >>> COUNT_BITS) == second ? (state & COUNT_MASK) : 0;
+
+            if (count >= maxPerSecond)
+            {
+                return false;
+            }
+
+            if (window.compareAndSet(state, (second << COUNT_BITS) | (count + 1)))
+            {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.metrics;
+
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+
+/**
+ * Metrics of one Authlete API method, recorded by the resilience layer:
+ * the latency of each call made to Authlete, the number of retries, and the
+ * hits and misses of the response cache.
+ *
+ * <p>
+ * The state of the method's circuit breaker is not recorded but read when
+ * the metrics are exposed, through the supplier given to
+ * {@link #bindBreakerState(IntSupplier)}.
+ * </p>
+ */
+public final class AuthleteMethodMetrics
+{
+    /**
+     * The value exposed for the breaker state when no breaker is bound.
+     */
+    static final int NO_BREAKER = -1;
+
+
+    private final String           name;
+    private final LatencyHistogram latency     = new LatencyHistogram();
+    private final LongAdder        retries     = new LongAdder();
+    private final LongAdder        cacheHits   = new LongAdder();
+    private final LongAdder        cacheMisses = new LongAdder();
+
+    private volatile IntSupplier breakerState;
+
+
+    AuthleteMethodMetrics(String name)
+    {
+        this.name = name;
+    }
+
+
+    /**
+     * Record one call made to Authlete, whatever its outcome.
+     */
+    public void recordCall(long nanos)
+    {
+        latency.record(nanos);
+    }
+
+
+    /**
+     * Record that a failed call is going to be retried.
+     */
+    public void recordRetry()
+    {
+        retries.increment();
+    }
+
+
+    /**
+     * Record a call served from the response cache.
+     */
+    public void recordCacheHit()
+    {
+        cacheHits.increment();
+    }
+
+
+    /**
+     * Record a cacheable call that was not in the response cache.
+     */
+    public void recordCacheMiss()
+    {
+        cacheMisses.increment();
+    }
+
+
+    /**
+     * Set where the state of the method's circuit breaker is read from. The
+     * supplier returns 0 (closed), 1 (open) or 2 (half-open).
+     */
+    public void bindBreakerState(IntSupplier state)
+    {
+        this.breakerState = state;
+    }
+
+
+    String getName()
+    {
+        return name;
+    }
+
+
+    LatencyHistogram getLatency()
+    {
+        return latency;
+    }
+
+
+    long getRetries()
+    {
+        return retries.sum();
+    }
+
+
+    long getCacheHits()
+    {
+        return cacheHits.sum();
+    }
+
+
+    long getCacheMisses()
+    {
+        return cacheMisses.sum();
+    }
+
+
+    int getBreakerState()
+    {
+        IntSupplier state = breakerState;
+
+        return (state == null) ? NO_BREAKER : state.getAsInt();
+    }
+}
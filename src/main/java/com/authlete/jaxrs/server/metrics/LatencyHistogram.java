@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.metrics;
+
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A latency histogram with fixed bucket boundaries.
+ *
+ * <p>
+ * Each bucket, and the sum of all recorded durations, is a
+ * {@link LongAdder}, so {@link #record(long)} takes no lock and allocates
+ * nothing. Counts are kept per bucket and made cumulative only when the
+ * histogram is exposed; the total count is derived from the buckets, so the
+ * {@code +Inf} bucket and {@code _count} of one scrape always agree.
+ * </p>
+ */
+public final class LatencyHistogram
+{
+    /**
+     * Upper bounds of the buckets in seconds, as exposed in the {@code le}
+     * label. A last, implicit bucket counts everything above them.
+     */
+    static final double[] BOUNDS_SECONDS = {
+        0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+
+    private static final long[] BOUNDS_NANOS = new long[BOUNDS_SECONDS.length];
+
+
+    static
+    {
+        for (int i = 0; i < BOUNDS_SECONDS.length; i++)
+        {
+            BOUNDS_NANOS[i] = (long)(BOUNDS_SECONDS[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+
+    private final LongAdder[] buckets  = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder   sumNanos = new LongAdder();
+
+
+    public LatencyHistogram()
+    {
+        for (int i = 0; i < buckets.length; i++)
+        {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+
+    /**
+     * Record one duration.
+     *
+     * @param nanos
+     *         The duration in nanoseconds. Negative values count as zero.
+     */
+    public void record(long nanos)
+    {
+        if (nanos < 0)
+        {
+            nanos = 0;
+        }
+
+        int i = 0;
+
+        while (i < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[i])
+        {
+            i++;
+        }
+
+        buckets[i].increment();
+        sumNanos.add(nanos);
+    }
+
+
+    /**
+     * Get the cumulative counts of the buckets, the last element being the
+     * count of all recorded durations.
+     */
+    long[] snapshotCumulative()
+    {
+        long[] counts = new long[buckets.length];
+        long   total  = 0;
+
+        for (int i = 0; i < buckets.length; i++)
+        {
+            total    += buckets[i].sum();
+            counts[i] = total;
+        }
+
+        return counts;
+    }
+
+
+    /**
+     * Get the sum of all recorded durations in seconds.
+     */
+    double getSumSeconds()
+    {
+        return sumNanos.sum() / 1e9;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.metrics;
+
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+import com.authlete.jaxrs.server.api.backchannel.AuthInfoHolder;
+import com.authlete.jaxrs.server.core.SessionRegistry;
+import com.authlete.jaxrs.server.core.SessionTracker;
+import com.authlete.jaxrs.server.http.CompressionStats;
+import com.authlete.jaxrs.server.nativesso.DeviceSecretManager;
+import com.authlete.jaxrs.server.obb.database.ConsentDao;
+
+
+/**
+ * The metrics of the server, exposed in the Prometheus text format by
+ * {@link com.authlete.jaxrs.server.api.MetricsEndpoint MetricsEndpoint}.
+ *
+ * <p>
+ * Three kinds of metrics are held:
+ * </p>
+ * <ul>
+ *   <li>{@link ResourceMetrics} per JAX-RS resource class, recorded by
+ *       {@link RequestMetricsListener};</li>
+ *   <li>{@link AuthleteMethodMetrics} per Authlete API method, recorded by
+ *       the resilience layer;</li>
+ *   <li>values that are not recorded but read at scrape time, such as the
+ *       sizes of the in-memory stores.</li>
+ * </ul>
+ *
+ * <p>
+ * Recording never takes a lock or allocates once the metrics object of a
+ * resource or method exists: lookups are plain {@link ConcurrentHashMap}
+ * reads and the counters are {@code LongAdder}s and atomics. Only the first
+ * request of a resource or method creates its metrics object.
+ * </p>
+ */
+public final class MetricsRegistry
+{
+    private static final class Holder
+    {
+        private static final MetricsRegistry INSTANCE = createDefault();
+    }
+
+
+    /**
+     * A value read when the metrics are exposed.
+     */
+    static final class Sampled
+    {
+        final String       name;
+        final String       type;
+        final String       help;
+        final LongSupplier value;
+
+        Sampled(String name, String type, String help, LongSupplier value)
+        {
+            this.name  = name;
+            this.type  = type;
+            this.help  = help;
+            this.value = value;
+        }
+    }
+
+
+    private final ConcurrentHashMap<String, ResourceMetrics> resources =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, AuthleteMethodMetrics> authleteMethods =
+            new ConcurrentHashMap<>();
+
+    private final List<Sampled> sampled = new CopyOnWriteArrayList<>();
+
+
+    /**
+     * Package-private constructor; tests use their own registry.
+     */
+    MetricsRegistry()
+    {
+    }
+
+
+    /**
+     * Get the registry shared by the whole server.
+     */
+    public static MetricsRegistry getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    private static MetricsRegistry createDefault()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        CompressionStats compression = CompressionStats.getInstance();
+        SessionRegistry sessions = SessionRegistry.getInstance();
+
+        registry.addGauge("backchannel_auth_info_entries",
+                "Entries in AuthInfoHolder (pending asynchronous CIBA authentications).",
+                AuthInfoHolder::size);
+        registry.addGauge("native_sso_device_secrets",
+                "Device secrets held by DeviceSecretManager.",
+                DeviceSecretManager::size);
+        registry.addGauge("http_sessions_active",
+                "HTTP sessions known to SessionTracker.",
+                SessionTracker::getActiveSessionCount);
+        registry.addCounter("http_sessions_created_total",
+                "HTTP sessions registered in SessionRegistry.",
+                sessions::getCreatedCount);
+        registry.addCounter("http_sessions_destroyed_total",
+                "HTTP sessions removed from SessionRegistry on sessionDestroyed.",
+                sessions::getDestroyedCount);
+        registry.addCounter("http_sessions_evicted_total",
+                "HTTP sessions removed from SessionRegistry after expiring without sessionDestroyed.",
+                sessions::getEvictedCount);
+        registry.addGauge("obb_consents",
+                "Consents held by the Open Banking Brasil ConsentStore.",
+                () -> ConsentDao.getInstance().size());
+        registry.addCounter("http_compressed_responses_total",
+                "Responses sent gzip-compressed.",
+                compression::getResponses);
+        registry.addCounter("http_compression_input_bytes_total",
+                "Bytes of response bodies before compression.",
+                compression::getBytesIn);
+        registry.addCounter("http_compression_output_bytes_total",
+                "Bytes of response bodies after compression.",
+                compression::getBytesOut);
+
+        return registry;
+    }
+
+
+    /**
+     * Get the metrics of a JAX-RS resource, creating them on first use.
+     *
+     * @param name
+     *         The name of the resource, used as the value of the
+     *         {@code resource} label.
+     */
+    public ResourceMetrics forResource(String name)
+    {
+        ResourceMetrics metrics = resources.get(name);
+
+        if (metrics != null)
+        {
+            return metrics;
+        }
+
+        return resources.computeIfAbsent(name, ResourceMetrics::new);
+    }
+
+
+    /**
+     * Get the metrics of an Authlete API method, creating them on first use.
+     *
+     * @param name
+     *         The name of the {@code AuthleteApi} method, used as the value
+     *         of the {@code method} label.
+     */
+    public AuthleteMethodMetrics forAuthleteMethod(String name)
+    {
+        AuthleteMethodMetrics metrics = authleteMethods.get(name);
+
+        if (metrics != null)
+        {
+            return metrics;
+        }
+
+        return authleteMethods.computeIfAbsent(name, AuthleteMethodMetrics::new);
+    }
+
+
+    /**
+     * Add a gauge whose value is read when the metrics are exposed.
+     */
+    public void addGauge(String name, String help, LongSupplier value)
+    {
+        sampled.add(new Sampled(name, "gauge", help, value));
+    }
+
+
+    /**
+     * Add a counter maintained elsewhere, whose value is read when the
+     * metrics are exposed.
+     */
+    public void addCounter(String name, String help, LongSupplier value)
+    {
+        sampled.add(new Sampled(name, "counter", help, value));
+    }
+
+
+    /**
+     * Write all the metrics in the Prometheus text exposition format,
+     * version 0.0.4.
+     */
+    public String scrape()
+    {
+        return new PrometheusTextFormat(new StringBuilder(8192))
+                .writeResources(resources.values())
+                .writeAuthleteMethods(authleteMethods.values())
+                .writeSampled(sampled)
+                .toString();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.metrics;
+
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * Writes metrics in the Prometheus text exposition format, version 0.0.4.
+ *
+ * <p>
+ * Series of a metric family are sorted by their label value, so two scrapes
+ * list them in the same order.
+ * </p>
+ */
+final class PrometheusTextFormat
+{
+    /**
+     * The {@code le} label values of the histogram buckets.
+     */
+    private static final String[] LE = new String[LatencyHistogram.BOUNDS_SECONDS.length + 1];
+
+
+    static
+    {
+        for (int i = 0; i < LatencyHistogram.BOUNDS_SECONDS.length; i++)
+        {
+            LE[i] = Double.toString(LatencyHistogram.BOUNDS_SECONDS[i]);
+        }
+
+        LE[LE.length - 1] = "+Inf";
+    }
+
+
+    private final StringBuilder sb;
+
+
+    PrometheusTextFormat(StringBuilder sb)
+    {
+        this.sb = sb;
+    }
+
+
+    PrometheusTextFormat writeResources(Collection<ResourceMetrics> values)
+    {
+        List<ResourceMetrics> list = sorted(values, ResourceMetrics::getName);
+
+        header("http_server_request_duration_seconds", "histogram",
+                "Time taken to process requests, per JAX-RS resource.");
+
+        for (ResourceMetrics m : list)
+        {
+            histogram("http_server_request_duration_seconds", "resource", m.getName(), m.getLatency());
+        }
+
+        header("http_server_responses_total", "counter",
+                "Responses sent, per JAX-RS resource and status code.");
+
+        for (ResourceMetrics m : list)
+        {
+            for (int status = ResourceMetrics.MIN_STATUS; status <= ResourceMetrics.MAX_STATUS; status++)
+            {
+                long count = m.getStatusCount(status);
+
+                if (count == 0)
+                {
+                    continue;
+                }
+
+                sb.append("http_server_responses_total{resource=\"");
+                escape(m.getName());
+                sb.append("\",status=\"").append(status).append("\"} ").append(count).append('\n');
+            }
+        }
+
+        return this;
+    }
+
+
+    PrometheusTextFormat writeAuthleteMethods(Collection<AuthleteMethodMetrics> values)
+    {
+        List<AuthleteMethodMetrics> list = sorted(values, AuthleteMethodMetrics::getName);
+
+        header("authlete_api_call_duration_seconds", "histogram",
+                "Time taken by calls to the Authlete API, per method. Each retry is a separate call.");
+
+        for (AuthleteMethodMetrics m : list)
+        {
+            histogram("authlete_api_call_duration_seconds", "method", m.getName(), m.getLatency());
+        }
+
+        header("authlete_api_retries_total", "counter",
+                "Calls to the Authlete API retried after a transient failure.");
+
+        for (AuthleteMethodMetrics m : list)
+        {
+            sample("authlete_api_retries_total", "method", m.getName(), m.getRetries());
+        }
+
+        header("authlete_api_cache_hits_total", "counter",
+                "Authlete API calls served from the response cache.");
+
+        for (AuthleteMethodMetrics m : list)
+        {
+            sample("authlete_api_cache_hits_total", "method", m.getName(), m.getCacheHits());
+        }
+
+        header("authlete_api_cache_misses_total", "counter",
+                "Cacheable Authlete API calls not found in the response cache.");
+
+        for (AuthleteMethodMetrics m : list)
+        {
+            sample("authlete_api_cache_misses_total", "method", m.getName(), m.getCacheMisses());
+        }
+
+        header("authlete_api_circuit_breaker_state", "gauge",
+                "State of the circuit breaker: 0 = closed, 1 = open, 2 = half-open.");
+
+        for (AuthleteMethodMetrics m : list)
+        {
+            int state = m.getBreakerState();
+
+            if (state != AuthleteMethodMetrics.NO_BREAKER)
+            {
+                sample("authlete_api_circuit_breaker_state", "method", m.getName(), state);
+            }
+        }
+
+        return this;
+    }
+
+
+    PrometheusTextFormat writeSampled(Collection<MetricsRegistry.Sampled> values)
+    {
+        for (MetricsRegistry.Sampled s : values)
+        {
+            header(s.name, s.type, s.help);
+            sb.append(s.name).append(' ').append(s.value.getAsLong()).append('\n');
+        }
+
+        return this;
+    }
+
+
+    private void header(String name, String type, String help)
+    {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+
+    private void histogram(String name, String label, String value, LatencyHistogram histogram)
+    {
+        long[] counts = histogram.snapshotCumulative();
+
+        for (int i = 0; i < counts.length; i++)
+        {
+            sb.append(name).append("_bucket{").append(label).append("=\"");
+            escape(value);
+            sb.append("\",le=\"").append(LE[i]).append("\"} ").append(counts[i]).append('\n');
+        }
+
+        sb.append(name).append("_sum{").append(label).append("=\"");
+        escape(value);
+        sb.append("\"} ").append(histogram.getSumSeconds()).append('\n');
+
+        sample(name + "_count", label, value, counts[counts.length - 1]);
+    }
+
+
+    private void sample(String name, String label, String value, long count)
+    {
+        sb.append(name).append('{').append(label).append("=\"");
+        escape(value);
+        sb.append("\"} ").append(count).append('\n');
+    }
+
+
+    /**
+     * Append a label value, escaping backslashes, double quotes and line
+     * feeds as the format requires.
+     */
+    private void escape(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+
+            switch (c)
+            {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+
+                case '"':
+                    sb.append("\\\"");
+                    break;
+
+                case '\n':
+                    sb.append("\\n");
+                    break;
+
+                default:
+                    sb.append(c);
+                    break;
+            }
+        }
+    }
+
+
+    private static <T> List<T> sorted(Collection<T> values, Function<T, String> name)
+    {
+        List<T> list = new ArrayList<>(values);
+
+        list.sort(Comparator.comparing(name));
+
+        return list;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return sb.toString();
+    }
+}
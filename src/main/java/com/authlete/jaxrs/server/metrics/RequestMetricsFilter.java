@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.metrics;
+
+
+import java.io.IOException;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.ext.Provider;
+import com.authlete.jaxrs.server.decorator.DecoratorPriorities;
+
+
+/**
+ * Marks the time at which Jersey starts processing a request, so that
+ * {@link RequestMetricsListener} can record how long the request took.
+ *
+ * <p>
+ * The filter runs before resource matching and before every other request
+ * filter, so the measured time includes the work of the other filters and
+ * requests that are rejected by them or match no resource.
+ * </p>
+ */
+@Provider
+@PreMatching
+@Priority(DecoratorPriorities.REQUEST_METRICS_REQUEST_FILTER)
+public class RequestMetricsFilter implements ContainerRequestFilter
+{
+    /**
+     * The request property holding the {@link System#nanoTime()} at which
+     * processing of the request started.
+     */
+    static final String STARTED_AT = RequestMetricsFilter.class.getName() + ".startedAt";
+
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException
+    {
+        requestContext.setProperty(STARTED_AT, System.nanoTime());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.metrics;
+
+
+import java.util.concurrent.ConcurrentHashMap;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+
+/**
+ * Records the latency and status of every request timed by
+ * {@link RequestMetricsFilter} in the {@link ResourceMetrics} of the matched
+ * resource class.
+ *
+ * <p>
+ * As for {@link com.authlete.jaxrs.server.admission.AdmissionReleaseListener
+ * AdmissionReleaseListener}, the {@link RequestEvent.Type#FINISHED FINISHED}
+ * event is used instead of a response filter, because it is raised however
+ * the request ends. A request that ends with an unmapped exception has no
+ * response and is counted as 500. Requests that match no resource are
+ * recorded under the resource name {@value #UNMATCHED}.
+ * </p>
+ */
+@Provider
+public class RequestMetricsListener implements ApplicationEventListener
+{
+    static final String UNMATCHED = "unmatched";
+
+
+    private static final ConcurrentHashMap<Class<?>, ResourceMetrics> METRICS =
+            new ConcurrentHashMap<>();
+
+
+    private static final RequestEventListener RECORDER = new RequestEventListener()
+    {
+        @Override
+        public void onEvent(RequestEvent event)
+        {
+            if (event.getType() == RequestEvent.Type.FINISHED)
+            {
+                record(event);
+            }
+        }
+    };
+
+
+    @Override
+    public void onEvent(ApplicationEvent event)
+    {
+    }
+
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent)
+    {
+        return RECORDER;
+    }
+
+
+    private static void record(RequestEvent event)
+    {
+        ContainerRequest request = event.getContainerRequest();
+
+        if (request == null)
+        {
+            return;
+        }
+
+        Object startedAt = request.getProperty(RequestMetricsFilter.STARTED_AT);
+
+        // Never reached the filter.
+        if (!(startedAt instanceof Long))
+        {
+            return;
+        }
+
+        long elapsed = System.nanoTime() - (Long)startedAt;
+
+        ContainerResponse response = event.getContainerResponse();
+        int status = (response == null) ? 500 : response.getStatus();
+
+        metricsOf(event.getUriInfo().getMatchedResourceMethod()).record(status, elapsed);
+    }
+
+
+    private static ResourceMetrics metricsOf(ResourceMethod method)
+    {
+        Class<?> resourceClass = (method == null) ? null
+                : method.getInvocable().getHandler().getHandlerClass();
+
+        if (resourceClass == null)
+        {
+            return MetricsRegistry.getInstance().forResource(UNMATCHED);
+        }
+
+        ResourceMetrics metrics = METRICS.get(resourceClass);
+
+        if (metrics != null)
+        {
+            return metrics;
+        }
+
+        return METRICS.computeIfAbsent(resourceClass,
+                c -> MetricsRegistry.getInstance().forResource(c.getSimpleName()));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.metrics;
+
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Request metrics of one JAX-RS resource: a latency histogram and the
+ * number of responses per HTTP status code.
+ *
+ * @see RequestMetricsListener
+ */
+public final class ResourceMetrics
+{
+    static final int MIN_STATUS = 100;
+    static final int MAX_STATUS = 599;
+
+
+    private final String           name;
+    private final LatencyHistogram latency  = new LatencyHistogram();
+    private final AtomicLongArray  statuses = new AtomicLongArray(MAX_STATUS - MIN_STATUS + 1);
+
+
+    ResourceMetrics(String name)
+    {
+        this.name = name;
+    }
+
+
+    /**
+     * Record one finished request.
+     *
+     * @param status
+     *         The status code of the response. Values outside 100-599 are
+     *         counted as 500.
+     *
+     * @param nanos
+     *         How long the request took.
+     */
+    public void record(int status, long nanos)
+    {
+        if (status < MIN_STATUS || MAX_STATUS < status)
+        {
+            status = 500;
+        }
+
+        statuses.incrementAndGet(status - MIN_STATUS);
+        latency.record(nanos);
+    }
+
+
+    String getName()
+    {
+        return name;
+    }
+
+
+    LatencyHistogram getLatency()
+    {
+        return latency;
+    }
+
+
+    /**
+     * Get the number of responses with the given status code.
+     */
+    long getStatusCount(int status)
+    {
+        if (status < MIN_STATUS || MAX_STATUS < status)
+        {
+            return 0;
+        }
+
+        return statuses.get(status - MIN_STATUS);
+    }
+}
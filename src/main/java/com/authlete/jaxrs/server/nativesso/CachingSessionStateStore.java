@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.nativesso;
+
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+
+/**
+ * A small local cache in front of a shared {@link SessionStateStore}, so
+ * that the token endpoint does not consult the shared store on every
+ * request.
+ *
+ * <ul>
+ *   <li>A session found alive is trusted for {@code ttlMillis}. A session
+ *       ended on another node may therefore still be seen as alive here for
+ *       up to that long.</li>
+ *   <li>A device secret, which never changes once issued, is kept until the
+ *       cache is full.</li>
+ *   <li>Negative results are not cached, so an entry written by another
+ *       node is seen at once.</li>
+ * </ul>
+ *
+ * <p>
+ * Writes go to the shared store and update the cache of this node. When a
+ * map reaches {@code maxEntries}, it is cleared.
+ * </p>
+ */
+public class CachingSessionStateStore implements SessionStateStore
+{
+    private final SessionStateStore                       delegate;
+    private final long                                    ttlMillis;
+    private final int                                     maxEntries;
+    private final LongSupplier                            clock;
+    private final ConcurrentHashMap<String, Long>         sessions      = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DeviceSecret> deviceSecrets = new ConcurrentHashMap<>();
+
+
+    public CachingSessionStateStore(SessionStateStore delegate, long ttlMillis, int maxEntries)
+    {
+        this(delegate, ttlMillis, maxEntries, System::currentTimeMillis);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    CachingSessionStateStore(
+            SessionStateStore delegate, long ttlMillis, int maxEntries, LongSupplier clock)
+    {
+        this.delegate   = delegate;
+        this.ttlMillis  = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.clock      = clock;
+    }
+
+
+    @Override
+    public void putSession(String sessionId, long expiresAt)
+    {
+        delegate.putSession(sessionId, expiresAt);
+
+        // Re-read on the next lookup.
+        sessions.remove(sessionId);
+    }
+
+
+    @Override
+    public void removeSession(String sessionId)
+    {
+        sessions.remove(sessionId);
+
+        delegate.removeSession(sessionId);
+    }
+
+
+    @Override
+    public boolean isSessionActive(String sessionId)
+    {
+        long now = clock.getAsLong();
+        Long trustedUntil = sessions.get(sessionId);
+
+        if (trustedUntil != null)
+        {
+            if (now <= trustedUntil)
+            {
+                return true;
+            }
+
+            sessions.remove(sessionId, trustedUntil);
+        }
+
+        if (!delegate.isSessionActive(sessionId))
+        {
+            return false;
+        }
+
+        evictIfFull(sessions);
+        sessions.put(sessionId, now + ttlMillis);
+
+        return true;
+    }
+
+
+    @Override
+    public void putDeviceSecret(DeviceSecret ds)
+    {
+        delegate.putDeviceSecret(ds);
+
+        evictIfFull(deviceSecrets);
+        deviceSecrets.put(ds.getValue(), ds);
+    }
+
+
+    @Override
+    public DeviceSecret getDeviceSecret(String value)
+    {
+        DeviceSecret ds = deviceSecrets.get(value);
+
+        if (ds != null)
+        {
+            return ds;
+        }
+
+        ds = delegate.getDeviceSecret(value);
+
+        if (ds != null)
+        {
+            evictIfFull(deviceSecrets);
+            deviceSecrets.put(value, ds);
+        }
+
+        return ds;
+    }
+
+
+    @Override
+    public int getDeviceSecretCount()
+    {
+        return delegate.getDeviceSecretCount();
+    }
+
+
+    private void evictIfFull(ConcurrentHashMap<String, ?> map)
+    {
+        if (map.size() >= maxEntries)
+        {
+            map.clear();
+        }
+    }
+}
@@ -17,13 +17,12 @@
 package com.authlete.jaxrs.server.nativesso;
 
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-
+/**
+ * Registry of the device secrets issued by this server, kept in the
+ * configured {@link SessionStateStore} so that any node can look them up.
+ */
 public class DeviceSecretManager
 {
-    private static final Map<String, DeviceSecret> byValueMap = new ConcurrentHashMap<>();
 
 
     private DeviceSecretManager()
@@ -38,7 +37,7 @@ public class DeviceSecretManager
             return null;
         }
 
-        return byValueMap.get(deviceSecret);
+        return SessionStateStores.getInstance().getDeviceSecret(deviceSecret);
     }
 
 
@@ -54,6 +53,12 @@ public class DeviceSecretManager
             throw new IllegalArgumentException("The value of the specified DeviceSecret is null.");
         }
 
-        byValueMap.put(ds.getValue(), ds);
+        SessionStateStores.getInstance().putDeviceSecret(ds);
+    }
+
+
+    public static int size()
+    {
+        return SessionStateStores.getInstance().getDeviceSecretCount();
     }
 }
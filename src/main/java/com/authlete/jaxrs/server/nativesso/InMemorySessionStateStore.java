@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.nativesso;
+
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+
+/**
+ * {@link SessionStateStore} that keeps the state in the memory of this
+ * process. This is the default; it is only correct when every request of a
+ * user reaches the same node.
+ */
+public class InMemorySessionStateStore implements SessionStateStore
+{
+    private final Map<String, Long>         sessions      = new ConcurrentHashMap<>();
+    private final Map<String, DeviceSecret> deviceSecrets = new ConcurrentHashMap<>();
+    private final LongSupplier              clock;
+
+
+    public InMemorySessionStateStore()
+    {
+        this(System::currentTimeMillis);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    InMemorySessionStateStore(LongSupplier clock)
+    {
+        this.clock = clock;
+    }
+
+
+    @Override
+    public void putSession(String sessionId, long expiresAt)
+    {
+        sessions.put(sessionId, expiresAt);
+    }
+
+
+    @Override
+    public void removeSession(String sessionId)
+    {
+        sessions.remove(sessionId);
+    }
+
+
+    @Override
+    public boolean isSessionActive(String sessionId)
+    {
+        Long expiresAt = sessions.get(sessionId);
+
+        if (expiresAt == null)
+        {
+            return false;
+        }
+
+        if (expiresAt == 0 || clock.getAsLong() <= expiresAt)
+        {
+            return true;
+        }
+
+        sessions.remove(sessionId, expiresAt);
+
+        return false;
+    }
+
+
+    @Override
+    public void putDeviceSecret(DeviceSecret ds)
+    {
+        deviceSecrets.put(ds.getValue(), ds);
+    }
+
+
+    @Override
+    public DeviceSecret getDeviceSecret(String value)
+    {
+        return deviceSecrets.get(value);
+    }
+
+
+    @Override
+    public int getDeviceSecretCount()
+    {
+        return deviceSecrets.size();
+    }
+}
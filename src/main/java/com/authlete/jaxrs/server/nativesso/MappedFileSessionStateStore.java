@@ -0,0 +1,652 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.nativesso;
+
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+
+/**
+ * {@link SessionStateStore} kept in a memory-mapped file, so that several
+ * server processes on one machine share sessions and device secrets. It is
+ * the simplest way to run more than one node without sticky routing, and to
+ * test such a setup on a single machine.
+ *
+ * <p>
+ * The file is a fixed-size hash table with open addressing and linear
+ * probing. Each slot holds one session or one device secret:
+ * </p>
+ *
+ * <pre>
+ *   0  int    sequence number (odd while the slot is being written)
+ *   4  byte   kind (empty, session, device secret, removed)
+ *   8  long   expiration time of a session (0 = none)
+ *  16  int    hash of the key
+ *  20  short  length of the key
+ *  22  short  length of the payload
+ *  24  bytes  key (session ID or device secret value), then payload
+ * </pre>
+ *
+ * <p>
+ * Lookups take no lock. A reader copies a slot and accepts the copy only if
+ * the slot's sequence number was even and unchanged across the copy, so it
+ * never sees a half-written slot. Writers are serialized by a lock within
+ * the process and an exclusive file lock across processes. Writes happen
+ * when a session starts or ends and when a device secret is issued, so the
+ * locks are rarely contended.
+ * </p>
+ *
+ * <p>
+ * A reader that keeps finding a slot odd gives up spinning after a while
+ * and looks the key up with the write locks held. A slot that is odd while
+ * the locks are held was left by a process that died halfway through a
+ * write; whoever holds the locks turns it into a removed slot.
+ * </p>
+ *
+ * <p>
+ * A device secret is only usable while its session is alive. A device
+ * secret slot whose session is no longer in the file, or has expired, is
+ * reused like a removed slot, so the file does not fill up with the device
+ * secrets of ended sessions.
+ * </p>
+ */
+public class MappedFileSessionStateStore implements SessionStateStore, Closeable
+{
+    private static final int  MAGIC       = 0x41535353; // "ASSS"
+    private static final int  VERSION     = 1;
+    private static final int  HEADER_SIZE = 64;
+    private static final int  SLOT_SIZE   = 512;
+    private static final int  DATA_OFFSET = 24;
+    private static final int  MAX_DATA    = SLOT_SIZE - DATA_OFFSET;
+
+    private static final byte EMPTY         = 0;
+    private static final byte SESSION       = 1;
+    private static final byte DEVICE_SECRET = 2;
+    private static final byte REMOVED       = 3;
+
+    /**
+     * The number of times a reader retries a slot before it falls back to
+     * the write locks. A write takes microseconds, so this is only reached
+     * when the writer is descheduled or has died.
+     */
+    private static final int  MAX_SPINS     = 10_000;
+
+
+    private static final VarHandle INT =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+
+    private final FileChannel      channel;
+    private final MappedByteBuffer buffer;
+    private final int              slotCount;
+    private final LongSupplier     clock;
+    private final ReentrantLock    writeLock = new ReentrantLock();
+
+
+    /**
+     * Open the file, creating and sizing it if it does not exist.
+     *
+     * @param slotCount
+     *         The number of slots of a new file. An existing file keeps its
+     *         own size.
+     */
+    public MappedFileSessionStateStore(Path file, int slotCount) throws IOException
+    {
+        this(file, slotCount, System::currentTimeMillis);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    MappedFileSessionStateStore(Path file, int slotCount, LongSupplier clock) throws IOException
+    {
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.clock   = clock;
+
+        try (FileLock lock = channel.lock())
+        {
+            if (channel.size() == 0)
+            {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_SIZE + (long)slotCount * SLOT_SIZE);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, slotCount);
+                buffer.putInt(12, SLOT_SIZE);
+            }
+            else
+            {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION ||
+                    buffer.getInt(12) != SLOT_SIZE)
+                {
+                    throw new IOException(file + " is not a session state file of this version.");
+                }
+            }
+
+            this.slotCount = buffer.getInt(8);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+
+    //------------------------------------------------------------
+    // Sessions
+    //------------------------------------------------------------
+
+
+    @Override
+    public void putSession(String sessionId, long expiresAt)
+    {
+        write(SESSION, sessionId, expiresAt, new byte[0]);
+    }
+
+
+    @Override
+    public void removeSession(String sessionId)
+    {
+        remove(SESSION, sessionId);
+    }
+
+
+    @Override
+    public boolean isSessionActive(String sessionId)
+    {
+        Slot slot = find(SESSION, sessionId);
+
+        return slot != null && !isExpired(slot.expiresAt, clock.getAsLong());
+    }
+
+
+    private static boolean isExpired(long expiresAt, long now)
+    {
+        return expiresAt != 0 && now > expiresAt;
+    }
+
+
+    //------------------------------------------------------------
+    // Device secrets
+    //------------------------------------------------------------
+
+
+    @Override
+    public void putDeviceSecret(DeviceSecret ds)
+    {
+        byte[][] fields = {
+                utf8(ds.getHash()), utf8(ds.getSessionId()), utf8(ds.getDeviceId()) };
+
+        int length = 0;
+
+        for (byte[] field : fields)
+        {
+            length += 2 + (field == null ? 0 : field.length);
+        }
+
+        byte[] payload = new byte[length];
+        int    pos     = 0;
+
+        // Each field is a length (-1 for null) followed by UTF-8 bytes.
+        for (byte[] field : fields)
+        {
+            int n = (field == null) ? -1 : field.length;
+
+            payload[pos++] = (byte)(n >> 8);
+            payload[pos++] = (byte)n;
+
+            if (n > 0)
+            {
+                System.arraycopy(field, 0, payload, pos, n);
+                pos += n;
+            }
+        }
+
+        write(DEVICE_SECRET, ds.getValue(), 0, payload);
+    }
+
+
+    @Override
+    public DeviceSecret getDeviceSecret(String value)
+    {
+        Slot slot = find(DEVICE_SECRET, value);
+
+        if (slot == null)
+        {
+            return null;
+        }
+
+        String[] fields = decodeDeviceSecret(slot.payload);
+
+        return new DeviceSecret()
+                .setValue(value)
+                .setHash(fields[0])
+                .setSessionId(fields[1])
+                .setDeviceId(fields[2])
+                ;
+    }
+
+
+    @Override
+    public int getDeviceSecretCount()
+    {
+        int count = 0;
+
+        for (int i = 0; i < slotCount; i++)
+        {
+            if (buffer.get(offset(i) + 4) == DEVICE_SECRET)
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Decode the payload of a device secret slot into its hash, session ID
+     * and device ID.
+     */
+    private static String[] decodeDeviceSecret(byte[] payload)
+    {
+        String[] fields = new String[3];
+        int      pos    = 0;
+
+        for (int i = 0; i < fields.length; i++)
+        {
+            int n = (short)(((payload[pos] & 0xFF) << 8) | (payload[pos + 1] & 0xFF));
+            pos += 2;
+
+            if (n >= 0)
+            {
+                fields[i] = new String(payload, pos, n, StandardCharsets.UTF_8);
+                pos += n;
+            }
+        }
+
+        return fields;
+    }
+
+
+    /**
+     * Tell whether the session of a device secret slot has ended. Called
+     * with the write locks held.
+     */
+    private boolean isOrphaned(int off, long now)
+    {
+        int    keyLength = buffer.getShort(off + 20);
+        byte[] payload   = new byte[buffer.getShort(off + 22)];
+        buffer.get(off + DATA_OFFSET + keyLength, payload);
+
+        String sessionId = decodeDeviceSecret(payload)[1];
+
+        if (sessionId == null)
+        {
+            return true;
+        }
+
+        byte[] keyBytes = utf8(sessionId);
+        int    hash     = sessionId.hashCode();
+        int    index    = locate(SESSION, hash, keyBytes, false);
+
+        return index < 0 || isExpired(buffer.getLong(offset(index) + 8), now);
+    }
+
+
+    private static byte[] utf8(String value)
+    {
+        return (value == null) ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    //------------------------------------------------------------
+    // Hash table
+    //------------------------------------------------------------
+
+
+    /**
+     * A consistent copy of a slot.
+     */
+    private static final class Slot
+    {
+        final long   expiresAt;
+        final byte[] payload;
+
+        Slot(long expiresAt, byte[] payload)
+        {
+            this.expiresAt = expiresAt;
+            this.payload   = payload;
+        }
+    }
+
+
+    private int offset(int index)
+    {
+        return HEADER_SIZE + index * SLOT_SIZE;
+    }
+
+
+    private int home(int hash)
+    {
+        return Math.floorMod(hash ^ (hash >>> 16), slotCount);
+    }
+
+
+    private Slot find(byte kind, String key)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        byte[] keyBytes = utf8(key);
+        int    hash     = key.hashCode();
+        int    start    = home(hash);
+
+        for (int i = 0; i < slotCount; i++)
+        {
+            int off = offset((start + i) % slotCount);
+
+            for (int spins = 0; ; spins++)
+            {
+                if (spins == MAX_SPINS)
+                {
+                    // The writer is stuck or dead. Ask under the write locks.
+                    return findLocked(kind, hash, keyBytes);
+                }
+
+                int seq = (int)INT.getVolatile(buffer, off);
+
+                // Being written by another thread or process.
+                if ((seq & 1) != 0)
+                {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                byte slotKind = buffer.get(off + 4);
+
+                if (slotKind == EMPTY)
+                {
+                    // The end of the probe sequence.
+                    if ((int)INT.getVolatile(buffer, off) == seq)
+                    {
+                        return null;
+                    }
+
+                    continue;
+                }
+
+                Slot slot = (slotKind == kind) ? readIfMatches(off, hash, keyBytes) : null;
+
+                VarHandle.acquireFence();
+
+                if ((int)INT.getVolatile(buffer, off) != seq)
+                {
+                    // Changed while being read.
+                    continue;
+                }
+
+                if (slot != null)
+                {
+                    return slot;
+                }
+
+                break;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Look a key up with the write locks held, which also repairs the slots
+     * left odd by a dead writer on the way.
+     */
+    private Slot findLocked(byte kind, int hash, byte[] keyBytes)
+    {
+        return locked(() -> {
+            int index = locate(kind, hash, keyBytes, false);
+
+            return (index < 0) ? null : readIfMatches(offset(index), hash, keyBytes);
+        });
+    }
+
+
+    private Slot readIfMatches(int off, int hash, byte[] keyBytes)
+    {
+        if (buffer.getInt(off + 16) != hash)
+        {
+            return null;
+        }
+
+        int keyLength     = buffer.getShort(off + 20);
+        int payloadLength = buffer.getShort(off + 22);
+
+        // A torn read can produce nonsense lengths; the caller discards it.
+        if (keyLength != keyBytes.length || payloadLength < 0 || keyLength + payloadLength > MAX_DATA)
+        {
+            return null;
+        }
+
+        byte[] stored = new byte[keyLength];
+        buffer.get(off + DATA_OFFSET, stored);
+
+        if (!Arrays.equals(stored, keyBytes))
+        {
+            return null;
+        }
+
+        byte[] payload = new byte[payloadLength];
+        buffer.get(off + DATA_OFFSET + keyLength, payload);
+
+        return new Slot(buffer.getLong(off + 8), payload);
+    }
+
+
+    private void write(byte kind, String key, long expiresAt, byte[] payload)
+    {
+        byte[] keyBytes = utf8(key);
+
+        if (keyBytes.length + payload.length > MAX_DATA)
+        {
+            throw new IllegalArgumentException("The entry is too large for a slot of the session state file.");
+        }
+
+        int hash = key.hashCode();
+
+        locked(() -> {
+            int target = locate(kind, hash, keyBytes, true);
+
+            if (target < 0)
+            {
+                throw new IllegalStateException("The session state file is full.");
+            }
+
+            int off = offset(target);
+            int seq = (int)INT.getVolatile(buffer, off);
+
+            INT.setVolatile(buffer, off, seq + 1);
+
+            // Keep the writes below from becoming visible before the odd
+            // sequence number.
+            VarHandle.storeStoreFence();
+
+            buffer.put(off + 4, kind);
+            buffer.putLong(off + 8, expiresAt);
+            buffer.putInt(off + 16, hash);
+            buffer.putShort(off + 20, (short)keyBytes.length);
+            buffer.putShort(off + 22, (short)payload.length);
+            buffer.put(off + DATA_OFFSET, keyBytes);
+            buffer.put(off + DATA_OFFSET + keyBytes.length, payload);
+
+            INT.setVolatile(buffer, off, seq + 2);
+        });
+    }
+
+
+    private void remove(byte kind, String key)
+    {
+        if (key == null)
+        {
+            return;
+        }
+
+        byte[] keyBytes = utf8(key);
+        int    hash     = key.hashCode();
+
+        locked(() -> {
+            int index = locate(kind, hash, keyBytes, false);
+
+            if (index < 0)
+            {
+                return;
+            }
+
+            int off = offset(index);
+            int seq = (int)INT.getVolatile(buffer, off);
+
+            // A tombstone keeps the probe sequences of other keys intact.
+            INT.setVolatile(buffer, off, seq + 1);
+            VarHandle.storeStoreFence();
+            buffer.put(off + 4, REMOVED);
+            INT.setVolatile(buffer, off, seq + 2);
+        });
+    }
+
+
+    /**
+     * Find the slot of a key, or, when {@code forWrite} is true and the key
+     * is absent, the first slot that can take it: an empty or removed slot,
+     * one holding an expired session, or one holding a device secret whose
+     * session has ended. Slots left odd by a dead writer are repaired on
+     * the way. Called with the write locks held.
+     *
+     * @return
+     *         The index of the slot, or -1.
+     */
+    private int locate(byte kind, int hash, byte[] keyBytes, boolean forWrite)
+    {
+        long now   = clock.getAsLong();
+        int  start = home(hash);
+        int  free  = -1;
+
+        for (int i = 0; i < slotCount; i++)
+        {
+            int  index    = (start + i) % slotCount;
+            int  off      = offset(index);
+
+            repairIfTorn(off);
+
+            byte slotKind = buffer.get(off + 4);
+
+            if (slotKind == EMPTY)
+            {
+                return forWrite ? (free >= 0 ? free : index) : -1;
+            }
+
+            if (slotKind == kind && readIfMatches(off, hash, keyBytes) != null)
+            {
+                return index;
+            }
+
+            if (forWrite && free < 0 && (slotKind == REMOVED ||
+                    (slotKind == SESSION && isExpired(buffer.getLong(off + 8), now)) ||
+                    (slotKind == DEVICE_SECRET && isOrphaned(off, now))))
+            {
+                free = index;
+            }
+        }
+
+        return forWrite ? free : -1;
+    }
+
+
+    /**
+     * Turn a slot whose sequence number is odd into a removed slot. With
+     * the write locks held, an odd slot can only have been left by a
+     * process that died while writing it, and its content is unreliable.
+     */
+    private void repairIfTorn(int off)
+    {
+        int seq = (int)INT.getVolatile(buffer, off);
+
+        if ((seq & 1) == 0)
+        {
+            return;
+        }
+
+        buffer.put(off + 4, REMOVED);
+        INT.setVolatile(buffer, off, seq + 1);
+    }
+
+
+    private void locked(Runnable action)
+    {
+        locked(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+
+    private <T> T locked(Supplier<T> action)
+    {
+        writeLock.lock();
+
+        try (FileLock lock = channel.lock(0, HEADER_SIZE, false))
+        {
+            return action.get();
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Failed to lock the session state file: " + e.getMessage(), e);
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+}
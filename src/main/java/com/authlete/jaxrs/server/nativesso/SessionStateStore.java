@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.nativesso;
+
+
+/**
+ * Storage of the state that native SSO needs on every node: which
+ * authentication sessions are alive, and the device secrets issued so far.
+ *
+ * <p>
+ * With the default in-memory implementation, a token request has to reach
+ * the node where the session was created and the device secret was issued.
+ * An implementation that is shared between nodes lets any node serve it,
+ * without sticky routing. {@link MappedFileSessionStateStore} shares the
+ * state between server processes on one machine through a memory-mapped
+ * file; a store backed by a network service implements the same interface.
+ * </p>
+ *
+ * <p>
+ * Implementations must be safe for concurrent use.
+ * </p>
+ *
+ * @see SessionStateStores
+ */
+public interface SessionStateStore
+{
+    /**
+     * Record that a session is alive, or extend its lifetime.
+     *
+     * @param sessionId
+     *         The session ID.
+     *
+     * @param expiresAt
+     *         The time after which the session is no longer alive unless it
+     *         is put again, in milliseconds since the Unix epoch. 0 means
+     *         that the session does not expire.
+     */
+    void putSession(String sessionId, long expiresAt);
+
+
+    /**
+     * Record that a session has ended.
+     */
+    void removeSession(String sessionId);
+
+
+    /**
+     * Check whether a session is alive.
+     */
+    boolean isSessionActive(String sessionId);
+
+
+    /**
+     * Store a device secret, keyed by its value.
+     */
+    void putDeviceSecret(DeviceSecret ds);
+
+
+    /**
+     * Get a device secret by its value.
+     *
+     * @return
+     *         The device secret, or {@code null} if none has the value.
+     */
+    DeviceSecret getDeviceSecret(String value);
+
+
+    /**
+     * Get the number of device secrets stored.
+     */
+    int getDeviceSecretCount();
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.nativesso;
+
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import com.authlete.jaxrs.server.ServerConfig;
+
+
+/**
+ * Provides the {@link SessionStateStore} configured by
+ * {@code session_state.store}.
+ *
+ * <p>
+ * A shared store is wrapped in a {@link CachingSessionStateStore}. When the
+ * shared store cannot be opened, the first use fails instead of falling back
+ * to memory, since nodes silently keeping their own state would break
+ * native SSO across them.
+ * </p>
+ */
+public final class SessionStateStores
+{
+    private static final class Holder
+    {
+        private static final SessionStateStore INSTANCE = create();
+    }
+
+
+    private SessionStateStores()
+    {
+    }
+
+
+    /**
+     * Get the store shared by the whole server.
+     */
+    public static SessionStateStore getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    private static SessionStateStore create()
+    {
+        String type = ServerConfig.getSessionStateStore();
+
+        if (!"mmap".equals(type))
+        {
+            return new InMemorySessionStateStore();
+        }
+
+        try
+        {
+            MappedFileSessionStateStore shared = new MappedFileSessionStateStore(
+                    Paths.get(ServerConfig.getSessionStateFile()),
+                    ServerConfig.getSessionStateSlots());
+
+            return new CachingSessionStateStore(shared,
+                    ServerConfig.getSessionStateCacheTtl(),
+                    ServerConfig.getSessionStateCacheMaxEntries());
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(
+                    "Failed to open the session state file: " + e.getMessage(), e);
+        }
+    }
+}
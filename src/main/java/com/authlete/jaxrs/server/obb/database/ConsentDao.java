@@ -16,7 +16,12 @@
 package com.authlete.jaxrs.server.obb.database;
 
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import com.authlete.jaxrs.server.ServerConfig;
 import com.authlete.jaxrs.server.obb.model.Consent;
 import com.authlete.jaxrs.server.obb.model.CreateConsent;
 import com.authlete.jaxrs.server.obb.model.CreateConsentData;
@@ -35,7 +40,24 @@ public class ConsentDao
     private ConsentDao(String namespace)
     {
         mNamespace = namespace;
-        mStore     = new ConsentStore();
+        mStore     = new ConsentStore(ServerConfig.getObbConsentsCapacity());
+
+        startSweeper(mStore, ServerConfig.getObbConsentsSweepInterval());
+    }
+
+
+    private static void startSweeper(ConsentStore store, long interval)
+    {
+        if (interval <= 0)
+        {
+            // Expired consents are then removed only when the store is full.
+            return;
+        }
+
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("consent-sweeper").factory());
+
+        sweeper.scheduleWithFixedDelay(store::sweep, interval, interval, TimeUnit.SECONDS);
     }
 
 
@@ -58,7 +80,7 @@ public class ConsentDao
     }
 
 
-    public synchronized Consent create(CreateConsent createConsent, long clientId)
+    public Consent create(CreateConsent createConsent, long clientId)
     {
         CreateConsentData data = createConsent.getData();
         String consentId = generateConsentId();
@@ -74,32 +96,44 @@ public class ConsentDao
                 .setClientId(clientId)
                 ;
 
-        getStore().put(consentId, consent);
+        getStore().put(consent);
 
         return consent;
     }
 
 
-    public synchronized Consent read(String consentId)
+    public Consent read(String consentId)
     {
         return getStore().get(consentId);
     }
 
 
-    public synchronized void update(Consent consent)
+    public List<Consent> readByClientId(long clientId)
+    {
+        return getStore().getByClientId(clientId);
+    }
+
+
+    public void update(Consent consent)
     {
         consent.setStatusUpdateDateTime(ObbUtils.formatNow());
 
-        getStore().put(consent.getConsentId(), consent);
+        getStore().put(consent);
     }
 
 
-    public synchronized void delete(String consentId)
+    public void delete(String consentId)
     {
         getStore().remove(consentId);
     }
 
 
+    public int size()
+    {
+        return getStore().size();
+    }
+
+
     public static ConsentDao getInstance()
     {
         return sInstance;
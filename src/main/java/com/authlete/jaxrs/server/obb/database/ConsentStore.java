@@ -16,23 +16,395 @@
 package com.authlete.jaxrs.server.obb.database;
 
 
-import java.util.LinkedHashMap;
-import java.util.Map.Entry;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import com.authlete.jaxrs.server.obb.model.Consent;
 
 
 /**
- * On-memory store for {@link Consent} with the replacement policy of
- * LRU (Least Recently Used). Of course, not suitable for production use.
+ * On-memory store for {@link Consent}. Of course, not suitable for
+ * production use.
+ *
+ * <p>
+ * Consents are held in a {@link ConcurrentHashMap}, so {@link #get(String)}
+ * takes no lock. Two indexes are kept next to it: the consents of each
+ * client, and all consents ordered by their {@code expirationDateTime}.
+ * </p>
+ *
+ * <p>
+ * A consent is not returned once its {@code expirationDateTime} has passed,
+ * and {@link #sweep()} removes such consents. When the store holds more than
+ * its capacity, expired consents are removed first and then those that
+ * expire soonest; consents without {@code expirationDateTime} go last.
+ * </p>
+ *
+ * <p>
+ * The indexes are updated after the map and may briefly refer to consents
+ * that have just been replaced or removed. Every lookup through them is
+ * therefore checked against the map.
+ * </p>
  */
-public class ConsentStore extends LinkedHashMap<String, Consent>
+public class ConsentStore
 {
-    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LoggerFactory.getLogger(ConsentStore.class);
+
+
+    private static final class Entry
+    {
+        final Consent consent;
+        final String  consentId;
+        final long    clientId;
+        final long    expiresAt;
+        final long    sequence;
+
+        Entry(Consent consent, long expiresAt, long sequence)
+        {
+            this.consent   = consent;
+            this.consentId = consent.getConsentId();
+            this.clientId  = consent.getClientId();
+            this.expiresAt = expiresAt;
+            this.sequence  = sequence;
+        }
+    }
+
+
+    private static final Comparator<Entry> EXPIRY_ORDER =
+            Comparator.<Entry>comparingLong(e -> e.expiresAt).thenComparingLong(e -> e.sequence);
+
+
+    private final ConcurrentHashMap<String, Entry>     map        = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> byClientId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry>         byExpiry   = new ConcurrentSkipListSet<>(EXPIRY_ORDER);
+    private final AtomicLong                           sequences  = new AtomicLong();
+    private final int                                  capacity;
+    private final LongSupplier                         clock;
+    private volatile boolean                           full;
+
+
+    public ConsentStore(int capacity)
+    {
+        this(capacity, System::currentTimeMillis);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock for testing.
+     */
+    ConsentStore(int capacity, LongSupplier clock)
+    {
+        this.capacity = capacity;
+        this.clock    = clock;
+    }
+
+
+    /**
+     * Add a consent, or replace the consent that has the same ID.
+     */
+    public void put(Consent consent)
+    {
+        Entry entry    = new Entry(consent, parseExpiration(consent), sequences.incrementAndGet());
+        Entry previous = map.put(entry.consentId, entry);
+
+        if (previous != null)
+        {
+            unindex(previous);
+        }
+
+        byExpiry.add(entry);
+        byClientId.computeIfAbsent(entry.clientId, id -> ConcurrentHashMap.newKeySet()).add(entry.consentId);
+
+        if (map.size() > capacity)
+        {
+            evict();
+        }
+    }
+
+
+    /**
+     * Get a consent.
+     *
+     * @return
+     *         The consent, or {@code null} if it does not exist or has
+     *         expired.
+     */
+    public Consent get(String consentId)
+    {
+        Entry entry = (consentId != null) ? map.get(consentId) : null;
+
+        if (entry == null || entry.expiresAt <= clock.getAsLong())
+        {
+            return null;
+        }
+
+        return entry.consent;
+    }
+
+
+    /**
+     * Get the consents of a client that have not expired.
+     */
+    public List<Consent> getByClientId(long clientId)
+    {
+        List<Consent> consents = new ArrayList<>();
+        Set<String>   ids      = byClientId.get(clientId);
+
+        if (ids == null)
+        {
+            return consents;
+        }
+
+        long now = clock.getAsLong();
+
+        for (String consentId : ids)
+        {
+            Entry entry = map.get(consentId);
+
+            if (entry != null && entry.clientId == clientId && now < entry.expiresAt)
+            {
+                consents.add(entry.consent);
+            }
+        }
+
+        return consents;
+    }
+
+
+    /**
+     * Remove a consent.
+     */
+    public void remove(String consentId)
+    {
+        Entry entry = (consentId != null) ? map.remove(consentId) : null;
+
+        if (entry != null)
+        {
+            unindex(entry);
+        }
+    }
+
+
+    /**
+     * Get the number of consents held, including expired ones that have
+     * not been swept yet.
+     */
+    public int size()
+    {
+        return map.size();
+    }
+
 
+    /**
+     * Remove the consents whose {@code expirationDateTime} has passed.
+     *
+     * @return
+     *         The number of consents removed.
+     */
+    public int sweep()
+    {
+        long now     = clock.getAsLong();
+        int  removed = 0;
+
+        for (Entry entry = first(); entry != null && entry.expiresAt <= now; entry = first())
+        {
+            if (removeEntry(entry))
+            {
+                removed++;
+            }
+        }
+
+        if (map.size() < capacity)
+        {
+            full = false;
+        }
+
+        return removed;
+    }
+
+
+    private void evict()
+    {
+        sweep();
+
+        int evicted = 0;
+
+        while (map.size() > capacity)
+        {
+            Entry entry = first();
+
+            if (entry == null)
+            {
+                break;
+            }
+
+            if (removeEntry(entry))
+            {
+                evicted++;
+            }
+        }
+
+        // Warn once each time the store fills up, not on every eviction.
+        if (evicted > 0 && !full)
+        {
+            full = true;
+
+            logger.warn("The consent store is full ({} consents); evicting those that expire soonest.",
+                    capacity);
+        }
+    }
+
+
+    private Entry first()
+    {
+        try
+        {
+            return byExpiry.first();
+        }
+        catch (NoSuchElementException e)
+        {
+            // Emptied concurrently.
+            return null;
+        }
+    }
+
+
+    /**
+     * Remove an entry found at the head of the expiry index. The entry is
+     * dropped from the index even when it is no longer the current entry
+     * of its consent, so that the head always moves forward.
+     *
+     * @return
+     *         {@code true} if the consent was removed by this call.
+     */
+    private boolean removeEntry(Entry entry)
+    {
+        byExpiry.remove(entry);
+
+        if (!map.remove(entry.consentId, entry))
+        {
+            // Replaced or removed already.
+            return false;
+        }
+
+        unindex(entry);
+
+        return true;
+    }
 
-    @Override
-    protected boolean removeEldestEntry(Entry<String, Consent> eldest)
+
+    private void unindex(Entry entry)
+    {
+        byExpiry.remove(entry);
+
+        Set<String> ids = byClientId.get(entry.clientId);
+
+        if (ids != null)
+        {
+            ids.remove(entry.consentId);
+        }
+    }
+
+
+    private static long parseExpiration(Consent consent)
+    {
+        String expiration = consent.getExpirationDateTime();
+
+        if (expiration == null)
+        {
+            return Long.MAX_VALUE;
+        }
+
+        long millis = parseUtc(expiration);
+
+        if (millis != Long.MIN_VALUE)
+        {
+            return millis;
+        }
+
+        try
+        {
+            return OffsetDateTime.parse(expiration).toInstant().toEpochMilli();
+        }
+        catch (DateTimeParseException e)
+        {
+            // A consent whose expiration is unknown does not expire.
+            return Long.MAX_VALUE;
+        }
+    }
+
+
+    /**
+     * Parse {@code yyyy-MM-ddTHH:mm:ssZ}, the form used by the Open Banking
+     * Brasil APIs and by {@link com.authlete.jaxrs.server.obb.util.ObbUtils
+     * ObbUtils}, without going through {@code DateTimeFormatter}, which
+     * costs more than the rest of {@link #put(Consent)}.
+     *
+     * @return
+     *         Milliseconds since the epoch, or {@link Long#MIN_VALUE} if the
+     *         string is not in the form.
+     */
+    private static long parseUtc(String s)
     {
-        return size() > 100;
+        if (s.length() != 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T' ||
+            s.charAt(13) != ':' || s.charAt(16) != ':' || s.charAt(19) != 'Z')
+        {
+            return Long.MIN_VALUE;
+        }
+
+        int year   = digits(s, 0, 4);
+        int month  = digits(s, 5, 2);
+        int day    = digits(s, 8, 2);
+        int hour   = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0)
+        {
+            return Long.MIN_VALUE;
+        }
+
+        try
+        {
+            return LocalDateTime.of(year, month, day, hour, minute, second)
+                    .toEpochSecond(ZoneOffset.UTC) * 1000L;
+        }
+        catch (DateTimeException e)
+        {
+            // e.g. month 13; let the full parser decide.
+            return Long.MIN_VALUE;
+        }
+    }
+
+
+    private static int digits(String s, int offset, int count)
+    {
+        int value = 0;
+
+        for (int i = offset; i < offset + count; i++)
+        {
+            char c = s.charAt(i);
+
+            if (c < '0' || '9' < c)
+            {
+                return -1;
+            }
+
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
     }
 }
@@ -17,10 +17,10 @@ package com.authlete.jaxrs.server.obb.util;
 
 
 import static com.authlete.common.util.FapiUtils.X_FAPI_INTERACTION_ID;
-import java.text.SimpleDateFormat;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.Map;
-import java.util.TimeZone;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.HttpHeaders;
@@ -39,26 +39,24 @@ import com.authlete.common.util.Utils;
 import com.authlete.common.web.BearerToken;
 import com.authlete.common.web.DpopToken;
 import com.authlete.jaxrs.server.api.OBBCertValidator;
+import com.authlete.jaxrs.server.http.DtoJsonProvider;
 import com.authlete.jaxrs.server.obb.model.ResponseError;
+import com.authlete.jaxrs.server.util.JsonCodec;
 import com.authlete.jakarta.util.CertificateUtils;
 import com.nimbusds.jwt.SignedJWT;
 
 
 public class ObbUtils
 {
-    private static final SimpleDateFormat sDateFormat;
-
-
-    static
-    {
-        sDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
-        sDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-    }
+    // Unlike SimpleDateFormat, DateTimeFormatter is immutable and can be
+    // shared by concurrent requests.
+    private static final DateTimeFormatter sDateFormat =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneOffset.UTC);
 
 
     public static String formatDate(Date date)
     {
-        return sDateFormat.format(date);
+        return sDateFormat.format(date.toInstant());
     }
 
 
@@ -218,7 +216,8 @@ public class ObbUtils
         if (entity != null)
         {
             builder.type(MediaType.APPLICATION_JSON_TYPE);
-            builder.entity(entity instanceof String ? entity : Utils.toJson(entity, true));
+            builder.entity(entity instanceof String || DtoJsonProvider.supports(entity.getClass())
+                    ? entity : Utils.toJson(entity, true));
         }
 
         return builder.build();
@@ -399,7 +398,6 @@ public class ObbUtils
      * @see <a href="https://openbanking-brasil.github.io/specs-seguranca/open-banking-brasil-dynamic-client-registration-1_ID1.html"
      *      >Open Banking Brasil Financial-grade API Dynamic Client Registration 1.0 Implementers Draft 1</a>
      */
-    @SuppressWarnings("unchecked")
     public static boolean isObbDcr(String requestBody)
     {
         // If the request does not have a body.
@@ -413,7 +411,7 @@ public class ObbUtils
         try
         {
             // Try to parse the request body as JSON.
-            params = Utils.fromJson(requestBody, Map.class);
+            params = JsonCodec.readMap(requestBody);
         }
         catch (Exception e)
         {
@@ -500,7 +498,6 @@ public class ObbUtils
      * @see <a href="https://openbanking-brasil.github.io/specs-seguranca/open-banking-brasil-dynamic-client-registration-1_ID1.html"
      *      >Open Banking Brasil Financial-grade API Dynamic Client Registration 1.0 Implementers Draft 1</a>
      */
-    @SuppressWarnings("unchecked")
     public static boolean isObbDynamicClient(AuthleteApi api, String clientId)
     {
         Client client;
@@ -538,7 +535,7 @@ public class ObbUtils
         try
         {
             // Parse the string as JSON.
-            metadata = Utils.fromJson(json, Map.class);
+            metadata = JsonCodec.readMap(json);
         }
         catch (Exception e)
         {
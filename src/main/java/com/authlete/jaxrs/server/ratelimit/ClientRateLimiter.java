@@ -0,0 +1,478 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.ratelimit;
+
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import com.authlete.common.web.BasicCredentials;
+import com.authlete.jaxrs.server.ratelimit.RateLimitConfig.Limit;
+import com.authlete.jaxrs.server.util.ExceptionUtil;
+import com.nimbusds.jwt.JWTParser;
+
+
+/**
+ * Per-client rate limiter for the token endpoint and the pushed authorization
+ * request endpoint.
+ *
+ * <p>
+ * Each client gets a {@link TokenBucket} sized by {@link RateLimitConfig}.
+ * Both endpoints share the bucket of a client, so a client cannot double its
+ * allowance by alternating between them. When a bucket is empty the request
+ * is rejected with {@code 429 Too Many Requests} before any call is made to
+ * Authlete.
+ * </p>
+ *
+ * <p>
+ * Buckets are spread over independent maps (stripes) so that concurrent
+ * requests of different clients rarely touch the same map segment. Buckets
+ * unused for longer than {@code ratelimit.idleEvictionSeconds} are removed by
+ * a sweep that is amortized over requests: at most one stripe is scanned per
+ * sweep interval, by whichever request first notices the interval has
+ * elapsed. The number of tracked clients is capped at
+ * {@code ratelimit.maxClients}, so memory stays bounded even when requests
+ * carry arbitrary client IDs. The client ID is taken before the client is
+ * authenticated, so made-up IDs must not lock real clients out: a new client
+ * that arrives when the cap is reached replaces the least recently used of a
+ * few buckets of its stripe, or of the next stripe that has any. Only when no
+ * bucket can be removed does it get a fresh bucket that is not tracked.
+ * </p>
+ *
+ * <p>
+ * The decision for an allowed request is kept in the request property
+ * {@link #DECISION}, from which {@link RateLimitHeadersFilter} sets the
+ * {@code RateLimit-*} headers of the response, so that clients can slow
+ * down before they are rejected.
+ * </p>
+ */
+public class ClientRateLimiter
+{
+    /**
+     * The name of the request property that holds the
+     * {@link RateLimitDecision} of an allowed request.
+     */
+    public static final String DECISION = ClientRateLimiter.class.getName() + ".decision";
+
+
+    private static final int STRIPES = 16;
+
+    // The number of buckets looked at to find one to replace.
+    private static final int EVICTION_SAMPLES = 8;
+
+    static final String RATE_LIMIT_LIMIT     = "RateLimit-Limit";
+    static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET     = "RateLimit-Reset";
+
+    private static final String TOO_MANY_REQUESTS =
+            "{\n" +
+            "  \"error\":\"too_many_requests\",\n" +
+            "  \"error_description\":\"The client has exceeded its request rate. Retry later.\"\n" +
+            "}\n";
+
+
+    private static final class Holder
+    {
+        private static final ClientRateLimiter INSTANCE =
+                new ClientRateLimiter(new RateLimitConfig());
+    }
+
+
+    private final RateLimitConfig config;
+    private final LongSupplier    clock;
+
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final AtomicInteger size        = new AtomicInteger();
+    private final AtomicLong    nextSweepAt = new AtomicLong();
+    private final AtomicInteger sweepCursor = new AtomicInteger();
+    private final long          idleNanos;
+    private final long          sweepIntervalNanos;
+
+
+    ClientRateLimiter(RateLimitConfig config)
+    {
+        this(config, System::nanoTime);
+    }
+
+
+    /**
+     * Package-private constructor that allows an injected clock (in
+     * nanoseconds) for testing.
+     */
+    @SuppressWarnings("unchecked")
+    ClientRateLimiter(RateLimitConfig config, LongSupplier clock)
+    {
+        this.config  = config;
+        this.clock   = clock;
+        this.stripes = new ConcurrentHashMap[STRIPES];
+
+        for (int i = 0; i < STRIPES; i++)
+        {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+
+        long now = clock.getAsLong();
+
+        idleNanos          = config.getIdleEvictionMillis() * 1_000_000L;
+        sweepIntervalNanos = Math.max(1_000_000L, idleNanos / STRIPES);
+
+        nextSweepAt.set(now + sweepIntervalNanos);
+    }
+
+
+    /**
+     * Get the shared instance configured from {@code ratelimit.properties}.
+     */
+    public static ClientRateLimiter getInstance()
+    {
+        return Holder.INSTANCE;
+    }
+
+
+    /**
+     * Take one request from the bucket of the client that made the request,
+     * or throw if the bucket is empty. The decision of an allowed request is
+     * put in the request attribute {@link #DECISION}.
+     *
+     * @param request
+     *         The HTTP request.
+     *
+     * @param parameters
+     *         The form parameters of the request.
+     *
+     * @throws WebApplicationException
+     *         {@code 429 Too Many Requests} with the {@code RateLimit-*} and
+     *         {@code Retry-After} headers.
+     *
+     * @see #enforce(MultivaluedMap, String)
+     */
+    public void enforce(
+            HttpServletRequest request, MultivaluedMap<String, String> parameters)
+            throws WebApplicationException
+    {
+        RateLimitDecision decision = enforce(
+                parameters, request.getHeader(HttpHeaders.AUTHORIZATION));
+
+        // Under the servlet container, the properties of a JAX-RS request
+        // are the attributes of the servlet request.
+        if (decision != null && decision.getLimit() > 0)
+        {
+            request.setAttribute(DECISION, decision);
+        }
+    }
+
+
+    /**
+     * Take one request from the bucket of the client that made the request,
+     * or throw if the bucket is empty.
+     *
+     * <p>
+     * The client is identified by the {@code client_id} request parameter,
+     * the user ID of Basic credentials, or the {@code sub} claim of a
+     * {@code client_assertion}, in this order. A request that identifies no
+     * client is not limited; it will be rejected by Authlete anyway.
+     * </p>
+     *
+     * @param parameters
+     *         The form parameters of the request.
+     *
+     * @param authorization
+     *         The value of the {@code Authorization} header, or {@code null}.
+     *
+     * @return
+     *         The decision, or {@code null} if the request is not limited.
+     *
+     * @throws WebApplicationException
+     *         {@code 429 Too Many Requests} with the {@code RateLimit-*} and
+     *         {@code Retry-After} headers.
+     */
+    public RateLimitDecision enforce(
+            MultivaluedMap<String, String> parameters, String authorization)
+            throws WebApplicationException
+    {
+        if (!config.isEnabled())
+        {
+            return null;
+        }
+
+        String clientId = extractClientId(parameters, authorization);
+
+        if (clientId == null)
+        {
+            return null;
+        }
+
+        RateLimitDecision decision = tryAcquire(clientId);
+
+        if (decision.isAllowed())
+        {
+            return decision;
+        }
+
+        throw ExceptionUtil.tooManyRequestsExceptionJson(
+                TOO_MANY_REQUESTS, decision.getResetSeconds(), headersOf(decision));
+    }
+
+
+    /**
+     * Get the {@code RateLimit-*} headers for the decision.
+     */
+    static Map<String, Object> headersOf(RateLimitDecision decision)
+    {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(RATE_LIMIT_LIMIT,     decision.getLimit());
+        headers.put(RATE_LIMIT_REMAINING, decision.getRemaining());
+        headers.put(RATE_LIMIT_RESET,     decision.getResetSeconds());
+
+        return headers;
+    }
+
+
+    /**
+     * Take one request from the bucket of the given client.
+     */
+    public RateLimitDecision tryAcquire(String clientId)
+    {
+        long now = clock.getAsLong();
+
+        maybeSweep(now);
+
+        return bucketOf(clientId, now).tryConsume(now);
+    }
+
+
+    private TokenBucket bucketOf(String clientId, long now)
+    {
+        ConcurrentHashMap<String, TokenBucket> stripe = stripeOf(clientId);
+
+        TokenBucket bucket = stripe.get(clientId);
+
+        if (bucket != null)
+        {
+            return bucket;
+        }
+
+        // The limit is resolved only when the bucket is created, which keeps
+        // property lookups off the path of known clients.
+        Limit limit = config.getLimit(clientId);
+
+        // Reserve a slot before creating the bucket so that the cap holds
+        // under concurrent arrivals of new clients. When the cap is reached,
+        // make room in the stripe rather than turning the client away, or
+        // made-up client IDs could take every slot.
+        if (size.incrementAndGet() > config.getMaxClients() && !evict(clientId))
+        {
+            size.decrementAndGet();
+            return new TokenBucket(limit, now);
+        }
+
+        TokenBucket created  = new TokenBucket(limit, now);
+        TokenBucket existing = stripe.putIfAbsent(clientId, created);
+
+        if (existing != null)
+        {
+            // Another request of the same client won the race.
+            size.decrementAndGet();
+            return existing;
+        }
+
+        return created;
+    }
+
+
+    /**
+     * Remove a bucket from the stripe of the client, or from the next stripe
+     * that has one.
+     *
+     * @return
+     *         {@code true} if a bucket was removed.
+     */
+    private boolean evict(String clientId)
+    {
+        int first = stripeIndexOf(clientId);
+
+        for (int i = 0; i < STRIPES; i++)
+        {
+            if (evictFrom(stripes[(first + i) & (STRIPES - 1)]))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Remove the least recently used of the first few buckets of the stripe.
+     *
+     * @return
+     *         {@code true} if a bucket was removed.
+     */
+    private boolean evictFrom(ConcurrentHashMap<String, TokenBucket> stripe)
+    {
+        Map.Entry<String, TokenBucket> oldest = null;
+        int samples = 0;
+
+        for (Map.Entry<String, TokenBucket> entry : stripe.entrySet())
+        {
+            if (oldest == null ||
+                entry.getValue().getLastAccessAt() - oldest.getValue().getLastAccessAt() < 0)
+            {
+                oldest = entry;
+            }
+
+            if (++samples == EVICTION_SAMPLES)
+            {
+                break;
+            }
+        }
+
+        if (oldest == null || !stripe.remove(oldest.getKey(), oldest.getValue()))
+        {
+            return false;
+        }
+
+        size.decrementAndGet();
+
+        return true;
+    }
+
+
+    private ConcurrentHashMap<String, TokenBucket> stripeOf(String clientId)
+    {
+        return stripes[stripeIndexOf(clientId)];
+    }
+
+
+    private static int stripeIndexOf(String clientId)
+    {
+        int h = clientId.hashCode();
+
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+
+    /**
+     * Remove idle buckets from one stripe if the sweep interval has elapsed.
+     * Only the request that advances {@code nextSweepAt} does the work.
+     */
+    private void maybeSweep(long now)
+    {
+        long next = nextSweepAt.get();
+
+        if (now - next < 0 || !nextSweepAt.compareAndSet(next, now + sweepIntervalNanos))
+        {
+            return;
+        }
+
+        ConcurrentHashMap<String, TokenBucket> stripe =
+                stripes[(sweepCursor.getAndIncrement() & Integer.MAX_VALUE) % STRIPES];
+
+        for (Map.Entry<String, TokenBucket> entry : stripe.entrySet())
+        {
+            if (now - entry.getValue().getLastAccessAt() > idleNanos &&
+                stripe.remove(entry.getKey(), entry.getValue()))
+            {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+
+    /**
+     * Get the number of clients currently tracked.
+     */
+    public int size()
+    {
+        return size.get();
+    }
+
+
+    static String extractClientId(
+            MultivaluedMap<String, String> parameters, String authorization)
+    {
+        if (parameters != null)
+        {
+            String clientId = parameters.getFirst("client_id");
+
+            if (clientId != null && !clientId.isEmpty())
+            {
+                return clientId;
+            }
+        }
+
+        BasicCredentials credentials = BasicCredentials.parse(authorization);
+
+        if (credentials != null && credentials.getUserId() != null)
+        {
+            return decodeBasicUserId(credentials.getUserId());
+        }
+
+        if (parameters != null)
+        {
+            return subjectOf(parameters.getFirst("client_assertion"));
+        }
+
+        return null;
+    }
+
+
+    private static String decodeBasicUserId(String userId)
+    {
+        // RFC 6749, 2.3.1: the client ID is form-urlencoded before it is
+        // put in Basic credentials.
+        try
+        {
+            return URLDecoder.decode(userId, StandardCharsets.UTF_8);
+        }
+        catch (IllegalArgumentException e)
+        {
+            return userId;
+        }
+    }
+
+
+    private static String subjectOf(String assertion)
+    {
+        if (assertion == null)
+        {
+            return null;
+        }
+
+        // RFC 7523, 3: the "sub" claim of a client assertion is the client ID.
+        // The signature is not verified here; Authlete does that.
+        try
+        {
+            return JWTParser.parse(assertion).getJWTClaimsSet().getSubject();
+        }
+        catch (ParseException e)
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.ratelimit;
+
+
+/**
+ * Typed, defaulted access to the per-client rate limiting configuration
+ * defined in {@code ratelimit.properties} (overridable via JVM system
+ * properties).
+ *
+ * <p>
+ * The limit of a client is resolved in this order:
+ * </p>
+ * <ol>
+ *   <li>{@code ratelimit.client.{clientId}.capacity} and
+ *       {@code ratelimit.client.{clientId}.refillPerSecond}</li>
+ *   <li>the limit of the class named by
+ *       {@code ratelimit.client.{clientId}.class}, i.e.
+ *       {@code ratelimit.class.{class}.capacity} and
+ *       {@code ratelimit.class.{class}.refillPerSecond}</li>
+ *   <li>{@code ratelimit.default.capacity} and
+ *       {@code ratelimit.default.refillPerSecond}</li>
+ * </ol>
+ */
+public final class RateLimitConfig
+{
+    private static final RateLimitProperties PROPS = new RateLimitProperties();
+
+
+    /**
+     * A token bucket limit: up to {@code capacity} requests in a burst,
+     * refilled at {@code refillPerSecond} requests per second.
+     */
+    public static final class Limit
+    {
+        final long   capacity;
+        final double refillPerSecond;
+
+        Limit(long capacity, double refillPerSecond)
+        {
+            this.capacity        = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+
+        /**
+         * Tell whether this limit lets every request through. A
+         * non-positive capacity or refill rate means "unlimited".
+         */
+        boolean isUnlimited()
+        {
+            return capacity <= 0 || refillPerSecond <= 0;
+        }
+    }
+
+
+    private final boolean enabled;
+    private final long    idleEvictionMillis;
+    private final int     maxClients;
+    private final Limit   defaultLimit;
+
+
+    /**
+     * Build a configuration snapshot from {@code ratelimit.properties} and
+     * system properties.
+     */
+    public RateLimitConfig()
+    {
+        enabled            = PROPS.getBoolean("ratelimit.enabled", true);
+        idleEvictionMillis = PROPS.getLong("ratelimit.idleEvictionSeconds", 600) * 1000L;
+        maxClients         = PROPS.getInt("ratelimit.maxClients", 100000);
+        defaultLimit       = readLimit("ratelimit.default", new Limit(100, 20));
+    }
+
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+
+    public long getIdleEvictionMillis()
+    {
+        return idleEvictionMillis;
+    }
+
+
+    public int getMaxClients()
+    {
+        return maxClients;
+    }
+
+
+    public Limit getDefaultLimit()
+    {
+        return defaultLimit;
+    }
+
+
+    /**
+     * Resolve the limit that applies to the given client.
+     */
+    public Limit getLimit(String clientId)
+    {
+        String prefix = "ratelimit.client." + clientId;
+
+        // The class of the client, if any.
+        String clientClass = PROPS.getString(prefix + ".class", null);
+
+        Limit fallback = (clientClass == null) ? defaultLimit
+                       : readLimit("ratelimit.class." + clientClass.trim(), defaultLimit);
+
+        return readLimit(prefix, fallback);
+    }
+
+
+    private static Limit readLimit(String prefix, Limit fallback)
+    {
+        String capacity = PROPS.getString(prefix + ".capacity", null);
+        String refill   = PROPS.getString(prefix + ".refillPerSecond", null);
+
+        // Nothing is configured under the prefix.
+        if (capacity == null && refill == null)
+        {
+            return fallback;
+        }
+
+        try
+        {
+            return new Limit(
+                    (capacity == null) ? fallback.capacity : Long.parseLong(capacity.trim()),
+                    (refill   == null) ? fallback.refillPerSecond : Double.parseDouble(refill.trim()));
+        }
+        catch (NumberFormatException e)
+        {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.ratelimit;
+
+
+/**
+ * The outcome of one {@link ClientRateLimiter#tryAcquire(String)} call,
+ * carrying the values of the {@code RateLimit-*} response headers.
+ */
+public final class RateLimitDecision
+{
+    /**
+     * The decision for a client without a limit.
+     */
+    static final RateLimitDecision UNLIMITED = new RateLimitDecision(true, 0, 0, 0);
+
+
+    private final boolean allowed;
+    private final long    limit;
+    private final long    remaining;
+    private final long    resetSeconds;
+
+
+    RateLimitDecision(boolean allowed, long limit, long remaining, long resetSeconds)
+    {
+        this.allowed      = allowed;
+        this.limit        = limit;
+        this.remaining    = remaining;
+        this.resetSeconds = resetSeconds;
+    }
+
+
+    /**
+     * Tell whether the request may proceed.
+     */
+    public boolean isAllowed()
+    {
+        return allowed;
+    }
+
+
+    /**
+     * Get the bucket capacity, i.e. the value of {@code RateLimit-Limit}.
+     */
+    public long getLimit()
+    {
+        return limit;
+    }
+
+
+    /**
+     * Get the number of requests left in the bucket, i.e. the value of
+     * {@code RateLimit-Remaining}.
+     */
+    public long getRemaining()
+    {
+        return remaining;
+    }
+
+
+    /**
+     * Get the number of seconds until the next request would be allowed,
+     * i.e. the value of {@code RateLimit-Reset} and {@code Retry-After}.
+     */
+    public long getResetSeconds()
+    {
+        return resetSeconds;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.ratelimit;
+
+
+import java.io.IOException;
+import java.util.Map;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import com.authlete.jaxrs.server.decorator.DecoratorPriorities;
+
+
+/**
+ * A filter to add the {@code RateLimit-Limit}, {@code RateLimit-Remaining}
+ * and {@code RateLimit-Reset} HTTP headers to the responses of requests that
+ * {@link ClientRateLimiter} allowed.
+ *
+ * <p>
+ * Rejected requests get the headers from the {@code 429} response itself.
+ * </p>
+ */
+@Provider
+@Priority(DecoratorPriorities.RATE_LIMIT_HEADERS_RESPONSE_FILTER)
+public class RateLimitHeadersFilter implements ContainerResponseFilter
+{
+    @Override
+    public void filter(
+            ContainerRequestContext requestContext,
+            ContainerResponseContext responseContext) throws IOException
+    {
+        Object decision = requestContext.getProperty(ClientRateLimiter.DECISION);
+
+        if (decision instanceof RateLimitDecision)
+        {
+            addHeaders(responseContext.getHeaders(), (RateLimitDecision)decision);
+        }
+    }
+
+
+    static void addHeaders(MultivaluedMap<String, Object> headers, RateLimitDecision decision)
+    {
+        if (headers.containsKey(ClientRateLimiter.RATE_LIMIT_LIMIT))
+        {
+            return;
+        }
+
+        for (Map.Entry<String, Object> header : ClientRateLimiter.headersOf(decision).entrySet())
+        {
+            headers.putSingle(header.getKey(), header.getValue());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.ratelimit;
+
+
+import com.authlete.jaxrs.server.ratelimit.RateLimitConfig.Limit;
+
+
+/**
+ * A token bucket for one client: up to {@code capacity} requests may be made
+ * in a burst, and the bucket is refilled continuously at
+ * {@code refillPerSecond}.
+ *
+ * <p>
+ * A bucket built from an unlimited {@link Limit} lets every request through.
+ * It is still kept so that the limit of the client is not resolved again.
+ * </p>
+ *
+ * <p>
+ * The bucket is refilled lazily when it is consumed, so an idle bucket costs
+ * nothing. The critical section only does arithmetic on two fields and never
+ * blocks.
+ * </p>
+ */
+class TokenBucket
+{
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+
+    private final boolean unlimited;
+    private final long    capacity;
+    private final double  refillPerNano;
+
+    private double tokens;
+    private long   refilledAt;
+
+    // Read by the eviction sweep without taking the lock.
+    private volatile long lastAccessAt;
+
+
+    TokenBucket(Limit limit, long nowNanos)
+    {
+        this.unlimited     = limit.isUnlimited();
+        this.capacity      = limit.capacity;
+        this.refillPerNano = limit.refillPerSecond / NANOS_PER_SECOND;
+        this.tokens        = capacity;
+        this.refilledAt    = nowNanos;
+        this.lastAccessAt  = nowNanos;
+    }
+
+
+    /**
+     * Take one token if available.
+     */
+    synchronized RateLimitDecision tryConsume(long nowNanos)
+    {
+        lastAccessAt = nowNanos;
+
+        if (unlimited)
+        {
+            return RateLimitDecision.UNLIMITED;
+        }
+
+        long elapsed = nowNanos - refilledAt;
+
+        if (elapsed > 0)
+        {
+            tokens     = Math.min(capacity, tokens + elapsed * refillPerNano);
+            refilledAt = nowNanos;
+        }
+
+        if (tokens >= 1.0)
+        {
+            tokens -= 1.0;
+
+            return new RateLimitDecision(true, capacity, (long)tokens, secondsUntil(capacity));
+        }
+
+        return new RateLimitDecision(false, capacity, 0, secondsUntil(1.0));
+    }
+
+
+    /**
+     * The number of whole seconds (at least 1) until the bucket holds the
+     * given number of tokens.
+     */
+    private long secondsUntil(double target)
+    {
+        double missing = target - tokens;
+
+        if (missing <= 0)
+        {
+            return 0;
+        }
+
+        return Math.max(1L, (long)Math.ceil(missing / refillPerNano / NANOS_PER_SECOND));
+    }
+
+
+    long getLastAccessAt()
+    {
+        return lastAccessAt;
+    }
+}
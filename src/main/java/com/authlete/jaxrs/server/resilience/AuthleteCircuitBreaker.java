@@ -42,7 +42,9 @@ import java.util.function.LongSupplier;
  *
  * <p>
  * All state transitions are guarded by intrinsic locking; the breaker is safe
- * for concurrent use.
+ * for concurrent use. The critical sections only update fields and never
+ * block, so they stay short when requests run on virtual threads (see
+ * {@code VirtualThreadConcurrencyTest}).
  * </p>
  */
 class AuthleteCircuitBreaker
@@ -18,6 +18,7 @@ package com.authlete.jaxrs.server.resilience;
 
 
 import java.util.concurrent.ConcurrentHashMap;
+import com.authlete.jaxrs.server.metrics.MetricsRegistry;
 
 
 /**
@@ -67,6 +68,15 @@ class AuthleteCircuitBreakerRegistry
 
         AuthleteCircuitBreaker previous = breakers.putIfAbsent(methodName, created);
 
-        return (previous != null) ? previous : created;
+        if (previous != null)
+        {
+            return previous;
+        }
+
+        // Expose the state of the new breaker as 0, 1 or 2 (see State).
+        MetricsRegistry.getInstance().forAuthleteMethod(methodName)
+                .bindBreakerState(() -> created.getState().ordinal());
+
+        return created;
     }
 }
\ No newline at end of file
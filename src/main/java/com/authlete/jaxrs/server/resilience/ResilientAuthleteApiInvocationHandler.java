@@ -22,13 +22,21 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URLDecoder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.authlete.common.api.AuthleteApi;
 import com.authlete.common.api.AuthleteApiException;
 import com.authlete.common.dto.IntrospectionResponse;
 import com.authlete.common.dto.RevocationRequest;
+import com.authlete.jaxrs.server.jfr.AuthleteCallEvent;
+import com.authlete.jaxrs.server.metrics.AuthleteMethodMetrics;
+import com.authlete.jaxrs.server.metrics.MetricsRegistry;
 import com.authlete.jaxrs.server.resilience.AuthleteCacheableMethods.CachePolicy;
+import com.authlete.jaxrs.server.trace.Span;
+import com.authlete.jaxrs.server.trace.SpanKind;
 
 
 /**
@@ -50,6 +58,21 @@ import com.authlete.jaxrs.server.resilience.AuthleteCacheableMethods.CachePolicy
  *       retry grows exponentially (honouring {@code RateLimit-Reset} on 429),
  *       bounded by a total retry budget.</li>
  * </ol>
+ *
+ * <p>
+ * Cache misses are single-flight: while one call for a cache key is on its
+ * way to Authlete, concurrent calls for the same key wait for its outcome
+ * instead of issuing their own request. This keeps a burst of identical
+ * introspection requests (e.g. a batch from an API gateway, or many
+ * resource servers validating the same token) down to one Authlete call.
+ * </p>
+ *
+ * <p>
+ * The latency of each call made to Authlete, the retries and the cache hits
+ * and misses are recorded in the method's {@link AuthleteMethodMetrics}.
+ * When a JFR recording enables it, an {@link AuthleteCallEvent} is also
+ * emitted for every call through the proxy.
+ * </p>
  */
 class ResilientAuthleteApiInvocationHandler implements InvocationHandler
 {
@@ -63,6 +86,10 @@ class ResilientAuthleteApiInvocationHandler implements InvocationHandler
     private final AuthleteBackoff                backoff;
     private final AuthleteCircuitBreakerRegistry breakers;
 
+    // Calls on their way to Authlete, keyed by cache key.
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight =
+            new ConcurrentHashMap<String, CompletableFuture<Object>>();
+
     private final boolean cacheEnabled;
     private final boolean retryEnabled;
     private final boolean breakerEnabled;
@@ -100,19 +127,151 @@ class ResilientAuthleteApiInvocationHandler implements InvocationHandler
             return invokeObjectMethod(proxy, method, args);
         }
 
-        CachePolicy policy = cacheEnabled ? cacheable.policyFor(method, args) : null;
+        // Counted in the timing breakdown of the current request, if any.
+        try (Span span = Span.start(SpanKind.AUTHLETE, method.getName()))
+        {
+            return invokeObserved(method, args);
+        }
+    }
 
-        // (1) Serve a fresh cached response without touching the network.
-        if (policy != null)
+
+    /**
+     * Call {@link #invokeCached} while recording metrics and, when enabled,
+     * a JFR event.
+     */
+    private Object invokeObserved(Method method, Object[] args) throws Throwable
+    {
+        AuthleteMethodMetrics metrics =
+                MetricsRegistry.getInstance().forAuthleteMethod(method.getName());
+
+        // Null unless a JFR recording has the event enabled.
+        AuthleteCallEvent event = AuthleteCallEvent.beginIfEnabled(method.getName());
+
+        if (event == null)
         {
-            Object fresh = cache.getFresh(policy.key);
+            return invokeCached(method, args, metrics, null);
+        }
 
-            if (fresh != null)
+        try
+        {
+            return invokeCached(method, args, metrics, event);
+        }
+        catch (AuthleteApiException e)
+        {
+            event.statusCode = e.getStatusCode();
+            throw e;
+        }
+        finally
+        {
+            if (breakerEnabled)
             {
-                return fresh;
+                event.breakerState = breakers.forMethod(method.getName()).getState().name();
             }
+
+            event.commit();
+        }
+    }
+
+
+    /**
+     * Serve the call from the cache when possible, and otherwise call
+     * Authlete through {@link #invokeResiliently}.
+     */
+    private Object invokeCached(
+            Method method, Object[] args, AuthleteMethodMetrics metrics,
+            AuthleteCallEvent event) throws Throwable
+    {
+        CachePolicy policy = cacheEnabled ? cacheable.policyFor(method, args) : null;
+
+        // Uncacheable calls go straight to Authlete.
+        if (policy == null)
+        {
+            return invokeResiliently(method, args, null, metrics, event);
+        }
+
+        // (1) Serve a fresh cached response without touching the network.
+        Object fresh = cache.getFresh(policy.key);
+
+        if (fresh != null)
+        {
+            metrics.recordCacheHit();
+            setCacheOutcome(event, AuthleteCallEvent.CACHE_HIT);
+            return fresh;
         }
 
+        metrics.recordCacheMiss();
+        setCacheOutcome(event, AuthleteCallEvent.CACHE_MISS);
+
+        // (1') Single-flight: join a call already made for the same key.
+        CompletableFuture<Object> mine     = new CompletableFuture<Object>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(policy.key, mine);
+
+        if (existing != null)
+        {
+            setCacheOutcome(event, AuthleteCallEvent.CACHE_JOINED);
+            return await(existing);
+        }
+
+        try
+        {
+            Object result = invokeResiliently(method, args, policy, metrics, event);
+            mine.complete(result);
+            return result;
+        }
+        catch (Throwable t)
+        {
+            mine.completeExceptionally(t);
+            throw t;
+        }
+        finally
+        {
+            inFlight.remove(policy.key, mine);
+        }
+    }
+
+
+    /**
+     * Wait for the outcome of a call made by another thread, and return its
+     * result or rethrow its exception.
+     */
+    private static Object await(CompletableFuture<Object> future) throws Throwable
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (ExecutionException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+
+    /**
+     * The number of callers currently waiting in {@link #await} for a call
+     * made by another thread.
+     */
+    int countJoinedCallers()
+    {
+        int count = 0;
+
+        for (CompletableFuture<Object> future : inFlight.values())
+        {
+            count += future.getNumberOfDependents();
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Call Authlete under the circuit breaker, retrying transient failures and
+     * falling back to a stale cached value when possible.
+     */
+    private Object invokeResiliently(
+            Method method, Object[] args, CachePolicy policy,
+            AuthleteMethodMetrics metrics, AuthleteCallEvent event) throws Throwable
+    {
         AuthleteCircuitBreaker breaker = breakerEnabled ? breakers.forMethod(method.getName()) : null;
 
         long start   = System.currentTimeMillis();
@@ -130,16 +289,26 @@ class ResilientAuthleteApiInvocationHandler implements InvocationHandler
 
                 if (stale != null)
                 {
+                    setCacheOutcome(event, AuthleteCallEvent.CACHE_STALE);
                     return stale;
                 }
 
                 throw (lastError != null) ? lastError : circuitOpenException(method);
             }
 
+            if (event != null)
+            {
+                event.attempts = attempt;
+            }
+
+            long callStart = System.nanoTime();
+
             try
             {
                 Object result = method.invoke(delegate, args);
 
+                metrics.recordCall(System.nanoTime() - callStart);
+
                 if (breaker != null)
                 {
                     breaker.recordSuccess();
@@ -162,6 +331,8 @@ class ResilientAuthleteApiInvocationHandler implements InvocationHandler
             }
             catch (InvocationTargetException ite)
             {
+                metrics.recordCall(System.nanoTime() - callStart);
+
                 Throwable cause = ite.getCause();
 
                 // Only AuthleteApiException participates in retry/breaker logic;
@@ -211,11 +382,15 @@ class ResilientAuthleteApiInvocationHandler implements InvocationHandler
 
                     if (elapsed + delay <= maxTotalMillis)
                     {
-                        logger.debug("Authlete API {} failed (status={}, attempt={}); retrying in {} ms.",
-                                method.getName(), status, attempt, delay);
+                        if (logger.isDebugEnabled())
+                        {
+                            logger.debug("Authlete API {} failed (status={}, attempt={}); retrying in {} ms.",
+                                    method.getName(), status, attempt, delay);
+                        }
 
                         if (sleep(delay))
                         {
+                            metrics.recordRetry();
                             continue;
                         }
                     }
@@ -229,6 +404,7 @@ class ResilientAuthleteApiInvocationHandler implements InvocationHandler
 
                     if (stale != null)
                     {
+                        setCacheOutcome(event, AuthleteCallEvent.CACHE_STALE);
                         return stale;
                     }
                 }
@@ -299,7 +475,7 @@ class ResilientAuthleteApiInvocationHandler implements InvocationHandler
                 key.startsWith(prefix)
                 || (key.startsWith("standardIntrospection::") && key.contains(token)));
 
-        if (removed > 0)
+        if (removed > 0 && logger.isDebugEnabled())
         {
             logger.debug("Evicted {} cached introspection entries for a revoked token.", removed);
         }
@@ -369,6 +545,15 @@ class ResilientAuthleteApiInvocationHandler implements InvocationHandler
     }
 
 
+    private static void setCacheOutcome(AuthleteCallEvent event, String outcome)
+    {
+        if (event != null)
+        {
+            event.cacheOutcome = outcome;
+        }
+    }
+
+
     /**
      * Sleep for the given duration. Returns {@code false} if interrupted, in
      * which case the caller should stop retrying.
@@ -0,0 +1,348 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.trace;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+
+/**
+ * The timing breakdown of one request: its start time and the {@link Span}s
+ * recorded while it was processed, added up per {@link SpanKind}.
+ *
+ * <p>
+ * The trace of the request being processed is bound to the current thread
+ * by {@link TracingFilter} and unbound by {@link TracingListener}, which
+ * also writes it to the log as one line of {@code key=value} pairs. While
+ * bound, the trace ID (the {@code x-fapi-interaction-id} of the request) is
+ * in the logging MDC under {@value #MDC_KEY}.
+ * </p>
+ *
+ * <p>
+ * Work handed to other threads keeps its trace through
+ * {@link #propagate(Runnable)}, or, for work that outlives the request,
+ * gets a trace of its own with the same ID through
+ * {@link #detach(String, Runnable)}.
+ * </p>
+ */
+public final class RequestTrace
+{
+    /**
+     * The MDC key of the trace ID.
+     */
+    public static final String MDC_KEY = "interactionId";
+
+
+    /**
+     * The maximum number of individual spans kept for the log. Spans
+     * beyond this are still added to the totals of their kind.
+     */
+    private static final int MAX_SPANS = 32;
+
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestTrace.class);
+
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+
+    /**
+     * A span kept for the log.
+     */
+    private static final class Entry
+    {
+        final SpanKind kind;
+        final String   name;
+        final long     offset;
+        final long     duration;
+
+        Entry(SpanKind kind, String name, long offset, long duration)
+        {
+            this.kind     = kind;
+            this.name     = name;
+            this.offset   = offset;
+            this.duration = duration;
+        }
+    }
+
+
+    private final String id;
+    private final long   startedAt;
+
+    // Guarded by this.
+    private final long[]      totals  = new long[SpanKind.values().length];
+    private final int[]       counts  = new int[SpanKind.values().length];
+    private final List<Entry> entries = new ArrayList<>();
+
+
+    RequestTrace(String id, long startedAt)
+    {
+        this.id        = id;
+        this.startedAt = startedAt;
+    }
+
+
+    /**
+     * Get the trace bound to the current thread.
+     *
+     * @return
+     *         The trace, or {@code null} if the thread is not processing a
+     *         traced request.
+     */
+    public static RequestTrace current()
+    {
+        return CURRENT.get();
+    }
+
+
+    /**
+     * Start a trace and bind it to the current thread.
+     */
+    static RequestTrace begin(String id)
+    {
+        RequestTrace trace = new RequestTrace(id, System.nanoTime());
+
+        trace.bind();
+
+        return trace;
+    }
+
+
+    /**
+     * Unbind the trace of the current thread, if it is this one.
+     */
+    void end()
+    {
+        if (CURRENT.get() == this)
+        {
+            CURRENT.remove();
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+
+    private void bind()
+    {
+        CURRENT.set(this);
+        MDC.put(MDC_KEY, id);
+    }
+
+
+    /**
+     * Make a task that runs with the trace of the current thread, for work
+     * that the request waits for on other threads.
+     */
+    public static Runnable propagate(Runnable task)
+    {
+        RequestTrace trace = current();
+
+        if (trace == null)
+        {
+            return task;
+        }
+
+        return () -> {
+            RequestTrace previous = CURRENT.get();
+
+            trace.bind();
+
+            try
+            {
+                task.run();
+            }
+            finally
+            {
+                restore(previous);
+            }
+        };
+    }
+
+
+    /**
+     * Make a task that runs with a trace of its own, which has the ID of the
+     * current thread's trace and is logged under the given name when the
+     * task ends. This is for work that outlives the request, such as the
+     * communication with a CIBA authentication device.
+     */
+    public static Runnable detach(String name, Runnable task)
+    {
+        RequestTrace trace = current();
+
+        if (trace == null)
+        {
+            return task;
+        }
+
+        String id = trace.getId();
+
+        return () -> {
+            RequestTrace previous = CURRENT.get();
+            RequestTrace detached = begin(id);
+
+            try
+            {
+                task.run();
+            }
+            finally
+            {
+                detached.log(name, -1);
+                restore(previous);
+            }
+        };
+    }
+
+
+    private static void restore(RequestTrace previous)
+    {
+        if (previous != null)
+        {
+            previous.bind();
+        }
+        else
+        {
+            CURRENT.remove();
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+
+    /**
+     * Get the ID of the trace, which is the {@code x-fapi-interaction-id}
+     * of the request.
+     */
+    public String getId()
+    {
+        return id;
+    }
+
+
+    synchronized void record(SpanKind kind, String name, long start, long duration)
+    {
+        totals[kind.ordinal()] += duration;
+        counts[kind.ordinal()]++;
+
+        if (entries.size() < MAX_SPANS)
+        {
+            entries.add(new Entry(kind, name, start - startedAt, duration));
+        }
+    }
+
+
+    /**
+     * Build the value of the {@code Server-Timing} response header: the
+     * total time so far as {@code total}, then the time of each kind of span
+     * with the number of spans as its description.
+     */
+    synchronized String toServerTiming()
+    {
+        StringBuilder sb = new StringBuilder(128);
+
+        sb.append("total;dur=").append(millis(System.nanoTime() - startedAt));
+
+        for (SpanKind kind : SpanKind.values())
+        {
+            int i = kind.ordinal();
+
+            if (counts[i] == 0)
+            {
+                continue;
+            }
+
+            sb.append(", ").append(kind.getMetricName())
+              .append(";dur=").append(millis(totals[i]))
+              .append(";desc=\"").append(counts[i]).append(counts[i] == 1 ? " call\"" : " calls\"");
+        }
+
+        return sb.toString();
+    }
+
+
+    /**
+     * Write the trace to the log as one line of {@code key=value} pairs.
+     *
+     * @param name
+     *         What was traced, e.g. the name of the resource class.
+     *
+     * @param status
+     *         The status code of the response, or -1 if there is none.
+     */
+    void log(String name, int status)
+    {
+        if (!logger.isInfoEnabled())
+        {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder(256);
+
+        sb.append("trace=").append(name).append(" id=").append(id);
+
+        if (status >= 0)
+        {
+            sb.append(" status=").append(status);
+        }
+
+        sb.append(" total_ms=").append(millis(System.nanoTime() - startedAt));
+
+        synchronized (this)
+        {
+            for (SpanKind kind : SpanKind.values())
+            {
+                int i = kind.ordinal();
+
+                if (counts[i] == 0)
+                {
+                    continue;
+                }
+
+                sb.append(' ').append(kind.getMetricName()).append("_ms=").append(millis(totals[i]));
+                sb.append(' ').append(kind.getMetricName()).append("_calls=").append(counts[i]);
+            }
+
+            if (!entries.isEmpty())
+            {
+                // kind:name@offset+duration, in milliseconds.
+                sb.append(" spans=\"");
+
+                for (int i = 0; i < entries.size(); i++)
+                {
+                    Entry e = entries.get(i);
+
+                    sb.append(i == 0 ? "" : " ")
+                      .append(e.kind.getMetricName()).append(':').append(e.name)
+                      .append('@').append(millis(e.offset))
+                      .append('+').append(millis(e.duration));
+                }
+
+                sb.append('"');
+            }
+        }
+
+        logger.info(sb.toString());
+    }
+
+
+    private static String millis(long nanos)
+    {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+}
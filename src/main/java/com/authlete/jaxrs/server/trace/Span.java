@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.trace;
+
+
+/**
+ * A timed section of a request, such as an outbound call, recorded in the
+ * {@link RequestTrace} of the current thread when it is closed.
+ *
+ * <pre>
+ * try (Span span = Span.start(SpanKind.AUTHLETE, "token"))
+ * {
+ *     ...
+ * }
+ * </pre>
+ *
+ * <p>
+ * When the current thread has no trace, {@link #start(SpanKind, String)}
+ * returns a shared span that records nothing.
+ * </p>
+ */
+public final class Span implements AutoCloseable
+{
+    private static final Span NOOP = new Span(null, null, null, 0);
+
+
+    private final RequestTrace trace;
+    private final SpanKind     kind;
+    private final String       name;
+    private final long         startedAt;
+
+
+    private Span(RequestTrace trace, SpanKind kind, String name, long startedAt)
+    {
+        this.trace     = trace;
+        this.kind      = kind;
+        this.name      = name;
+        this.startedAt = startedAt;
+    }
+
+
+    /**
+     * Start a span in the trace of the current thread.
+     *
+     * @param kind
+     *         What the span measures.
+     *
+     * @param name
+     *         The name of the span within its kind, e.g. the name of the
+     *         Authlete API method.
+     */
+    public static Span start(SpanKind kind, String name)
+    {
+        RequestTrace trace = RequestTrace.current();
+
+        if (trace == null)
+        {
+            return NOOP;
+        }
+
+        return new Span(trace, kind, name, System.nanoTime());
+    }
+
+
+    @Override
+    public void close()
+    {
+        if (trace != null)
+        {
+            trace.record(kind, name, startedAt, System.nanoTime() - startedAt);
+        }
+    }
+}
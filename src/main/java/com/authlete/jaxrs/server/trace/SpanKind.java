@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.trace;
+
+
+/**
+ * What a {@link Span} measures. Spans of the same kind are added up in the
+ * {@code Server-Timing} header and the request log.
+ */
+public enum SpanKind
+{
+    /**
+     * A call to the Authlete API.
+     */
+    AUTHLETE("authlete"),
+
+
+    /**
+     * A request to an OpenID provider of ID federation.
+     */
+    FEDERATION("federation"),
+
+
+    /**
+     * A request to the CIBA authentication device or to a client's CIBA
+     * notification endpoint.
+     */
+    CIBA("ciba"),
+
+
+    /**
+     * A callback from an Authlete handler to one of our SPI implementations.
+     */
+    SPI("spi");
+
+
+    private final String metricName;
+
+
+    private SpanKind(String metricName)
+    {
+        this.metricName = metricName;
+    }
+
+
+    /**
+     * Get the name of the kind in the {@code Server-Timing} header and the
+     * request log.
+     */
+    public String getMetricName()
+    {
+        return metricName;
+    }
+}
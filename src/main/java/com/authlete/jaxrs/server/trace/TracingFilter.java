@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.trace;
+
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.ext.Provider;
+import com.authlete.jaxrs.server.ServerConfig;
+import com.authlete.jaxrs.server.decorator.DecoratorPriorities;
+import com.authlete.jaxrs.server.http.RequestUtility;
+
+
+/**
+ * Starts the {@link RequestTrace} of each request and reports it in the
+ * {@code Server-Timing} response header.
+ *
+ * <p>
+ * The ID of the trace is the {@code x-fapi-interaction-id} of the request,
+ * or a random UUID when the request has none, which
+ * {@link com.authlete.jaxrs.server.decorator.FapiInteractionIdResponseFilter
+ * FapiInteractionIdResponseFilter} then returns to the client. The ID goes
+ * into the log as is, so a client-supplied value is used only if it is a
+ * UUID (which FAPI requires); otherwise a random UUID is used instead, and
+ * the log line cannot be forged or broken up by the client. The trace is
+ * ended and logged by {@link TracingListener}.
+ * </p>
+ *
+ * <p>
+ * As a response filter, this runs after all the other response filters, so
+ * the {@code total} of the header covers them. It does not cover writing
+ * the entity.
+ * </p>
+ */
+@Provider
+@PreMatching
+@Priority(DecoratorPriorities.TRACING_FILTER)
+public class TracingFilter implements ContainerRequestFilter, ContainerResponseFilter
+{
+    /**
+     * The request property holding the {@link RequestTrace}.
+     */
+    public static final String TRACE = TracingFilter.class.getName() + ".trace";
+
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+
+    private static final Pattern UUID_PATTERN = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException
+    {
+        if (!ServerConfig.isTracingEnabled())
+        {
+            return;
+        }
+
+        String id = toTraceId(RequestUtility.extractFapiInteractionId(requestContext));
+
+        requestContext.setProperty(TRACE, RequestTrace.begin(id));
+    }
+
+
+    /**
+     * Get the trace ID for the {@code x-fapi-interaction-id} of a request.
+     *
+     * @return
+     *         The interaction ID if it is a UUID, or a random UUID if the
+     *         request has no interaction ID or it is not a UUID.
+     */
+    static String toTraceId(String interactionId)
+    {
+        if (interactionId != null && UUID_PATTERN.matcher(interactionId).matches())
+        {
+            return interactionId;
+        }
+
+        return UUID.randomUUID().toString();
+    }
+
+
+    @Override
+    public void filter(
+            ContainerRequestContext requestContext,
+            ContainerResponseContext responseContext) throws IOException
+    {
+        if (!ServerConfig.isServerTimingEnabled())
+        {
+            return;
+        }
+
+        Object trace = requestContext.getProperty(TRACE);
+
+        if (trace instanceof RequestTrace)
+        {
+            responseContext.getHeaders().add(SERVER_TIMING, ((RequestTrace)trace).toServerTiming());
+        }
+    }
+}
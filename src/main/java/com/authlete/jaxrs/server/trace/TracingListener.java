@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.trace;
+
+
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import com.authlete.jaxrs.server.ServerConfig;
+
+
+/**
+ * Ends and logs the {@link RequestTrace} started by {@link TracingFilter}
+ * when Jersey finishes processing the request, however the request ends.
+ * The trace is logged under the simple name of the matched resource class.
+ */
+@Provider
+public class TracingListener implements ApplicationEventListener
+{
+    private static final RequestEventListener FINISHER = new RequestEventListener()
+    {
+        @Override
+        public void onEvent(RequestEvent event)
+        {
+            if (event.getType() == RequestEvent.Type.FINISHED)
+            {
+                finish(event);
+            }
+        }
+    };
+
+
+    @Override
+    public void onEvent(ApplicationEvent event)
+    {
+    }
+
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent)
+    {
+        return ServerConfig.isTracingEnabled() ? FINISHER : null;
+    }
+
+
+    private static void finish(RequestEvent event)
+    {
+        ContainerRequest request = event.getContainerRequest();
+
+        if (request == null)
+        {
+            return;
+        }
+
+        Object trace = request.getProperty(TracingFilter.TRACE);
+
+        if (!(trace instanceof RequestTrace))
+        {
+            return;
+        }
+
+        ContainerResponse response = event.getContainerResponse();
+        int status = (response == null) ? 500 : response.getStatus();
+
+        ((RequestTrace)trace).log(nameOf(event.getUriInfo().getMatchedResourceMethod()), status);
+        ((RequestTrace)trace).end();
+    }
+
+
+    private static String nameOf(ResourceMethod method)
+    {
+        if (method == null)
+        {
+            return "unmatched";
+        }
+
+        return method.getInvocable().getHandler().getHandlerClass().getSimpleName();
+    }
+}
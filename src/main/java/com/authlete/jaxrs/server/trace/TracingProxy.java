@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.trace;
+
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+
+/**
+ * Wraps an SPI implementation so that each callback to it is recorded as a
+ * {@link SpanKind#SPI} span named after the method.
+ *
+ * <pre>
+ * AuthorizationDecisionHandlerSpi spi = TracingProxy.wrap(
+ *         AuthorizationDecisionHandlerSpi.class, new AuthorizationDecisionHandlerSpiImpl(...));
+ * </pre>
+ */
+public final class TracingProxy implements InvocationHandler
+{
+    private final Object target;
+
+
+    private TracingProxy(Object target)
+    {
+        this.target = target;
+    }
+
+
+    /**
+     * Wrap an implementation of the given interface. When no request is
+     * being traced on the current thread, the implementation is returned
+     * as is.
+     */
+    public static <T> T wrap(Class<T> type, T target)
+    {
+        if (RequestTrace.current() == null)
+        {
+            return target;
+        }
+
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(), new Class<?>[] { type }, new TracingProxy(target)));
+    }
+
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        if (method.getDeclaringClass() == Object.class)
+        {
+            return method.invoke(target, args);
+        }
+
+        try (Span span = Span.start(SpanKind.SPI, method.getName()))
+        {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw e.getCause();
+        }
+    }
+}
@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Set;
 import jakarta.servlet.http.HttpServletRequest;
 import com.authlete.jakarta.util.CertificateUtils;
+import com.authlete.jaxrs.server.jfr.CertValidationEvent;
 
 
 public class CertValidator
@@ -138,8 +139,43 @@ public class CertValidator
     public PKIXCertPathValidatorResult validate(CertPath certPath)
             throws CertPathValidatorException, InvalidAlgorithmParameterException
     {
-        return (PKIXCertPathValidatorResult)
-                certPathValidator().validate(certPath, mParameters);
+        // Null unless a JFR recording has the event enabled.
+        CertValidationEvent event = CertValidationEvent.beginIfEnabled();
+
+        if (event == null)
+        {
+            return (PKIXCertPathValidatorResult)
+                    certPathValidator().validate(certPath, mParameters);
+        }
+
+        List<? extends Certificate> certificates = certPath.getCertificates();
+
+        event.chainLength = certificates.size();
+
+        if (!certificates.isEmpty() && certificates.get(0) instanceof X509Certificate)
+        {
+            event.subject = ((X509Certificate)certificates.get(0))
+                    .getSubjectX500Principal().getName();
+        }
+
+        try
+        {
+            PKIXCertPathValidatorResult result = (PKIXCertPathValidatorResult)
+                    certPathValidator().validate(certPath, mParameters);
+
+            event.valid = true;
+
+            return result;
+        }
+        catch (CertPathValidatorException e)
+        {
+            event.failureReason = String.valueOf(e.getReason());
+            throw e;
+        }
+        finally
+        {
+            event.commit();
+        }
     }
 
 
@@ -24,6 +24,7 @@ import static com.authlete.jaxrs.server.util.ResponseUtil.forbiddenJson;
 import static com.authlete.jaxrs.server.util.ResponseUtil.internalServerError;
 import static com.authlete.jaxrs.server.util.ResponseUtil.internalServerErrorJson;
 import static com.authlete.jaxrs.server.util.ResponseUtil.notFound;
+import static com.authlete.jaxrs.server.util.ResponseUtil.tooManyRequestsJson;
 import static com.authlete.jaxrs.server.util.ResponseUtil.unauthorized;
 import java.util.Map;
 import jakarta.ws.rs.WebApplicationException;
@@ -246,4 +247,26 @@ public class ExceptionUtil
     {
         return new WebApplicationException(internalServerError(entity));
     }
+
+
+    /**
+     * Create an exception indicating "429 Too Many Requests" in application/json format.
+     *
+     * @param entity
+     *         An entity to contain in the response of the exception.
+     *
+     * @param retryAfter
+     *         The value of the "Retry-After" header in seconds.
+     *
+     * @param headers
+     *         Additional headers of the response.
+     *
+     * @return
+     *         An exception indicating "429 Too Many Requests".
+     */
+    public static WebApplicationException tooManyRequestsExceptionJson(
+            String entity, long retryAfter, Map<String, Object> headers)
+    {
+        return new WebApplicationException(entity, tooManyRequestsJson(entity, retryAfter, headers));
+    }
 }
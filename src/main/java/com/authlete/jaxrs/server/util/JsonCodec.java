@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.util;
+
+
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.ToNumberPolicy;
+import com.google.gson.reflect.TypeToken;
+
+
+/**
+ * The JSON codec shared by the whole server.
+ *
+ * <p>
+ * A {@link Gson} instance is thread-safe but expensive to create: each new
+ * instance rebuilds its list of type adapter factories and starts with an
+ * empty adapter cache, so the reflective adapter of every class is derived
+ * again on first use. This class holds one compact and one pretty-printing
+ * instance, configured once, and resolves the adapters of the generic types
+ * parsed most often ({@code Map<String, Object>} and {@code List<Object>})
+ * when it is loaded, so no request pays for that.
+ * </p>
+ *
+ * <p>
+ * The configuration is that of {@code new Gson()} with one difference:
+ * numbers inside untyped values ({@code Map}, {@code List}, {@code Object})
+ * are read as {@code Long} when they are integral and as {@code Double}
+ * otherwise ({@link ToNumberPolicy#LONG_OR_DOUBLE}), as
+ * {@link com.authlete.common.util.Utils#fromJson(String, Class)} does. Null
+ * values are not serialized.
+ * </p>
+ */
+public final class JsonCodec
+{
+    private static final Gson GSON = builder().create();
+    private static final Gson PRETTY_GSON = builder().setPrettyPrinting().create();
+
+
+    private static final Type MAP_TYPE  = new TypeToken<Map<String, Object>>(){}.getType();
+    private static final Type LIST_TYPE = new TypeToken<List<Object>>(){}.getType();
+
+
+    static
+    {
+        // Populate the adapter caches.
+        GSON.getAdapter(TypeToken.get(MAP_TYPE));
+        GSON.getAdapter(TypeToken.get(LIST_TYPE));
+    }
+
+
+    private JsonCodec()
+    {
+    }
+
+
+    private static GsonBuilder builder()
+    {
+        return new GsonBuilder()
+                .setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE);
+    }
+
+
+    /**
+     * Get the shared compact {@link Gson} instance, for code that needs the
+     * Gson API directly (e.g. {@code toJsonTree}).
+     */
+    public static Gson gson()
+    {
+        return GSON;
+    }
+
+
+    /**
+     * Convert an object into JSON.
+     */
+    public static String toJson(Object object)
+    {
+        return GSON.toJson(object);
+    }
+
+
+    /**
+     * Convert an object into JSON, pretty-printed if {@code pretty} is
+     * {@code true}.
+     */
+    public static String toJson(Object object, boolean pretty)
+    {
+        return (pretty ? PRETTY_GSON : GSON).toJson(object);
+    }
+
+
+    /**
+     * Reformat a JSON string with indentation.
+     */
+    public static String prettify(String json)
+    {
+        return PRETTY_GSON.toJson(JsonParser.parseString(json));
+    }
+
+
+    /**
+     * Write an object as JSON to a writer, without building an intermediate
+     * string.
+     *
+     * @throws JsonIOException
+     *         Writing to the writer failed.
+     */
+    public static void write(Object object, Writer writer)
+    {
+        GSON.toJson(object, writer);
+    }
+
+
+    /**
+     * Convert JSON into an instance of the given class.
+     *
+     * @throws JsonParseException
+     *         The JSON is malformed or does not match the class.
+     */
+    public static <T> T fromJson(String json, Class<T> klass)
+    {
+        return GSON.fromJson(json, klass);
+    }
+
+
+    /**
+     * Convert JSON into an instance of the given (possibly generic) type.
+     *
+     * @throws JsonParseException
+     *         The JSON is malformed or does not match the type.
+     */
+    public static <T> T fromJson(String json, Type type)
+    {
+        return GSON.fromJson(json, type);
+    }
+
+
+    /**
+     * Read JSON from a reader into an instance of the given class.
+     *
+     * @throws JsonParseException
+     *         The JSON is malformed or does not match the class.
+     */
+    public static <T> T read(Reader reader, Class<T> klass)
+    {
+        return GSON.fromJson(reader, klass);
+    }
+
+
+    /**
+     * Read JSON from a reader into an instance of the given (possibly
+     * generic) type.
+     *
+     * @throws JsonParseException
+     *         The JSON is malformed or does not match the type.
+     */
+    public static <T> T read(Reader reader, Type type)
+    {
+        return GSON.fromJson(reader, type);
+    }
+
+
+    /**
+     * Parse a JSON object.
+     *
+     * @return
+     *         The object, or {@code null} if the JSON is {@code null}, empty
+     *         or the literal {@code null}.
+     *
+     * @throws JsonParseException
+     *         The JSON is malformed or is not an object.
+     */
+    public static Map<String, Object> readMap(String json)
+    {
+        return GSON.fromJson(json, MAP_TYPE);
+    }
+
+
+    /**
+     * Read a JSON object from a reader.
+     *
+     * @throws JsonParseException
+     *         The JSON is malformed or is not an object.
+     */
+    public static Map<String, Object> readMap(Reader reader)
+    {
+        return GSON.fromJson(reader, MAP_TYPE);
+    }
+
+
+    /**
+     * Parse a JSON array.
+     *
+     * @throws JsonParseException
+     *         The JSON is malformed or is not an array.
+     */
+    public static List<Object> readList(String json)
+    {
+        return GSON.fromJson(json, LIST_TYPE);
+    }
+
+
+    /**
+     * Convert an object into a {@code Map} by way of its JSON tree, e.g. a
+     * DTO into claims. Properties whose values are null are omitted.
+     */
+    public static Map<String, Object> toMap(Object object)
+    {
+        if (object == null)
+        {
+            return null;
+        }
+
+        return GSON.fromJson(GSON.toJsonTree(object), MAP_TYPE);
+    }
+}
@@ -17,6 +17,7 @@
 package com.authlete.jaxrs.server.util;
 
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
@@ -29,6 +30,24 @@ import org.glassfish.jersey.server.mvc.Viewable;
 /**
  * Utility class for responses.
  *
+ * <p>
+ * String entities of the plain text, JSON and JWT responses are encoded to
+ * UTF-8 bytes here, once, and the response carries the {@code byte[]}.
+ * Jersey writes a byte array straight to the output stream and knows its
+ * length, whereas a {@code String} entity goes through a new
+ * {@code Writer} and charset encoder for every response and is sent with
+ * chunked transfer encoding. The media types and the {@code Cache-Control}
+ * value of no-store responses are likewise built once.
+ * </p>
+ *
+ * <p>
+ * The responses themselves are not templated. A {@link Response} carries
+ * its own mutable headers, which the response filters add to, so it cannot
+ * be shared, and {@code Response.fromResponse(template)} copies the headers
+ * of the template into a new builder, which allocates more than setting the
+ * two shared values on a fresh one.
+ * </p>
+ *
  * @author Hideki Ikeda
  */
 public class ResponseUtil
@@ -59,6 +78,14 @@ public class ResponseUtil
             new MediaType("application", "jwt");
 
 
+    /**
+     * {@code "no-cache, no-store, no-transform"}, the value that
+     * {@code new CacheControl()} with {@code no-cache} and {@code no-store}
+     * set is serialized to. Token responses must not be cached (RFC 6749,
+     * Section 5.1).
+     */
+    private static final String CACHE_CONTROL_NO_STORE = "no-cache, no-store, no-transform";
+
 
     /**
      * Build a "text/plain" response of "200 OK".
@@ -108,6 +135,31 @@ public class ResponseUtil
     }
 
 
+    /**
+     * Build an "application/json" response that must not be cached, i.e.
+     * one with {@code Cache-Control: no-cache, no-store, no-transform}.
+     *
+     * @param status
+     *         The HTTP status of the response.
+     *
+     * @param entity
+     *         A string entity to contain in the response.
+     *
+     * @param headers
+     *         Additional headers, or {@code null}.
+     *
+     * @return
+     *         An "application/json" response.
+     */
+    public static Response noStoreJson(
+            Status status, String entity, Map<String, Object> headers)
+    {
+        return builderForJson(status, entity, headers)
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_NO_STORE)
+                .build();
+    }
+
+
     /**
      * Build a "text/html" response of "200 OK".
      *
@@ -453,10 +505,63 @@ public class ResponseUtil
     }
 
 
+    /**
+     * Build an "application/json" response of "503 Service Unavailable".
+     *
+     * @param entity
+     *         A string entity to contain in the response.
+     *
+     * @param retryAfter
+     *         The value of the "Retry-After" header of the response in
+     *         seconds.
+     *
+     * @return
+     *         An "application/json" response of "503 Service Unavailable".
+     */
+    public static Response serviceUnavailableJson(String entity, int retryAfter)
+    {
+        return serviceUnavailableJson(entity, retryAfter, /* headers */ null);
+    }
+
+
+    public static Response serviceUnavailableJson(
+            String entity, int retryAfter, Map<String, Object> headers)
+    {
+        return builderForJson(Status.SERVICE_UNAVAILABLE, entity, headers)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .build();
+    }
+
+
+    /**
+     * Build an "application/json" response of "429 Too Many Requests".
+     *
+     * @param entity
+     *         A string entity to contain in the response.
+     *
+     * @param retryAfter
+     *         The value of the "Retry-After" header of the response in
+     *         seconds.
+     *
+     * @param headers
+     *         Additional headers, e.g. the rate limit headers.
+     *
+     * @return
+     *         An "application/json" response of "429 Too Many Requests".
+     */
+    public static Response tooManyRequestsJson(
+            String entity, long retryAfter, Map<String, Object> headers)
+    {
+        return builderForJson(Status.TOO_MANY_REQUESTS, entity, headers)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .build();
+    }
+
+
     private static ResponseBuilder builderForTextPlain(
             Status status, String entity, Map<String, Object> headers)
     {
-        return builder(status, entity, MEDIA_TYPE_PLAIN, headers);
+        return builder(status, utf8(entity), MEDIA_TYPE_PLAIN, headers);
     }
 
 
@@ -470,14 +575,20 @@ public class ResponseUtil
     private static ResponseBuilder builderForJson(
             Status status, String entity, Map<String, Object> headers)
     {
-        return builder(status, entity, MEDIA_TYPE_JSON, headers);
+        return builder(status, utf8(entity), MEDIA_TYPE_JSON, headers);
     }
 
 
     private static ResponseBuilder builderForJwt(
             Status status, String entity, Map<String, Object> headers)
     {
-        return builder(status, entity, MEDIA_TYPE_JWT, headers);
+        return builder(status, utf8(entity), MEDIA_TYPE_JWT, headers);
+    }
+
+
+    private static byte[] utf8(String entity)
+    {
+        return (entity == null) ? null : entity.getBytes(StandardCharsets.UTF_8);
     }
 
 
@@ -24,8 +24,8 @@ import com.authlete.common.dto.CredentialIssuanceOrder;
 import com.authlete.common.dto.CredentialRequestInfo;
 import com.authlete.common.dto.IntrospectionResponse;
 import com.authlete.common.types.User;
-import com.authlete.jaxrs.server.db.UserDao;
-import com.google.gson.Gson;
+import com.authlete.jaxrs.server.db.UserStores;
+import com.authlete.jaxrs.server.util.JsonCodec;
 
 
 /**
@@ -143,7 +143,7 @@ public abstract class AbstractOrderProcessor implements OrderProcessor
         //
         // Retrieve information about the user identified by the subject
         // from the user database.
-        User user = UserDao.getBySubject(subject);
+        User user = UserStores.getInstance().getBySubject(subject);
 
         // === Step 3 ===
         //
@@ -188,7 +188,7 @@ public abstract class AbstractOrderProcessor implements OrderProcessor
     private CredentialIssuanceOrder createOrder(
             CredentialRequestInfo info, Map<String, Object> claims)
     {
-        String  payload  = (claims != null) ? new Gson().toJson(claims) : null;
+        String  payload  = (claims != null) ? JsonCodec.toJson(claims) : null;
         boolean deferred = (payload == null);
 
         return new CredentialIssuanceOrder()
@@ -433,7 +433,7 @@ public abstract class AbstractOrderProcessor implements OrderProcessor
      */
     static <T> T parseJson(String json, Class<T> klass)
     {
-        return new Gson().fromJson(json, klass);
+        return JsonCodec.fromJson(json, klass);
     }
 
 
@@ -0,0 +1,25 @@
+-- Tables of JdbcUserStore (users.store = jdbc).
+--
+-- "users" holds the keys a user is looked up by. "email" and "phone_number"
+-- are copies of the claims of the same names, kept here to be indexed.
+-- "user_claims" holds every claim as JSON, plus attributes under names
+-- prefixed with "@".
+
+CREATE TABLE IF NOT EXISTS users (
+  subject      VARCHAR(255) NOT NULL PRIMARY KEY,
+  login_id     VARCHAR(255),
+  password     VARCHAR(255),
+  email        VARCHAR(320),
+  phone_number VARCHAR(64)
+);
+
+CREATE INDEX IF NOT EXISTS users_login_id     ON users (login_id);
+CREATE INDEX IF NOT EXISTS users_email        ON users (email);
+CREATE INDEX IF NOT EXISTS users_phone_number ON users (phone_number);
+
+CREATE TABLE IF NOT EXISTS user_claims (
+  subject    VARCHAR(255)     NOT NULL REFERENCES users (subject) ON DELETE CASCADE,
+  name       VARCHAR(255)     NOT NULL,
+  claim_json VARCHAR(1000000) NOT NULL,
+  PRIMARY KEY (subject, name)
+);
@@ -175,6 +175,9 @@ ${model.authorizationDetails}
       <p>Do you grant authorization to the application?</p>
 
       <form id="authorization-form" action="/api/authorization/decision" method="POST">
+        <c:if test="${model.flowState != null}">
+        <input type="hidden" name="flowState" value="${model.flowState}">
+        </c:if>
         <c:if test="${model.user == null}">
         <div id="login-fields" class="indent">
           <div id="login-prompt">Input Login ID and Password.</div>
@@ -192,7 +195,15 @@ ${model.authorizationDetails}
           </c:if>
           <ul>
           <c:forEach var="federation" items="${model.federations}">
+            <c:choose>
+            <c:when test="${model.flowState != null}">
+            <li><button type="submit" formaction="/api/federation/initiation/${federation.id}"
+                        formmethod="POST" class="federation-button">${federation.server.name}</button>
+            </c:when>
+            <c:otherwise>
             <li><a href="/api/federation/initiation/${federation.id}">${federation.server.name}</a>
+            </c:otherwise>
+            </c:choose>
           </c:forEach>
           </ul>
         </div>
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.admission;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.function.LongSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class AdmissionControllerTest
+{
+    private static final String[] KEYS = {
+        "admission.standard.maxInFlight",
+        "admission.standard.maxLatencyMillis",
+        "admission.low.maxInFlight",
+        "admission.low.maxLatencyMillis",
+        "admission.latency.staleSeconds",
+        "admission.tier.TestEndpoint",
+    };
+
+
+    /** A clock whose value the test advances manually. */
+    private final long[] now = { 1_000_000L };
+    private final LongSupplier clock = () -> now[0];
+
+
+    @Before
+    public void setUp()
+    {
+        System.setProperty("admission.standard.maxInFlight", "4");
+        System.setProperty("admission.standard.maxLatencyMillis", "1000");
+        System.setProperty("admission.low.maxInFlight", "2");
+        System.setProperty("admission.low.maxLatencyMillis", "200");
+        System.setProperty("admission.latency.staleSeconds", "10");
+    }
+
+
+    @After
+    public void tearDown()
+    {
+        for (String key : KEYS)
+        {
+            System.clearProperty(key);
+        }
+    }
+
+
+    private AdmissionController newController()
+    {
+        return new AdmissionController(new AdmissionConfig(), clock);
+    }
+
+
+    @Test
+    public void lowerTiersAreShedFirstByInFlightCount()
+    {
+        AdmissionController ac = newController();
+
+        assertTrue(ac.tryAcquire(AdmissionTier.LOW));
+        assertTrue(ac.tryAcquire(AdmissionTier.LOW));
+        assertFalse("low ceiling reached", ac.tryAcquire(AdmissionTier.LOW));
+
+        assertTrue(ac.tryAcquire(AdmissionTier.STANDARD));
+        assertTrue(ac.tryAcquire(AdmissionTier.STANDARD));
+        assertFalse("standard ceiling reached", ac.tryAcquire(AdmissionTier.STANDARD));
+
+        assertTrue("critical is never shed", ac.tryAcquire(AdmissionTier.CRITICAL));
+        assertEquals(5, ac.getInFlight());
+        assertEquals(1, ac.getShedCount(AdmissionTier.LOW));
+        assertEquals(1, ac.getShedCount(AdmissionTier.STANDARD));
+        assertEquals(0, ac.getShedCount(AdmissionTier.CRITICAL));
+    }
+
+
+    @Test
+    public void releaseFreesCapacity()
+    {
+        AdmissionController ac = newController();
+
+        assertTrue(ac.tryAcquire(AdmissionTier.LOW));
+        assertTrue(ac.tryAcquire(AdmissionTier.LOW));
+        assertFalse(ac.tryAcquire(AdmissionTier.LOW));
+
+        ac.release(10);
+
+        assertEquals(1, ac.getInFlight());
+        assertTrue(ac.tryAcquire(AdmissionTier.LOW));
+    }
+
+
+    @Test
+    public void highLatencyShedsByTier()
+    {
+        AdmissionController ac = newController();
+
+        // A slow request: the first sample becomes the average.
+        assertTrue(ac.tryAcquire(AdmissionTier.CRITICAL));
+        ac.release(500);
+
+        assertEquals(500.0, ac.getAverageLatencyMillis(), 0.001);
+        assertFalse("500 ms is above the low limit", ac.tryAcquire(AdmissionTier.LOW));
+        assertTrue("500 ms is below the standard limit", ac.tryAcquire(AdmissionTier.STANDARD));
+        assertTrue(ac.tryAcquire(AdmissionTier.CRITICAL));
+    }
+
+
+    @Test
+    public void latencyAverageMovesTowardsNewSamples()
+    {
+        AdmissionController ac = newController();
+
+        ac.tryAcquire(AdmissionTier.CRITICAL);
+        ac.release(1000);
+        ac.tryAcquire(AdmissionTier.CRITICAL);
+        ac.release(0);
+
+        assertEquals(800.0, ac.getAverageLatencyMillis(), 0.001);
+    }
+
+
+    @Test
+    public void staleLatencyIsIgnoredAndRestarted()
+    {
+        AdmissionController ac = newController();
+
+        ac.tryAcquire(AdmissionTier.CRITICAL);
+        ac.release(5000);
+        assertFalse(ac.tryAcquire(AdmissionTier.LOW));
+
+        // Quiet for longer than the stale window.
+        now[0] += 11_000;
+
+        assertEquals(0.0, ac.getAverageLatencyMillis(), 0.001);
+        assertTrue("admitted again after a quiet period", ac.tryAcquire(AdmissionTier.LOW));
+
+        // The next sample restarts the average instead of blending with 5000.
+        ac.release(50);
+        assertEquals(50.0, ac.getAverageLatencyMillis(), 0.001);
+    }
+
+
+    @Test
+    public void tierOverridesTakePrecedence()
+    {
+        AdmissionConfig config = new AdmissionConfig();
+
+        assertEquals(AdmissionTier.LOW, config.getTier(TestEndpoint.class));
+        assertEquals(AdmissionTier.STANDARD, config.getTier(Object.class));
+
+        System.setProperty("admission.tier.TestEndpoint", "critical");
+
+        assertEquals(AdmissionTier.CRITICAL, new AdmissionConfig().getTier(TestEndpoint.class));
+    }
+
+
+    /** Stand-in whose simple name matches a built-in LOW assignment. */
+    private static final class TestEndpoint
+    {
+    }
+}
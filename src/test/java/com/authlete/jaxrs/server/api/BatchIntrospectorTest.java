@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.api;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.lang.reflect.Proxy;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.After;
+import org.junit.Test;
+import com.authlete.common.api.AuthleteApi;
+import com.authlete.common.api.AuthleteApiException;
+import com.authlete.common.dto.StandardIntrospectionRequest;
+import com.authlete.common.dto.StandardIntrospectionResponse;
+import com.authlete.common.dto.StandardIntrospectionResponse.Action;
+import com.authlete.jaxrs.server.api.BatchIntrospector.Result;
+import com.authlete.jaxrs.server.db.ResourceServerEntity;
+import com.authlete.jaxrs.server.resilience.ResilientAuthleteApiFactory;
+
+
+public class BatchIntrospectorTest
+{
+    /** The resilience knobs set by the single-flight case. */
+    private static final String[] KEYS = {
+        "resilience.enabled",
+        "resilience.cache.enabled",
+        "resilience.cache.ttl.standardIntrospection",
+    };
+
+
+    private static final ResourceServerEntity RS = new ResourceServerEntity(
+            "rs0", "secret", null, null, null, null, null, null, null);
+
+
+    @After
+    public void tearDown()
+    {
+        for (String key : KEYS)
+        {
+            System.clearProperty(key);
+        }
+    }
+
+
+    /**
+     * An {@link AuthleteApi} whose {@code standardIntrospection} answers
+     * with the given function of the token; every other method returns
+     * {@code null}.
+     */
+    private static AuthleteApi api(Function<String, StandardIntrospectionResponse> introspect)
+    {
+        return (AuthleteApi)Proxy.newProxyInstance(
+                AuthleteApi.class.getClassLoader(),
+                new Class<?>[] { AuthleteApi.class },
+                (proxy, method, args) -> {
+                    if (!"standardIntrospection".equals(method.getName()))
+                    {
+                        return null;
+                    }
+
+                    return introspect.apply(tokenOf((StandardIntrospectionRequest)args[0]));
+                });
+    }
+
+
+    private static String tokenOf(StandardIntrospectionRequest request)
+    {
+        String token = request.getParameters().split("&")[0].substring("token=".length());
+
+        return URLDecoder.decode(token, StandardCharsets.UTF_8);
+    }
+
+
+    private static StandardIntrospectionResponse response(Action action, String content)
+    {
+        return new StandardIntrospectionResponse().setAction(action).setResponseContent(content);
+    }
+
+
+    @Test
+    public void tokensAreCheckedAgainstTheLimit()
+    {
+        assertTrue(BatchIntrospector.checkTokens(null, 3).contains("does not contain 'token'"));
+        assertTrue(BatchIntrospector.checkTokens(Collections.emptyList(), 3).contains("invalid_request"));
+        assertNull(BatchIntrospector.checkTokens(Arrays.asList("a", "b", "c"), 3));
+        assertTrue(BatchIntrospector.checkTokens(Arrays.asList("a", "b", "c", "d"), 3)
+                .contains("more than 3 tokens"));
+    }
+
+
+    @Test
+    public void failuresStayInTheSlotOfTheirToken()
+    {
+        AuthleteApi api = api(token -> {
+            switch (token)
+            {
+                case "bad":
+                    return response(Action.BAD_REQUEST, "{\"error\":\"invalid_request\"}");
+
+                case "error":
+                    return response(Action.INTERNAL_SERVER_ERROR, null);
+
+                case "down":
+                    throw new AuthleteApiException("Authlete is down.");
+
+                default:
+                    return response(Action.OK, "{\"active\":true,\"sub\":\"" + token + "\"}");
+            }
+        });
+
+        List<String> tokens  = Arrays.asList("t1", "bad", "down", "t2", "error", "t3 &=");
+        Result[]     results = new BatchIntrospector(api, RS, 2).introspect(tokens, "access_token");
+
+        assertEquals(tokens.size(), results.length);
+        assertEquals(200, results[0].status);
+        assertEquals(400, results[1].status);
+        assertEquals(500, results[2].status);
+        assertEquals(200, results[3].status);
+        assertEquals(500, results[4].status);
+        assertEquals(200, results[5].status);
+        assertTrue(results[2].content.contains("server_error"));
+        assertTrue(results[4].content.contains("server_error"));
+
+        // Tokens are sent form-encoded and answered in their own slots.
+        assertEquals("{\"active\":true,\"sub\":\"t3 &=\"}", results[5].content);
+
+        String json = BatchIntrospector.toJson(results);
+
+        assertTrue(json.startsWith("{\"results\":[{\"status\":200,\"response\":{\"active\":true,\"sub\":\"t1\"}},"));
+        assertTrue(json.contains("{\"status\":400,\"response\":{\"error\":\"invalid_request\"}}"));
+    }
+
+
+    @Test
+    public void parallelismIsBounded()
+    {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maximum = new AtomicInteger();
+
+        AuthleteApi api = api(token -> {
+            maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+            try
+            {
+                Thread.sleep(20);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            running.decrementAndGet();
+
+            return response(Action.OK, "{\"active\":false}");
+        });
+
+        List<String> tokens = Collections.nCopies(12, "t");
+        Result[]     results = new BatchIntrospector(api, RS, 3).introspect(tokens, null);
+
+        assertEquals(12, Arrays.stream(results).filter(r -> r.status == 200).count());
+        assertTrue("more than 3 concurrent calls: " + maximum.get(), maximum.get() <= 3);
+    }
+
+
+    @Test
+    public void duplicateTokensShareOneAuthleteCall() throws Exception
+    {
+        System.setProperty("resilience.enabled", "true");
+        System.setProperty("resilience.cache.enabled", "true");
+        System.setProperty("resilience.cache.ttl.standardIntrospection", "30");
+
+        AtomicInteger  calls = new AtomicInteger();
+        CountDownLatch gate  = new CountDownLatch(1);
+
+        AuthleteApi api = ResilientAuthleteApiFactory.wrap(api(token -> {
+            calls.incrementAndGet();
+
+            try
+            {
+                // Hold the first call until every worker has reached the
+                // resilience layer.
+                gate.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            return response(Action.OK, "{\"active\":true}");
+        }));
+
+        Thread.ofVirtual().start(() -> {
+            try
+            {
+                Thread.sleep(200);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            gate.countDown();
+        });
+
+        Result[] results = new BatchIntrospector(api, RS, 8).introspect(Collections.nCopies(8, "same"), null);
+
+        assertEquals(8, Arrays.stream(results).filter(r -> r.status == 200).count());
+        assertEquals("Authlete calls for 8 copies of a token", 1, calls.get());
+    }
+}
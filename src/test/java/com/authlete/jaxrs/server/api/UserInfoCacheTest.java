@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.api;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.function.LongSupplier;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.junit.Test;
+
+
+public class UserInfoCacheTest
+{
+    private static final String BODY = "{\"sub\":\"1004\",\"name\":\"John Smith\"}";
+
+
+    /** A clock whose value the test advances manually. */
+    private final long[] now = { 1_000_000L };
+    private final LongSupplier clock = () -> now[0];
+
+
+    /** The expiry of the access tokens, well past the TTL of the cache. */
+    private final long tokenExpiresAt = now[0] + 3_600_000L;
+
+
+    private UserInfoCache newCache()
+    {
+        return new UserInfoCache(30_000, 100, clock);
+    }
+
+
+    private static Response ok()
+    {
+        return Response.ok(BODY, MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
+
+    @Test
+    public void hitServesBodyWithETagAndMatchingIfNoneMatchGives304()
+    {
+        UserInfoCache cache = newCache();
+
+        assertNull(cache.get("at", null));
+        assertNotNull(cache.put("at", null, ok(), tokenExpiresAt, 1));
+
+        Response hit = cache.get("at", null).toResponse(null);
+        assertEquals(200, hit.getStatus());
+        assertEquals(BODY, hit.getEntity());
+        assertEquals("private, no-cache", hit.getHeaderString(HttpHeaders.CACHE_CONTROL));
+
+        String etag = hit.getHeaderString(HttpHeaders.ETAG);
+        Response notModified = cache.get("at", null).toResponse(etag);
+        assertEquals(304, notModified.getStatus());
+        assertNull(notModified.getEntity());
+    }
+
+
+    @Test
+    public void entriesExpireAndAreEvicted()
+    {
+        UserInfoCache cache = newCache();
+
+        cache.put("at1", null, ok(), tokenExpiresAt, 1);
+        cache.put("at2", null, ok(), tokenExpiresAt, 1);
+
+        cache.evict("at1");
+        assertNull("evicted on revocation", cache.get("at1", null));
+
+        now[0] += 30_000;
+        assertNull("expired", cache.get("at2", null));
+        assertEquals(0, cache.size());
+    }
+
+
+    @Test
+    public void certificateMustMatch()
+    {
+        UserInfoCache cache = newCache();
+
+        cache.put("at", "cert-A", ok(), tokenExpiresAt, 1);
+
+        assertNotNull(cache.get("at", "cert-A"));
+        assertNull(cache.get("at", "cert-B"));
+        assertNull(cache.get("at", null));
+    }
+
+
+    @Test
+    public void errorsAndProofBoundRequestsAreNotCached()
+    {
+        UserInfoCache cache = newCache();
+
+        Response unauthorized = Response.status(401)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"").build();
+
+        assertNull(cache.put("at", null, unauthorized, tokenExpiresAt, 1));
+        assertNull(cache.get("at", null));
+
+        assertTrue(cache.isCacheable("at", null, null, null));
+        assertFalse(cache.isCacheable("at", "dpop-proof", null, null));
+        assertFalse(cache.isCacheable("at", null, "sig1=:abc:", null));
+        assertFalse(new UserInfoCache(0, 100, clock).isCacheable("at"));
+    }
+
+
+    @Test
+    public void entriesDoNotOutliveTheirAccessToken()
+    {
+        UserInfoCache cache = newCache();
+
+        cache.put("at", null, ok(), now[0] + 5_000, 1);
+        assertNull("token already expired", cache.put("expired", null, ok(), now[0], 1));
+
+        now[0] += 4_999;
+        assertNotNull(cache.get("at", null));
+
+        now[0] += 1;
+        assertNull("expired with the token", cache.get("at", null));
+    }
+
+
+    @Test
+    public void entriesOfAClientAreEvictedTogether()
+    {
+        UserInfoCache cache = newCache();
+
+        cache.put("at1", null, ok(), tokenExpiresAt, 1);
+        cache.put("at2", null, ok(), tokenExpiresAt, 1);
+        cache.put("at3", null, ok(), tokenExpiresAt, 2);
+
+        cache.evictClient(1);
+
+        assertNull(cache.get("at1", null));
+        assertNull(cache.get("at2", null));
+        assertNotNull(cache.get("at3", null));
+    }
+}
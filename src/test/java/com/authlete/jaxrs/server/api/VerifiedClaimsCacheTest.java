@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.api;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import com.authlete.common.ida.DatasetExtractor;
+import com.authlete.jaxrs.server.db.DatasetDao;
+import com.authlete.jaxrs.server.util.JsonCodec;
+
+
+public class VerifiedClaimsCacheTest
+{
+    // The datasets of "1004" have the trust frameworks "nist_800_63A" and
+    // "uk_tfida", and evidence of the type "document".
+    private static final String SUBJECT = "1004";
+
+
+    private static final String[] REQUESTS = {
+        "{\"verification\":{\"trust_framework\":null},\"claims\":{\"given_name\":null}}",
+        "{\"verification\":{\"trust_framework\":{\"value\":\"uk_tfida\"}},\"claims\":{\"given_name\":null}}",
+        "{\"verification\":{\"trust_framework\":{\"value\":\"eidas\"}},\"claims\":{\"given_name\":null}}",
+        "{\"verification\":{\"trust_framework\":{\"values\":[\"eidas\",\"uk_tfida\"]}},\"claims\":{\"birthdate\":null}}",
+        "{\"verification\":{\"trust_framework\":null,\"evidence\":[{\"type\":{\"value\":\"electronic_record\"}}]},"
+            + "\"claims\":{\"given_name\":null}}",
+        "{\"verification\":{\"trust_framework\":null,\"evidence\":[{\"type\":{\"value\":\"document\"}},"
+            + "{\"type\":{\"value\":\"electronic_record\"}}]},\"claims\":{\"given_name\":null}}",
+        "{\"verification\":{\"trust_framework\":null,\"evidence\":[{\"type\":{\"value\":\"document\"}},"
+            + "{\"method\":null}]},\"claims\":{\"family_name\":null}}",
+    };
+
+
+    private static Map<String, Object> request(int index)
+    {
+        return JsonCodec.readMap(REQUESTS[index]);
+    }
+
+
+    @Test
+    public void indexedSelectionDoesNotChangeResults()
+    {
+        List<Map<String, Object>> datasets = DatasetDao.get(SUBJECT);
+
+        for (int i = 0; i < REQUESTS.length; i++)
+        {
+            Object expected = new DatasetExtractor().extract(request(i), datasets);
+            Object actual   = new VerifiedClaimsBuilder(request(i), DatasetDao.getDatasets(SUBJECT)).build();
+
+            assertEquals(REQUESTS[i], expected, actual);
+        }
+
+        // A list of requests.
+        Object actual = new VerifiedClaimsBuilder(
+                Arrays.asList(request(2), request(1)), DatasetDao.getDatasets(SUBJECT)).build();
+
+        assertEquals(Collections.singletonList(
+                new DatasetExtractor().extract(request(1), datasets)), actual);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void resultsAreReusedUntilDatasetsChange()
+    {
+        String subject = "verified-claims-cache-test";
+        DatasetDao.put(subject, DatasetDao.get(SUBJECT));
+
+        try
+        {
+            VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+
+            Map<String, Object> first = (Map<String, Object>)cache.build(subject, request(1));
+            first.clear();
+
+            // The same request with members in another order.
+            Map<String, Object> second = (Map<String, Object>)cache.build(subject,
+                    JsonCodec.readMap("{\"claims\":{\"given_name\":null},"
+                            + "\"verification\":{\"trust_framework\":{\"value\":\"uk_tfida\"}}}"));
+
+            assertEquals(1, cache.size());
+            assertEquals("Inga", ((Map<String, Object>)second.get("claims")).get("given_name"));
+            assertNotSame(second, cache.build(subject, request(1)));
+
+            // Replacing the datasets invalidates the result.
+            DatasetDao.put(subject, DatasetDao.get(SUBJECT).subList(0, 1));
+            assertNull(cache.build(subject, request(1)));
+
+            DatasetDao.remove(subject);
+            assertNull(cache.build(subject, request(0)));
+        }
+        finally
+        {
+            DatasetDao.remove(subject);
+        }
+    }
+
+
+    @Test
+    public void requestsWithMaxAgeAreNotCached()
+    {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+
+        cache.build(SUBJECT, JsonCodec.readMap(
+                "{\"verification\":{\"trust_framework\":null,\"time\":{\"max_age\":63113852}},"
+              + "\"claims\":{\"given_name\":null}}"));
+
+        assertEquals(0, cache.size());
+    }
+}
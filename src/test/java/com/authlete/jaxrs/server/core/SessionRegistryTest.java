@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.core;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+
+public class SessionRegistryTest
+{
+    private static final long TIMEOUT = 30 * 60_000L;
+
+
+    private final AtomicLong      now      = new AtomicLong(1_000_000L);
+    private final SessionRegistry registry = new SessionRegistry(now::get);
+
+
+    @Test
+    public void registerAndDestroy()
+    {
+        registry.register("s1", TIMEOUT);
+
+        assertNotNull(registry.get("s1"));
+        assertEquals(1, registry.size());
+
+        registry.remove("s1");
+
+        assertNull(registry.get("s1"));
+        assertEquals(1, registry.getCreatedCount());
+        assertEquals(1, registry.getDestroyedCount());
+        assertEquals(0, registry.getEvictedCount());
+    }
+
+
+    @Test
+    public void missedDestroyIsEvictedOnLookup()
+    {
+        registry.register("s1", TIMEOUT);
+
+        // Still within the timeout plus the grace period.
+        now.addAndGet(TIMEOUT);
+        assertNotNull(registry.get("s1"));
+
+        now.addAndGet(120_000L);
+        assertNull(registry.get("s1"));
+        assertEquals(0, registry.size());
+        assertEquals(1, registry.getEvictedCount());
+    }
+
+
+    @Test
+    public void touchKeepsSessionAlive()
+    {
+        registry.register("s1", TIMEOUT);
+
+        now.addAndGet(TIMEOUT);
+        registry.touch("s1", TIMEOUT);
+
+        now.addAndGet(TIMEOUT);
+        SessionInfo info = registry.get("s1");
+
+        assertNotNull(info);
+        assertEquals(1_000_000L, info.getCreatedAt());
+        assertEquals(1_000_000L + TIMEOUT, info.getLastAccessedAt());
+    }
+
+
+    @Test
+    public void sweepEvictsExpiredSessions()
+    {
+        for (int i = 0; i < 100; i++)
+        {
+            registry.register("s" + i, TIMEOUT);
+        }
+
+        now.addAndGet(TIMEOUT + 120_000L);
+
+        // Each touch may sweep one shard once the sweep interval has passed.
+        for (int i = 0; i < 16; i++)
+        {
+            registry.touch("live", TIMEOUT);
+            now.addAndGet(1_000L);
+        }
+
+        assertEquals(1, registry.size());
+        assertEquals(100, registry.getEvictedCount());
+    }
+
+
+    @Test
+    public void sessionWithoutTimeoutNeverExpires()
+    {
+        registry.register("s1", -1000L);
+
+        now.addAndGet(365L * 24 * 3600 * 1000);
+
+        assertNotNull(registry.get("s1"));
+    }
+
+
+    @Test
+    public void renameKeepsMetadata()
+    {
+        registry.register("old", TIMEOUT);
+        registry.rename("old", "new");
+
+        assertNull(registry.get("old"));
+        assertEquals("new", registry.get("new").getSessionId());
+        assertEquals(1_000_000L, registry.get("new").getCreatedAt());
+    }
+}
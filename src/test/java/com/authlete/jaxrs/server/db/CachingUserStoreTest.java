@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import com.authlete.common.types.User;
+
+
+public class CachingUserStoreTest
+{
+    /**
+     * A store that counts the lookups that reach it.
+     */
+    private static final class CountingStore extends InMemoryUserStore
+    {
+        final AtomicInteger lookups = new AtomicInteger();
+
+
+        CountingStore()
+        {
+            super(null);
+        }
+
+
+        @Override
+        public User getBySubject(String subject)
+        {
+            lookups.incrementAndGet();
+
+            return super.getBySubject(subject);
+        }
+
+
+        @Override
+        public User getByEmail(String email)
+        {
+            lookups.incrementAndGet();
+
+            return super.getByEmail(email);
+        }
+    }
+
+
+    private final AtomicLong       now      = new AtomicLong(1_000_000L);
+    private final CountingStore    delegate = new CountingStore();
+    private final CachingUserStore store    = new CachingUserStore(delegate, 1000, 2, now::get);
+
+
+    private static UserEntity user(String subject, String email)
+    {
+        return new UserEntity(subject, null, null, null, email, null, null, null);
+    }
+
+
+    @Test
+    public void userIsCachedUntilTtl()
+    {
+        delegate.add(user("1001", "john@example.com"));
+
+        User first = store.getBySubject("1001");
+        assertSame(first, store.getBySubject("1001"));
+        assertEquals(1, delegate.lookups.get());
+
+        now.addAndGet(1000);
+        store.getBySubject("1001");
+        assertEquals(2, delegate.lookups.get());
+
+        // A secondary lookup goes to the delegate but fills the cache.
+        store.getByEmail("john@example.com");
+        store.getBySubject("1001");
+        assertEquals(3, delegate.lookups.get());
+    }
+
+
+    @Test
+    public void addInvalidatesTheCachedUser()
+    {
+        store.add(user("1001", "john@example.com"));
+        store.getBySubject("1001");
+
+        store.add(user("1001", "john@example.org"));
+
+        assertEquals("john@example.org", store.getBySubject("1001").getClaim("email", null));
+        assertEquals(2, delegate.lookups.get());
+    }
+
+
+    @Test
+    public void missesAreNotCachedAndSizeIsBounded()
+    {
+        assertNull(store.getBySubject("1001"));
+
+        delegate.add(user("1001", null));
+        delegate.add(user("1002", null));
+        delegate.add(user("1003", null));
+
+        store.getBySubject("1001");
+        store.getBySubject("1002");
+        store.getBySubject("1003");
+
+        // The cache was cleared when the third user came in.
+        store.getBySubject("1001");
+        assertEquals(5, delegate.lookups.get());
+    }
+
+
+    @Test
+    public void refreshingACachedUserDoesNotClearAFullCache()
+    {
+        delegate.add(user("1001", "john@example.com"));
+        delegate.add(user("1002", null));
+
+        store.getBySubject("1001");
+        store.getBySubject("1002");
+
+        // The cache is full; a secondary lookup caches 1001 again.
+        store.getByEmail("john@example.com");
+
+        store.getBySubject("1002");
+        assertEquals(3, delegate.lookups.get());
+    }
+
+
+    @Test
+    public void userReadDuringAWriteIsNotCached()
+    {
+        delegate.add(user("1001", "john@example.com"));
+
+        // A store whose first read of a user is overtaken by a write of it.
+        AtomicInteger      reads  = new AtomicInteger();
+        CachingUserStore[] racing = new CachingUserStore[1];
+
+        racing[0] = new CachingUserStore(new InMemoryUserStore(null)
+        {
+            @Override
+            public User getBySubject(String subject)
+            {
+                User user = delegate.getBySubject(subject);
+
+                if (reads.incrementAndGet() == 1)
+                {
+                    racing[0].add(user("1001", "john@example.org"));
+                }
+
+                return user;
+            }
+
+
+            @Override
+            public void add(UserEntity entity)
+            {
+                delegate.add(entity);
+            }
+        }, 1000, 2, now::get);
+
+        assertEquals("john@example.com", racing[0].getBySubject("1001").getClaim("email", null));
+
+        // The old user was not left in the cache.
+        assertEquals("john@example.org", racing[0].getBySubject("1001").getClaim("email", null));
+        assertEquals(2, reads.get());
+    }
+}
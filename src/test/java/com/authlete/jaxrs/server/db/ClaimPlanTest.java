@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Test;
+import com.authlete.common.dto.Address;
+import com.authlete.jaxrs.server.util.JsonCodec;
+
+
+public class ClaimPlanTest
+{
+    private static final String[] CLAIM_NAMES = {
+            "name", "email", "email_verified", "address", "updated_at", "age", "name#ja", "email" };
+
+
+    @Test
+    public void plansAreShared()
+    {
+        ClaimPlan plan = ClaimPlan.of(CLAIM_NAMES);
+
+        assertSame(plan, ClaimPlan.of(CLAIM_NAMES.clone()));
+        assertSame(ClaimPlan.of(null), ClaimPlan.of(new String[0]));
+
+        // Duplicates and names with a language tag are left out.
+        assertArrayEquals(new String[] {
+                "name", "email", "email_verified", "address", "updated_at", "age" },
+                plan.getClaimNames());
+    }
+
+
+    @Test
+    public void claimsOfUserEntity()
+    {
+        Address address = new Address().setStreetAddress("1 Main St").setCountry("USA");
+
+        UserEntity user = new UserEntity("1001", "john", "secret", "John Smith",
+                "john@example.com", address, null, null)
+                .addExtraClaim("age", 42L);
+
+        ClaimPlan.Claims claims = ClaimPlan.of(CLAIM_NAMES).bind(user);
+
+        assertEquals("John Smith", claims.get("name", null));
+        assertEquals(Boolean.FALSE, claims.get("email_verified", null));
+        assertEquals(JsonCodec.toMap(address), claims.get("address", null));
+        assertNull(claims.get("updated_at", null));
+        assertEquals(42L, claims.get("age", null));
+
+        // Claims out of the plan are asked for from the user.
+        assertEquals("John Smith", claims.get("name", "ja"));
+        assertNull(claims.get("phone_number", null));
+
+        assertNull(ClaimPlan.of(CLAIM_NAMES).bind(null).get("name", null));
+    }
+
+
+    @Test
+    public void claimsOfMappedUser() throws IOException
+    {
+        Path directory = Files.createTempDirectory("claim-plan");
+        Path input     = directory.resolve("users.jsonl");
+        Path output    = directory.resolve("users.bin");
+
+        Files.write(input, Arrays.asList(
+                "{\"sub\":\"1001\",\"password\":\"secret\",\"name\":\"John Smith\",\"email_verified\":true,"
+              + "\"address\":{\"country\":\"USA\"},\"updated_at\":1638057600,\"age\":42}"),
+                StandardCharsets.UTF_8);
+        MappedUserStoreBuilder.build(input, output);
+
+        try (MappedUserStore store = MappedUserStore.open(output))
+        {
+            MappedUser user = store.getBySubject("1001");
+
+            ClaimPlan.Claims claims =
+                    ClaimPlan.of(new String[] { "password", "age", "name", "address", "email" }).bind(user);
+
+            assertNull(claims.get("password", null));
+            assertEquals(42L, claims.get("age", null));
+            assertEquals("John Smith", claims.get("name", null));
+            assertEquals(user.getClaim("address", null), claims.get("address", null));
+            assertNull(claims.get("email", null));
+            assertEquals(Boolean.TRUE, claims.get("email_verified", null));
+        }
+        finally
+        {
+            Files.delete(input);
+            Files.delete(output);
+            Files.delete(directory);
+        }
+    }
+}
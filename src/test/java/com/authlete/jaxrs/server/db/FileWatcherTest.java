@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+
+public class FileWatcherTest
+{
+    @Test
+    public void writesAndRenamesAreNoticed() throws Exception
+    {
+        Path directory = Files.createTempDirectory("file-watcher");
+        Path file      = directory.resolve("watched.json");
+        Path temporary = directory.resolve("watched.json.tmp");
+        Path other     = directory.resolve("other.json");
+
+        Semaphore changes = new Semaphore(0);
+
+        try (FileWatcher watcher = new FileWatcher(file, changes::release))
+        {
+            // A file that is not watched.
+            write(other, "[]");
+            assertFalse(changes.tryAcquire(200, TimeUnit.MILLISECONDS));
+
+            write(file, "[]");
+            assertTrue(changes.tryAcquire(10, TimeUnit.SECONDS));
+            changes.drainPermits();
+
+            // Replaced by a rename.
+            write(temporary, "[{}]");
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            assertTrue(changes.tryAcquire(10, TimeUnit.SECONDS));
+
+            // The thread ends when the watcher is closed.
+            watcher.close();
+            assertFalse(watcher.isRunning());
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(temporary);
+            Files.deleteIfExists(other);
+            Files.delete(directory);
+        }
+    }
+
+
+    private static void write(Path file, String content) throws IOException
+    {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
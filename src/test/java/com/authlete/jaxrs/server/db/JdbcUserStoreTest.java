@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.authlete.common.dto.Address;
+import com.authlete.common.types.User;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+
+public class JdbcUserStoreTest
+{
+    private HikariDataSource dataSource;
+    private JdbcUserStore    store;
+
+
+    @Before
+    public void setUp()
+    {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(4);
+
+        dataSource = new HikariDataSource(config);
+        store      = new JdbcUserStore(dataSource);
+        store.createSchema();
+
+        // Creating the schema again is harmless.
+        store.createSchema();
+    }
+
+
+    @After
+    public void tearDown()
+    {
+        dataSource.close();
+    }
+
+
+    private static UserEntity john()
+    {
+        return new UserEntity("1001", "john", "secret", "John Smith", "john@example.com",
+                new Address().setCountry("USA"), "+1 555", "675325")
+                .addExtraClaim("age", 42L)
+                .setNationalities(Arrays.asList("USA"));
+    }
+
+
+    @Test
+    public void addedUserIsFoundByEveryKey()
+    {
+        store.add(john());
+
+        User user = store.getBySubject("1001");
+
+        assertEquals("1001", user.getSubject());
+        assertEquals("John Smith", user.getClaim("name", null));
+        assertEquals(Boolean.FALSE, user.getClaim("email_verified", null));
+        assertEquals(42L, user.getClaim("age", null));
+        assertEquals(Arrays.asList("USA"), user.getClaim("nationalities", null));
+        assertEquals("USA", ((Map<?, ?>)user.getClaim("address", null)).get("country"));
+        assertEquals("675325", user.getAttribute("code"));
+        assertNull(user.getClaim("@code", null));
+        assertNull(user.getClaim("updated_at", null));
+
+        assertEquals("1001", store.getByEmail("john@example.com").getSubject());
+        assertEquals("1001", store.getByPhoneNumber("+1 555").getSubject());
+        assertEquals("1001", store.getByCredentials("john", "secret").getSubject());
+    }
+
+
+    @Test
+    public void unknownKeysAndWrongPasswords()
+    {
+        store.add(john());
+
+        assertNull(store.getBySubject("1002"));
+        assertNull(store.getBySubject(null));
+        assertNull(store.getByEmail("jane@example.com"));
+        assertNull(store.getByCredentials("john", "wrong"));
+        assertNull(store.getByCredentials("john", null));
+        assertNull(store.getByCredentials("jane", "secret"));
+    }
+
+
+    @Test
+    public void addReplacesTheUser()
+    {
+        store.add(john());
+        store.add(new UserEntity("1001", "john", "changed", "John Smith", "john@example.org",
+                null, null, null));
+
+        User user = store.getBySubject("1001");
+
+        assertEquals("john@example.org", user.getClaim("email", null));
+        assertNull(user.getClaim("age", null));
+        assertNull(user.getClaim("address", null));
+        assertNull(store.getByEmail("john@example.com"));
+        assertNull(store.getByPhoneNumber("+1 555"));
+        assertNull(store.getByCredentials("john", "secret"));
+        assertEquals("1001", store.getByCredentials("john", "changed").getSubject());
+    }
+
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void returnedObjectsAreCopies()
+    {
+        store.add(john());
+
+        User user = store.getBySubject("1001");
+        ((Map<String, Object>)user.getClaim("address", null)).clear();
+
+        assertEquals("USA", ((Map<?, ?>)user.getClaim("address", null)).get("country"));
+    }
+}
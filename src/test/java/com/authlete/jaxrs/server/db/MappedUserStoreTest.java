@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MappedUserStoreTest
+{
+    private Path directory;
+
+
+    @Before
+    public void setUp() throws IOException
+    {
+        directory = Files.createTempDirectory("mapped-user-store");
+    }
+
+
+    @After
+    public void tearDown() throws IOException
+    {
+        try (Stream<Path> files = Files.list(directory))
+        {
+            for (Path file : (Iterable<Path>)files::iterator)
+            {
+                Files.delete(file);
+            }
+        }
+
+        Files.delete(directory);
+    }
+
+
+    private MappedUserStore build(String name, String... lines) throws IOException
+    {
+        Path input  = directory.resolve(name);
+        Path output = directory.resolve(name + ".bin");
+
+        Files.write(input, Arrays.asList(lines), StandardCharsets.UTF_8);
+        MappedUserStoreBuilder.build(input, output);
+
+        return MappedUserStore.open(output);
+    }
+
+
+    @Test
+    public void jsonLines() throws IOException
+    {
+        try (MappedUserStore store = build("users.jsonl",
+                "{\"sub\":\"1001\",\"login_id\":\"john\",\"password\":\"secret\",\"email\":\"john@example.com\","
+              + "\"email_verified\":true,\"updated_at\":1638057600,\"address\":{\"country\":\"USA\"},"
+              + "\"nationalities\":[\"USA\"],\"@code\":\"675325\"}",
+                "",
+                "{\"sub\":\"1002\",\"phone_number\":\"+1 555\",\"email_verified\":false}"))
+        {
+            assertEquals(2, store.size());
+
+            MappedUser john = store.getByLoginId("john");
+            assertEquals("1001", john.getSubject());
+            assertEquals("john@example.com", john.getClaim("email", null));
+            assertEquals(Boolean.TRUE, john.getClaim("email_verified", null));
+            assertEquals(1638057600L, john.getClaim("updated_at", null));
+            assertEquals("USA", ((Map<?, ?>)john.getClaim("address", null)).get("country"));
+            assertEquals(Arrays.asList("USA"), john.getClaim("nationalities", null));
+            assertEquals("675325", john.getAttribute("code"));
+
+            // Credentials and attributes are not claims.
+            assertNull(john.getClaim("password", null));
+            assertNull(john.getClaim("@code", null));
+            assertNull(john.getClaim("unknown", null));
+
+            assertTrue(john.hasPassword("secret"));
+            assertFalse(john.hasPassword("wrong"));
+            assertFalse(john.hasPassword(null));
+
+            assertEquals("1001", store.getByEmail("john@example.com").getSubject());
+            assertEquals("1002", store.getByPhoneNumber("+1 555").getSubject());
+            assertEquals(Boolean.FALSE, store.getBySubject("1002").getClaim("email_verified", null));
+            assertNull(store.getBySubject("1002").getLoginId());
+            assertNull(store.getBySubject("1003"));
+            assertNull(store.getByEmail(null));
+        }
+    }
+
+
+    @Test
+    public void csv() throws IOException
+    {
+        try (MappedUserStore store = build("users.csv",
+                "sub,login_id,name,email_verified:boolean,updated_at:long,address:json",
+                "1001,john,\"Doe, \"\"John\"\"\",true,1638057600,\"{\"\"country\"\":\"\"USA\"\"}\"",
+                "1002,,\"multi",
+                "line\",false,,"))
+        {
+            MappedUser john = store.getBySubject("1001");
+            assertEquals("Doe, \"John\"", john.getClaim("name", null));
+            assertEquals(Boolean.TRUE, john.getClaim("email_verified", null));
+            assertEquals(1638057600L, john.getClaim("updated_at", null));
+            assertEquals("USA", ((Map<?, ?>)john.getClaim("address", null)).get("country"));
+
+            MappedUser other = store.getBySubject("1002");
+            assertEquals("multi\nline", other.getClaim("name", null));
+            assertNull(other.getClaim("updated_at", null));
+            assertNull(store.getByLoginId(""));
+        }
+    }
+
+
+    @Test
+    public void repeatedValuesAndManyUsers() throws IOException
+    {
+        List<String> lines = new ArrayList<>();
+
+        for (int i = 0; i < 10000; i++)
+        {
+            lines.add(String.format(
+                    "{\"sub\":\"%d\",\"email\":\"u%d@example.com\",\"locale\":\"%s\",\"address\":{\"country\":\"%s\"}}",
+                    i, i, (i % 2 == 0) ? "en" : "ja", (i % 2 == 0) ? "USA" : "JPN"));
+        }
+
+        try (MappedUserStore store = build("many.jsonl", lines.toArray(new String[0])))
+        {
+            assertEquals(10000, store.size());
+
+            for (int i = 0; i < 10000; i += 97)
+            {
+                MappedUser user = store.getByEmail("u" + i + "@example.com");
+
+                assertEquals(String.valueOf(i), user.getSubject());
+                assertEquals((i % 2 == 0) ? "en" : "ja", user.getClaim("locale", null));
+
+                // A dictionary-encoded JSON value is a fresh copy each time.
+                @SuppressWarnings("unchecked")
+                Map<String, Object> address = (Map<String, Object>)user.getClaim("address", null);
+                address.clear();
+                assertEquals((i % 2 == 0) ? "USA" : "JPN",
+                        ((Map<?, ?>)user.getClaim("address", null)).get("country"));
+            }
+        }
+    }
+
+
+    @Test
+    public void firstRecordWithKeyIsFound() throws IOException
+    {
+        try (MappedUserStore store = build("dup.jsonl",
+                "{\"sub\":\"1001\",\"email\":\"shared@example.com\"}",
+                "{\"sub\":\"1002\",\"email\":\"shared@example.com\"}"))
+        {
+            assertEquals("1001", store.getByEmail("shared@example.com").getSubject());
+            assertEquals("1002", store.getBySubject("1002").getSubject());
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void userWithoutSubjectIsRejected() throws IOException
+    {
+        build("nosub.jsonl", "{\"email\":\"john@example.com\"}");
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.StringReader;
+import org.junit.Test;
+import com.authlete.common.types.JWSAlg;
+
+
+public class ResourceServerSnapshotTest
+{
+    private static final String KEY =
+            "{\\\"kty\\\":\\\"EC\\\",\\\"crv\\\":\\\"P-256\\\","
+          + "\\\"x\\\":\\\"f83OJ3D2xF1Bg8vub9tLe1gHMzV76e8Tus9uPHvRVEU\\\","
+          + "\\\"y\\\":\\\"x_FEzRu9m36HLN_tue659LNpXW6pCyStikYjKIWI5a0\\\"}";
+
+
+    private static ResourceServerSnapshot parse(String json)
+    {
+        return ResourceServerSnapshot.parse(new StringReader(json));
+    }
+
+
+    private static void assertRejected(String json)
+    {
+        try
+        {
+            parse(json);
+            fail("Accepted: " + json);
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected.
+        }
+    }
+
+
+    @Test
+    public void validResourceServers()
+    {
+        ResourceServerSnapshot snapshot = parse(
+                "[{\"id\":\"rs0\",\"secret\":\"rs0-secret\",\"introspectionSignAlg\":\"ES256\","
+              + "\"publicKeyForIntrospectionResponseEncryption\":\"" + KEY + "\"},"
+              + "{\"id\":\"rs1\",\"secret\":\"rs1-secret\"}]");
+
+        assertEquals(2, snapshot.size());
+        assertEquals(JWSAlg.ES256, snapshot.get("rs0").getIntrospectionSignAlg());
+        assertNull(snapshot.get("rs1").getPublicKeyForIntrospectionResponseEncryption());
+        assertNull(snapshot.get("rs2"));
+        assertNull(snapshot.get(null));
+    }
+
+
+    @Test
+    public void privateMembersOfTheKeyAreDropped()
+    {
+        String privateKey = KEY.substring(0, KEY.length() - 1)
+                + ",\\\"d\\\":\\\"jpsQnnGQmL-YBIffH1136cspYG6-0iY7X1fCE9-E9LI\\\"}";
+
+        ResourceServerSnapshot snapshot = parse(
+                "[{\"id\":\"rs0\",\"secret\":\"rs0-secret\","
+              + "\"publicKeyForIntrospectionResponseEncryption\":\"" + privateKey + "\"}]");
+
+        String key = snapshot.get("rs0").getPublicKeyForIntrospectionResponseEncryption();
+
+        assertTrue(key.contains("\"x\":\"f83OJ3D2xF1Bg8vub9tLe1gHMzV76e8Tus9uPHvRVEU\""));
+        assertFalse(key.contains("\"d\""));
+    }
+
+
+    @Test
+    public void invalidResourceServersAreRejected()
+    {
+        assertRejected("[{\"id\":\"rs0\",\"secret\":");
+        assertRejected("[{\"secret\":\"rs0-secret\"}]");
+        assertRejected("[{\"id\":\"rs0\"}]");
+        assertRejected("[{\"id\":\"rs0\",\"secret\":\"a\"},{\"id\":\"rs0\",\"secret\":\"b\"}]");
+        assertRejected("[{\"id\":\"rs0\",\"secret\":\"a\","
+                     + "\"publicKeyForIntrospectionResponseEncryption\":\"{}\"}]");
+
+        // A symmetric key.
+        assertRejected("[{\"id\":\"rs0\",\"secret\":\"a\","
+                     + "\"publicKeyForIntrospectionResponseEncryption\":"
+                     + "\"{\\\"kty\\\":\\\"oct\\\",\\\"k\\\":\\\"c2VjcmV0\\\"}\"}]");
+    }
+
+
+    @Test
+    public void secretIsCompared()
+    {
+        ResourceServerEntity rs = parse("[{\"id\":\"rs0\",\"secret\":\"rs0-secret\"}]").get("rs0");
+
+        assertTrue(rs.hasSecret("rs0-secret"));
+        assertFalse(rs.hasSecret("rs0-secreT"));
+        assertFalse(rs.hasSecret("rs0"));
+        assertFalse(rs.hasSecret(null));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.db;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+
+public class UserIndexTest
+{
+    private static UserEntity user(String subject, String loginId, String email, String phoneNumber)
+    {
+        return new UserEntity(subject, loginId, "password", null, email, null, phoneNumber, null);
+    }
+
+
+    @Test
+    public void lookupsByEveryKey()
+    {
+        UserIndex index = new UserIndex();
+        UserEntity ue   = user("1001", "john", "john@example.com", "+1 555");
+
+        index.put(ue);
+
+        assertSame(ue, index.getBySubject("1001"));
+        assertSame(ue, index.getByLoginId("john"));
+        assertSame(ue, index.getByEmail("john@example.com"));
+        assertSame(ue, index.getByPhoneNumber("+1 555"));
+        assertNull(index.getByEmail("jane@example.com"));
+        assertNull(index.getBySubject(null));
+        assertNull(index.getByLoginId(null));
+    }
+
+
+    @Test
+    public void replacementMovesSecondaryKeys()
+    {
+        UserIndex index = new UserIndex();
+        index.put(user("1001", "john", "john@example.com", "+1 555"));
+
+        UserEntity updated = user("1001", "john", "john@example.org", null);
+        index.put(updated);
+
+        assertEquals(1, index.size());
+        assertSame(updated, index.getBySubject("1001"));
+        assertSame(updated, index.getByLoginId("john"));
+        assertSame(updated, index.getByEmail("john@example.org"));
+        assertNull(index.getByEmail("john@example.com"));
+        assertNull(index.getByPhoneNumber("+1 555"));
+    }
+
+
+    @Test
+    public void sharedKeyIsNotTakenAway()
+    {
+        UserIndex index = new UserIndex();
+        UserEntity first  = user("1001", null, "shared@example.com", null);
+        UserEntity second = user("1002", null, "shared@example.com", null);
+
+        index.put(first);
+        index.put(second);
+
+        // The first user keeps the key.
+        assertSame(first, index.getByEmail("shared@example.com"));
+
+        // When the holder gives it up, the other user gets it.
+        index.put(user("1001", null, "first@example.com", null));
+
+        assertSame(second, index.getByEmail("shared@example.com"));
+    }
+}
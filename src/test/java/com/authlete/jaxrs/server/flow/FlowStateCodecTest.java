@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.flow;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import com.authlete.common.dto.AuthorizationResponse;
+import com.authlete.common.dto.Client;
+import com.authlete.common.dto.Scope;
+import com.authlete.common.dto.StringArray;
+
+
+public class FlowStateCodecTest
+{
+    private static final byte[] KEY = new byte[32];
+
+
+    static
+    {
+        Arrays.fill(KEY, (byte)7);
+    }
+
+
+    private final AtomicLong     now   = new AtomicLong(1_000_000L);
+    private final FlowStateCodec codec = new FlowStateCodec(KEY, now::get);
+
+
+    @Test
+    public void roundTrip()
+    {
+        String sealed = codec.seal(FlowStates.FEDERATION,
+                new FederationFlowState("state", "verifier", "authz"), 60_000);
+
+        FederationFlowState state =
+                codec.open(FlowStates.FEDERATION, sealed, FederationFlowState.class);
+
+        assertNotNull(state);
+        assertEquals("state",    state.getState());
+        assertEquals("verifier", state.getCodeVerifier());
+        assertEquals("authz",    state.getAuthorization());
+    }
+
+
+    @Test
+    public void authorizationStateRoundTrip()
+    {
+        AuthorizationResponse info = new AuthorizationResponse();
+        info.setTicket("ticket");
+        info.setClient(new Client().setClientId(42));
+        info.setScopes(new Scope[] { new Scope().setName("openid").setDescription("OpenID") });
+        info.setAcrs(new String[] { "acr1" });
+        info.setRequestedVerifiedClaimsForTx(new StringArray[] {
+                new StringArray(new String[] { "given_name", "family_name" }), null });
+
+        String sealed = codec.seal(FlowStates.AUTHORIZATION,
+                AuthorizationFlowState.from(info, "session-1"), 60_000);
+
+        AuthorizationFlowState state =
+                codec.open(FlowStates.AUTHORIZATION, sealed, AuthorizationFlowState.class);
+
+        assertNotNull(state);
+        assertEquals("ticket", state.getTicket());
+        assertEquals(42, state.getClientId());
+        assertArrayEquals(new String[] { "acr1" }, state.getAcrs());
+
+        // Bound to the session to which the page was sent.
+        assertTrue(state.isBoundTo("session-1"));
+        assertFalse(state.isBoundTo("session-2"));
+        assertFalse(state.isBoundTo(null));
+
+        AuthorizationResponse restored = state.toAuthorizationResponse(new Client().setClientId(42));
+
+        assertEquals("ticket", restored.getTicket());
+        assertEquals("openid", restored.getScopes()[0].getName());
+        assertEquals("OpenID", restored.getScopes()[0].getDescription());
+        assertArrayEquals(new String[] { "given_name", "family_name" },
+                restored.getRequestedVerifiedClaimsForTx()[0].getArray());
+        assertNull(restored.getRequestedVerifiedClaimsForTx()[1]);
+    }
+
+
+    @Test
+    public void tamperedValueIsRejected()
+    {
+        String sealed = codec.seal(FlowStates.FEDERATION,
+                new FederationFlowState("state", "verifier", null), 60_000);
+
+        // Flip a character of the ciphertext.
+        String[] parts = sealed.split("\\.");
+        char c = parts[3].charAt(0);
+        parts[3] = (c == 'A' ? 'B' : 'A') + parts[3].substring(1);
+
+        assertNull(codec.open(FlowStates.FEDERATION,
+                String.join(".", parts), FederationFlowState.class));
+        assertNull(codec.open(FlowStates.FEDERATION, "garbage", FederationFlowState.class));
+        assertNull(codec.open(FlowStates.FEDERATION, null, FederationFlowState.class));
+    }
+
+
+    @Test
+    public void otherKeyIsRejected()
+    {
+        String sealed = codec.seal(FlowStates.FEDERATION,
+                new FederationFlowState("state", "verifier", null), 60_000);
+
+        FlowStateCodec other = new FlowStateCodec(new byte[32], now::get);
+
+        assertNull(other.open(FlowStates.FEDERATION, sealed, FederationFlowState.class));
+    }
+
+
+    @Test
+    public void expiredValueIsRejected()
+    {
+        String sealed = codec.seal(FlowStates.FEDERATION,
+                new FederationFlowState("state", "verifier", null), 60_000);
+
+        now.addAndGet(60_000);
+        assertNotNull(codec.open(FlowStates.FEDERATION, sealed, FederationFlowState.class));
+
+        now.addAndGet(1);
+        assertNull(codec.open(FlowStates.FEDERATION, sealed, FederationFlowState.class));
+    }
+
+
+    @Test
+    public void otherPurposeIsRejected()
+    {
+        String sealed = codec.seal(FlowStates.FEDERATION,
+                new FederationFlowState("state", "verifier", null), 60_000);
+
+        assertNull(codec.open(FlowStates.AUTHORIZATION, sealed, AuthorizationFlowState.class));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.Test;
+
+
+public class DeferredGzipOutputStreamTest
+{
+    private static final byte[] LARGE = ("{\"verified_claims\":["
+            + "{\"verification\":{\"trust_framework\":\"de_aml\"},\"claims\":{\"given_name\":\"Max\"}},".repeat(40)
+            + "{}]}").getBytes(StandardCharsets.UTF_8);
+
+
+    private static byte[] gunzip(byte[] compressed) throws IOException
+    {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed)))
+        {
+            return in.readAllBytes();
+        }
+    }
+
+
+    @Test
+    public void bodyWithinThresholdIsWrittenAsIs() throws IOException
+    {
+        ByteArrayOutputStream sink  = new ByteArrayOutputStream();
+        AtomicInteger         calls = new AtomicInteger();
+        CompressionStats      stats = new CompressionStats();
+
+        DeferredGzipOutputStream out = new DeferredGzipOutputStream(
+                sink, 1024, new DeflaterPool(6, 1), stats, calls::incrementAndGet);
+
+        out.write("{\"sub\":".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+
+        // Nothing reaches the underlying stream before the decision.
+        assertEquals(0, sink.size());
+
+        out.write("\"1001\"}".getBytes(StandardCharsets.UTF_8));
+        out.finish();
+
+        assertFalse(out.isCompressing());
+        assertEquals(0, calls.get());
+        assertEquals("{\"sub\":\"1001\"}", sink.toString(StandardCharsets.UTF_8));
+        assertEquals(0, stats.getResponses());
+    }
+
+
+    @Test
+    public void bodyAboveThresholdIsGzipped() throws IOException
+    {
+        ByteArrayOutputStream sink  = new ByteArrayOutputStream();
+        AtomicInteger         calls = new AtomicInteger();
+        CompressionStats      stats = new CompressionStats();
+        DeflaterPool          pool  = new DeflaterPool(6, 1);
+
+        DeferredGzipOutputStream out = new DeferredGzipOutputStream(
+                sink, 1024, pool, stats, calls::incrementAndGet);
+
+        // Written in small pieces so that the threshold is crossed midway.
+        for (int i = 0; i < LARGE.length; i += 100)
+        {
+            out.write(LARGE, i, Math.min(100, LARGE.length - i));
+        }
+
+        out.finish();
+        out.finish();
+
+        assertTrue(out.isCompressing());
+        assertEquals(1, calls.get());
+        assertArrayEquals(LARGE, gunzip(sink.toByteArray()));
+
+        assertEquals(1, stats.getResponses());
+        assertEquals(LARGE.length, stats.getBytesIn());
+        assertEquals(sink.size(), stats.getBytesOut());
+        assertTrue(stats.getBytesSaved() > 0);
+
+        // The deflater went back to the pool.
+        assertEquals(1, pool.getIdleCount());
+    }
+
+
+    @Test
+    public void pooledDeflaterIsReusable() throws IOException
+    {
+        DeflaterPool pool = new DeflaterPool(6, 1);
+
+        for (int i = 0; i < 3; i++)
+        {
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+
+            DeferredGzipOutputStream out = new DeferredGzipOutputStream(
+                    sink, 16, pool, new CompressionStats(), () -> {});
+
+            out.write(LARGE);
+            out.close();
+
+            assertArrayEquals(LARGE, gunzip(sink.toByteArray()));
+        }
+
+        assertEquals(1, pool.getIdleCount());
+    }
+
+
+    @Test
+    public void abortAfterFailedWriteReleasesDeflater() throws IOException
+    {
+        DeflaterPool pool = new DeflaterPool(6, 1);
+
+        // A client that goes away after the first kilobyte.
+        OutputStream broken = new OutputStream()
+        {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException
+            {
+                if (++written > 1024)
+                {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        DeferredGzipOutputStream out = new DeferredGzipOutputStream(
+                broken, 16, pool, new CompressionStats(), () -> {});
+
+        try
+        {
+            for (int i = 0; i < 100; i++)
+            {
+                out.write(LARGE);
+            }
+
+            out.finish();
+            fail("The write should have failed.");
+        }
+        catch (IOException e)
+        {
+            // Expected.
+        }
+        finally
+        {
+            out.abort();
+        }
+
+        assertEquals(1, pool.getIdleCount());
+    }
+}
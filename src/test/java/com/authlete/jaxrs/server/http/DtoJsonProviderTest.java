@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.Test;
+import com.authlete.jaxrs.server.ad.dto.AsyncAuthenticationCallbackRequest;
+import com.authlete.jaxrs.server.ad.dto.SyncAuthenticationRequest;
+import com.authlete.jaxrs.server.ad.type.Result;
+import com.authlete.jaxrs.server.obb.model.CreateConsent;
+import com.authlete.jaxrs.server.obb.model.Links;
+
+
+public class DtoJsonProviderTest
+{
+    private final DtoJsonProvider provider = new DtoJsonProvider();
+
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(Class<T> type, String json) throws IOException
+    {
+        return (T)provider.readFrom((Class<Object>)(Class<?>)type, type, null,
+                MediaType.APPLICATION_JSON_TYPE, null,
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+
+    private String write(Object entity) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        provider.writeTo(entity, entity.getClass(), entity.getClass(), null,
+                MediaType.APPLICATION_JSON_TYPE, null, out);
+
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+
+    @Test
+    public void onlyTheDtoAndModelPackagesAreSupported()
+    {
+        assertTrue(provider.isReadable(CreateConsent.class, CreateConsent.class, null, MediaType.APPLICATION_JSON_TYPE));
+        assertTrue(provider.isWriteable(Links.class, Links.class, null, MediaType.valueOf("application/problem+json")));
+        assertFalse(provider.isWriteable(Links.class, Links.class, null, MediaType.TEXT_PLAIN_TYPE));
+        assertFalse(provider.isWriteable(Map.class, Map.class, null, MediaType.APPLICATION_JSON_TYPE));
+        assertFalse(provider.isReadable(String.class, String.class, null, MediaType.APPLICATION_JSON_TYPE));
+    }
+
+
+    @Test
+    public void callbackRequestIsRead() throws IOException
+    {
+        AsyncAuthenticationCallbackRequest request = read(AsyncAuthenticationCallbackRequest.class,
+                "{\"request_id\":\"r1\",\"result\":\"allow\",\"state\":\"s\"}");
+
+        assertEquals("r1", request.getRequestId());
+        assertEquals(Result.allow, request.getResult());
+        assertEquals("s", request.getState());
+    }
+
+
+    @Test
+    public void simulatorRequestUsesWireNamesAndOmitsNulls() throws IOException
+    {
+        SyncAuthenticationRequest request = new SyncAuthenticationRequest();
+        request.setWorkspace("ws");
+        request.setActionizeToken("at");
+
+        String json = write(request);
+
+        assertTrue(json, json.contains("\"actionize_token\":\"at\""));
+        assertFalse(json, json.contains("\"user\""));
+    }
+
+
+    @Test
+    public void modelsAreWrittenWithNulls() throws IOException
+    {
+        assertEquals("{\"self\":\"/\",\"first\":null,\"prev\":null,\"next\":null,\"last\":null}",
+                write(new Links().setSelf("/")));
+    }
+
+
+    @Test
+    public void emptyBodyIsNull() throws IOException
+    {
+        assertNull(read(CreateConsent.class, ""));
+    }
+
+
+    @Test(expected = BadRequestException.class)
+    public void malformedBodyIsBadRequest() throws IOException
+    {
+        read(CreateConsent.class, "{\"data\":[");
+    }
+
+
+    @Test(expected = BadRequestException.class)
+    public void badSyntaxIsBadRequest() throws IOException
+    {
+        read(CreateConsent.class, "{\"data\":}");
+    }
+
+
+    @Test(expected = BadRequestException.class)
+    public void strayClosingBracketIsBadRequest() throws IOException
+    {
+        read(CreateConsent.class, "]");
+    }
+
+
+    @Test
+    public void nonAsciiIsWrittenAsUtf8() throws IOException
+    {
+        // Two-byte, three-byte and four-byte sequences, and a lone surrogate.
+        String self = "/caf\u00e9/\u30c6\u30b9\u30c8/\ud83d\ude00/\ud800x";
+
+        assertEquals("{\"self\":\"/caf\u00e9/\u30c6\u30b9\u30c8/\ud83d\ude00/?x\",\"first\":null,\"prev\":null,\"next\":null,\"last\":null}",
+                write(new Links().setSelf(self)));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.http;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.junit.Test;
+
+
+public class RepresentationCacheTest
+{
+    private static final String DOCUMENT = "{\"keys\":[" + "{\"kty\":\"EC\"},".repeat(50) + "{}]}";
+
+
+    private static Response upstream(String document)
+    {
+        return Response.ok(document, MediaType.APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .header("X-Custom", "kept")
+                .build();
+    }
+
+
+    @Test
+    public void okResponseCarriesETagAndCacheControl()
+    {
+        RepresentationCache cache = new RepresentationCache(true, 600);
+
+        Response response = cache.respond(upstream(DOCUMENT), null, null);
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(DOCUMENT.getBytes(StandardCharsets.UTF_8), (byte[])response.getEntity());
+        assertTrue(response.getHeaderString(HttpHeaders.ETAG).startsWith("\""));
+        assertEquals("public, max-age=600", response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        assertEquals("kept", response.getHeaderString("X-Custom"));
+        assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    }
+
+
+    @Test
+    public void matchingIfNoneMatchGives304()
+    {
+        RepresentationCache cache = new RepresentationCache(true, 600);
+
+        String etag = cache.respond(upstream(DOCUMENT), null, null).getHeaderString(HttpHeaders.ETAG);
+
+        Response response = cache.respond(upstream(DOCUMENT), "\"other\", W/" + etag, null);
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(etag, response.getHeaderString(HttpHeaders.ETAG));
+    }
+
+
+    @Test
+    public void gzipIsServedWhenAccepted() throws IOException
+    {
+        RepresentationCache cache = new RepresentationCache(true, 600);
+
+        Response plain = cache.respond(upstream(DOCUMENT), null, "identity");
+        Response gzip  = cache.respond(upstream(DOCUMENT), null, "br, gzip;q=0.8");
+
+        assertEquals("gzip", gzip.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertNotEquals(plain.getHeaderString(HttpHeaders.ETAG), gzip.getHeaderString(HttpHeaders.ETAG));
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream((byte[])gzip.getEntity())))
+        {
+            assertEquals(DOCUMENT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertFalse(RepresentationCache.acceptsGzip("gzip;q=0"));
+    }
+
+
+    @Test
+    public void representationIsRebuiltOnlyWhenTheDocumentChanges()
+    {
+        RepresentationCache cache = new RepresentationCache(true, 600);
+
+        Object first  = cache.respond(upstream(DOCUMENT), null, null).getEntity();
+        Object second = cache.respond(upstream(new String(DOCUMENT)), null, null).getEntity();
+
+        assertSame("same bytes reused", first, second);
+
+        Response changed = cache.respond(upstream(DOCUMENT + " "), null, null);
+
+        assertNotEquals(first, changed.getEntity());
+    }
+
+
+    @Test
+    public void errorResponsesPassThrough()
+    {
+        RepresentationCache cache = new RepresentationCache(true, 600);
+
+        Response error = Response.serverError().entity("{}").build();
+
+        assertSame(error, cache.respond(error, "*", "gzip"));
+    }
+}
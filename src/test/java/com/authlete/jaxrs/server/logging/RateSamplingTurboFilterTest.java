@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.logging;
+
+
+import static org.junit.Assert.assertEquals;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+
+public class RateSamplingTurboFilterTest
+{
+    private final AtomicLong      now     = new AtomicLong(1_000_000L);
+    private final LoggerContext   context = new LoggerContext();
+    private RateSamplingTurboFilter filter;
+    private Logger                  busy;
+    private Logger                  other;
+
+
+    @Before
+    public void setUp()
+    {
+        filter = new RateSamplingTurboFilter(now::get);
+        filter.setMaxPerSecond(3);
+        filter.start();
+
+        busy  = context.getLogger("busy");
+        other = context.getLogger("other");
+        busy.setLevel(Level.DEBUG);
+        other.setLevel(Level.DEBUG);
+    }
+
+
+    private FilterReply debug(Logger logger)
+    {
+        return filter.decide(null, logger, Level.DEBUG, "message {}", new Object[] { 1 }, null);
+    }
+
+
+    @Test
+    public void dropsBeyondLimitPerLoggerAndSecond()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(FilterReply.NEUTRAL, debug(busy));
+        }
+
+        assertEquals(FilterReply.DENY, debug(busy));
+        assertEquals(FilterReply.NEUTRAL, debug(other));
+        assertEquals(1, filter.getDroppedCount());
+
+        // The next second has a fresh budget.
+        now.addAndGet(1000);
+
+        assertEquals(FilterReply.NEUTRAL, debug(busy));
+    }
+
+
+    @Test
+    public void levelsAboveThresholdAreNotSampled()
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(FilterReply.NEUTRAL,
+                    filter.decide(null, busy, Level.INFO, "message", null, null));
+        }
+
+        assertEquals(0, filter.getDroppedCount());
+    }
+
+
+    @Test
+    public void enabledChecksAndDisabledLevelsDoNotConsumeBudget()
+    {
+        busy.setLevel(Level.INFO);
+
+        for (int i = 0; i < 10; i++)
+        {
+            // isDebugEnabled()
+            filter.decide(null, other, Level.DEBUG, null, null, null);
+
+            // Dropped by the level of the logger anyway.
+            debug(busy);
+        }
+
+        assertEquals(0, filter.getDroppedCount());
+        assertEquals(FilterReply.NEUTRAL, debug(other));
+    }
+}
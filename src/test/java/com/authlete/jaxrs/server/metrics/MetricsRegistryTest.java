@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.metrics;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+
+public class MetricsRegistryTest
+{
+    private static long millis(long ms)
+    {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+
+    @Test
+    public void metricsAreCreatedOncePerName()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        assertSame(registry.forResource("TokenEndpoint"), registry.forResource("TokenEndpoint"));
+        assertSame(registry.forAuthleteMethod("token"), registry.forAuthleteMethod("token"));
+    }
+
+
+    @Test
+    public void histogramBucketsAreCumulative()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        ResourceMetrics metrics  = registry.forResource("TokenEndpoint");
+
+        metrics.record(200, millis(3));
+        metrics.record(200, millis(40));
+        metrics.record(400, millis(40));
+        metrics.record(503, millis(20_000));
+
+        String text = registry.scrape();
+
+        assertTrue(text, text.contains("http_server_request_duration_seconds_bucket{resource=\"TokenEndpoint\",le=\"0.005\"} 1\n"));
+        assertTrue(text, text.contains("http_server_request_duration_seconds_bucket{resource=\"TokenEndpoint\",le=\"0.05\"} 3\n"));
+        assertTrue(text, text.contains("http_server_request_duration_seconds_bucket{resource=\"TokenEndpoint\",le=\"10.0\"} 3\n"));
+        assertTrue(text, text.contains("http_server_request_duration_seconds_bucket{resource=\"TokenEndpoint\",le=\"+Inf\"} 4\n"));
+        assertTrue(text, text.contains("http_server_request_duration_seconds_sum{resource=\"TokenEndpoint\"} 20.083\n"));
+        assertTrue(text, text.contains("http_server_request_duration_seconds_count{resource=\"TokenEndpoint\"} 4\n"));
+        assertTrue(text, text.contains("http_server_responses_total{resource=\"TokenEndpoint\",status=\"200\"} 2\n"));
+        assertTrue(text, text.contains("http_server_responses_total{resource=\"TokenEndpoint\",status=\"400\"} 1\n"));
+        assertTrue(text, text.contains("http_server_responses_total{resource=\"TokenEndpoint\",status=\"503\"} 1\n"));
+        assertFalse(text, text.contains("status=\"500\""));
+    }
+
+
+    @Test
+    public void authleteMethodMetricsAreExposed()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        AuthleteMethodMetrics metrics = registry.forAuthleteMethod("introspection");
+
+        metrics.recordCall(millis(7));
+        metrics.recordRetry();
+        metrics.recordCacheHit();
+        metrics.recordCacheHit();
+        metrics.recordCacheMiss();
+
+        String text = registry.scrape();
+
+        assertTrue(text, text.contains("authlete_api_call_duration_seconds_count{method=\"introspection\"} 1\n"));
+        assertTrue(text, text.contains("authlete_api_retries_total{method=\"introspection\"} 1\n"));
+        assertTrue(text, text.contains("authlete_api_cache_hits_total{method=\"introspection\"} 2\n"));
+        assertTrue(text, text.contains("authlete_api_cache_misses_total{method=\"introspection\"} 1\n"));
+
+        // No breaker is bound yet.
+        assertFalse(text, text.contains("authlete_api_circuit_breaker_state{"));
+
+        metrics.bindBreakerState(() -> 1);
+
+        assertTrue(registry.scrape().contains("authlete_api_circuit_breaker_state{method=\"introspection\"} 1\n"));
+    }
+
+
+    @Test
+    public void sampledValuesAreReadAtScrapeTime()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        long[] size = { 3 };
+
+        registry.addGauge("store_entries", "Entries.", () -> size[0]);
+
+        assertTrue(registry.scrape().contains("# TYPE store_entries gauge\nstore_entries 3\n"));
+
+        size[0] = 5;
+
+        assertTrue(registry.scrape().contains("store_entries 5\n"));
+    }
+
+
+    @Test
+    public void labelValuesAreEscaped()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        registry.forResource("a\"b\\c\nd").record(200, 0);
+
+        assertTrue(registry.scrape().contains("{resource=\"a\\\"b\\\\c\\nd\",status=\"200\"} 1\n"));
+    }
+
+
+    @Test
+    public void statusOutOfRangeIsCountedAs500()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        ResourceMetrics metrics  = registry.forResource("X");
+
+        metrics.record(0, 0);
+        metrics.record(999, 0);
+
+        assertEquals(2, metrics.getStatusCount(500));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.nativesso;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+
+public class CachingSessionStateStoreTest
+{
+    private final AtomicLong    now     = new AtomicLong(1_000_000L);
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private final InMemorySessionStateStore shared = new InMemorySessionStateStore(now::get)
+    {
+        @Override
+        public boolean isSessionActive(String sessionId)
+        {
+            lookups.incrementAndGet();
+            return super.isSessionActive(sessionId);
+        }
+
+
+        @Override
+        public DeviceSecret getDeviceSecret(String value)
+        {
+            lookups.incrementAndGet();
+            return super.getDeviceSecret(value);
+        }
+    };
+
+    private final CachingSessionStateStore cache =
+            new CachingSessionStateStore(shared, 1000, 100, now::get);
+
+
+    @Test
+    public void liveSessionIsTrustedForTtl()
+    {
+        shared.putSession("s1", 0);
+
+        assertTrue(cache.isSessionActive("s1"));
+        assertTrue(cache.isSessionActive("s1"));
+        assertEquals(1, lookups.get());
+
+        // Ended on another node: still trusted until the TTL elapses.
+        shared.removeSession("s1");
+        assertTrue(cache.isSessionActive("s1"));
+
+        now.addAndGet(1001);
+        assertFalse(cache.isSessionActive("s1"));
+    }
+
+
+    @Test
+    public void negativeResultsAreNotCached()
+    {
+        assertFalse(cache.isSessionActive("s1"));
+
+        // Created on another node.
+        shared.putSession("s1", 0);
+
+        assertTrue(cache.isSessionActive("s1"));
+    }
+
+
+    @Test
+    public void localRemovalIsSeenAtOnce()
+    {
+        cache.putSession("s1", 0);
+        assertTrue(cache.isSessionActive("s1"));
+
+        cache.removeSession("s1");
+        assertFalse(cache.isSessionActive("s1"));
+    }
+
+
+    @Test
+    public void deviceSecretIsCached()
+    {
+        DeviceSecret ds = new DeviceSecret().setValue("v").setSessionId("s1");
+        shared.putDeviceSecret(ds);
+
+        assertSame(ds, cache.getDeviceSecret("v"));
+        assertSame(ds, cache.getDeviceSecret("v"));
+        assertEquals(1, lookups.get());
+    }
+}
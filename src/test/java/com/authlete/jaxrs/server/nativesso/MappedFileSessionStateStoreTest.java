@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.nativesso;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertNotNull;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MappedFileSessionStateStoreTest
+{
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private Path file;
+    private MappedFileSessionStateStore node1;
+    private MappedFileSessionStateStore node2;
+
+
+    @Before
+    public void setUp() throws IOException
+    {
+        file = Files.createTempFile("session-state", ".dat");
+        Files.delete(file);
+
+        // Two stores on the same file stand for two server processes.
+        node1 = new MappedFileSessionStateStore(file, 64, now::get);
+        node2 = new MappedFileSessionStateStore(file, 64, now::get);
+    }
+
+
+    @After
+    public void tearDown() throws IOException
+    {
+        node1.close();
+        node2.close();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(smallFile());
+    }
+
+
+    @Test
+    public void sessionIsSharedBetweenNodes()
+    {
+        node1.putSession("session-1", 0);
+
+        assertTrue(node2.isSessionActive("session-1"));
+        assertFalse(node2.isSessionActive("session-2"));
+
+        node2.removeSession("session-1");
+
+        assertFalse(node1.isSessionActive("session-1"));
+    }
+
+
+    @Test
+    public void sessionExpires()
+    {
+        node1.putSession("session-1", now.get() + 1000);
+
+        assertTrue(node2.isSessionActive("session-1"));
+
+        now.addAndGet(1001);
+
+        assertFalse(node2.isSessionActive("session-1"));
+    }
+
+
+    @Test
+    public void deviceSecretIsSharedBetweenNodes()
+    {
+        node1.putDeviceSecret(new DeviceSecret()
+                .setValue("ds-value")
+                .setHash("ds-hash")
+                .setSessionId("session-1")
+                .setDeviceId(null));
+
+        DeviceSecret ds = node2.getDeviceSecret("ds-value");
+
+        assertEquals("ds-value",  ds.getValue());
+        assertEquals("ds-hash",   ds.getHash());
+        assertEquals("session-1", ds.getSessionId());
+        assertNull(ds.getDeviceId());
+        assertNull(node2.getDeviceSecret("other"));
+        assertEquals(1, node2.getDeviceSecretCount());
+    }
+
+
+    @Test
+    public void removedAndExpiredSlotsAreReused()
+    {
+        // Far more writes than slots.
+        for (int i = 0; i < 1000; i++)
+        {
+            node1.putSession("removed-" + i, 0);
+            node1.removeSession("removed-" + i);
+            node1.putSession("expired-" + i, now.get() - 1);
+        }
+
+        node1.putSession("live", 0);
+
+        assertTrue(node2.isSessionActive("live"));
+    }
+
+
+    @Test(expected = IllegalStateException.class)
+    public void fullFileIsReported()
+    {
+        for (int i = 0; i <= 64; i++)
+        {
+            node1.putSession("session-" + i, 0);
+        }
+    }
+
+
+    @Test
+    public void stateSurvivesReopening() throws IOException
+    {
+        node1.putSession("session-1", 0);
+        node1.close();
+
+        node1 = new MappedFileSessionStateStore(file, 8, now::get);
+
+        assertTrue(node1.isSessionActive("session-1"));
+    }
+
+
+    @Test
+    public void deviceSecretsOfEndedSessionsAreReclaimed() throws IOException
+    {
+        try (MappedFileSessionStateStore small = newSmallStore())
+        {
+            small.putSession("session-1", 0);
+
+            for (int i = 0; i < 3; i++)
+            {
+                small.putDeviceSecret(deviceSecret("ds-" + i, "session-1"));
+            }
+
+            // The file is full. Once the session ends, its device secrets
+            // are worthless and their slots can be reused.
+            small.removeSession("session-1");
+            small.putSession("session-2", 0);
+
+            for (int i = 0; i < 3; i++)
+            {
+                small.putDeviceSecret(deviceSecret("ds-new-" + i, "session-2"));
+            }
+
+            assertNotNull(small.getDeviceSecret("ds-new-2"));
+            assertTrue(small.isSessionActive("session-2"));
+        }
+    }
+
+
+    @Test(expected = IllegalStateException.class)
+    public void deviceSecretsOfLiveSessionsAreKept() throws IOException
+    {
+        try (MappedFileSessionStateStore small = newSmallStore())
+        {
+            small.putSession("session-1", 0);
+
+            for (int i = 0; i < 4; i++)
+            {
+                small.putDeviceSecret(deviceSecret("ds-" + i, "session-1"));
+            }
+        }
+    }
+
+
+    @Test(timeout = 10_000)
+    public void slotLeftOddByDeadWriterIsRepaired() throws IOException
+    {
+        node1.putSession("session-1", 0);
+
+        // Simulate a process that died in the middle of writing every slot.
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            buffer.order(ByteOrder.nativeOrder());
+
+            for (int off = 64; off < buffer.capacity(); off += 512)
+            {
+                buffer.putInt(off, buffer.getInt(off) | 1);
+            }
+        }
+
+        // The reader does not spin forever; the torn slot is dropped.
+        assertFalse(node2.isSessionActive("session-1"));
+
+        node1.putSession("session-1", 0);
+
+        assertTrue(node2.isSessionActive("session-1"));
+    }
+
+
+    private Path smallFile()
+    {
+        return file.resolveSibling(file.getFileName() + ".small");
+    }
+
+
+    /**
+     * A store of four slots.
+     */
+    private MappedFileSessionStateStore newSmallStore() throws IOException
+    {
+        return new MappedFileSessionStateStore(smallFile(), 4, now::get);
+    }
+
+
+    private static DeviceSecret deviceSecret(String value, String sessionId)
+    {
+        return new DeviceSecret()
+                .setValue(value)
+                .setHash(value + "-hash")
+                .setSessionId(sessionId);
+    }
+}
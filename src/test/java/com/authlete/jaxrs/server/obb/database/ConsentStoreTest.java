@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.obb.database;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import com.authlete.jaxrs.server.obb.model.Consent;
+
+
+public class ConsentStoreTest
+{
+    private static final long NOW = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+
+    private static Consent consent(String id, long clientId, String expiration)
+    {
+        return new Consent()
+                .setConsentId(id)
+                .setClientId(clientId)
+                .setExpirationDateTime(expiration);
+    }
+
+
+    @Test
+    public void expiredConsentsAreHiddenAndSwept()
+    {
+        AtomicLong   clock = new AtomicLong(NOW);
+        ConsentStore store = new ConsentStore(10, clock::get);
+
+        store.put(consent("a", 1, "2026-01-01T00:01:00Z"));
+        store.put(consent("b", 1, "2026-01-01T00:02:00Z"));
+        store.put(consent("c", 1, null));
+        store.put(consent("d", 1, "2025-12-31T21:01:00-03:00"));
+
+        assertNotNull(store.get("a"));
+
+        clock.set(NOW + 90_000);
+
+        assertNull(store.get("a"));
+        assertNull(store.get("d"));
+        assertNotNull(store.get("b"));
+        assertEquals(2, store.getByClientId(1).size());
+
+        assertEquals(2, store.sweep());
+        assertEquals(2, store.size());
+    }
+
+
+    @Test
+    public void soonestExpiringConsentsAreEvictedWhenFull()
+    {
+        ConsentStore store = new ConsentStore(2, () -> NOW);
+
+        store.put(consent("late",  1, "2026-03-01T00:00:00Z"));
+        store.put(consent("never", 1, null));
+        store.put(consent("soon",  1, "2026-02-01T00:00:00Z"));
+
+        assertEquals(2, store.size());
+        assertNull(store.get("soon"));
+        assertNotNull(store.get("late"));
+        assertNotNull(store.get("never"));
+    }
+
+
+    @Test
+    public void replacedConsentsAreReindexed()
+    {
+        ConsentStore store = new ConsentStore(10, () -> NOW);
+
+        store.put(consent("a", 1, "2026-01-01T00:01:00Z"));
+        store.put(consent("b", 2, "2026-06-01T00:00:00Z"));
+
+        // The same consent moved to another client and a later expiration.
+        Consent replaced = consent("a", 2, "2026-09-01T00:00:00Z");
+        store.put(replaced);
+
+        assertSame(replaced, store.get("a"));
+        assertEquals(0, store.getByClientId(1).size());
+        assertEquals(2, store.getByClientId(2).size());
+
+        store.remove("b");
+
+        assertEquals(1, store.size());
+        assertEquals(1, store.getByClientId(2).size());
+        assertEquals(0, store.sweep());
+    }
+}
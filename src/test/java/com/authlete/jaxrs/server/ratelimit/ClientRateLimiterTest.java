@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.ratelimit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ClientRateLimiterTest
+{
+    private static final String[] KEYS = {
+        "ratelimit.enabled",
+        "ratelimit.default.capacity",
+        "ratelimit.default.refillPerSecond",
+        "ratelimit.class.partner.capacity",
+        "ratelimit.class.partner.refillPerSecond",
+        "ratelimit.client.p1.class",
+        "ratelimit.client.free.capacity",
+        "ratelimit.idleEvictionSeconds",
+        "ratelimit.maxClients",
+    };
+
+
+    private static final long SECOND = 1_000_000_000L;
+
+
+    /** A clock whose value the test advances manually. */
+    private final long[] now = { 5 * SECOND };
+    private final LongSupplier clock = () -> now[0];
+
+
+    @Before
+    public void setUp()
+    {
+        System.setProperty("ratelimit.default.capacity", "3");
+        System.setProperty("ratelimit.default.refillPerSecond", "1");
+        System.setProperty("ratelimit.class.partner.capacity", "10");
+        System.setProperty("ratelimit.class.partner.refillPerSecond", "5");
+        System.setProperty("ratelimit.client.p1.class", "partner");
+        System.setProperty("ratelimit.client.free.capacity", "0");
+        System.setProperty("ratelimit.idleEvictionSeconds", "60");
+    }
+
+
+    @After
+    public void tearDown()
+    {
+        for (String key : KEYS)
+        {
+            System.clearProperty(key);
+        }
+    }
+
+
+    private ClientRateLimiter newLimiter()
+    {
+        return new ClientRateLimiter(new RateLimitConfig(), clock);
+    }
+
+
+    @Test
+    public void burstUpToCapacityThenRefill()
+    {
+        ClientRateLimiter limiter = newLimiter();
+
+        assertEquals(2, limiter.tryAcquire("c").getRemaining());
+        assertEquals(1, limiter.tryAcquire("c").getRemaining());
+        assertEquals(0, limiter.tryAcquire("c").getRemaining());
+
+        RateLimitDecision denied = limiter.tryAcquire("c");
+        assertFalse(denied.isAllowed());
+        assertEquals(3, denied.getLimit());
+        assertEquals(1, denied.getResetSeconds());
+
+        // Other clients have their own bucket.
+        assertTrue(limiter.tryAcquire("other").isAllowed());
+
+        now[0] += SECOND;
+        assertTrue("refilled by one", limiter.tryAcquire("c").isAllowed());
+        assertFalse(limiter.tryAcquire("c").isAllowed());
+    }
+
+
+    @Test
+    public void classAndUnlimitedClients()
+    {
+        ClientRateLimiter limiter = newLimiter();
+
+        RateLimitDecision partner = limiter.tryAcquire("p1");
+        assertEquals(10, partner.getLimit());
+        assertEquals(9, partner.getRemaining());
+
+        for (int i = 0; i < 1000; i++)
+        {
+            assertTrue(limiter.tryAcquire("free").isAllowed());
+        }
+    }
+
+
+    @Test
+    public void idleBucketsAreEvicted()
+    {
+        ClientRateLimiter limiter = newLimiter();
+
+        for (int i = 0; i < 100; i++)
+        {
+            limiter.tryAcquire("client-" + i);
+        }
+
+        assertEquals(100, limiter.size());
+
+        // Every stripe is swept once over one idle period.
+        now[0] += 61 * SECOND;
+
+        for (int i = 0; i < 16; i++)
+        {
+            now[0] += 4 * SECOND;
+            limiter.tryAcquire("active");
+        }
+
+        assertEquals("only the active client is left", 1, limiter.size());
+    }
+
+
+    @Test
+    public void newClientsBeyondCapReplaceLeastRecentlyUsed()
+    {
+        System.setProperty("ratelimit.maxClients", "2");
+
+        ClientRateLimiter limiter = newLimiter();
+
+        limiter.tryAcquire("a");
+        now[0] += SECOND;
+        limiter.tryAcquire("b");
+        now[0] += SECOND;
+
+        // "x" and "y" get buckets of their own.
+        for (int i = 0; i < 3; i++)
+        {
+            assertTrue(limiter.tryAcquire("x").isAllowed());
+            assertTrue(limiter.tryAcquire("y").isAllowed());
+        }
+
+        assertFalse(limiter.tryAcquire("x").isAllowed());
+        assertFalse(limiter.tryAcquire("y").isAllowed());
+
+        assertTrue(limiter.size() <= 2);
+    }
+
+
+    @Test
+    public void floodOfMadeUpClientsDoesNotLockOutRealClients()
+    {
+        System.setProperty("ratelimit.maxClients", "1000");
+
+        ClientRateLimiter limiter = newLimiter();
+        Random            random  = new Random(42);
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            now[0] += 1000;
+            limiter.tryAcquire(Long.toHexString(random.nextLong()));
+        }
+
+        assertTrue(limiter.size() <= 1000);
+
+        // A real client still gets its own full bucket, and keeps it while
+        // the flood goes on, as it is used more recently than the made-up
+        // clients it is sampled with.
+        for (int i = 0; i < 3; i++)
+        {
+            RateLimitDecision decision = limiter.tryAcquire("real");
+
+            assertTrue(decision.isAllowed());
+            assertEquals(2 - i, decision.getRemaining());
+
+            for (int j = 0; j < 100; j++)
+            {
+                now[0] += 1000;
+                limiter.tryAcquire(Long.toHexString(random.nextLong()));
+            }
+        }
+
+        assertFalse(limiter.tryAcquire("real").isAllowed());
+    }
+
+
+    @Test
+    public void allowedRequestsGetRateLimitHeaders()
+    {
+        ClientRateLimiter limiter = newLimiter();
+
+        MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        parameters.putSingle("client_id", "c");
+
+        RateLimitDecision decision = limiter.enforce(parameters, null);
+
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        RateLimitHeadersFilter.addHeaders(headers, decision);
+
+        assertEquals(3L, headers.getFirst("RateLimit-Limit"));
+        assertEquals(2L, headers.getFirst("RateLimit-Remaining"));
+        assertEquals(1L, headers.getFirst("RateLimit-Reset"));
+    }
+
+
+    @Test
+    public void enforceRejectsWith429()
+    {
+        ClientRateLimiter limiter = newLimiter();
+
+        MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(
+                "my%20client:secret".getBytes(StandardCharsets.UTF_8));
+
+        limiter.enforce(parameters, authorization);
+        limiter.enforce(parameters, authorization);
+
+        // The same client, identified by client_id instead.
+        parameters.putSingle("client_id", "my client");
+        limiter.enforce(parameters, authorization);
+
+        try
+        {
+            limiter.enforce(parameters, null);
+            fail("expected 429");
+        }
+        catch (WebApplicationException e)
+        {
+            Response response = e.getResponse();
+
+            assertEquals(429, response.getStatus());
+            assertEquals("3", response.getHeaderString("RateLimit-Limit"));
+            assertEquals("0", response.getHeaderString("RateLimit-Remaining"));
+            assertEquals("1", response.getHeaderString("RateLimit-Reset"));
+            assertEquals("1", response.getHeaderString("Retry-After"));
+        }
+    }
+
+
+    @Test
+    public void requestsWithoutClientAreNotLimited()
+    {
+        assertNull(ClientRateLimiter.extractClientId(new MultivaluedHashMap<>(), null));
+    }
+}
@@ -18,13 +18,28 @@ package com.authlete.jaxrs.server.resilience;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -33,13 +48,14 @@ import com.authlete.common.api.AuthleteApiException;
 import com.authlete.common.dto.IntrospectionRequest;
 import com.authlete.common.dto.IntrospectionResponse;
 import com.authlete.common.dto.RevocationRequest;
+import com.authlete.jaxrs.server.jfr.AuthleteCallEvent;
 
 
 /**
  * End-to-end tests that exercise the whole resilience layer through the real
  * dynamic proxy produced by {@link ResilientAuthleteApiFactory#wrap}, driving a
  * programmable fake {@link AuthleteApi} backend so caching, retry, permanent
- * error handling, circuit breaking and stale fallback can all be asserted
+ * error handling, circuit breaking, stale fallback and single-flight can all be asserted
  * without a network or a real Authlete server.
  */
 public class ResilientAuthleteApiE2ETest
@@ -73,6 +89,7 @@ public class ResilientAuthleteApiE2ETest
         final AtomicInteger calls = new AtomicInteger();
         final ConcurrentLinkedQueue<Integer> statuses = new ConcurrentLinkedQueue<>();
         volatile Integer always = null;
+        volatile CountDownLatch gate = null;
         final IntrospectionResponse response;
 
         Backend(IntrospectionResponse response)
@@ -100,6 +117,8 @@ public class ResilientAuthleteApiE2ETest
 
             calls.incrementAndGet();
 
+            awaitGate();
+
             Integer status = (always != null) ? always : statuses.poll();
 
             if (status != null && status.intValue() != 0)
@@ -110,6 +129,25 @@ public class ResilientAuthleteApiE2ETest
 
             return response;
         }
+
+        private void awaitGate()
+        {
+            CountDownLatch latch = gate;
+
+            if (latch == null)
+            {
+                return;
+            }
+
+            try
+            {
+                latch.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
 
@@ -169,6 +207,30 @@ public class ResilientAuthleteApiE2ETest
     }
 
 
+    /**
+     * Wait until {@code expected} callers are waiting for a call made by
+     * another caller.
+     */
+    private void awaitJoinedCallers(int expected)
+    {
+        ResilientAuthleteApiInvocationHandler handler =
+                (ResilientAuthleteApiInvocationHandler) Proxy.getInvocationHandler(api);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        int  joined;
+
+        while ((joined = handler.countJoinedCallers()) < expected)
+        {
+            if (System.nanoTime() - deadline > 0)
+            {
+                fail("only " + joined + " of " + expected + " callers joined");
+            }
+
+            Thread.yield();
+        }
+    }
+
+
     @Test
     public void freshHitIsServedFromCacheWithoutCallingBackend() throws Exception
     {
@@ -183,6 +245,128 @@ public class ResilientAuthleteApiE2ETest
     }
 
 
+    @Test
+    public void concurrentMissesForTheSameKeyShareOneBackendCall() throws Exception
+    {
+        backend.gate = new CountDownLatch(1);
+
+        api = buildApi();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try
+        {
+            List<Future<IntrospectionResponse>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++)
+            {
+                futures.add(executor.submit(() -> api.introspection(request())));
+            }
+
+            // Release the first call once the seven others have joined it.
+            awaitJoinedCallers(7);
+            backend.gate.countDown();
+
+            for (Future<IntrospectionResponse> future : futures)
+            {
+                assertSame(canned, future.get());
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals("one backend call for all callers", 1, backend.calls.get());
+    }
+
+
+    @Test
+    public void joinedCallersShareTheFailureOfTheirCall() throws Exception
+    {
+        backend.statuses.add(400);
+        backend.gate = new CountDownLatch(1);
+
+        api = buildApi();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try
+        {
+            List<Future<IntrospectionResponse>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++)
+            {
+                futures.add(executor.submit(() -> api.introspection(request())));
+            }
+
+            awaitJoinedCallers(7);
+            backend.gate.countDown();
+
+            for (Future<IntrospectionResponse> future : futures)
+            {
+                try
+                {
+                    future.get();
+                    fail("expected the 400 to reach every caller");
+                }
+                catch (ExecutionException e)
+                {
+                    assertEquals(400, ((AuthleteApiException) e.getCause()).getStatusCode());
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals("one backend call for all callers", 1, backend.calls.get());
+
+        // The failed call is no longer in flight; the next caller makes its own.
+        assertSame(canned, api.introspection(request()));
+        assertEquals(2, backend.calls.get());
+    }
+
+
+    @Test
+    public void concurrentMissesForDifferentKeysAreNotJoined() throws Exception
+    {
+        backend.gate = new CountDownLatch(1);
+
+        api = buildApi();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try
+        {
+            List<Future<IntrospectionResponse>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++)
+            {
+                IntrospectionRequest req = new IntrospectionRequest().setToken("token-" + (i % 2));
+
+                futures.add(executor.submit(() -> api.introspection(req)));
+            }
+
+            // Four callers per token: one call each, three joined to it.
+            awaitJoinedCallers(6);
+            backend.gate.countDown();
+
+            for (Future<IntrospectionResponse> future : futures)
+            {
+                assertSame(canned, future.get());
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals("one backend call per token", 2, backend.calls.get());
+    }
+
+
     @Test
     public void transientFailuresAreRetriedThenSucceed() throws Exception
     {
@@ -310,6 +494,55 @@ public class ResilientAuthleteApiE2ETest
     }
 
 
+    @Test
+    public void callsAreRecordedAsJfrEventsWhenEnabled() throws Exception
+    {
+        backend.statuses.add(503);
+
+        api = buildApi();
+
+        Path file = Files.createTempFile("authlete-call", ".jfr");
+
+        try (Recording recording = new Recording())
+        {
+            recording.enable("com.authlete.AuthleteCall").withThreshold(Duration.ZERO);
+            recording.start();
+
+            api.introspection(request()); // 503, retried, then succeeds
+            api.introspection(request()); // served from the cache
+
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            assertEquals(2, events.size());
+
+            RecordedEvent miss = events.get(0);
+            assertEquals("introspection", miss.getString("method"));
+            assertEquals(2, miss.getInt("attempts"));
+            assertEquals("miss", miss.getString("cacheOutcome"));
+            assertEquals("CLOSED", miss.getString("breakerState"));
+            assertEquals(0, miss.getInt("statusCode"));
+
+            RecordedEvent hit = events.get(1);
+            assertEquals(0, hit.getInt("attempts"));
+            assertEquals("hit", hit.getString("cacheOutcome"));
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+    }
+
+
+    @Test
+    public void noJfrEventIsCreatedWhenDisabled()
+    {
+        assertNull(AuthleteCallEvent.beginIfEnabled("introspection"));
+    }
+
+
     private static void set(String key, String value)
     {
         System.setProperty(key, value);
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.resilience;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import com.authlete.jaxrs.server.api.OBBCertValidator;
+import com.authlete.jaxrs.server.obb.database.ConsentStore;
+import com.authlete.jaxrs.server.obb.model.Consent;
+import com.authlete.jaxrs.server.resilience.AuthleteCircuitBreaker.State;
+
+
+/**
+ * Drives the shared state reachable from request handling from many
+ * virtual threads at once (see {@code jetty/jetty-virtual-threads.xml}) and
+ * checks that it stays consistent.
+ *
+ * <p>
+ * The sections covered are the circuit breaker's state transitions, the
+ * consent store and {@link OBBCertValidator#getInstance()}. Since JDK 24
+ * (JEP 491) a virtual thread blocked on a monitor no longer pins its carrier,
+ * so these tests check the outcome of the contention rather than listening
+ * for {@code jdk.VirtualThreadPinned}.
+ * </p>
+ */
+public class VirtualThreadConcurrencyTest
+{
+    private static final int TASKS      = 2000;
+    private static final int ITERATIONS = 50;
+
+
+    /**
+     * Run {@code TASKS} copies of a task on virtual threads, released
+     * together, and return their results.
+     */
+    private static <T> List<T> runOnVirtualThreads(Callable<T> task) throws Exception
+    {
+        CountDownLatch  start   = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>(TASKS);
+        List<T>         results = new ArrayList<>(TASKS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int i = 0; i < TASKS; i++)
+            {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<T> future : futures)
+            {
+                results.add(future.get());
+            }
+        }
+
+        return results;
+    }
+
+
+    @Test
+    public void halfOpenBreakerGrantsExactlyItsTrials() throws Exception
+    {
+        long[] now = { 0L };
+        AuthleteCircuitBreaker breaker = new AuthleteCircuitBreaker(1, 30_000, 10, 3, () -> now[0]);
+
+        breaker.recordFailure();
+        assertEquals(State.OPEN, breaker.getState());
+
+        // Let the open timeout elapse; the next callers probe the backend.
+        now[0] = 10;
+
+        List<Boolean> allowed = runOnVirtualThreads(breaker::allowRequest);
+
+        assertEquals("trial calls granted", 3, allowed.stream().filter(b -> b).count());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+    }
+
+
+    @Test
+    public void consentStoreStaysConsistent() throws Exception
+    {
+        // A private store, so that no state leaks into ConsentDao.
+        ConsentStore  store  = new ConsentStore(TASKS * ITERATIONS);
+        Consent       shared = new Consent().setConsentId("urn:test:shared").setClientId(0);
+        AtomicInteger tasks  = new AtomicInteger();
+
+        store.put(shared);
+
+        runOnVirtualThreads(() -> {
+            int n = tasks.getAndIncrement();
+
+            for (int i = 0; i < ITERATIONS; i++)
+            {
+                String  consentId = "urn:test:" + n + ":" + i;
+                Consent consent   = new Consent()
+                        .setConsentId(consentId)
+                        .setClientId(n)
+                        .setExpirationDateTime("2099-01-01T00:00:00Z");
+
+                store.put(consent);
+                assertSame(consent, store.get(consentId));
+                assertSame(shared, store.get(shared.getConsentId()));
+
+                store.put(consent.setStatus("AUTHORISED"));
+                store.remove(consentId);
+                assertNull(store.get(consentId));
+            }
+
+            return null;
+        });
+
+        assertEquals(1, store.size());
+        assertSame(shared, store.get(shared.getConsentId()));
+    }
+
+
+    @Test
+    public void certValidatorIsCreatedOnce() throws Exception
+    {
+        Set<Object> instances = ConcurrentHashMap.newKeySet();
+
+        runOnVirtualThreads(() -> {
+            try
+            {
+                instances.add(OBBCertValidator.getInstance());
+            }
+            catch (GeneralSecurityException e)
+            {
+                // The root certificates may be unavailable in the test
+                // environment; every caller must then fail alike.
+                instances.add(GeneralSecurityException.class);
+            }
+
+            return null;
+        });
+
+        assertEquals("validators seen by the callers", 1, instances.size());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.trace;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+
+
+public class RequestTraceTest
+{
+    @After
+    public void tearDown()
+    {
+        RequestTrace trace = RequestTrace.current();
+
+        if (trace != null)
+        {
+            trace.end();
+        }
+    }
+
+
+    @Test
+    public void spansAreNoopsWithoutTrace()
+    {
+        assertNull(RequestTrace.current());
+
+        try (Span span = Span.start(SpanKind.AUTHLETE, "introspection"))
+        {
+            // Nothing to record into.
+        }
+
+        assertNull(RequestTrace.current());
+    }
+
+
+    @Test
+    public void serverTimingSumsSpansPerKind()
+    {
+        RequestTrace trace = RequestTrace.begin("id-1");
+
+        trace.record(SpanKind.AUTHLETE, "introspection", System.nanoTime(), 3_000_000L);
+        trace.record(SpanKind.AUTHLETE, "userinfo",      System.nanoTime(), 1_500_000L);
+        trace.record(SpanKind.SPI,      "getUserClaim",  System.nanoTime(),   250_000L);
+
+        String value = trace.toServerTiming();
+
+        assertTrue(value, value.startsWith("total;dur="));
+        assertTrue(value, value.contains(", authlete;dur=4.500;desc=\"2 calls\""));
+        assertTrue(value, value.contains(", spi;dur=0.250;desc=\"1 call\""));
+        assertTrue(value, !value.contains("federation"));
+    }
+
+
+    @Test
+    public void propagatedTaskSharesTrace() throws Exception
+    {
+        RequestTrace trace = RequestTrace.begin("id-2");
+        AtomicReference<RequestTrace> seen = new AtomicReference<>();
+
+        Thread thread = new Thread(RequestTrace.propagate(() -> {
+            seen.set(RequestTrace.current());
+
+            try (Span span = Span.start(SpanKind.AUTHLETE, "introspection"))
+            {
+                // Recorded into the request's trace.
+            }
+        }));
+
+        thread.start();
+        thread.join();
+
+        assertSame(trace, seen.get());
+        assertTrue(trace.toServerTiming().contains("authlete;"));
+    }
+
+
+    @Test
+    public void detachedTaskHasOwnTraceWithSameId() throws Exception
+    {
+        RequestTrace trace = RequestTrace.begin("id-3");
+        AtomicReference<RequestTrace> seen = new AtomicReference<>();
+
+        Thread thread = new Thread(RequestTrace.detach("test", () -> {
+            seen.set(RequestTrace.current());
+
+            try (Span span = Span.start(SpanKind.CIBA, "sync"))
+            {
+                // Recorded into the detached trace.
+            }
+        }));
+
+        thread.start();
+        thread.join();
+
+        assertTrue(seen.get() != trace);
+        assertEquals("id-3", seen.get().getId());
+        assertTrue(!trace.toServerTiming().contains("ciba"));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.trace;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import java.util.UUID;
+import org.junit.Test;
+
+
+public class TracingFilterTest
+{
+    @Test
+    public void uuidInteractionIdIsKept()
+    {
+        String id = UUID.randomUUID().toString();
+
+        assertEquals(id, TracingFilter.toTraceId(id));
+    }
+
+
+    @Test
+    public void otherInteractionIdsAreReplaced()
+    {
+        String[] ids = {
+                null,
+                "",
+                "abc",
+                "1-1-1-1-1",
+                "00000000-0000-0000-0000-000000000000 status=200",
+                "00000000-0000-0000-0000-000000000000\ntrace=forged",
+        };
+
+        for (String id : ids)
+        {
+            String traceId = TracingFilter.toTraceId(id);
+
+            assertNotEquals(id, traceId);
+            assertEquals(traceId, UUID.fromString(traceId).toString());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 Authlete, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific
+ * language governing permissions and limitations under the
+ * License.
+ */
+package com.authlete.jaxrs.server.util;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import com.authlete.common.dto.Address;
+
+
+public class JsonCodecTest
+{
+    @Test
+    public void integralNumbersAreReadAsLong()
+    {
+        Map<String, Object> map = JsonCodec.readMap("{\"a\":1,\"b\":1.5,\"c\":[2]}");
+
+        assertEquals(1L, map.get("a"));
+        assertEquals(1.5, map.get("b"));
+        assertEquals(2L, ((List<?>)map.get("c")).get(0));
+
+        // Long values are written back without a fraction.
+        assertEquals("{\"a\":1,\"b\":1.5,\"c\":[2]}", JsonCodec.toJson(map));
+    }
+
+
+    @Test
+    public void emptyAndNullDocumentsAreNull()
+    {
+        assertNull(JsonCodec.readMap((String)null));
+        assertNull(JsonCodec.readMap(""));
+        assertNull(JsonCodec.readMap("null"));
+        assertNull(JsonCodec.readList(null));
+    }
+
+
+    @Test
+    public void nullsAreNotSerialized()
+    {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", null);
+        map.put("b", "x");
+
+        assertEquals("{\"b\":\"x\"}", JsonCodec.toJson(map));
+
+        StringWriter writer = new StringWriter();
+        JsonCodec.write(map, writer);
+
+        assertEquals("{\"b\":\"x\"}", writer.toString());
+    }
+
+
+    @Test
+    public void toMapOmitsNullProperties()
+    {
+        Map<String, Object> map = JsonCodec.toMap(new Address().setCountry("DE"));
+
+        assertEquals("DE", map.get("country"));
+        assertFalse(map.containsKey("locality"));
+        assertNull(JsonCodec.toMap(null));
+    }
+
+
+    @Test
+    public void readerAndPrettyPrinting()
+    {
+        Map<String, Object> map = JsonCodec.readMap(new StringReader("{\"k\":\"v\"}"));
+
+        assertEquals("v", map.get("k"));
+        assertTrue(JsonCodec.toJson(map, true).contains("\n"));
+        assertEquals("{\n  \"k\": \"v\"\n}", JsonCodec.prettify("{\"k\":\"v\"}"));
+    }
+}